@@ -34,16 +34,23 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.Locale;
 
 import static org.apache.iotdb.db.it.utils.TestUtils.resultSetEqualTest;
 import static org.apache.iotdb.itbase.constant.TestConstant.TIMESTAMP_STR;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
 @RunWith(IoTDBTestRunner.class)
 @Category({LocalStandaloneIT.class})
 public class DProfileIT {
   protected static final int ITERATION_TIMES = 10_000;
+  // spans several column batches of the moving average, see Util.COLUMN_BATCH_SIZE
+  private static final int MV_AVG_ROWS = 25_000;
 
   @BeforeClass
   public static void setUp() throws Exception {
@@ -78,6 +85,17 @@ public class DProfileIT {
               + "datatype=double, "
               + "encoding=plain, "
               + "compression=uncompressed");
+      statement.addBatch("create database root.test");
+      statement.addBatch(
+          "create timeseries root.test.mvavg.s1 with "
+              + "datatype=double, "
+              + "encoding=plain, "
+              + "compression=uncompressed");
+      statement.addBatch(
+          "create timeseries root.test.mvavg.s2 with "
+              + "datatype=int32, "
+              + "encoding=plain, "
+              + "compression=uncompressed");
       statement.executeBatch();
     } catch (SQLException throwable) {
       fail(throwable.getMessage());
@@ -107,11 +125,32 @@ public class DProfileIT {
       statement.execute("insert into root.test.db(time,s1) values (1,1)");
       statement.execute("insert into root.test.db(time,s1) values (2,2)");
       statement.execute("insert into root.test.db(time,s1) values (10000000000,1)");
+
+      for (int t = 1; t <= MV_AVG_ROWS; ++t) {
+        if (t % 1000 == 700) {
+          // s1 is null in this row
+          statement.addBatch(
+              String.format("insert into root.test.mvavg(timestamp,s2) values(%d,%d)", t, t));
+        } else {
+          statement.addBatch(
+              String.format(
+                  "insert into root.test.mvavg(timestamp,s1,s2) values(%d,%s,%d)",
+                  t, mvAvgValue(t), t));
+        }
+        if (t % 1000 == 0) {
+          statement.executeBatch();
+          statement.clearBatch();
+        }
+      }
     } catch (SQLException throwable) {
       fail(throwable.getMessage());
     }
   }
 
+  private static String mvAvgValue(int t) {
+    return t % 1000 == 500 ? "NaN" : Double.toString(1e6 + Math.sin(t) * 100);
+  }
+
   private static void registerUDF() {
     try (Connection connection = EnvFactory.getEnv().getConnection();
         Statement statement = connection.createStatement()) {
@@ -454,6 +493,46 @@ public class DProfileIT {
     }
   }
 
+  @Test
+  public void testMvAvg3() {
+    int window = 100;
+    String sqlStr = "select mvavg(s1, 'window'='" + window + "') from root.test.mvavg";
+    List<Long> expectedTimes = new ArrayList<>();
+    List<Double> expectedValues = new ArrayList<>();
+    Deque<Double> latest = new ArrayDeque<>();
+    for (int t = 1; t <= MV_AVG_ROWS; ++t) {
+      if (t % 1000 == 700 || t % 1000 == 500) {
+        // null and NaN values are skipped
+        continue;
+      }
+      if (latest.size() == window) {
+        latest.removeFirst();
+      }
+      latest.addLast(Double.parseDouble(mvAvgValue(t)));
+      if (latest.size() == window) {
+        double sum = 0d;
+        for (double value : latest) {
+          sum += value;
+        }
+        expectedTimes.add((long) t);
+        expectedValues.add(sum / window);
+      }
+    }
+    try (Connection connection = EnvFactory.getEnv().getConnection();
+        Statement statement = connection.createStatement()) {
+      ResultSet resultSet = statement.executeQuery(sqlStr);
+      int count = 0;
+      while (resultSet.next()) {
+        assertEquals((long) expectedTimes.get(count), resultSet.getLong(1));
+        assertEquals(expectedValues.get(count), resultSet.getDouble(2), 1e-6);
+        count++;
+      }
+      assertEquals(expectedTimes.size(), count);
+    } catch (SQLException throwable) {
+      fail(throwable.getMessage());
+    }
+  }
+
   @Test
   public void testPACF1() {
     String sqlStr = "select pacf(d2.s2) from root.vehicle";
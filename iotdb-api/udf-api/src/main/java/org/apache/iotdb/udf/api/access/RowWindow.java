@@ -19,6 +19,7 @@
 
 package org.apache.iotdb.udf.api.access;
 
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
 import org.apache.iotdb.udf.api.customizer.strategy.SlidingSizeWindowAccessStrategy;
 import org.apache.iotdb.udf.api.customizer.strategy.SlidingTimeWindowAccessStrategy;
 import org.apache.iotdb.udf.api.type.Type;
@@ -63,6 +64,39 @@ public interface RowWindow {
    */
   RowIterator getRowIterator();
 
+  /**
+   * Returns the values of the specified column in this window as a {@link Column}. The value at
+   * position i of the column belongs to the i-th row of this window, and is null if the row has no
+   * value at the specified column.
+   *
+   * <p>Compared to {@link #getRow(int)} and {@link #getRowIterator()}, this method allows to
+   * process all the values of a window in a tight loop. The returned column should not be modified,
+   * and it is only valid before the next window is delivered.
+   *
+   * @param columnIndex index of the specified column
+   * @return the values of the specified column in this window
+   * @throws IOException if any I/O errors occur
+   * @throws UnsupportedOperationException if this window does not support column access
+   * @since 1.3.1
+   */
+  default Column getColumn(int columnIndex) throws IOException {
+    throw new UnsupportedOperationException("Column access is not supported by this window.");
+  }
+
+  /**
+   * Returns the timestamps of the rows in this window as a {@link Column}. The timestamp at
+   * position i of the column belongs to the i-th row of this window.
+   *
+   * @return the timestamps of the rows in this window
+   * @throws IOException if any I/O errors occur
+   * @throws UnsupportedOperationException if this window does not support column access
+   * @see #getColumn(int)
+   * @since 1.3.1
+   */
+  default Column getTimeColumn() throws IOException {
+    throw new UnsupportedOperationException("Column access is not supported by this window.");
+  }
+
   /**
    * For different types of windows, the definition of the window start time is different.
    *
@@ -21,9 +21,7 @@ package org.apache.iotdb.tool;
 
 import org.apache.iotdb.cli.utils.IoTPrinter;
 import org.apache.iotdb.exception.ArgsErrorException;
-import org.apache.iotdb.rpc.IoTDBConnectionException;
-import org.apache.iotdb.rpc.StatementExecutionException;
-import org.apache.iotdb.session.Session;
+import org.apache.iotdb.session.pool.SessionPool;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.Option;
@@ -63,6 +61,9 @@ public abstract class AbstractCsvTool {
 
   protected static final String TIMEOUT_ARGS = "t";
   protected static final String TIMEOUT_NAME = "timeout";
+
+  protected static final String THREAD_NUM_ARGS = "tn";
+  protected static final String THREAD_NUM_NAME = "threadNum";
   protected static final int MAX_HELP_CONSOLE_WIDTH = 92;
   protected static final String[] TIME_FORMAT =
       new String[] {"default", "long", "number", "timestamp"};
@@ -116,7 +117,8 @@ public abstract class AbstractCsvTool {
 
   protected static String timeZoneID;
   protected static String timeFormat;
-  protected static Session session;
+  protected static int threadNum = 8;
+  protected static SessionPool sessionPool;
 
   private static final IoTPrinter ioTPrinter = new IoTPrinter(System.out);
   private static final Logger LOGGER = LoggerFactory.getLogger(AbstractCsvTool.class);
@@ -135,11 +137,9 @@ public abstract class AbstractCsvTool {
     return str;
   }
 
-  protected static void setTimeZone() throws IoTDBConnectionException, StatementExecutionException {
-    if (timeZoneID != null) {
-      session.setTimeZone(timeZoneID);
-    }
-    zoneId = ZoneId.of(session.getTimeZone());
+  /** Set the zone used to parse and format times, sessions are opened in the same zone. */
+  protected static void setTimeZone() {
+    zoneId = timeZoneID == null ? ZoneId.systemDefault() : ZoneId.of(timeZoneID);
   }
 
   protected static void parseBasicParams(CommandLine commandLine) throws ArgsErrorException {
@@ -148,6 +148,19 @@ public abstract class AbstractCsvTool {
     username = checkRequiredArg(USERNAME_ARGS, USERNAME_NAME, commandLine);
 
     password = commandLine.getOptionValue(PW_ARGS);
+
+    String threadNumString = commandLine.getOptionValue(THREAD_NUM_ARGS);
+    if (threadNumString != null) {
+      try {
+        threadNum = Integer.parseInt(threadNumString);
+      } catch (NumberFormatException e) {
+        throw new ArgsErrorException(
+            "The number of threads should be an integer: " + threadNumString);
+      }
+      if (threadNum <= 0) {
+        throw new ArgsErrorException("The number of threads should be positive: " + threadNum);
+      }
+    }
   }
 
   protected static boolean checkTimeFormat() {
@@ -210,6 +223,15 @@ public abstract class AbstractCsvTool {
             .desc("Password (required)")
             .build();
     options.addOption(opPassword);
+
+    Option opThreadNum =
+        Option.builder(THREAD_NUM_ARGS)
+            .longOpt(THREAD_NUM_NAME)
+            .argName(THREAD_NUM_NAME)
+            .hasArg()
+            .desc("Number of files or queries processed in parallel, default 8 (optional)")
+            .build();
+    options.addOption(opThreadNum);
     return options;
   }
 
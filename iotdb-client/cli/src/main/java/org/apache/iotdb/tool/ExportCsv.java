@@ -25,10 +25,11 @@ import org.apache.iotdb.cli.utils.IoTPrinter;
 import org.apache.iotdb.cli.utils.JlineUtils;
 import org.apache.iotdb.exception.ArgsErrorException;
 import org.apache.iotdb.isession.SessionDataSet;
+import org.apache.iotdb.isession.pool.SessionDataSetWrapper;
 import org.apache.iotdb.rpc.IoTDBConnectionException;
 import org.apache.iotdb.rpc.RpcUtils;
 import org.apache.iotdb.rpc.StatementExecutionException;
-import org.apache.iotdb.session.Session;
+import org.apache.iotdb.session.pool.SessionPool;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.RowRecord;
 
@@ -39,18 +40,23 @@ import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
-import org.apache.thrift.TException;
 import org.jline.reader.LineReader;
 
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.time.DateTimeException;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Export CSV file.
@@ -132,10 +138,17 @@ public class ExportCsv extends AbstractCsvTool {
       if (!checkTimeFormat()) {
         System.exit(CODE_ERROR);
       }
-      session = new Session(host, Integer.parseInt(port), username, password);
-      session.open(false);
-      timestampPrecision = session.getTimestampPrecision();
       setTimeZone();
+      sessionPool =
+          new SessionPool.Builder()
+              .host(host)
+              .port(Integer.parseInt(port))
+              .user(username)
+              .password(password)
+              .maxSize(threadNum)
+              .zoneId(zoneId)
+              .build();
+      timestampPrecision = sessionPool.getTimestampPrecision();
 
       if (queryCommand == null) {
         String sqlFile = commandLine.getOptionValue(SQL_FILE_ARGS);
@@ -150,10 +163,7 @@ public class ExportCsv extends AbstractCsvTool {
                   port);
           sql = lineReader.readLine(TSFILEDB_CLI_PREFIX + "> please input query: ");
           ioTPrinter.println(sql);
-          String[] values = sql.trim().split(";");
-          for (int i = 0; i < values.length; i++) {
-            dumpResult(values[i], i);
-          }
+          dumpResults(Arrays.asList(sql.trim().split(";")));
         } else {
           dumpFromSqlFile(sqlFile);
         }
@@ -164,25 +174,19 @@ public class ExportCsv extends AbstractCsvTool {
     } catch (IOException e) {
       ioTPrinter.println("Failed to operate on file, because " + e.getMessage());
       exitCode = CODE_ERROR;
-    } catch (ArgsErrorException e) {
+    } catch (ArgsErrorException | DateTimeException e) {
       ioTPrinter.println("Invalid args: " + e.getMessage());
       exitCode = CODE_ERROR;
     } catch (IoTDBConnectionException | StatementExecutionException e) {
       ioTPrinter.println("Connect failed because " + e.getMessage());
       exitCode = CODE_ERROR;
-    } catch (TException e) {
-      ioTPrinter.println(
-          "Can not get the timestamp precision from server because " + e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      ioTPrinter.println("Export is interrupted");
       exitCode = CODE_ERROR;
     } finally {
-      if (session != null) {
-        try {
-          session.close();
-        } catch (IoTDBConnectionException e) {
-          exitCode = CODE_ERROR;
-          ioTPrinter.println(
-              "Encounter an error when closing session, error is: " + e.getMessage());
-        }
+      if (sessionPool != null) {
+        sessionPool.close();
       }
     }
     System.exit(exitCode);
@@ -319,15 +323,47 @@ public class ExportCsv extends AbstractCsvTool {
    * @param filePath sql file path
    * @throws IOException exception
    */
-  private static void dumpFromSqlFile(String filePath) throws IOException {
+  private static void dumpFromSqlFile(String filePath) throws IOException, InterruptedException {
+    List<String> sqls = new ArrayList<>();
     try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
       String sql;
-      int index = 0;
       while ((sql = reader.readLine()) != null) {
-        dumpResult(sql, index);
-        index++;
+        sqls.add(sql);
       }
     }
+    dumpResults(sqls);
+  }
+
+  /**
+   * Dump the results of the sqls into their own files, with up to threadNum queries running at the
+   * same time.
+   *
+   * @param sqls the query commands, the index of each one is used to create its dump file name
+   */
+  private static void dumpResults(List<String> sqls) throws InterruptedException {
+    if (sqls.size() <= 1 || threadNum <= 1) {
+      for (int i = 0; i < sqls.size(); i++) {
+        dumpResult(sqls.get(i), i);
+      }
+      return;
+    }
+    ExecutorService dumpExecutor = Executors.newFixedThreadPool(Math.min(threadNum, sqls.size()));
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < sqls.size(); i++) {
+        final int index = i;
+        futures.add(dumpExecutor.submit(() -> dumpResult(sqls.get(index), index)));
+      }
+      for (Future<?> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          ioTPrinter.println("Cannot dump result because: " + e.getCause().getMessage());
+        }
+      }
+    } finally {
+      dumpExecutor.shutdownNow();
+    }
   }
 
   /**
@@ -338,8 +374,9 @@ public class ExportCsv extends AbstractCsvTool {
    */
   private static void dumpResult(String sql, int index) {
     final String path = targetDirectory + targetFile + index;
+    SessionDataSetWrapper sessionDataSet = null;
     try {
-      SessionDataSet sessionDataSet = session.executeQueryStatement(sql, timeout);
+      sessionDataSet = sessionPool.executeQueryStatement(sql, timeout);
       List<Object> headers = new ArrayList<>();
       List<String> names = sessionDataSet.getColumnNames();
       List<String> types = sessionDataSet.getColumnTypes();
@@ -354,11 +391,14 @@ public class ExportCsv extends AbstractCsvTool {
       } else {
         headers.addAll(names);
       }
-      writeCsvFile(sessionDataSet, path, headers, linesPerFile);
-      sessionDataSet.closeOperationHandle();
+      writeCsvFile(sessionDataSet.getSessionDataSet(), path, headers, linesPerFile);
       ioTPrinter.println("Export completely!");
     } catch (StatementExecutionException | IoTDBConnectionException | IOException e) {
       ioTPrinter.println("Cannot dump result because: " + e.getMessage());
+    } finally {
+      if (sessionDataSet != null) {
+        sessionPool.closeResultSet(sessionDataSet);
+      }
     }
   }
 
@@ -26,14 +26,16 @@ import org.apache.iotdb.db.queryengine.common.header.ColumnHeaderConstant;
 import org.apache.iotdb.db.utils.DateTimeUtils;
 import org.apache.iotdb.db.utils.constant.SqlConstant;
 import org.apache.iotdb.exception.ArgsErrorException;
-import org.apache.iotdb.isession.SessionDataSet;
+import org.apache.iotdb.isession.pool.SessionDataSetWrapper;
 import org.apache.iotdb.rpc.IoTDBConnectionException;
 import org.apache.iotdb.rpc.StatementExecutionException;
-import org.apache.iotdb.session.Session;
+import org.apache.iotdb.session.pool.SessionPool;
 import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.Field;
 import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.write.record.Tablet;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -51,14 +53,24 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.time.DateTimeException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
@@ -106,11 +118,19 @@ public class ImportCsv extends AbstractCsvTool {
   private static int linesPerFailedFile = 10000;
   private static Boolean aligned = false;
 
-  private static String timeColumn = "Time";
-  private static String deviceColumn = "Device";
+  private static final String TIME_COLUMN = "Time";
+  private static final String DEVICE_COLUMN = "Device";
 
   private static int batchPointSize = 100_000;
 
+  private static final int WRITE_RETRY_TIMES = 3;
+
+  /** Writes the parsed batches, so that parsing goes on while earlier batches are written. */
+  private static ExecutorService writeExecutor;
+
+  /** Bounds the batches that are parsed but not written yet, over all files being imported. */
+  private static Semaphore pendingWrites;
+
   private static String timestampPrecision = "ms";
 
   private static final String DATATYPE_BOOLEAN = "boolean";
@@ -354,7 +374,9 @@ public class ImportCsv extends AbstractCsvTool {
 
   /**
    * Specifying a CSV file or a directory including CSV files that you want to import. This method
-   * can be offered to console cli to implement importing CSV file by command.
+   * can be offered to console cli to implement importing CSV file by command. Up to threadNum files
+   * are imported at the same time, and the batches of each file are written while the file is still
+   * being parsed.
    *
    * @param host
    * @param port
@@ -369,59 +391,95 @@ public class ImportCsv extends AbstractCsvTool {
   public static int importFromTargetPath(
       String host, int port, String username, String password, String targetPath, String timeZone)
       throws IoTDBConnectionException {
+    ExecutorService importExecutor = null;
     try {
-      session = new Session(host, port, username, password, false);
-      session.open(false);
       timeZoneID = timeZone;
       setTimeZone();
-
+      // each importing thread may query types while the writing threads insert
+      sessionPool =
+          new SessionPool.Builder()
+              .host(host)
+              .port(port)
+              .user(username)
+              .password(password)
+              .maxSize(threadNum * 2)
+              .zoneId(zoneId)
+              .enableRedirection(false)
+              .build();
+      // fail fast if the server can not be connected
+      sessionPool.getTimestampPrecision();
+      writeExecutor = Executors.newFixedThreadPool(threadNum);
+      pendingWrites = new Semaphore(threadNum);
+
+      boolean succeeded = true;
       File file = new File(targetPath);
       if (file.isFile()) {
-        importFromSingleFile(file);
+        succeeded = importFromSingleFile(file);
       } else if (file.isDirectory()) {
         File[] files = file.listFiles();
         if (files == null) {
           return CODE_OK;
         }
 
+        importExecutor = Executors.newFixedThreadPool(threadNum);
+        List<Future<Boolean>> futures = new ArrayList<>();
         for (File subFile : files) {
           if (subFile.isFile()) {
-            importFromSingleFile(subFile);
+            futures.add(importExecutor.submit(() -> importFromSingleFile(subFile)));
           }
         }
+        for (Future<Boolean> future : futures) {
+          succeeded &= future.get();
+        }
       } else {
         ioTPrinter.println("File not found!");
         return CODE_ERROR;
       }
+      return succeeded ? CODE_OK : CODE_ERROR;
     } catch (IoTDBConnectionException | StatementExecutionException e) {
       ioTPrinter.println("Encounter an error when connecting to server, because " + e.getMessage());
       return CODE_ERROR;
+    } catch (DateTimeException e) {
+      ioTPrinter.println("Invalid time zone, because " + e.getMessage());
+      return CODE_ERROR;
+    } catch (ExecutionException e) {
+      ioTPrinter.println("Encounter an error when importing, because " + e.getCause().getMessage());
+      return CODE_ERROR;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      ioTPrinter.println("Import is interrupted");
+      return CODE_ERROR;
     } finally {
-      if (session != null) {
-        session.close();
+      if (importExecutor != null) {
+        importExecutor.shutdownNow();
+      }
+      if (writeExecutor != null) {
+        writeExecutor.shutdownNow();
+      }
+      if (sessionPool != null) {
+        sessionPool.close();
       }
     }
-    return CODE_OK;
   }
 
   /**
    * import the CSV file and load headers and records.
    *
    * @param file the File object of the CSV file that you want to import.
+   * @return false if the file can not be read or some of its batches can not be written
    */
-  private static void importFromSingleFile(File file) {
+  private static boolean importFromSingleFile(File file) {
     if (file.getName().endsWith(CSV_SUFFIXS) || file.getName().endsWith(TXT_SUFFIXS)) {
-      try {
-        CSVParser csvRecords = readCsvFile(file.getAbsolutePath());
+      try (CSVParser csvRecords = readCsvFile(file.getAbsolutePath())) {
         List<String> headerNames = csvRecords.getHeaderNames();
         Stream<CSVRecord> records = csvRecords.stream();
         if (headerNames.isEmpty()) {
           ioTPrinter.println("Empty file!");
-          return;
+          return true;
         }
-        if (!timeColumn.equalsIgnoreCase(filterBomHeader(headerNames.get(0)))) {
+        if (!TIME_COLUMN.equalsIgnoreCase(filterBomHeader(headerNames.get(0)))) {
           ioTPrinter.println("The first field of header must be `Time`!");
-          return;
+          return false;
         }
         String failedFilePath = null;
         if (failedFileDirectory == null) {
@@ -429,16 +487,21 @@ public class ImportCsv extends AbstractCsvTool {
         } else {
           failedFilePath = failedFileDirectory + file.getName() + ".failed";
         }
-        if (!deviceColumn.equalsIgnoreCase(headerNames.get(1))) {
-          writeDataAlignedByTime(headerNames, records, failedFilePath);
+        if (!DEVICE_COLUMN.equalsIgnoreCase(headerNames.get(1))) {
+          return writeDataAlignedByTime(headerNames, records, failedFilePath);
         } else {
-          writeDataAlignedByDevice(headerNames, records, failedFilePath);
+          return writeDataAlignedByDevice(headerNames, records, failedFilePath);
         }
       } catch (IOException | IllegalPathException e) {
         ioTPrinter.println("CSV file read exception because: " + e.getMessage());
+        return false;
+      } catch (IllegalStateException e) {
+        ioTPrinter.println(e.getMessage());
+        return false;
       }
     } else {
       ioTPrinter.println("The file name must end with \"csv\" or \"txt\"!");
+      return true;
     }
   }
 
@@ -448,9 +511,10 @@ public class ImportCsv extends AbstractCsvTool {
    * @param headerNames the header names of CSV file
    * @param records the records of CSV file
    * @param failedFilePath the directory to save the failed files
+   * @return false if some of the batches can not be written
    */
   @SuppressWarnings("squid:S3776")
-  private static void writeDataAlignedByTime(
+  private static boolean writeDataAlignedByTime(
       List<String> headerNames, Stream<CSVRecord> records, String failedFilePath)
       throws IllegalPathException {
     HashMap<String, List<String>> deviceAndMeasurementNames = new HashMap<>();
@@ -460,7 +524,7 @@ public class ImportCsv extends AbstractCsvTool {
 
     Set<String> devices = deviceAndMeasurementNames.keySet();
     if (headerTypeMap.isEmpty()) {
-      queryType(devices, headerTypeMap, "Time");
+      queryType(devices, headerTypeMap, true);
     }
 
     List<String> deviceIds = new ArrayList<>();
@@ -472,18 +536,31 @@ public class ImportCsv extends AbstractCsvTool {
     AtomicReference<Boolean> hasStarted = new AtomicReference<>(false);
     AtomicInteger pointSize = new AtomicInteger(0);
 
-    ArrayList<List<Object>> failedRecords = new ArrayList<>();
+    // the records of the current batch, and the failed records including those of the batches that
+    // can not be written
+    List<List<Object>> batchRecords = new ArrayList<>();
+    List<List<Object>> failedRecords = Collections.synchronizedList(new ArrayList<>());
+    List<Future<?>> writes = new ArrayList<>();
 
     records.forEach(
         recordObj -> {
           if (Boolean.FALSE.equals(hasStarted.get())) {
             hasStarted.set(true);
           } else if (pointSize.get() >= batchPointSize) {
-            writeAndEmptyDataSet(deviceIds, times, typesList, valuesList, measurementsList, 3);
+            writeAndEmptyDataSet(
+                deviceIds,
+                times,
+                typesList,
+                valuesList,
+                measurementsList,
+                batchRecords,
+                failedRecords,
+                writes);
             pointSize.set(0);
           }
 
           boolean isFail = false;
+          boolean hasValue = false;
 
           for (Map.Entry<String, List<String>> entry : deviceAndMeasurementNames.entrySet()) {
             String deviceId = entry.getKey();
@@ -525,7 +602,8 @@ public class ImportCsv extends AbstractCsvTool {
               }
             }
             if (!measurements.isEmpty()) {
-              times.add(parseTimestamp(recordObj.get(timeColumn)));
+              hasValue = true;
+              times.add(parseTimestamp(recordObj.get(0)));
               deviceIds.add(deviceId);
               typesList.add(types);
               valuesList.add(values);
@@ -534,21 +612,35 @@ public class ImportCsv extends AbstractCsvTool {
           }
           if (isFail) {
             failedRecords.add(recordObj.stream().collect(Collectors.toList()));
+          } else if (hasValue) {
+            batchRecords.add(recordObj.stream().collect(Collectors.toList()));
           }
         });
     if (!deviceIds.isEmpty()) {
-      writeAndEmptyDataSet(deviceIds, times, typesList, valuesList, measurementsList, 3);
+      writeAndEmptyDataSet(
+          deviceIds,
+          times,
+          typesList,
+          valuesList,
+          measurementsList,
+          batchRecords,
+          failedRecords,
+          writes);
       pointSize.set(0);
     }
+    boolean written = waitForWrites(writes);
 
     if (!failedRecords.isEmpty()) {
       writeFailedLinesFile(headerNames, failedFilePath, failedRecords);
     }
-    if (Boolean.TRUE.equals(hasStarted.get())) {
+    if (!written) {
+      ioTPrinter.println("Import failed, the records not written are saved to " + failedFilePath);
+    } else if (Boolean.TRUE.equals(hasStarted.get())) {
       ioTPrinter.println("Import completely!");
     } else {
       ioTPrinter.println("No records!");
     }
+    return written;
   }
 
   /**
@@ -557,9 +649,10 @@ public class ImportCsv extends AbstractCsvTool {
    * @param headerNames the header names of CSV file
    * @param records the records of CSV file
    * @param failedFilePath the directory to save the failed files
+   * @return false if some of the batches can not be written
    */
   @SuppressWarnings("squid:S3776") // Suppress high Cognitive Complexity warning
-  private static void writeDataAlignedByDevice(
+  private static boolean writeDataAlignedByDevice(
       List<String> headerNames, Stream<CSVRecord> records, String failedFilePath)
       throws IllegalPathException {
     HashMap<String, TSDataType> headerTypeMap = new HashMap<>();
@@ -578,7 +671,11 @@ public class ImportCsv extends AbstractCsvTool {
 
     AtomicInteger pointSize = new AtomicInteger(0);
 
-    ArrayList<List<Object>> failedRecords = new ArrayList<>();
+    // the records of the current batch, and the failed records including those of the batches that
+    // can not be written
+    List<List<Object>> batchRecords = new ArrayList<>();
+    List<List<Object>> failedRecords = Collections.synchronizedList(new ArrayList<>());
+    List<Future<?>> writes = new ArrayList<>();
 
     records.forEach(
         recordObj -> {
@@ -588,13 +685,27 @@ public class ImportCsv extends AbstractCsvTool {
           } else if (!Objects.equals(deviceName.get(), recordObj.get(1))) {
             // if device changed
             writeAndEmptyDataSet(
-                deviceName.get(), times, typesList, valuesList, measurementsList, 3);
+                deviceName.get(),
+                times,
+                typesList,
+                valuesList,
+                measurementsList,
+                batchRecords,
+                failedRecords,
+                writes);
             deviceName.set(recordObj.get(1));
             pointSize.set(0);
           } else if (pointSize.get() >= batchPointSize) {
             // insert a batch
             writeAndEmptyDataSet(
-                deviceName.get(), times, typesList, valuesList, measurementsList, 3);
+                deviceName.get(),
+                times,
+                typesList,
+                valuesList,
+                measurementsList,
+                batchRecords,
+                failedRecords,
+                writes);
             pointSize.set(0);
           }
 
@@ -621,7 +732,7 @@ public class ImportCsv extends AbstractCsvTool {
                   if (headerTypeMap.isEmpty()) {
                     Set<String> devices = new HashSet<>();
                     devices.add(deviceName.get());
-                    queryType(devices, headerTypeMap, deviceColumn);
+                    queryType(devices, headerTypeMap, false);
                   }
                   typeQueriedDevice.add(deviceName.get());
                 }
@@ -654,26 +765,42 @@ public class ImportCsv extends AbstractCsvTool {
           }
           if (Boolean.TRUE.equals(isFail.get())) {
             failedRecords.add(recordObj.stream().collect(Collectors.toList()));
+          } else if (!measurements.isEmpty()) {
+            batchRecords.add(recordObj.stream().collect(Collectors.toList()));
           }
           if (!measurements.isEmpty()) {
-            times.add(parseTimestamp(recordObj.get(timeColumn)));
+            times.add(parseTimestamp(recordObj.get(0)));
             typesList.add(types);
             valuesList.add(values);
             measurementsList.add(measurements);
           }
         });
     if (!times.isEmpty()) {
-      writeAndEmptyDataSet(deviceName.get(), times, typesList, valuesList, measurementsList, 3);
+      writeAndEmptyDataSet(
+          deviceName.get(),
+          times,
+          typesList,
+          valuesList,
+          measurementsList,
+          batchRecords,
+          failedRecords,
+          writes);
       pointSize.set(0);
     }
+    boolean written = waitForWrites(writes);
     if (!failedRecords.isEmpty()) {
       writeFailedLinesFile(headerNames, failedFilePath, failedRecords);
     }
-    ioTPrinter.println("Import completely!");
+    if (written) {
+      ioTPrinter.println("Import completely!");
+    } else {
+      ioTPrinter.println("Import failed, the records not written are saved to " + failedFilePath);
+    }
+    return written;
   }
 
   private static void writeFailedLinesFile(
-      List<String> headerNames, String failedFilePath, ArrayList<List<Object>> failedRecords) {
+      List<String> headerNames, String failedFilePath, List<List<Object>> failedRecords) {
     int fileIndex = 0;
     int from = 0;
     int failedRecordsSize = failedRecords.size();
@@ -695,79 +822,200 @@ public class ImportCsv extends AbstractCsvTool {
       List<List<TSDataType>> typesList,
       List<List<Object>> valuesList,
       List<List<String>> measurementsList,
-      int retryTime) {
-    try {
-      if (Boolean.FALSE.equals(aligned)) {
-        session.insertRecordsOfOneDevice(device, times, measurementsList, typesList, valuesList);
-      } else {
-        session.insertAlignedRecordsOfOneDevice(
-            device, times, measurementsList, typesList, valuesList);
-      }
-    } catch (IoTDBConnectionException e) {
-      if (retryTime > 0) {
-        try {
-          session.open();
-        } catch (IoTDBConnectionException ex) {
-          ioTPrinter.println(INSERT_CSV_MEET_ERROR_MSG + e.getMessage());
-        }
-        writeAndEmptyDataSet(device, times, typesList, valuesList, measurementsList, --retryTime);
-      }
-    } catch (StatementExecutionException e) {
-      ioTPrinter.println(INSERT_CSV_MEET_ERROR_MSG + e.getMessage());
-      try {
-        session.close();
-      } catch (IoTDBConnectionException ex) {
-        // do nothing
-      }
-      System.exit(1);
-    } finally {
-      times.clear();
-      typesList.clear();
-      valuesList.clear();
-      measurementsList.clear();
-    }
+      List<List<Object>> batchRecords,
+      List<List<Object>> failedRecords,
+      List<Future<?>> writes) {
+    writeAndEmptyDataSet(
+        new ArrayList<>(Collections.nCopies(times.size(), device)),
+        times,
+        typesList,
+        valuesList,
+        measurementsList,
+        batchRecords,
+        failedRecords,
+        writes);
   }
 
+  /**
+   * Convert the rows into tablets and hand them to the writing threads, waiting if too many batches
+   * are not written yet. The records of a batch that can not be written are added to the failed
+   * records, and its future fails.
+   */
   private static void writeAndEmptyDataSet(
       List<String> deviceIds,
       List<Long> times,
       List<List<TSDataType>> typesList,
       List<List<Object>> valuesList,
       List<List<String>> measurementsList,
-      int retryTime) {
+      List<List<Object>> batchRecords,
+      List<List<Object>> failedRecords,
+      List<Future<?>> writes) {
+    Map<String, Tablet> tablets;
+    List<List<Object>> records = new ArrayList<>(batchRecords);
     try {
-      if (Boolean.FALSE.equals(aligned)) {
-        session.insertRecords(deviceIds, times, measurementsList, typesList, valuesList);
-      } else {
-        session.insertAlignedRecords(deviceIds, times, measurementsList, typesList, valuesList);
-      }
-    } catch (IoTDBConnectionException e) {
-      if (retryTime > 0) {
-        try {
-          session.open();
-        } catch (IoTDBConnectionException ex) {
-          ioTPrinter.println(INSERT_CSV_MEET_ERROR_MSG + e.getMessage());
-        }
-        writeAndEmptyDataSet(
-            deviceIds, times, typesList, valuesList, measurementsList, --retryTime);
-      }
-    } catch (StatementExecutionException e) {
-      ioTPrinter.println(INSERT_CSV_MEET_ERROR_MSG + e.getMessage());
-      try {
-        session.close();
-      } catch (IoTDBConnectionException ex) {
-        // do nothing
-      }
-      System.exit(1);
+      tablets = toTablets(deviceIds, times, measurementsList, typesList, valuesList);
     } finally {
       deviceIds.clear();
       times.clear();
       typesList.clear();
       valuesList.clear();
       measurementsList.clear();
+      batchRecords.clear();
+    }
+    try {
+      pendingWrites.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      failedRecords.addAll(records);
+      writes.add(failedWrite(new IllegalStateException("the import is interrupted")));
+      return;
+    }
+    writes.removeIf(ImportCsv::isWritten);
+    try {
+      writes.add(
+          writeExecutor.submit(
+              () -> {
+                try {
+                  writeTablets(tablets);
+                } catch (IoTDBConnectionException
+                    | StatementExecutionException
+                    | RuntimeException e) {
+                  failedRecords.addAll(records);
+                  throw e;
+                } finally {
+                  pendingWrites.release();
+                }
+                return null;
+              }));
+    } catch (RejectedExecutionException e) {
+      pendingWrites.release();
+      failedRecords.addAll(records);
+      writes.add(failedWrite(new IllegalStateException("the import is stopped")));
     }
   }
 
+  private static void writeTablets(Map<String, Tablet> tablets)
+      throws IoTDBConnectionException, StatementExecutionException {
+    for (int retryTime = WRITE_RETRY_TIMES; ; retryTime--) {
+      try {
+        if (Boolean.FALSE.equals(aligned)) {
+          sessionPool.insertTablets(tablets, false);
+        } else {
+          sessionPool.insertAlignedTablets(tablets, false);
+        }
+        return;
+      } catch (IoTDBConnectionException e) {
+        if (retryTime <= 0) {
+          throw e;
+        }
+        ioTPrinter.println(INSERT_CSV_MEET_ERROR_MSG + e.getMessage() + ", retrying");
+      }
+    }
+  }
+
+  private static Future<?> failedWrite(Exception cause) {
+    CompletableFuture<?> write = new CompletableFuture<>();
+    write.completeExceptionally(cause);
+    return write;
+  }
+
+  /** Whether the batch has been written successfully, failed batches are kept to be reported. */
+  private static boolean isWritten(Future<?> write) {
+    if (!write.isDone()) {
+      return false;
+    }
+    try {
+      write.get();
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } catch (ExecutionException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Wait for the batches handed to the writing threads.
+   *
+   * @return false if some of the batches can not be written
+   */
+  private static boolean waitForWrites(List<Future<?>> writes) {
+    boolean written = true;
+    for (Future<?> write : writes) {
+      try {
+        write.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      } catch (ExecutionException e) {
+        ioTPrinter.println(INSERT_CSV_MEET_ERROR_MSG + e.getCause().getMessage());
+        written = false;
+      }
+    }
+    writes.clear();
+    return written;
+  }
+
+  /**
+   * Group the rows by device into one tablet for each device. A measurement that a row has no value
+   * of is marked as null in the row.
+   *
+   * @param deviceIds the device of each row
+   * @param times the time of each row
+   * @param measurementsList the measurements of each row
+   * @param typesList the types of the measurements of each row
+   * @param valuesList the values of the measurements of each row
+   * @return tablets by device
+   */
+  public static Map<String, Tablet> toTablets(
+      List<String> deviceIds,
+      List<Long> times,
+      List<List<String>> measurementsList,
+      List<List<TSDataType>> typesList,
+      List<List<Object>> valuesList) {
+    Map<String, List<Integer>> deviceRows = new LinkedHashMap<>();
+    for (int i = 0; i < deviceIds.size(); i++) {
+      deviceRows.computeIfAbsent(deviceIds.get(i), k -> new ArrayList<>()).add(i);
+    }
+
+    Map<String, Tablet> tablets = new LinkedHashMap<>();
+    for (Map.Entry<String, List<Integer>> deviceRowsEntry : deviceRows.entrySet()) {
+      List<Integer> rows = deviceRowsEntry.getValue();
+      Map<String, Integer> columnIndexes = new HashMap<>();
+      List<MeasurementSchema> schemas = new ArrayList<>();
+      for (int row : rows) {
+        List<String> measurements = measurementsList.get(row);
+        for (int i = 0; i < measurements.size(); i++) {
+          if (columnIndexes.putIfAbsent(measurements.get(i), schemas.size()) == null) {
+            schemas.add(new MeasurementSchema(measurements.get(i), typesList.get(row).get(i)));
+          }
+        }
+      }
+
+      Tablet tablet = new Tablet(deviceRowsEntry.getKey(), schemas, rows.size());
+      boolean[] hasValue = new boolean[schemas.size()];
+      for (int rowIndex = 0; rowIndex < rows.size(); rowIndex++) {
+        int row = rows.get(rowIndex);
+        tablet.addTimestamp(rowIndex, times.get(row));
+        Arrays.fill(hasValue, false);
+        List<String> measurements = measurementsList.get(row);
+        for (int i = 0; i < measurements.size(); i++) {
+          tablet.addValue(measurements.get(i), rowIndex, valuesList.get(row).get(i));
+          hasValue[columnIndexes.get(measurements.get(i))] = true;
+        }
+        for (int column = 0; column < schemas.size(); column++) {
+          if (!hasValue[column]) {
+            tablet.addValue(schemas.get(column).getMeasurementId(), rowIndex, null);
+          }
+        }
+      }
+      tablet.rowSize = rows.size();
+      tablets.put(deviceRowsEntry.getKey(), tablet);
+    }
+    return tablets;
+  }
+
   /**
    * read data from the CSV file
    *
@@ -806,11 +1054,8 @@ public class ImportCsv extends AbstractCsvTool {
     String regex = "(?<=\\()\\S+(?=\\))";
     Pattern pattern = Pattern.compile(regex);
     for (String headerName : headerNames) {
-      if ("Time".equalsIgnoreCase(filterBomHeader(headerName))) {
-        timeColumn = headerName;
-        continue;
-      } else if ("Device".equalsIgnoreCase(headerName)) {
-        deviceColumn = headerName;
+      if (TIME_COLUMN.equalsIgnoreCase(filterBomHeader(headerName))
+          || DEVICE_COLUMN.equalsIgnoreCase(headerName)) {
         continue;
       }
       Matcher matcher = pattern.matcher(headerName);
@@ -840,17 +1085,16 @@ public class ImportCsv extends AbstractCsvTool {
    *
    * @param deviceNames
    * @param headerTypeMap
-   * @param alignedType
-   * @throws IoTDBConnectionException
-   * @throws StatementExecutionException
+   * @param alignedByTime whether the types are put by full path rather than by measurement
+   * @throws IllegalStateException if the types can not be queried, which fails the file
    */
   private static void queryType(
-      Set<String> deviceNames, HashMap<String, TSDataType> headerTypeMap, String alignedType) {
+      Set<String> deviceNames, HashMap<String, TSDataType> headerTypeMap, boolean alignedByTime) {
     for (String deviceName : deviceNames) {
       String sql = "show timeseries " + deviceName + ".*";
-      SessionDataSet sessionDataSet = null;
+      SessionDataSetWrapper sessionDataSet = null;
       try {
-        sessionDataSet = session.executeQueryStatement(sql);
+        sessionDataSet = sessionPool.executeQueryStatement(sql);
         int tsIndex = sessionDataSet.getColumnNames().indexOf(ColumnHeaderConstant.TIMESERIES);
         int dtIndex = sessionDataSet.getColumnNames().indexOf(ColumnHeaderConstant.DATATYPE);
         while (sessionDataSet.hasNext()) {
@@ -858,23 +1102,21 @@ public class ImportCsv extends AbstractCsvTool {
           List<Field> fields = rowRecord.getFields();
           String timeseries = fields.get(tsIndex).getStringValue();
           String dataType = fields.get(dtIndex).getStringValue();
-          if (Objects.equals(alignedType, "Time")) {
+          if (alignedByTime) {
             headerTypeMap.put(timeseries, getType(dataType));
-          } else if (Objects.equals(alignedType, deviceColumn)) {
+          } else {
             String[] split = PathUtils.splitPathToDetachedNodes(timeseries);
             String measurement = split[split.length - 1];
             headerTypeMap.put(measurement, getType(dataType));
           }
         }
       } catch (StatementExecutionException | IllegalPathException | IoTDBConnectionException e) {
-        ioTPrinter.println(
-            "Meet error when query the type of timeseries because " + e.getMessage());
-        try {
-          session.close();
-        } catch (IoTDBConnectionException ex) {
-          // do nothing
+        throw new IllegalStateException(
+            "Meet error when query the type of timeseries because " + e.getMessage(), e);
+      } finally {
+        if (sessionDataSet != null) {
+          sessionPool.closeResultSet(sessionDataSet);
         }
-        System.exit(1);
       }
     }
   }
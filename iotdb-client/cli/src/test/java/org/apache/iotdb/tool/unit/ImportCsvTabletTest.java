@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.tool.unit;
+
+import org.apache.iotdb.tool.ImportCsv;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.write.record.Tablet;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ImportCsvTabletTest {
+
+  @Test
+  public void toTabletsTest() {
+    List<String> deviceIds = Arrays.asList("root.sg.d1", "root.sg.d2", "root.sg.d1");
+    List<Long> times = Arrays.asList(1L, 1L, 2L);
+    List<List<String>> measurementsList =
+        Arrays.asList(
+            Arrays.asList("s1", "s2"), Collections.singletonList("s1"), Arrays.asList("s3", "s1"));
+    List<List<TSDataType>> typesList =
+        Arrays.asList(
+            Arrays.asList(TSDataType.INT32, TSDataType.TEXT),
+            Collections.singletonList(TSDataType.DOUBLE),
+            Arrays.asList(TSDataType.BOOLEAN, TSDataType.INT32));
+    List<List<Object>> valuesList =
+        Arrays.asList(
+            Arrays.asList(10, "a"), Collections.singletonList(1.5), Arrays.asList(true, 20));
+
+    Map<String, Tablet> tablets =
+        ImportCsv.toTablets(deviceIds, times, measurementsList, typesList, valuesList);
+    assertEquals(
+        Arrays.asList("root.sg.d1", "root.sg.d2"), Arrays.asList(tablets.keySet().toArray()));
+
+    Tablet tablet = tablets.get("root.sg.d1");
+    assertEquals(2, tablet.rowSize);
+    assertEquals(3, tablet.getSchemas().size());
+    assertEquals("s1", tablet.getSchemas().get(0).getMeasurementId());
+    assertEquals(TSDataType.INT32, tablet.getSchemas().get(0).getType());
+    assertEquals("s2", tablet.getSchemas().get(1).getMeasurementId());
+    assertEquals("s3", tablet.getSchemas().get(2).getMeasurementId());
+    assertArrayEquals(new long[] {1L, 2L}, tablet.timestamps);
+    assertArrayEquals(new int[] {10, 20}, (int[]) tablet.values[0]);
+    assertEquals(new Binary("a", StandardCharsets.UTF_8), ((Binary[]) tablet.values[1])[0]);
+    assertTrue(((boolean[]) tablet.values[2])[1]);
+    // s2 has no value at time 2 and s3 has no value at time 1
+    assertNull(tablet.bitMaps[0]);
+    assertFalse(tablet.bitMaps[1].isMarked(0));
+    assertTrue(tablet.bitMaps[1].isMarked(1));
+    assertTrue(tablet.bitMaps[2].isMarked(0));
+    assertFalse(tablet.bitMaps[2].isMarked(1));
+
+    tablet = tablets.get("root.sg.d2");
+    assertEquals(1, tablet.rowSize);
+    assertEquals(TSDataType.DOUBLE, tablet.getSchemas().get(0).getType());
+    assertEquals(1.5, ((double[]) tablet.values[0])[0], 0);
+    assertNull(tablet.bitMaps);
+  }
+}
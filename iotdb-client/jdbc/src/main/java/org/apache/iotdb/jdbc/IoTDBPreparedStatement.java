@@ -19,7 +19,9 @@
 
 package org.apache.iotdb.jdbc;
 
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
 import org.apache.iotdb.service.rpc.thrift.IClientRPCService.Iface;
+import org.apache.iotdb.service.rpc.thrift.TSInsertStringRecordsReq;
 import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
 import org.apache.iotdb.tsfile.utils.Binary;
 
@@ -33,6 +35,7 @@ import java.io.StringReader;
 import java.math.BigDecimal;
 import java.net.URL;
 import java.sql.Array;
+import java.sql.BatchUpdateException;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.Date;
@@ -57,10 +60,13 @@ import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class IoTDBPreparedStatement extends IoTDBStatement implements PreparedStatement {
 
@@ -71,16 +77,78 @@ public class IoTDBPreparedStatement extends IoTDBStatement implements PreparedSt
   /** save the SQL parameters as (paramLoc,paramValue) pairs. */
   private final Map<Integer, String> parameters = new HashMap<>();
 
+  /** the SQL split by the parameter placeholders */
+  private final List<String> sqlParts;
+
+  /** not null if the SQL inserts one row of a device, see {@link InsertTemplate} */
+  private final InsertTemplate insertTemplate;
+
+  /** parameters of each row added by {@link #addBatch()} if the SQL is an insert template */
+  private final List<String[]> batchRows = new ArrayList<>();
+
   IoTDBPreparedStatement(
       IoTDBConnection connection, Iface client, Long sessionId, String sql, ZoneId zoneId)
       throws SQLException {
     super(connection, client, sessionId, zoneId);
     this.sql = sql;
+    this.sqlParts = splitSqlStatement(sql);
+    this.insertTemplate = InsertTemplate.parse(sql, sqlParts.size() - 1);
   }
 
   @Override
   public void addBatch() throws SQLException {
-    throw new SQLException(METHOD_NOT_SUPPORTED_STRING);
+    if (insertTemplate == null) {
+      super.addBatch(createCompleteSql(sql, parameters));
+      return;
+    }
+    String[] row = new String[sqlParts.size() - 1];
+    for (int i = 1; i < sqlParts.size(); i++) {
+      if (!parameters.containsKey(i)) {
+        throw new SQLException("Parameter #" + i + " is unset");
+      }
+      row[i - 1] = parameters.get(i);
+    }
+    batchRows.add(row);
+  }
+
+  /** The rows added by {@link #addBatch()} before are added as SQLs to keep the order. */
+  @Override
+  public void addBatch(String sql) {
+    for (String[] row : batchRows) {
+      super.addBatch(createCompleteSql(row));
+    }
+    batchRows.clear();
+    super.addBatch(sql);
+  }
+
+  @Override
+  public void clearBatch() {
+    super.clearBatch();
+    batchRows.clear();
+  }
+
+  /**
+   * Rows of an insert template are sent in one insertStringRecords request if every value of them
+   * is a literal that can be sent as is. Otherwise, the rows are sent as SQLs after the SQLs added
+   * by {@link #addBatch(String)}, which were all added before them.
+   */
+  @Override
+  protected int[] executeBatchSQL() throws TException, BatchUpdateException {
+    if (batchRows.isEmpty()) {
+      return super.executeBatchSQL();
+    }
+    if (!hasBatchSQL()) {
+      TSInsertStringRecordsReq insertReq = insertTemplate.toInsertReq(getSessionId(), batchRows);
+      if (insertReq != null) {
+        TSStatus status = client.insertStringRecords(insertReq);
+        return getBatchResult(status, Collections.nCopies(batchRows.size(), sql));
+      }
+    }
+    List<String> sqlList = new ArrayList<>(getBatchSQLList());
+    for (String[] row : batchRows) {
+      sqlList.add(createCompleteSql(row));
+    }
+    return executeBatchSQL(sqlList);
   }
 
   @Override
@@ -972,9 +1040,18 @@ public class IoTDBPreparedStatement extends IoTDBStatement implements PreparedSt
     throw new SQLException(Constant.PARAMETER_SUPPORTED);
   }
 
+  private String createCompleteSql(String[] row) {
+    StringBuilder newSql = new StringBuilder(sqlParts.get(0));
+    for (int i = 1; i < sqlParts.size(); i++) {
+      newSql.append(row[i - 1]);
+      newSql.append(sqlParts.get(i));
+    }
+    return newSql.toString();
+  }
+
   private String createCompleteSql(final String sql, Map<Integer, String> parameters)
       throws SQLException {
-    List<String> parts = splitSqlStatement(sql);
+    List<String> parts = sqlParts;
 
     StringBuilder newSql = new StringBuilder(parts.get(0));
     for (int i = 1; i < parts.size(); i++) {
@@ -1026,4 +1103,199 @@ public class IoTDBPreparedStatement extends IoTDBStatement implements PreparedSt
     parts.add(sql.substring(off));
     return parts;
   }
+
+  /**
+   * An SQL inserting one row of a device, such as {@code INSERT INTO root.sg.d1(time, s1, s2)
+   * VALUES(?, ?, 'a')}. Rows of it can be sent by insertStringRecords instead of being parsed as
+   * SQLs one by one on the server.
+   */
+  private static class InsertTemplate {
+
+    private static final Pattern INSERT_PATTERN =
+        Pattern.compile(
+            "^\\s*insert\\s+into\\s+([^\\s(`'\"]+)\\s*\\(\\s*(?:time|timestamp)\\s*,([^)]*)\\)"
+                + "\\s*(aligned\\s+)?values\\s*\\((.*)\\)\\s*;?\\s*$",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    private static final Pattern MEASUREMENT_PATTERN = Pattern.compile("[^\\s`'\".,()]+");
+
+    private static final Pattern NUMBER_PATTERN =
+        Pattern.compile("[+-]?(\\d+\\.?\\d*|\\.\\d+)([eE][+-]?\\d+)?");
+
+    private static final String NULL = "null";
+
+    private final String device;
+    private final List<String> measurements;
+    private final boolean isAligned;
+
+    /**
+     * The time and values of the row, each of which is either a literal or null for a parameter.
+     */
+    private final String[] items;
+
+    private InsertTemplate(
+        String device, List<String> measurements, boolean isAligned, String[] items) {
+      this.device = device;
+      this.measurements = measurements;
+      this.isAligned = isAligned;
+      this.items = items;
+    }
+
+    /** @return null if the SQL is not an insert template */
+    static InsertTemplate parse(String sql, int parameterNum) {
+      Matcher matcher = INSERT_PATTERN.matcher(sql);
+      // escaped characters are left to the server
+      if (sql.indexOf('\\') >= 0 || !matcher.matches()) {
+        return null;
+      }
+      List<String> measurements = new ArrayList<>();
+      for (String measurement : matcher.group(2).split(",")) {
+        measurement = measurement.trim();
+        if (!MEASUREMENT_PATTERN.matcher(measurement).matches()) {
+          return null;
+        }
+        measurements.add(measurement);
+      }
+      List<String> items = splitValues(matcher.group(4));
+      if (items == null || items.size() != measurements.size() + 1) {
+        return null;
+      }
+
+      String[] itemArray = new String[items.size()];
+      int parameterCount = 0;
+      for (int i = 0; i < itemArray.length; i++) {
+        if ("?".equals(items.get(i))) {
+          parameterCount++;
+        } else {
+          itemArray[i] = items.get(i);
+        }
+      }
+      // placeholders in other places can not be handled
+      if (parameterCount != parameterNum) {
+        return null;
+      }
+      return new InsertTemplate(
+          matcher.group(1), measurements, matcher.group(3) != null, itemArray);
+    }
+
+    /** @return null if the values are not one list of items separated by commas */
+    private static List<String> splitValues(String values) {
+      List<String> items = new ArrayList<>();
+      char quote = 0;
+      int start = 0;
+      for (int i = 0; i < values.length(); i++) {
+        char c = values.charAt(i);
+        if (quote != 0) {
+          if (c == quote) {
+            quote = 0;
+          }
+        } else if (c == '\'' || c == '"') {
+          quote = c;
+        } else if (c == '(' || c == ')') {
+          return null;
+        } else if (c == ',') {
+          items.add(values.substring(start, i).trim());
+          start = i + 1;
+        }
+      }
+      if (quote != 0) {
+        return null;
+      }
+      items.add(values.substring(start).trim());
+      return items;
+    }
+
+    /**
+     * @param rows parameters of each row
+     * @return null if some value can not be sent without being parsed as SQL
+     */
+    TSInsertStringRecordsReq toInsertReq(long sessionId, List<String[]> rows) {
+      List<String> prefixPaths = new ArrayList<>(rows.size());
+      List<List<String>> measurementsList = new ArrayList<>(rows.size());
+      List<List<String>> valuesList = new ArrayList<>(rows.size());
+      List<Long> timestamps = new ArrayList<>(rows.size());
+      for (String[] row : rows) {
+        int parameterIndex = 0;
+        String time = items[0] == null ? row[parameterIndex++] : items[0];
+        try {
+          timestamps.add(Long.parseLong(time.trim()));
+        } catch (NumberFormatException e) {
+          return null;
+        }
+
+        List<String> rowMeasurements = new ArrayList<>(measurements.size());
+        List<String> rowValues = new ArrayList<>(measurements.size());
+        for (int i = 1; i < items.length; i++) {
+          String value = toStringValue(items[i] == null ? row[parameterIndex++] : items[i]);
+          if (value == null) {
+            return null;
+          }
+          // a null value means that the measurement is not inserted
+          if (!NULL.equals(value)) {
+            rowMeasurements.add(measurements.get(i - 1));
+            rowValues.add(value);
+          }
+        }
+        if (rowMeasurements.isEmpty()) {
+          return null;
+        }
+        prefixPaths.add(device);
+        measurementsList.add(rowMeasurements);
+        valuesList.add(rowValues);
+      }
+
+      TSInsertStringRecordsReq req =
+          new TSInsertStringRecordsReq(
+              sessionId, prefixPaths, measurementsList, valuesList, timestamps);
+      req.setIsAligned(isAligned);
+      return req;
+    }
+
+    /**
+     * Convert an SQL literal into the value of insertStringRecords, whose type is inferred by the
+     * server in the same way as the literal.
+     *
+     * @return {@link #NULL} for the null literal, or null if the literal can not be converted
+     */
+    private static String toStringValue(String literal) {
+      if (literal == null) {
+        return null;
+      }
+      String value = literal.trim();
+      if (value.length() >= 2
+          && (value.charAt(0) == '\'' || value.charAt(0) == '"')
+          && value.charAt(value.length() - 1) == value.charAt(0)) {
+        String quote = String.valueOf(value.charAt(0));
+        String content = value.substring(1, value.length() - 1);
+        if (content.contains(quote) || content.contains("\\") || !isInferredAsText(content)) {
+          return null;
+        }
+        return content;
+      }
+      if (NUMBER_PATTERN.matcher(value).matches()
+          || "true".equalsIgnoreCase(value)
+          || "false".equalsIgnoreCase(value)) {
+        return value;
+      }
+      return NULL.equalsIgnoreCase(value) ? NULL : null;
+    }
+
+    /** Whether the server infers the string as text, which is what a quoted literal means. */
+    private static boolean isInferredAsText(String content) {
+      String trimmed = content.trim();
+      if (trimmed.isEmpty()
+          || "true".equalsIgnoreCase(trimmed)
+          || "false".equalsIgnoreCase(trimmed)
+          || NULL.equalsIgnoreCase(trimmed)
+          || "NaN".equals(trimmed)) {
+        return false;
+      }
+      try {
+        Double.parseDouble(content);
+        return false;
+      } catch (NumberFormatException e) {
+        return true;
+      }
+    }
+  }
 }
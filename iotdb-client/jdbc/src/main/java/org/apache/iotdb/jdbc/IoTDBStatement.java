@@ -44,6 +44,7 @@ import java.sql.SQLWarning;
 import java.sql.Statement;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 import java.util.Objects;
@@ -336,11 +337,42 @@ public class IoTDBStatement implements Statement {
     }
   }
 
-  private int[] executeBatchSQL() throws TException, BatchUpdateException {
+  /** Execute the batch, which is retried once after reconnecting if a TException is thrown. */
+  protected int[] executeBatchSQL() throws TException, BatchUpdateException {
+    return executeBatchSQL(batchSQLList);
+  }
+
+  protected int[] executeBatchSQL(List<String> sqlList) throws TException, BatchUpdateException {
     isCancelled = false;
-    TSExecuteBatchStatementReq execReq = new TSExecuteBatchStatementReq(sessionId, batchSQLList);
+    TSExecuteBatchStatementReq execReq = new TSExecuteBatchStatementReq(sessionId, sqlList);
     TSStatus execResp = client.executeBatchStatement(execReq);
-    int[] result = new int[batchSQLList.size()];
+    return getBatchResult(execResp, sqlList);
+  }
+
+  /**
+   * Get the status code of each statement of the batch from the status of the batch. If the
+   * sub-statuses of the batch do not match its statements one by one, e.g. when only the failed
+   * rows of an insert request are reported, every statement gets the status of the batch.
+   *
+   * @param batchStatements the statements of the batch, used in the error message
+   * @throws BatchUpdateException if any statement of the batch fails
+   */
+  protected int[] getBatchResult(TSStatus execResp, List<String> batchStatements)
+      throws BatchUpdateException {
+    int[] result = new int[batchStatements.size()];
+    if (execResp.getCode() == TSStatusCode.MULTIPLE_ERROR.getStatusCode()
+        && (execResp.getSubStatus() == null || execResp.getSubStatus().size() != result.length)) {
+      StringBuilder message = new StringBuilder(System.lineSeparator());
+      if (execResp.getSubStatus() == null) {
+        message.append(execResp.getMessage());
+      } else {
+        for (TSStatus subStatus : execResp.getSubStatus()) {
+          message.append(subStatus.getMessage()).append(System.lineSeparator());
+        }
+      }
+      Arrays.fill(result, execResp.getCode());
+      throw new BatchUpdateException(message.toString(), result);
+    }
     boolean allSuccess = true;
     StringBuilder message = new StringBuilder(System.lineSeparator());
     for (int i = 0; i < result.length; i++) {
@@ -352,7 +384,7 @@ public class IoTDBStatement implements Statement {
           message
               .append(execResp.getSubStatus().get(i).message)
               .append(" for SQL: \"")
-              .append(batchSQLList.get(i))
+              .append(batchStatements.get(i))
               .append("\"")
               .append(System.lineSeparator());
         }
@@ -766,6 +798,14 @@ public class IoTDBStatement implements Statement {
     }
   }
 
+  protected boolean hasBatchSQL() {
+    return batchSQLList != null && !batchSQLList.isEmpty();
+  }
+
+  protected List<String> getBatchSQLList() {
+    return batchSQLList == null ? new ArrayList<>() : batchSQLList;
+  }
+
   private boolean reConnect() throws SQLException {
     boolean flag = connection.reconnect();
     flag = flag && reInit();
@@ -20,10 +20,13 @@
 package org.apache.iotdb.jdbc;
 
 import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.rpc.RpcUtils;
 import org.apache.iotdb.rpc.TSStatusCode;
 import org.apache.iotdb.service.rpc.thrift.IClientRPCService.Iface;
+import org.apache.iotdb.service.rpc.thrift.TSExecuteBatchStatementReq;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteStatementReq;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteStatementResp;
+import org.apache.iotdb.service.rpc.thrift.TSInsertStringRecordsReq;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -31,15 +34,20 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.sql.BatchUpdateException;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -375,4 +383,134 @@ public class IoTDBPreparedStatementTest {
         "INSERT INTO root.ln.wf01.wt02(time,a,b,c,d,e,f) VALUES(2020-01-01T10:10:10,false,123,123234345,123.423,-1323.0,\"abc\")",
         argument.getValue().getStatement());
   }
+
+  @SuppressWarnings("resource")
+  @Test
+  public void testBatchInsertTemplate() throws Exception {
+    when(client.insertStringRecords(any(TSInsertStringRecordsReq.class)))
+        .thenReturn(RpcUtils.getStatus(TSStatusCode.SUCCESS_STATUS));
+    String sql = "INSERT INTO root.ln.wf01.wt01(time,a,b,c) ALIGNED VALUES(?,?,?,'x')";
+    IoTDBPreparedStatement ps =
+        new IoTDBPreparedStatement(connection, client, sessionId, sql, zoneId);
+    ps.setLong(1, 1L);
+    ps.setBoolean(2, true);
+    ps.setString(3, "'abc'");
+    ps.addBatch();
+    ps.setLong(1, 2L);
+    ps.setString(2, "null");
+    ps.setDouble(3, 1.5);
+    ps.addBatch();
+    assertEquals(2, ps.executeBatch().length);
+
+    ArgumentCaptor<TSInsertStringRecordsReq> argument =
+        ArgumentCaptor.forClass(TSInsertStringRecordsReq.class);
+    verify(client).insertStringRecords(argument.capture());
+    TSInsertStringRecordsReq req = argument.getValue();
+    assertEquals(Arrays.asList("root.ln.wf01.wt01", "root.ln.wf01.wt01"), req.getPrefixPaths());
+    assertEquals(Arrays.asList(1L, 2L), req.getTimestamps());
+    assertEquals(
+        Arrays.asList(Arrays.asList("a", "b", "c"), Arrays.asList("b", "c")),
+        req.getMeasurementsList());
+    assertEquals(
+        Arrays.asList(Arrays.asList("true", "abc", "x"), Arrays.asList("1.5", "x")),
+        req.getValuesList());
+    assertTrue(req.isIsAligned());
+    verify(client, never()).executeBatchStatement(any(TSExecuteBatchStatementReq.class));
+  }
+
+  @SuppressWarnings("resource")
+  @Test
+  public void testBatchFallbackToSQL() throws Exception {
+    when(client.executeBatchStatement(any(TSExecuteBatchStatementReq.class)))
+        .thenReturn(
+            RpcUtils.getStatus(
+                Arrays.asList(
+                    RpcUtils.getStatus(TSStatusCode.SUCCESS_STATUS),
+                    RpcUtils.getStatus(TSStatusCode.SUCCESS_STATUS))));
+    String sql = "INSERT INTO root.ln.wf01.wt01(time,a) VALUES(?,?)";
+    IoTDBPreparedStatement ps =
+        new IoTDBPreparedStatement(connection, client, sessionId, sql, zoneId);
+    ps.setLong(1, 1L);
+    ps.setInt(2, 1);
+    ps.addBatch();
+    // a time which is not a number is left to the server
+    ps.setTimestamp(1, new Timestamp(0));
+    // a quoted number is a string, which would be inferred as a number
+    ps.setString(2, "'1'");
+    ps.addBatch();
+    assertEquals(2, ps.executeBatch().length);
+
+    ArgumentCaptor<TSExecuteBatchStatementReq> argument =
+        ArgumentCaptor.forClass(TSExecuteBatchStatementReq.class);
+    verify(client).executeBatchStatement(argument.capture());
+    assertEquals(2, argument.getValue().getStatements().size());
+    assertEquals(
+        "INSERT INTO root.ln.wf01.wt01(time,a) VALUES(1,1)",
+        argument.getValue().getStatements().get(0));
+    verify(client, never()).insertStringRecords(any(TSInsertStringRecordsReq.class));
+
+    // SQLs other than insert templates are batched as they are
+    IoTDBPreparedStatement query =
+        new IoTDBPreparedStatement(
+            connection, client, sessionId, "SELECT ? FROM root.ln.wf01.wt01", zoneId);
+    query.setString(1, "temperature");
+    query.addBatch();
+    assertEquals(
+        Collections.singletonList("SELECT temperature FROM root.ln.wf01.wt01"),
+        query.getBatchSQLList());
+  }
+
+  @SuppressWarnings("resource")
+  @Test
+  public void testBatchInsertTemplatePartialFailure() throws Exception {
+    // only the failed rows are reported
+    when(client.insertStringRecords(any(TSInsertStringRecordsReq.class)))
+        .thenReturn(
+            RpcUtils.getStatus(
+                Collections.singletonList(
+                    RpcUtils.getStatus(TSStatusCode.METADATA_ERROR, "type mismatch"))));
+    String sql = "INSERT INTO root.ln.wf01.wt01(time,a) VALUES(?,?)";
+    IoTDBPreparedStatement ps =
+        new IoTDBPreparedStatement(connection, client, sessionId, sql, zoneId);
+    for (long time = 1; time <= 3; time++) {
+      ps.setLong(1, time);
+      ps.setInt(2, 1);
+      ps.addBatch();
+    }
+    BatchUpdateException e = assertThrows(BatchUpdateException.class, ps::executeBatch);
+    assertEquals(3, e.getUpdateCounts().length);
+    for (int updateCount : e.getUpdateCounts()) {
+      assertEquals(TSStatusCode.MULTIPLE_ERROR.getStatusCode(), updateCount);
+    }
+    assertTrue(e.getMessage().contains("type mismatch"));
+  }
+
+  @SuppressWarnings("resource")
+  @Test
+  public void testBatchKeepOrderWithSQL() throws Exception {
+    when(client.executeBatchStatement(any(TSExecuteBatchStatementReq.class)))
+        .thenReturn(RpcUtils.getStatus(TSStatusCode.SUCCESS_STATUS));
+    String sql = "INSERT INTO root.ln.wf01.wt01(time,a) VALUES(?,?)";
+    IoTDBPreparedStatement ps =
+        new IoTDBPreparedStatement(connection, client, sessionId, sql, zoneId);
+    ps.setLong(1, 1L);
+    ps.setInt(2, 1);
+    ps.addBatch();
+    ps.addBatch("DELETE FROM root.ln.wf01.wt01.a WHERE time <= 1");
+    ps.setLong(1, 1L);
+    ps.setInt(2, 2);
+    ps.addBatch();
+    assertEquals(3, ps.executeBatch().length);
+
+    ArgumentCaptor<TSExecuteBatchStatementReq> argument =
+        ArgumentCaptor.forClass(TSExecuteBatchStatementReq.class);
+    verify(client).executeBatchStatement(argument.capture());
+    assertEquals(
+        Arrays.asList(
+            "INSERT INTO root.ln.wf01.wt01(time,a) VALUES(1,1)",
+            "DELETE FROM root.ln.wf01.wt01.a WHERE time <= 1",
+            "INSERT INTO root.ln.wf01.wt01(time,a) VALUES(1,2)"),
+        argument.getValue().getStatements());
+    verify(client, never()).insertStringRecords(any(TSInsertStringRecordsReq.class));
+  }
 }
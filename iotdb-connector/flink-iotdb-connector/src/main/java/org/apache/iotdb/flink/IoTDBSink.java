@@ -19,9 +19,11 @@
 package org.apache.iotdb.flink;
 
 import org.apache.iotdb.flink.options.IoTDBSinkOptions;
+import org.apache.iotdb.isession.pool.SessionDataSetWrapper;
 import org.apache.iotdb.session.pool.SessionPool;
 import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.RowRecord;
 
 import com.google.common.base.Preconditions;
 import org.apache.flink.configuration.Configuration;
@@ -29,11 +31,13 @@ import org.apache.flink.streaming.api.functions.sink.RichSinkFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -48,6 +52,7 @@ public class IoTDBSink<IN> extends RichSinkFunction<IN> {
 
   private static final long serialVersionUID = 1L;
   private static final Logger LOG = LoggerFactory.getLogger(IoTDBSink.class);
+  private static final String TIME_PARTITION_INTERVAL = "TimePartitionInterval";
 
   private IoTDBSinkOptions options;
   private IoTSerializationSchema<IN> serializationSchema;
@@ -59,6 +64,9 @@ public class IoTDBSink<IN> extends RichSinkFunction<IN> {
   private int flushIntervalMs = 3000;
   private transient List<Event> batchList;
   private int sessionPoolSize = 2;
+  private String tsFileDir = null;
+  private long timePartitionInterval = 0;
+  private transient TsFileBatchWriter tsFileBatchWriter;
 
   public IoTDBSink(IoTDBSinkOptions options, IoTSerializationSchema<IN> schema) {
     this.options = options;
@@ -73,6 +81,7 @@ public class IoTDBSink<IN> extends RichSinkFunction<IN> {
   @Override
   public void open(Configuration parameters) throws Exception {
     initSession();
+    initTsFileBatchWriter();
     initScheduler();
   }
 
@@ -86,6 +95,37 @@ public class IoTDBSink<IN> extends RichSinkFunction<IN> {
             sessionPoolSize);
   }
 
+  void initTsFileBatchWriter() throws Exception {
+    if (tsFileDir == null) {
+      return;
+    }
+    Preconditions.checkArgument(batchSize > 0, "TsFiles can only be written in batches");
+    if (timePartitionInterval <= 0) {
+      timePartitionInterval = queryTimePartitionInterval();
+    }
+    tsFileBatchWriter =
+        new TsFileBatchWriter(
+            new File(tsFileDir),
+            "flink-" + UUID.randomUUID(),
+            timePartitionInterval,
+            timeseriesOptionMap);
+  }
+
+  private long queryTimePartitionInterval() throws Exception {
+    SessionDataSetWrapper dataSet = pool.executeQueryStatement("show variables");
+    try {
+      while (dataSet.hasNext()) {
+        RowRecord variable = dataSet.next();
+        if (TIME_PARTITION_INTERVAL.equals(variable.getFields().get(0).getStringValue())) {
+          return Long.parseLong(variable.getFields().get(1).getStringValue());
+        }
+      }
+    } finally {
+      pool.closeResultSet(dataSet);
+    }
+    throw new IllegalStateException("Can not get the time partition interval of IoTDB");
+  }
+
   @SuppressWarnings("unsafeThreadSchedule")
   void initScheduler() {
     if (batchSize > 0) {
@@ -148,6 +188,29 @@ public class IoTDBSink<IN> extends RichSinkFunction<IN> {
     return this;
   }
 
+  /**
+   * Write the batches into TsFiles in the given directory and load them into IoTDB, instead of
+   * inserting the events. This bypasses the WAL and memtables of IoTDB, which suits backfilling
+   * historical data. The directory must be accessible with the same path by the DataNode the
+   * session connects to, e.g. a shared file system. The loaded TsFiles are deleted by IoTDB. Only
+   * works with a positive batch size.
+   */
+  public IoTDBSink<IN> withTsFileDir(String tsFileDir) {
+    Preconditions.checkArgument(tsFileDir != null && !tsFileDir.isEmpty());
+    this.tsFileDir = tsFileDir;
+    return this;
+  }
+
+  /**
+   * The time partition interval of IoTDB, by which the TsFiles are split. It is queried from IoTDB
+   * if not set.
+   */
+  public IoTDBSink<IN> withTimePartitionInterval(long timePartitionInterval) {
+    Preconditions.checkArgument(timePartitionInterval > 0);
+    this.timePartitionInterval = timePartitionInterval;
+    return this;
+  }
+
   public IoTDBSink<IN> withSessionPoolSize(int sessionPoolSize) {
     Preconditions.checkArgument(sessionPoolSize > 0);
     this.sessionPoolSize = sessionPoolSize;
@@ -188,7 +251,9 @@ public class IoTDBSink<IN> extends RichSinkFunction<IN> {
   private void flush() throws Exception {
     if (batchSize > 0) {
       synchronized (batchList) {
-        if (!batchList.isEmpty()) {
+        if (tsFileBatchWriter != null) {
+          loadTsFiles();
+        } else if (!batchList.isEmpty()) {
           List<String> deviceIds = new ArrayList<>();
           List<Long> timestamps = new ArrayList<>();
           List<List<String>> measurementsList = new ArrayList<>();
@@ -210,4 +275,22 @@ public class IoTDBSink<IN> extends RichSinkFunction<IN> {
       }
     }
   }
+
+  private void loadTsFiles() throws Exception {
+    if (batchList.isEmpty()) {
+      return;
+    }
+    List<File> tsFiles = tsFileBatchWriter.write(batchList);
+    batchList.clear();
+    for (File tsFile : tsFiles) {
+      try {
+        pool.executeNonQueryStatement(
+            String.format("load '%s' onSuccess=delete", tsFile.getAbsolutePath()));
+      } catch (Exception e) {
+        LOG.error("load tsfile error, the tsfiles not loaded are kept in {}", tsFileDir, e);
+        throw e;
+      }
+      LOG.debug("load tsfile {} successfully", tsFile);
+    }
+  }
 }
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.flink;
+
+import org.apache.iotdb.flink.options.IoTDBSinkOptions;
+import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
+import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.write.TsFileWriter;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.DataPoint;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes batches of {@link Event}s into TsFiles, which are then loaded into IoTDB without going
+ * through its WAL and memtables. One TsFile is written for each time partition of IoTDB, so that
+ * IoTDB does not need to split the TsFiles when loading them.
+ */
+public class TsFileBatchWriter {
+
+  private final File dir;
+  private final String filePrefix;
+  private final long timePartitionInterval;
+  private final Map<String, IoTDBSinkOptions.TimeseriesOption> timeseriesOptionMap;
+  private long fileCount = 0;
+
+  /**
+   * @param dir the directory to write the TsFiles in
+   * @param filePrefix the prefix of the TsFile names, which should be unique among the writers
+   *     sharing the directory
+   * @param timePartitionInterval the time partition interval of IoTDB
+   * @param timeseriesOptionMap the encodings and compressors of the timeseries
+   */
+  public TsFileBatchWriter(
+      File dir,
+      String filePrefix,
+      long timePartitionInterval,
+      Map<String, IoTDBSinkOptions.TimeseriesOption> timeseriesOptionMap) {
+    if (timePartitionInterval <= 0) {
+      throw new IllegalArgumentException(
+          "The time partition interval should be positive: " + timePartitionInterval);
+    }
+    this.dir = dir;
+    this.filePrefix = filePrefix;
+    this.timePartitionInterval = timePartitionInterval;
+    this.timeseriesOptionMap = timeseriesOptionMap;
+  }
+
+  /**
+   * Write the events into TsFiles. When several events have the same device, timestamp and
+   * measurement, the value of the last one is written.
+   *
+   * @return the written TsFiles, one for each time partition of the events
+   */
+  public List<File> write(List<Event> events) throws IOException, WriteProcessException {
+    if (!dir.exists() && !dir.mkdirs() && !dir.exists()) {
+      throw new IOException("Can not create the directory " + dir);
+    }
+
+    // the data points of each series should be written in time order
+    List<Event> sortedEvents = new ArrayList<>(events);
+    sortedEvents.sort(
+        Comparator.comparingLong((Event event) -> getTimePartition(event.getTimestamp()))
+            .thenComparing(Event::getDevice)
+            .thenComparingLong(Event::getTimestamp));
+
+    List<File> files = new ArrayList<>();
+    int start = 0;
+    while (start < sortedEvents.size()) {
+      long timePartition = getTimePartition(sortedEvents.get(start).getTimestamp());
+      int end = start + 1;
+      while (end < sortedEvents.size()
+          && getTimePartition(sortedEvents.get(end).getTimestamp()) == timePartition) {
+        end++;
+      }
+      files.add(writeTsFile(sortedEvents.subList(start, end)));
+      start = end;
+    }
+    return files;
+  }
+
+  private File writeTsFile(List<Event> sortedEvents) throws IOException, WriteProcessException {
+    File file =
+        new File(
+            dir, String.format("%s-%d%s", filePrefix, fileCount++, TsFileConstant.TSFILE_SUFFIX));
+    try (TsFileWriter writer = new TsFileWriter(file)) {
+      Set<String> registeredSeries = new HashSet<>();
+      String device = null;
+      long time = 0;
+      // the data points of the current device and time, by measurement
+      Map<String, DataPoint> dataPoints = new LinkedHashMap<>();
+      for (Event event : sortedEvents) {
+        if (!event.getDevice().equals(device) || event.getTimestamp() != time) {
+          writeRecord(writer, device, time, dataPoints);
+          device = event.getDevice();
+          time = event.getTimestamp();
+        }
+        for (int i = 0; i < event.getMeasurements().size(); i++) {
+          Object value = event.getValues().get(i);
+          if (value == null) {
+            continue;
+          }
+          String measurement = event.getMeasurements().get(i);
+          TSDataType type = event.getTypes().get(i);
+          String series = device + TsFileConstant.PATH_SEPARATOR + measurement;
+          if (registeredSeries.add(series)) {
+            writer.registerTimeseries(
+                new Path(device), getMeasurementSchema(series, measurement, type));
+          }
+          dataPoints.put(measurement, DataPoint.getDataPoint(type, measurement, value.toString()));
+        }
+      }
+      writeRecord(writer, device, time, dataPoints);
+    } catch (IOException | WriteProcessException | RuntimeException e) {
+      if (file.exists() && !file.delete()) {
+        e.addSuppressed(new IOException("Can not delete the TsFile " + file));
+      }
+      throw e;
+    }
+    return file;
+  }
+
+  private MeasurementSchema getMeasurementSchema(
+      String series, String measurement, TSDataType type) {
+    IoTDBSinkOptions.TimeseriesOption timeseriesOption = timeseriesOptionMap.get(series);
+    return timeseriesOption == null || timeseriesOption.getDataType() != type
+        ? new MeasurementSchema(measurement, type)
+        : new MeasurementSchema(
+            measurement, type, timeseriesOption.getEncoding(), timeseriesOption.getCompressor());
+  }
+
+  private static void writeRecord(
+      TsFileWriter writer, String device, long time, Map<String, DataPoint> dataPoints)
+      throws IOException, WriteProcessException {
+    if (dataPoints.isEmpty()) {
+      return;
+    }
+    TSRecord record = new TSRecord(time, device);
+    for (DataPoint dataPoint : dataPoints.values()) {
+      record.addTuple(dataPoint);
+    }
+    writer.write(record);
+    dataPoints.clear();
+  }
+
+  private long getTimePartition(long time) {
+    return Math.floorDiv(time, timePartitionInterval);
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.flink;
+
+import org.apache.iotdb.flink.options.IoTDBSinkOptions;
+import org.apache.iotdb.session.pool.SessionPool;
+import org.apache.iotdb.tsfile.read.TsFileReader;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.read.expression.QueryExpression;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class IoTDBSinkTsFileLoadTest {
+
+  @Rule public TemporaryFolder tsFileDir = new TemporaryFolder();
+
+  private IoTDBSink ioTDBSink;
+  private SessionPool pool;
+
+  @Before
+  public void setUp() throws Exception {
+    IoTDBSinkOptions options = new IoTDBSinkOptions();
+    options.setTimeseriesOptionList(
+        Lists.newArrayList(new IoTDBSinkOptions.TimeseriesOption("root.sg.D01.temperature")));
+    ioTDBSink = new IoTDBSink(options, new DefaultIoTSerializationSchema());
+    ioTDBSink
+        .withBatchSize(3)
+        .withTsFileDir(tsFileDir.getRoot().getAbsolutePath())
+        .withTimePartitionInterval(100);
+
+    pool = mock(SessionPool.class);
+    ioTDBSink.setSessionPool(pool);
+    ioTDBSink.initTsFileBatchWriter();
+  }
+
+  @Test
+  public void testLoadTsFiles() throws Exception {
+    ioTDBSink.invoke(tuple("root.sg.D01", 150, "36.5"), null);
+    ioTDBSink.invoke(tuple("root.sg.D01", 50, "37.2"), null);
+    verifyZeroInteractions(pool);
+
+    // the later value of the same point is written
+    ioTDBSink.invoke(tuple("root.sg.D01", 50, "37.1"), null);
+    verify(pool, times(2)).executeNonQueryStatement(anyString());
+    verify(pool, never())
+        .insertRecords(
+            any(List.class), any(List.class), any(List.class), any(List.class), any(List.class));
+
+    // one tsfile for each time partition
+    File[] tsFiles = tsFileDir.getRoot().listFiles();
+    assertEquals(2, tsFiles.length);
+    Arrays.sort(tsFiles);
+    assertEquals(Arrays.asList("50:37.1"), readTsFile(tsFiles[0]));
+    assertEquals(Arrays.asList("150:36.5"), readTsFile(tsFiles[1]));
+    verify(pool)
+        .executeNonQueryStatement(
+            String.format("load '%s' onSuccess=delete", tsFiles[0].getAbsolutePath()));
+  }
+
+  @Test
+  public void close() throws Exception {
+    ioTDBSink.invoke(tuple("root.sg.D01", 150, "36.5"), null);
+    verifyZeroInteractions(pool);
+
+    ioTDBSink.close();
+    verify(pool).executeNonQueryStatement(anyString());
+    verify(pool).close();
+    assertFalse(tsFileDir.getRoot().list().length == 0);
+  }
+
+  private static Map<String, String> tuple(String device, long timestamp, String value) {
+    Map<String, String> tuple = new HashMap<>();
+    tuple.put("device", device);
+    tuple.put("timestamp", String.valueOf(timestamp));
+    tuple.put("measurements", "temperature");
+    tuple.put("types", "DOUBLE");
+    tuple.put("values", value);
+    return tuple;
+  }
+
+  private static List<String> readTsFile(File tsFile) throws Exception {
+    List<String> points = new ArrayList<>();
+    try (TsFileReader reader =
+        new TsFileReader(new TsFileSequenceReader(tsFile.getAbsolutePath()))) {
+      QueryDataSet dataSet =
+          reader.query(
+              QueryExpression.create(
+                  Lists.newArrayList(new Path("root.sg.D01", "temperature", false)), null));
+      while (dataSet.hasNext()) {
+        RowRecord record = dataSet.next();
+        points.add(record.getTimestamp() + ":" + record.getFields().get(0).getDoubleV());
+      }
+    }
+    return points;
+  }
+}
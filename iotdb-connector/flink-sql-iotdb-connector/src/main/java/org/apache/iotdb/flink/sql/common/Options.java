@@ -45,6 +45,8 @@ public class Options {
       ConfigOptions.key("scan.bounded.lower-bound").longType().defaultValue(-1L);
   public static final ConfigOption<Long> SCAN_BOUNDED_UPPER_BOUND =
       ConfigOptions.key("scan.bounded.upper-bound").longType().defaultValue(-1L);
+  public static final ConfigOption<Boolean> SCAN_BOUNDED_SPLIT_BY_TIME_PARTITION =
+      ConfigOptions.key("scan.bounded.split-by-time-partition").booleanType().defaultValue(false);
   public static final ConfigOption<String> SQL =
       ConfigOptions.key("sql").stringType().noDefaultValue();
   public static final ConfigOption<String> PATTERN =
@@ -95,6 +95,9 @@ public class IoTDBDynamicTableFactory
     optionalOptions.add(Options.SQL);
     optionalOptions.add(Options.PATTERN);
     optionalOptions.add(Options.CDC_MODE);
+    optionalOptions.add(Options.SCAN_BOUNDED_LOWER_BOUND);
+    optionalOptions.add(Options.SCAN_BOUNDED_UPPER_BOUND);
+    optionalOptions.add(Options.SCAN_BOUNDED_SPLIT_BY_TIME_PARTITION);
 
     return optionalOptions;
   }
@@ -174,6 +177,11 @@ public class IoTDBDynamicTableFactory
       throw new IllegalOptionException(
           "The value of option `scan.bounded.lower-bound` could not be greater than the value of option `scan.bounded.upper-bound`.");
     }
+    if (options.get(Options.SCAN_BOUNDED_SPLIT_BY_TIME_PARTITION)
+        && (lowerBound < 0L || upperBound < 0L)) {
+      throw new IllegalOptionException(
+          "The options `scan.bounded.lower-bound` and `scan.bounded.upper-bound` are required when option `scan.bounded.split-by-time-partition` is true.");
+    }
 
     if (type == Type.SOURCE) {
       if (options.get(Options.MODE) == Options.Mode.CDC) {
@@ -20,6 +20,7 @@ package org.apache.iotdb.flink.sql.function;
 
 import org.apache.iotdb.flink.sql.common.Options;
 import org.apache.iotdb.flink.sql.common.Utils;
+import org.apache.iotdb.flink.sql.exception.IllegalOptionException;
 import org.apache.iotdb.flink.sql.exception.IllegalSchemaException;
 import org.apache.iotdb.flink.sql.wrapper.SchemaWrapper;
 import org.apache.iotdb.isession.SessionDataSet;
@@ -27,6 +28,7 @@ import org.apache.iotdb.rpc.IoTDBConnectionException;
 import org.apache.iotdb.rpc.StatementExecutionException;
 import org.apache.iotdb.session.Session;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.Field;
 import org.apache.iotdb.tsfile.read.common.RowRecord;
 
 import org.apache.flink.api.common.io.DefaultInputSplitAssigner;
@@ -41,15 +43,20 @@ import org.apache.flink.core.io.InputSplitAssigner;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.types.DataType;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 public class IoTDBBoundedScanFunction extends RichInputFormat<RowData, InputSplit> {
+  private static final String TIME_PARTITION_INTERVAL = "TimePartitionInterval";
+
   private final ReadableConfig options;
   private final String sql;
   private final List<Tuple2<String, DataType>> tableSchema;
   private final long lowerBound;
   private final long upperBound;
+  private final boolean splitByTimePartition;
   private Session session;
   private SessionDataSet dataSet;
   private List<String> columnNames;
@@ -60,6 +67,7 @@ public class IoTDBBoundedScanFunction extends RichInputFormat<RowData, InputSpli
     sql = options.get(Options.SQL);
     lowerBound = options.get(Options.SCAN_BOUNDED_LOWER_BOUND);
     upperBound = options.get(Options.SCAN_BOUNDED_UPPER_BOUND);
+    splitByTimePartition = options.get(Options.SCAN_BOUNDED_SPLIT_BY_TIME_PARTITION);
   }
 
   @Override
@@ -74,7 +82,63 @@ public class IoTDBBoundedScanFunction extends RichInputFormat<RowData, InputSpli
 
   @Override
   public InputSplit[] createInputSplits(int i) {
-    return new GenericInputSplit[] {new GenericInputSplit(1, 1)};
+    if (!splitByTimePartition || lowerBound < 0L || upperBound < 0L) {
+      return new GenericInputSplit[] {new GenericInputSplit(1, 1)};
+    }
+    Session splitSession = createSession(getNodeUrls());
+    try {
+      splitSession.open(false);
+      return getTimePartitionSplits(
+          lowerBound, upperBound, queryTimePartitionInterval(splitSession));
+    } catch (IoTDBConnectionException | StatementExecutionException e) {
+      throw new RuntimeException(e);
+    } finally {
+      try {
+        splitSession.close();
+      } catch (IoTDBConnectionException e) {
+        // do nothing
+      }
+    }
+  }
+
+  /**
+   * Split [lowerBound, upperBound] at the bounds of the time partitions of IoTDB. Data regions are
+   * allocated by time partition, so the query of each split only reads the regions of one time
+   * partition.
+   */
+  static TimePartitionInputSplit[] getTimePartitionSplits(
+      long lowerBound, long upperBound, long timePartitionInterval) {
+    List<TimePartitionInputSplit> splits = new ArrayList<>();
+    long partitionStartTime =
+        Math.floorDiv(lowerBound, timePartitionInterval) * timePartitionInterval;
+    long partitionEndTime;
+    do {
+      partitionEndTime =
+          partitionStartTime > Long.MAX_VALUE - timePartitionInterval
+              ? Long.MAX_VALUE
+              : partitionStartTime + timePartitionInterval - 1;
+      splits.add(
+          new TimePartitionInputSplit(
+              splits.size(),
+              Math.max(lowerBound, partitionStartTime),
+              Math.min(upperBound, partitionEndTime)));
+      partitionStartTime = partitionEndTime + 1;
+    } while (partitionEndTime < upperBound);
+    return splits.toArray(new TimePartitionInputSplit[0]);
+  }
+
+  private static long queryTimePartitionInterval(Session session)
+      throws IoTDBConnectionException, StatementExecutionException {
+    try (SessionDataSet variables = session.executeQueryStatement("show variables")) {
+      while (variables.hasNext()) {
+        List<Field> fields = variables.next().getFields();
+        if (TIME_PARTITION_INTERVAL.equals(fields.get(0).getStringValue())) {
+          return Long.parseLong(fields.get(1).getStringValue());
+        }
+      }
+    }
+    throw new IllegalOptionException(
+        "Can not get the time partition interval of IoTDB to split by time partition.");
   }
 
   @Override
@@ -84,12 +148,10 @@ public class IoTDBBoundedScanFunction extends RichInputFormat<RowData, InputSpli
 
   @Override
   public void openInputFormat() {
-    session =
-        new Session.Builder()
-            .nodeUrls(Arrays.asList(options.get(Options.NODE_URLS).split(",")))
-            .username(options.get(Options.USER))
-            .password(options.get(Options.PASSWORD))
-            .build();
+    List<String> nodeUrls = getNodeUrls();
+    // the subtasks start from different nodes, so that not all splits are coordinated by one node
+    Collections.rotate(nodeUrls, -getRuntimeContext().getIndexOfThisSubtask());
+    session = createSession(nodeUrls);
 
     try {
       session.open(false);
@@ -98,10 +160,28 @@ public class IoTDBBoundedScanFunction extends RichInputFormat<RowData, InputSpli
     }
   }
 
+  private List<String> getNodeUrls() {
+    return new ArrayList<>(Arrays.asList(options.get(Options.NODE_URLS).split(",")));
+  }
+
+  private Session createSession(List<String> nodeUrls) {
+    return new Session.Builder()
+        .nodeUrls(nodeUrls)
+        .username(options.get(Options.USER))
+        .password(options.get(Options.PASSWORD))
+        .build();
+  }
+
   @Override
   public void open(InputSplit inputSplit) {
     String sql;
-    if (lowerBound < 0L && upperBound < 0L) {
+    if (inputSplit instanceof TimePartitionInputSplit) {
+      TimePartitionInputSplit split = (TimePartitionInputSplit) inputSplit;
+      sql =
+          String.format(
+              "%s WHERE TIME >= %d AND TIME <= %d",
+              this.sql, split.getStartTime(), split.getEndTime());
+    } else if (lowerBound < 0L && upperBound < 0L) {
       sql = this.sql;
     } else if (lowerBound < 0L && upperBound > 0L) {
       sql = String.format("%s WHERE TIME <= %d", this.sql, upperBound);
@@ -164,4 +244,33 @@ public class IoTDBBoundedScanFunction extends RichInputFormat<RowData, InputSpli
       throw new RuntimeException(e);
     }
   }
+
+  /** The part of the bounded scan in one time partition of IoTDB. */
+  static class TimePartitionInputSplit implements InputSplit {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int splitNumber;
+    private final long startTime;
+    private final long endTime;
+
+    TimePartitionInputSplit(int splitNumber, long startTime, long endTime) {
+      this.splitNumber = splitNumber;
+      this.startTime = startTime;
+      this.endTime = endTime;
+    }
+
+    @Override
+    public int getSplitNumber() {
+      return splitNumber;
+    }
+
+    long getStartTime() {
+      return startTime;
+    }
+
+    long getEndTime() {
+      return endTime;
+    }
+  }
 }
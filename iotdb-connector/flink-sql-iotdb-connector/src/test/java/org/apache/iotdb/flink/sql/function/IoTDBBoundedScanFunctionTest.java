@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.flink.sql.function;
+
+import org.apache.iotdb.flink.sql.function.IoTDBBoundedScanFunction.TimePartitionInputSplit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IoTDBBoundedScanFunctionTest {
+
+  @Test
+  public void testSplitInOnePartition() {
+    assertSplits(IoTDBBoundedScanFunction.getTimePartitionSplits(10, 20, 100), 10, 20);
+    assertSplits(IoTDBBoundedScanFunction.getTimePartitionSplits(0, 99, 100), 0, 99);
+    assertSplits(IoTDBBoundedScanFunction.getTimePartitionSplits(5, 5, 100), 5, 5);
+  }
+
+  @Test
+  public void testSplitAtPartitionBounds() {
+    assertSplits(
+        IoTDBBoundedScanFunction.getTimePartitionSplits(50, 250, 100),
+        50,
+        99,
+        100,
+        199,
+        200,
+        250);
+    assertSplits(
+        IoTDBBoundedScanFunction.getTimePartitionSplits(100, 200, 100), 100, 199, 200, 200);
+    assertSplits(IoTDBBoundedScanFunction.getTimePartitionSplits(0, 100, 100), 0, 99, 100, 100);
+  }
+
+  @Test
+  public void testSplitNegativeTime() {
+    assertSplits(
+        IoTDBBoundedScanFunction.getTimePartitionSplits(-150, 20, 100),
+        -150,
+        -101,
+        -100,
+        -1,
+        0,
+        20);
+    assertSplits(IoTDBBoundedScanFunction.getTimePartitionSplits(-1, -1, 100), -1, -1);
+  }
+
+  @Test
+  public void testSplitNearMaxTime() {
+    // the last time partition ends at Long.MAX_VALUE instead of overflowing
+    assertSplits(
+        IoTDBBoundedScanFunction.getTimePartitionSplits(
+            Long.MAX_VALUE - 10, Long.MAX_VALUE, 100),
+        Long.MAX_VALUE - 10,
+        Long.MAX_VALUE - 8,
+        Long.MAX_VALUE - 7,
+        Long.MAX_VALUE);
+  }
+
+  private static void assertSplits(TimePartitionInputSplit[] splits, long... bounds) {
+    Assert.assertEquals(bounds.length / 2, splits.length);
+    for (int i = 0; i < splits.length; i++) {
+      Assert.assertEquals(i, splits[i].getSplitNumber());
+      Assert.assertEquals(bounds[2 * i], splits[i].getStartTime());
+      Assert.assertEquals(bounds[2 * i + 1], splits[i].getEndTime());
+    }
+  }
+}
@@ -20,11 +20,20 @@
 package org.apache.iotdb.spark.db
 
 import org.apache.iotdb.session.Session
+import org.apache.iotdb.tsfile.common.constant.TsFileConstant
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType.{BOOLEAN, DOUBLE, FLOAT, INT32, INT64, TEXT}
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType
+import org.apache.iotdb.tsfile.read.common.Path
+import org.apache.iotdb.tsfile.write.TsFileWriter
+import org.apache.iotdb.tsfile.write.record.TSRecord
+import org.apache.iotdb.tsfile.write.record.datapoint.DataPoint
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema
+import org.apache.spark.sql.functions.{lit, pmod}
 import org.apache.spark.sql.{DataFrame, Row}
 
+import java.io.File
 import java.util
+import java.util.UUID
 import java.lang
 
 object DataFrameTools {
@@ -90,6 +99,133 @@ object DataFrameTools {
 
   }
 
+  /**
+   * Write the dataframe into TsFiles in options.tsFileDir and load them into IoTDB, which bypasses
+   * the WAL and memtables of IoTDB. The rows are repartitioned by the time partition of IoTDB and
+   * device, so the TsFiles written by different partitions of the dataframe never overlap in device
+   * and time partition, and IoTDB loads them as sequence files without compacting them. Each
+   * partition of the dataframe writes one TsFile for each time partition of IoTDB, so that IoTDB
+   * does not need to split the TsFiles when loading them. The directory must be accessible with the
+   * same path by the DataNode of the url, e.g. a shared file system. The loaded TsFiles are deleted
+   * by IoTDB.
+   */
+  def loadDataFrame(options: IoTDBOptions, dataframe: DataFrame): Unit = {
+    val filteredColumns = Array[String]("Time", "Device")
+    val sensorTypes = dataframe.dtypes.filter(x => !filteredColumns.contains(x._1))
+    val timePartitionInterval =
+      if (options.timePartitionInterval.isEmpty) IoTDBRelation.queryTimePartitionInterval(options)
+      else options.timePartitionInterval.toLong
+
+    partitionForLoad(dataframe, options.numPartition.toInt, timePartitionInterval)
+      .foreachPartition { (partition: Iterator[Row]) =>
+        val hostPort = options.url.split("//")(1).replace("/", "").split(":")
+        val session = new Session(
+          hostPort(0),
+          hostPort(1).toInt,
+          options.user,
+          options.password
+        )
+        session.open()
+        try {
+          writeTsFiles(partition, sensorTypes, timePartitionInterval, options.tsFileDir) { file =>
+            session.executeNonQueryStatement(s"load '${file.getAbsolutePath}' onSuccess=delete")
+          }
+        } finally {
+          session.close()
+        }
+      }
+  }
+
+  /**
+   * Repartition the rows by the time partition of IoTDB and device, so that the rows of a device in
+   * a time partition are in one partition, and sort them by time partition, device and time.
+   */
+  def partitionForLoad(dataframe: DataFrame,
+                       numPartition: Int,
+                       timePartitionInterval: Long): DataFrame = {
+    val time = dataframe.col("Time")
+    val device = dataframe.col("Device")
+    val timePartition = time - pmod(time, lit(timePartitionInterval))
+    dataframe
+      .repartition(numPartition, timePartition, device)
+      // the data points of each series should be written in time order
+      .sortWithinPartitions(timePartition, device, time)
+  }
+
+  /**
+   * Write the rows, sorted by time partition, device and time, into one TsFile for each time
+   * partition, and load each TsFile once it is closed.
+   */
+  def writeTsFiles(rows: Iterator[Row],
+                   sensorTypes: Array[(String, String)],
+                   timePartitionInterval: Long,
+                   tsFileDir: String)(load: File => Unit): Unit = {
+    val filePrefix = "spark-" + UUID.randomUUID()
+    var fileCount = 0
+    var writer: TsFileWriter = null
+    var file: File = null
+    val registeredSeries = new util.HashSet[lang.String]()
+    var timePartition = 0L
+    var record: TSRecord = null
+    // the data points of the current record, by measurement
+    val dataPoints = new util.LinkedHashMap[lang.String, DataPoint]()
+
+    try {
+      rows.foreach { row =>
+        val rowTime = row.get(0).asInstanceOf[Long]
+        val device = row.get(1).toString
+        val rowTimePartition = Math.floorDiv(rowTime, timePartitionInterval)
+        if (record == null || record.time != rowTime || !record.deviceId.equals(device)
+          || rowTimePartition != timePartition) {
+          writeRecord(writer, record, dataPoints)
+        }
+        if (writer == null || rowTimePartition != timePartition) {
+          if (writer != null) {
+            writer.close()
+            load(file)
+          }
+          file = new File(tsFileDir, s"$filePrefix-$fileCount${TsFileConstant.TSFILE_SUFFIX}")
+          fileCount += 1
+          file.getParentFile.mkdirs()
+          writer = new TsFileWriter(file)
+          registeredSeries.clear()
+          timePartition = rowTimePartition
+        }
+        record = new TSRecord(rowTime, device)
+
+        for (i <- 2 until row.length if !(row.get(i) == null)) {
+          val measurement = sensorTypes(i - 2)._1
+          val dataType = getType(sensorTypes(i - 2)._2)
+          if (registeredSeries.add(device + TsFileConstant.PATH_SEPARATOR + measurement)) {
+            writer.registerTimeseries(new Path(device), new MeasurementSchema(measurement, dataType))
+          }
+          dataPoints.put(measurement, DataPoint.getDataPoint(dataType, measurement, row.get(i).toString))
+        }
+      }
+
+      if (writer != null) {
+        writeRecord(writer, record, dataPoints)
+        writer.close()
+        writer = null
+        load(file)
+      }
+    } finally {
+      if (writer != null) {
+        writer.close()
+      }
+    }
+  }
+
+  private def writeRecord(writer: TsFileWriter,
+                          record: TSRecord,
+                          dataPoints: util.LinkedHashMap[lang.String, DataPoint]): Unit = {
+    if (!dataPoints.isEmpty) {
+      dataPoints.values().forEach(dataPoint => record.addTuple(dataPoint))
+      writer.write(record)
+      dataPoints.clear()
+    }
+  }
+
   def typeTrans(value: lang.String, dataType: TSDataType): Object = {
     dataType match {
       case TSDataType.TEXT => value
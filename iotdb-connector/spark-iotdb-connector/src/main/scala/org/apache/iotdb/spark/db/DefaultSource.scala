@@ -51,11 +51,19 @@ private[iotdb] class DefaultSource extends RelationProvider with DataSourceRegis
     if (!data.columns.contains("Device")) {
       data.columns.foreach(column => if (!column.startsWith("root.") && column != "Time") sys.error("Invalidate column: " + column))
       val narrowDf = Transformer.toNarrowForm(sqlContext.sparkSession, data)
-      DataFrameTools.insertDataFrame(iotdbOptions, narrowDf)
+      writeDataFrame(iotdbOptions, narrowDf)
     } else {
-      DataFrameTools.insertDataFrame(iotdbOptions, data)
+      writeDataFrame(iotdbOptions, data)
     }
 
     new IoTDBRelation(iotdbOptions)(sqlContext.sparkSession)
   }
+
+  private def writeDataFrame(iotdbOptions: IoTDBOptions, data: DataFrame): Unit = {
+    if (iotdbOptions.tsFileDir.isEmpty) {
+      DataFrameTools.insertDataFrame(iotdbOptions, data)
+    } else {
+      DataFrameTools.loadDataFrame(iotdbOptions, data)
+    }
+  }
 }
\ No newline at end of file
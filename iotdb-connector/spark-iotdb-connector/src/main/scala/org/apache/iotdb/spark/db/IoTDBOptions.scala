@@ -23,7 +23,14 @@ class IoTDBOptions(
                     @transient private val parameters: Map[String, String])
   extends Serializable {
 
-  val url = parameters.getOrElse("url", sys.error("Option 'url' not specified"))
+  // the urls of several DataNodes may be given separated by commas, the partitions of a scan are
+  // spread over them
+  val urls: Array[String] = parameters.getOrElse("url", sys.error("Option 'url' not specified"))
+    .split(",").map(_.trim).filter(_.nonEmpty)
+
+  require(urls.nonEmpty, "Option 'url' is empty")
+
+  val url = urls(0)
 
   val user = parameters.getOrElse("user", "root")
 
@@ -37,6 +44,15 @@ class IoTDBOptions(
 
   val upperBound = parameters.getOrElse("upperBound", "0")
 
+  // split [lowerBound, upperBound] at the bounds of the time partitions of IoTDB
+  val splitByTimePartition = parameters.getOrElse("splitByTimePartition", "false")
+
+  // the time partition interval of IoTDB, queried from IoTDB if not specified
+  val timePartitionInterval = parameters.getOrElse("timePartitionInterval", "")
+
+  // write the dataframe into TsFiles in this directory and load them, instead of inserting it
+  val tsFileDir = parameters.getOrElse("tsFileDir", "")
+
   def get(name: String): Unit = {
 
   }
@@ -19,13 +19,14 @@
 
 package org.apache.iotdb.spark.db
 
-import java.sql.{Connection, DriverManager, ResultSet, Statement}
+import java.sql.{Connection, DriverManager, ResultSet, SQLException, Statement}
 import org.apache.spark.rdd.RDD
 import org.apache.spark.sql.Row
 import org.apache.spark.sql.sources._
 import org.apache.spark.sql.types._
 import org.apache.spark.util.TaskCompletionListener
 import org.apache.spark.{Partition, SparkContext, TaskContext}
+import org.slf4j.LoggerFactory
 
 
 //IoTDB data partition
@@ -40,6 +41,33 @@ object IoTDBRDD {
     new StructType(columns.map(name => fieldMap(name)))
   }
 
+  /**
+   * The urls to connect to for a partition, starting from a different url for each partition so
+   * that the partitions are spread over the DataNodes.
+   */
+  def getUrls(urls: Array[String], partitionIndex: Int): Seq[String] = {
+    val first = Math.floorMod(partitionIndex, urls.length)
+    urls.drop(first) ++ urls.take(first)
+  }
+
+  /** Connect to the urls of the partition in turn, so that a DataNode which is down is skipped. */
+  def connect(options: IoTDBOptions, partitionIndex: Int): Connection = {
+    Class.forName("org.apache.iotdb.jdbc.IoTDBDriver")
+    val urls = getUrls(options.urls, partitionIndex).iterator
+    var conn: Connection = null
+    while (conn == null) {
+      val url = urls.next()
+      try {
+        conn = DriverManager.getConnection(url, options.user, options.password)
+      } catch {
+        case e: SQLException if urls.hasNext =>
+          logger.warn(s"Can not connect to $url, try the next url", e)
+      }
+    }
+    conn
+  }
+
+  private final val logger = LoggerFactory.getLogger(classOf[IoTDBRDD])
 }
 
 class IoTDBRDD private[iotdb](
@@ -70,14 +98,13 @@ class IoTDBRDD private[iotdb](
       taskInfo = "task Id: " + taskContext.taskAttemptId() + " partition Id: " + taskContext.partitionId()
     }
 
-    Class.forName("org.apache.iotdb.jdbc.IoTDBDriver")
-    val conn: Connection = DriverManager.getConnection(options.url, options.user, options.password)
+    val conn: Connection = IoTDBRDD.connect(options, part.index)
     val stmt: Statement = conn.createStatement()
 
     var sql = options.sql
     // for different partition
     if (part.where != null) {
-      val sqlPart = options.sql.split(SQLConstant.WHERE)
+      val sqlPart = options.sql.split("(?i)\\b" + SQLConstant.WHERE + "\\b", 2)
       sql = sqlPart(0) + " " + SQLConstant.WHERE + " (" + part.where + ") "
       if (sqlPart.length == 2) {
         sql += "and (" + sqlPart(1) + ")"
@@ -19,9 +19,11 @@
 
 package org.apache.iotdb.spark.db
 
+import java.sql.Connection
+
 import org.apache.spark.Partition
 import org.apache.spark.rdd.RDD
-import org.apache.spark.sql.sources.{BaseRelation, Filter, PrunedFilteredScan}
+import org.apache.spark.sql.sources._
 import org.apache.spark.sql.types.StructType
 import org.apache.spark.sql.{Row, SQLContext, SparkSession}
 import org.slf4j.LoggerFactory
@@ -85,6 +87,82 @@ private object IoTDBRelation {
     }
     partitions.toArray
   }
+
+  /**
+   * One partition for each time partition of IoTDB in [start, end]. Data regions are allocated by
+   * time partition, so each partition only reads the regions of one time partition.
+   */
+  def getTimePartitions(start: Long, end: Long, timePartitionInterval: Long): Array[Partition] = {
+    require(start <= end,
+      "Operation not allowed: the start time is larger than end time " +
+        s"time start: $start; end: $end")
+    require(timePartitionInterval > 0,
+      s"The time partition interval should be positive: $timePartitionInterval")
+
+    val partitions = new ArrayBuffer[Partition]()
+    var partitionStart = Math.floorDiv(start, timePartitionInterval) * timePartitionInterval
+    var partitionEnd = 0L
+    do {
+      partitionEnd =
+        if (partitionStart > Long.MaxValue - timePartitionInterval) Long.MaxValue
+        else partitionStart + timePartitionInterval - 1
+      val lower = Math.max(start, partitionStart)
+      val upper = Math.min(end, partitionEnd)
+      val where = s"${SQLConstant.RESERVED_TIME} >= $lower and ${SQLConstant.RESERVED_TIME} <= $upper"
+      partitions += IoTDBPartition(where, partitions.length, lower, upper)
+      partitionStart = partitionEnd + 1
+    } while (partitionEnd < end)
+    partitions.toArray
+  }
+
+  def queryTimePartitionInterval(options: IoTDBOptions): Long = {
+    val conn: Connection = IoTDBRDD.connect(options, 0)
+    try {
+      val rs = conn.createStatement().executeQuery("show variables")
+      while (rs.next()) {
+        if (TIME_PARTITION_INTERVAL.equals(rs.getString(1))) {
+          return rs.getString(2).toLong
+        }
+      }
+      sys.error("Can not get the time partition interval of IoTDB")
+    } finally {
+      conn.close()
+    }
+  }
+
+  /**
+   * Compile the filters on time into a where clause. Spark still evaluates all filters on the
+   * returned rows, so a filter that can not be compiled is simply not pushed down.
+   */
+  def compileTimeFilters(filters: Array[Filter]): String = {
+    val conditions = filters.flatMap(compileTimeFilter)
+    if (conditions.isEmpty) null else conditions.mkString(" and ")
+  }
+
+  private def compileTimeFilter(filter: Filter): Option[String] = {
+    val time = SQLConstant.RESERVED_TIME
+    filter match {
+      case EqualTo(SQLConstant.TIMESTAMP_STR, value: Long) => Some(s"$time = $value")
+      case GreaterThan(SQLConstant.TIMESTAMP_STR, value: Long) => Some(s"$time > $value")
+      case GreaterThanOrEqual(SQLConstant.TIMESTAMP_STR, value: Long) => Some(s"$time >= $value")
+      case LessThan(SQLConstant.TIMESTAMP_STR, value: Long) => Some(s"$time < $value")
+      case LessThanOrEqual(SQLConstant.TIMESTAMP_STR, value: Long) => Some(s"$time <= $value")
+      case And(left, right) =>
+        val conditions = compileTimeFilter(left).toSeq ++ compileTimeFilter(right).toSeq
+        if (conditions.isEmpty) None else Some(conditions.mkString("(", " and ", ")"))
+      case _ => None
+    }
+  }
+
+  /** Whether a where clause can be added to the sql without breaking the clauses after it. */
+  def canAddWhere(sql: String): Boolean = {
+    CLAUSES_AFTER_WHERE.findFirstIn(sql).isEmpty
+  }
+
+  private final val TIME_PARTITION_INTERVAL = "TimePartitionInterval"
+
+  private final val CLAUSES_AFTER_WHERE =
+    "(?i)\\b(group|having|order|fill|limit|offset|slimit|soffset|align|into)\\b".r
 }
 
 class IoTDBRelation protected[iotdb](val options: IoTDBOptions)(@transient val sparkSession: SparkSession)
@@ -103,9 +181,27 @@ class IoTDBRelation protected[iotdb](val options: IoTDBOptions)(@transient val s
     val end: Long = options.upperBound.toLong
     val numPartition = options.numPartition.toInt
 
-    val partitionInfo = IoTDBPartitioningInfo(start, end, numPartition)
+    var parts = if (options.splitByTimePartition.toBoolean) {
+      val timePartitionInterval =
+        if (options.timePartitionInterval.isEmpty) IoTDBRelation.queryTimePartitionInterval(options)
+        else options.timePartitionInterval.toLong
+      IoTDBRelation.getTimePartitions(start, end, timePartitionInterval)
+    } else {
+      IoTDBRelation.getPartitions(IoTDBPartitioningInfo(start, end, numPartition))
+    }
 
-    val parts = IoTDBRelation.getPartitions(partitionInfo)
+    // push the filters on time down to IoTDB
+    val timeFilter = IoTDBRelation.compileTimeFilters(filters)
+    if (timeFilter != null && IoTDBRelation.canAddWhere(options.sql)) {
+      logger.info(s"Push down the filter on time: $timeFilter")
+      parts = parts.map(part => {
+        val iotdbPartition = part.asInstanceOf[IoTDBPartition]
+        val where =
+          if (iotdbPartition.where == null) timeFilter
+          else s"(${iotdbPartition.where}) and ($timeFilter)"
+        IoTDBPartition(where, iotdbPartition.id, iotdbPartition.start, iotdbPartition.end)
+      })
+    }
 
     new IoTDBRDD(sparkSession.sparkContext,
       options,
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.spark.db
+
+import org.apache.iotdb.tsfile.read.common.Path
+import org.apache.iotdb.tsfile.read.expression.QueryExpression
+import org.apache.iotdb.tsfile.read.{TsFileReader, TsFileSequenceReader}
+import org.apache.spark.sql.types.{DoubleType, LongType, StringType, StructField, StructType}
+import org.apache.spark.sql.{Row, SparkSession}
+import org.junit.rules.TemporaryFolder
+import org.junit.{Assert, Rule, Test}
+
+import java.io.File
+import java.util
+
+import scala.collection.mutable.ArrayBuffer
+
+class DataFrameToolsTest {
+
+  private val _tsFileDir = new TemporaryFolder()
+
+  @Rule
+  def tsFileDir: TemporaryFolder = _tsFileDir
+
+  private val sensorTypes = Array(("s1", "DoubleType"), ("s2", "LongType"))
+
+  @Test
+  def testWriteOneTsFileForEachTimePartition(): Unit = {
+    // sorted by time partition, device and time, as partitionForLoad does
+    val rows = Iterator(
+      Row(-10L, "root.sg.d1", 1.5, null),
+      Row(50L, "root.sg.d1", 37.1, 1L),
+      Row(60L, "root.sg.d1", null, 2L),
+      Row(50L, "root.sg.d2", 1.0, null),
+      Row(150L, "root.sg.d1", 36.5, 3L))
+
+    val loadedFiles = ArrayBuffer[File]()
+    DataFrameTools.writeTsFiles(rows, sensorTypes, 100, tsFileDir.getRoot.getAbsolutePath) {
+      file => loadedFiles += file
+    }
+
+    Assert.assertEquals(3, loadedFiles.length)
+    Assert.assertEquals(Seq("-10:1.5"), readTsFile(loadedFiles(0), "root.sg.d1", "s1"))
+    Assert.assertEquals(Seq("50:37.1"), readTsFile(loadedFiles(1), "root.sg.d1", "s1"))
+    Assert.assertEquals(Seq("50:1", "60:2"), readTsFile(loadedFiles(1), "root.sg.d1", "s2"))
+    Assert.assertEquals(Seq("50:1.0"), readTsFile(loadedFiles(1), "root.sg.d2", "s1"))
+    Assert.assertEquals(Seq("150:36.5"), readTsFile(loadedFiles(2), "root.sg.d1", "s1"))
+    Assert.assertEquals(Seq("150:3"), readTsFile(loadedFiles(2), "root.sg.d1", "s2"))
+  }
+
+  @Test
+  def testWriteNothing(): Unit = {
+    val loadedFiles = ArrayBuffer[File]()
+    DataFrameTools.writeTsFiles(Iterator(), sensorTypes, 100, tsFileDir.getRoot.getAbsolutePath) {
+      file => loadedFiles += file
+    }
+    Assert.assertTrue(loadedFiles.isEmpty)
+    Assert.assertEquals(0, tsFileDir.getRoot.list().length)
+  }
+
+  @Test
+  def testPartitionForLoad(): Unit = {
+    val spark = SparkSession.builder().master("local[2]").appName("DataFrameToolsTest").getOrCreate()
+    try {
+      val schema = StructType(Seq(
+        StructField("Time", LongType),
+        StructField("Device", StringType),
+        StructField("s1", DoubleType)))
+      val rows = for (time <- -300L until 300L; device <- 0 until 5)
+        yield Row(time * 7 % 300, "root.sg.d" + device, time.toDouble)
+      val dataframe = spark.createDataFrame(spark.sparkContext.parallelize(rows, 4), schema)
+
+      val partitions = DataFrameTools.partitionForLoad(dataframe, 3, 100).rdd.glom().collect()
+      Assert.assertEquals(3, partitions.length)
+      Assert.assertEquals(rows.length, partitions.map(_.length).sum)
+
+      // the rows of a device in a time partition are all in one partition, so the TsFiles of
+      // different partitions never overlap
+      val seriesToPartition = new util.HashMap[(String, Long), Integer]()
+      for (i <- partitions.indices; row <- partitions(i)) {
+        val key = (row.getString(1), Math.floorDiv(row.getLong(0), 100L))
+        val partition = seriesToPartition.putIfAbsent(key, i)
+        Assert.assertTrue(partition == null || partition == i)
+      }
+
+      // sorted by time partition, device and time in each partition
+      for (partition <- partitions) {
+        val keys = partition.map(row =>
+          (Math.floorDiv(row.getLong(0), 100L), row.getString(1), row.getLong(0)))
+        Assert.assertEquals(keys.sorted.toSeq, keys.toSeq)
+      }
+    } finally {
+      spark.stop()
+    }
+  }
+
+  private def readTsFile(file: File, device: String, measurement: String): Seq[String] = {
+    val points = ArrayBuffer[String]()
+    val reader = new TsFileReader(new TsFileSequenceReader(file.getAbsolutePath))
+    try {
+      val paths = new util.ArrayList[Path]()
+      paths.add(new Path(device, measurement, false))
+      val dataSet = reader.query(QueryExpression.create(paths, null))
+      while (dataSet.hasNext) {
+        val record = dataSet.next()
+        points += record.getTimestamp + ":" + record.getFields.get(0).getStringValue
+      }
+    } finally {
+      reader.close()
+    }
+    points
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.spark.db
+
+import org.apache.spark.Partition
+import org.apache.spark.sql.sources._
+import org.junit.{Assert, Test}
+
+class IoTDBRelationTest {
+
+  @Test
+  def testTimePartitionsInOnePartition(): Unit = {
+    assertPartitions(IoTDBRelation.getTimePartitions(10, 20, 100), 10L, 20L)
+    assertPartitions(IoTDBRelation.getTimePartitions(0, 99, 100), 0L, 99L)
+    assertPartitions(IoTDBRelation.getTimePartitions(5, 5, 100), 5L, 5L)
+  }
+
+  @Test
+  def testTimePartitionsAtPartitionBounds(): Unit = {
+    assertPartitions(IoTDBRelation.getTimePartitions(50, 250, 100),
+      50L, 99L, 100L, 199L, 200L, 250L)
+    assertPartitions(IoTDBRelation.getTimePartitions(100, 200, 100), 100L, 199L, 200L, 200L)
+    assertPartitions(IoTDBRelation.getTimePartitions(0, 100, 100), 0L, 99L, 100L, 100L)
+  }
+
+  @Test
+  def testTimePartitionsOfNegativeTime(): Unit = {
+    assertPartitions(IoTDBRelation.getTimePartitions(-150, 20, 100),
+      -150L, -101L, -100L, -1L, 0L, 20L)
+    assertPartitions(IoTDBRelation.getTimePartitions(-1, -1, 100), -1L, -1L)
+  }
+
+  @Test
+  def testTimePartitionsNearMaxTime(): Unit = {
+    // the last time partition ends at Long.MaxValue instead of overflowing
+    assertPartitions(IoTDBRelation.getTimePartitions(Long.MaxValue - 10, Long.MaxValue, 100),
+      Long.MaxValue - 10, Long.MaxValue - 8, Long.MaxValue - 7, Long.MaxValue)
+  }
+
+  @Test(expected = classOf[IllegalArgumentException])
+  def testTimePartitionsOfInvalidRange(): Unit = {
+    IoTDBRelation.getTimePartitions(20, 10, 100)
+  }
+
+  @Test
+  def testCompileTimeFilters(): Unit = {
+    Assert.assertEquals("time > 10 and time <= 20",
+      IoTDBRelation.compileTimeFilters(
+        Array(GreaterThan("Time", 10L), LessThanOrEqual("Time", 20L))))
+    Assert.assertEquals("time = 10 and time >= -5 and time < 0",
+      IoTDBRelation.compileTimeFilters(
+        Array(EqualTo("Time", 10L), GreaterThanOrEqual("Time", -5L), LessThan("Time", 0L))))
+
+    // only the filters on time in And are compiled
+    Assert.assertEquals("(time >= 1)",
+      IoTDBRelation.compileTimeFilters(
+        Array(And(GreaterThanOrEqual("Time", 1L), EqualTo("s1", 1L)))))
+    Assert.assertEquals("(time >= 1 and (time < 5))",
+      IoTDBRelation.compileTimeFilters(
+        Array(And(GreaterThanOrEqual("Time", 1L),
+          And(LessThan("Time", 5L), IsNotNull("s1"))))))
+
+    // the unsupported filters are not pushed down
+    Assert.assertEquals("time < 5",
+      IoTDBRelation.compileTimeFilters(
+        Array(Or(GreaterThan("Time", 10L), LessThan("Time", 0L)), LessThan("Time", 5L))))
+    Assert.assertNull(IoTDBRelation.compileTimeFilters(Array(EqualTo("s1", 1L))))
+    Assert.assertNull(IoTDBRelation.compileTimeFilters(Array(Not(EqualTo("Time", 1L)))))
+    Assert.assertNull(IoTDBRelation.compileTimeFilters(Array(GreaterThan("Time", "1"))))
+    Assert.assertNull(
+      IoTDBRelation.compileTimeFilters(Array(And(EqualTo("s1", 1L), IsNull("s2")))))
+    Assert.assertNull(IoTDBRelation.compileTimeFilters(Array()))
+  }
+
+  @Test
+  def testCanAddWhere(): Unit = {
+    Assert.assertTrue(IoTDBRelation.canAddWhere("select s1 from root.sg.d1"))
+    Assert.assertTrue(IoTDBRelation.canAddWhere("select s1 from root.sg.d1 where s1 > 0"))
+    Assert.assertTrue(IoTDBRelation.canAddWhere("select grouping from root.sg.limits"))
+    Assert.assertFalse(IoTDBRelation.canAddWhere(
+      "select count(s1) from root.sg.d1 group by ([0, 100), 10ms)"))
+    Assert.assertFalse(IoTDBRelation.canAddWhere("select s1 from root.sg.d1 order by time desc"))
+    Assert.assertFalse(IoTDBRelation.canAddWhere("select s1 from root.sg.d1 LIMIT 10"))
+    Assert.assertFalse(IoTDBRelation.canAddWhere("select s1 from root.sg.d1 align by device"))
+  }
+
+  @Test
+  def testSpreadPartitionsOverUrls(): Unit = {
+    val urls = Array("jdbc:iotdb://a:6667/", "jdbc:iotdb://b:6667/", "jdbc:iotdb://c:6667/")
+    Assert.assertEquals(urls.toSeq, IoTDBRDD.getUrls(urls, 0))
+    Assert.assertEquals(Seq(urls(1), urls(2), urls(0)), IoTDBRDD.getUrls(urls, 1))
+    Assert.assertEquals(Seq(urls(2), urls(0), urls(1)), IoTDBRDD.getUrls(urls, 5))
+    Assert.assertEquals(Seq(urls(0)), IoTDBRDD.getUrls(urls.take(1), 3))
+
+    val options = new IoTDBOptions(Map("url" -> urls.mkString(", ")))
+    Assert.assertEquals(urls.toSeq, options.urls.toSeq)
+    Assert.assertEquals(urls(0), options.url)
+  }
+
+  private def assertPartitions(partitions: Array[Partition], bounds: Long*): Unit = {
+    Assert.assertEquals(bounds.length / 2, partitions.length)
+    for (i <- partitions.indices) {
+      val partition = partitions(i).asInstanceOf[IoTDBPartition]
+      Assert.assertEquals(i, partition.index)
+      Assert.assertEquals(bounds(2 * i), partition.start.longValue())
+      Assert.assertEquals(bounds(2 * i + 1), partition.end.longValue())
+      Assert.assertEquals(
+        s"time >= ${bounds(2 * i)} and time <= ${bounds(2 * i + 1)}", partition.where)
+    }
+  }
+}
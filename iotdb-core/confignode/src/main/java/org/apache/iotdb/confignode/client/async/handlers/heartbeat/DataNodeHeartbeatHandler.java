@@ -23,6 +23,7 @@ import org.apache.iotdb.commons.client.ThriftClient;
 import org.apache.iotdb.commons.cluster.NodeStatus;
 import org.apache.iotdb.commons.cluster.NodeType;
 import org.apache.iotdb.commons.cluster.RegionStatus;
+import org.apache.iotdb.confignode.manager.cq.CQManager;
 import org.apache.iotdb.confignode.manager.load.cache.LoadCache;
 import org.apache.iotdb.confignode.manager.load.cache.node.NodeHeartbeatSample;
 import org.apache.iotdb.confignode.manager.load.cache.region.RegionHeartbeatSample;
@@ -47,6 +48,7 @@ public class DataNodeHeartbeatHandler implements AsyncMethodCallback<TDataNodeHe
 
   private final Consumer<Map<Integer, Long>> seriesUsageRespProcess;
   private final Consumer<Map<Integer, Long>> deviceUsageRespProcess;
+  private final CQManager cqManager;
 
   private final PipeRuntimeCoordinator pipeRuntimeCoordinator;
 
@@ -58,6 +60,7 @@ public class DataNodeHeartbeatHandler implements AsyncMethodCallback<TDataNodeHe
       Map<Integer, Long> regionDisk,
       Consumer<Map<Integer, Long>> seriesUsageRespProcess,
       Consumer<Map<Integer, Long>> deviceUsageRespProcess,
+      CQManager cqManager,
       PipeRuntimeCoordinator pipeRuntimeCoordinator) {
 
     this.nodeId = nodeId;
@@ -67,6 +70,7 @@ public class DataNodeHeartbeatHandler implements AsyncMethodCallback<TDataNodeHe
     this.regionDisk = regionDisk;
     this.seriesUsageRespProcess = seriesUsageRespProcess;
     this.deviceUsageRespProcess = deviceUsageRespProcess;
+    this.cqManager = cqManager;
     this.pipeRuntimeCoordinator = pipeRuntimeCoordinator;
   }
 
@@ -110,6 +114,10 @@ public class DataNodeHeartbeatHandler implements AsyncMethodCallback<TDataNodeHe
     if (heartbeatResp.getRegionDisk() != null) {
       regionDisk.putAll(heartbeatResp.getRegionDisk());
     }
+    if (heartbeatResp.isSetEarliestWrittenTime()) {
+      cqManager.onDataWritten(
+          nodeId, heartbeatResp.getWrittenTimeReportId(), heartbeatResp.getEarliestWrittenTime());
+    }
     if (heartbeatResp.getPipeMetaList() != null) {
       pipeRuntimeCoordinator.parseHeartbeat(nodeId, heartbeatResp.getPipeMetaList());
     }
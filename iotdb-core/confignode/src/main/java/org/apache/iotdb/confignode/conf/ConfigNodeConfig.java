@@ -255,6 +255,12 @@ public class ConfigNodeConfig {
 
   private long cqMinEveryIntervalInMs = 1_000;
 
+  /**
+   * Whether a CQ only re-executes the windows that received data since its last execution, instead
+   * of the whole time range.
+   */
+  private boolean enableCQIncrementalExecution = true;
+
   /** RatisConsensus protocol, request timeout for ratis client. */
   private long dataRegionRatisRequestTimeoutMs = 10000L;
 
@@ -989,6 +995,14 @@ public class ConfigNodeConfig {
     this.cqMinEveryIntervalInMs = cqMinEveryIntervalInMs;
   }
 
+  public boolean isEnableCQIncrementalExecution() {
+    return enableCQIncrementalExecution;
+  }
+
+  public void setEnableCQIncrementalExecution(boolean enableCQIncrementalExecution) {
+    this.enableCQIncrementalExecution = enableCQIncrementalExecution;
+  }
+
   public long getDataRegionRatisRequestTimeoutMs() {
     return dataRegionRatisRequestTimeoutMs;
   }
@@ -874,6 +874,14 @@ public class ConfigNodeDescriptor {
     }
 
     conf.setCqMinEveryIntervalInMs(cqMinEveryIntervalInMs);
+
+    conf.setEnableCQIncrementalExecution(
+        Boolean.parseBoolean(
+            properties
+                .getProperty(
+                    "enable_continuous_query_incremental_execution",
+                    String.valueOf(conf.isEnableCQIncrementalExecution()))
+                .trim()));
   }
 
   /**
@@ -41,7 +41,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -59,6 +63,13 @@ public class CQManager {
 
   private ScheduledExecutorService executor;
 
+  // CQs scheduled on the current executor, notified when DataNodes report written data
+  private final Set<CQScheduleTask> scheduledTasks = ConcurrentHashMap.newKeySet();
+
+  // DataNode id -> id of the last written time report received from it, acknowledged to the
+  // DataNode in the next heartbeat
+  private final Map<Integer, Long> writtenTimeReportAcks = new ConcurrentHashMap<>();
+
   public CQManager(ConfigManager configManager) {
     this.configManager = configManager;
     this.lock = new ReentrantReadWriteLock();
@@ -113,6 +124,32 @@ public class CQManager {
     return res;
   }
 
+  public void registerScheduledTask(CQScheduleTask task) {
+    scheduledTasks.add(task);
+  }
+
+  public void deregisterScheduledTask(CQScheduleTask task) {
+    scheduledTasks.remove(task);
+  }
+
+  /**
+   * Called when a DataNode reports the earliest timestamp of the data written or deleted since its
+   * last acknowledged report, so that the CQs re-execute the windows which may be changed. The
+   * report is acknowledged in the next heartbeat, and the DataNode reports the time again until
+   * then, so a report may be received more than once.
+   */
+  public void onDataWritten(int dataNodeId, long reportId, long earliestWrittenTime) {
+    for (CQScheduleTask task : scheduledTasks) {
+      task.onDataWritten(earliestWrittenTime);
+    }
+    writtenTimeReportAcks.put(dataNodeId, reportId);
+  }
+
+  /** @return DataNode id -> id of the last written time report received from it */
+  public Map<Integer, Long> getWrittenTimeReportAcks() {
+    return new HashMap<>(writtenTimeReportAcks);
+  }
+
   public void startCQScheduler() {
     lock.writeLock().lock();
     try {
@@ -126,6 +163,7 @@ public class CQManager {
         // successfully in the next steps
         LOGGER.error("Error happened while shutting down previous cq schedule thread pool.", t);
       }
+      scheduledTasks.clear();
 
       // 2. start a new schedule thread pool
       executor =
@@ -185,6 +223,7 @@ public class CQManager {
     try {
       previous = executor;
       executor = null;
+      scheduledTasks.clear();
     } finally {
       lock.writeLock().unlock();
     }
@@ -25,6 +25,7 @@ import org.apache.iotdb.commons.client.async.AsyncDataNodeInternalServiceClient;
 import org.apache.iotdb.commons.conf.CommonDescriptor;
 import org.apache.iotdb.commons.cq.TimeoutPolicy;
 import org.apache.iotdb.confignode.client.async.AsyncDataNodeClientPool;
+import org.apache.iotdb.confignode.conf.ConfigNodeDescriptor;
 import org.apache.iotdb.confignode.consensus.request.write.cq.UpdateCQLastExecTimePlan;
 import org.apache.iotdb.confignode.manager.ConfigManager;
 import org.apache.iotdb.confignode.persistence.cq.CQInfo;
@@ -40,6 +41,7 @@ import org.slf4j.LoggerFactory;
 import java.util.Optional;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class CQScheduleTask implements Runnable {
 
@@ -81,8 +83,16 @@ public class CQScheduleTask implements Runnable {
 
   private final long retryWaitTimeInMS;
 
+  private final boolean incrementalExecution;
+
   private long executionTime;
 
+  // end time of the last successful execution, Long.MIN_VALUE if there is none since scheduled
+  private volatile long lastEndTime = Long.MIN_VALUE;
+
+  // the earliest timestamp of the data written or deleted since the current execution was started
+  private final AtomicLong earliestWrittenTime = new AtomicLong(Long.MAX_VALUE);
+
   public CQScheduleTask(
       TCreateCQReq req,
       long firstExecutionTime,
@@ -147,6 +157,8 @@ public class CQScheduleTask implements Runnable {
     this.executor = executor;
     this.configManager = configManager;
     this.retryWaitTimeInMS = Math.min(DEFAULT_RETRY_WAIT_TIME_IN_MS, everyInterval / FACTOR);
+    this.incrementalExecution =
+        ConfigNodeDescriptor.getInstance().getConf().isEnableCQIncrementalExecution();
     this.executionTime = executionTime;
   }
 
@@ -163,16 +175,38 @@ public class CQScheduleTask implements Runnable {
     }
   }
 
+  /**
+   * Get the time after which the windows of an execution need to be computed. The windows after the
+   * end of the last execution are new, and the windows after the earliest written time may have
+   * been changed by late or deleted data. The windows before both have been computed and not
+   * changed since.
+   */
+  public static long getIncrementalStartTime(
+      long startTime, long lastEndTime, long earliestWrittenTime) {
+    return Math.max(startTime, Math.min(lastEndTime, earliestWrittenTime));
+  }
+
+  /**
+   * Called when a DataNode reports the earliest timestamp of the data written or deleted since its
+   * last heartbeat.
+   */
+  public void onDataWritten(long writtenTime) {
+    earliestWrittenTime.accumulateAndGet(writtenTime, Math::min);
+  }
+
   @Override
   public void run() {
     long startTime = executionTime - startTimeOffset;
     long endTime = executionTime - endTimeOffset;
+    // taken before executing, so that the data written during the execution is recomputed next time
+    long writtenTime = earliestWrittenTime.getAndSet(Long.MAX_VALUE);
 
     Optional<TDataNodeLocation> targetDataNode =
         configManager.getNodeManager().getLowestLoadDataNode();
     // no usable DataNode to execute CQ
     if (!targetDataNode.isPresent()) {
       LOGGER.warn("There is no RUNNING DataNode to execute CQ {}", cqId);
+      onDataWritten(writtenTime);
       if (needSubmit()) {
         submitSelf(retryWaitTimeInMS, TimeUnit.MILLISECONDS);
       }
@@ -186,12 +220,17 @@ public class CQScheduleTask implements Runnable {
           System.currentTimeMillis() * FACTOR);
       TExecuteCQ executeCQReq =
           new TExecuteCQ(queryBody, startTime, endTime, everyInterval, zoneId, cqId, username);
+      if (incrementalExecution && lastEndTime != Long.MIN_VALUE) {
+        executeCQReq.setIncrementalStartTime(
+            getIncrementalStartTime(startTime, lastEndTime, writtenTime));
+      }
       try {
         AsyncDataNodeInternalServiceClient client =
             AsyncDataNodeClientPool.getInstance().getAsyncClient(targetDataNode.get());
-        client.executeCQ(executeCQReq, new AsyncExecuteCQCallback(startTime, endTime));
+        client.executeCQ(executeCQReq, new AsyncExecuteCQCallback(startTime, endTime, writtenTime));
       } catch (Exception t) {
         LOGGER.warn("Execute CQ {} failed", cqId, t);
+        onDataWritten(writtenTime);
         if (needSubmit()) {
           submitSelf(retryWaitTimeInMS, TimeUnit.MILLISECONDS);
         }
@@ -200,6 +239,7 @@ public class CQScheduleTask implements Runnable {
   }
 
   public void submitSelf() {
+    configManager.getCQManager().registerScheduledTask(this);
     submitSelf(
         Math.max(0, executionTime / FACTOR - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
   }
@@ -217,10 +257,12 @@ public class CQScheduleTask implements Runnable {
 
     private final long startTime;
     private final long endTime;
+    private final long writtenTime;
 
-    public AsyncExecuteCQCallback(long startTime, long endTime) {
+    public AsyncExecuteCQCallback(long startTime, long endTime, long writtenTime) {
       this.startTime = startTime;
       this.endTime = endTime;
+      this.writtenTime = writtenTime;
     }
 
     private void updateExecutionTime() {
@@ -238,6 +280,7 @@ public class CQScheduleTask implements Runnable {
     @Override
     public void onComplete(TSStatus response) {
       if (response.code == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+        lastEndTime = endTime;
 
         LOGGER.info(
             "[EndExecuteCQ] {}, time range is [{}, {}), current time is {}",
@@ -267,6 +310,7 @@ public class CQScheduleTask implements Runnable {
           // no such cq, we don't need to submit it again
           if (result.getCode() == TSStatusCode.NO_SUCH_CQ.getStatusCode()) {
             LOGGER.info("Stop submitting CQ {} because {}", cqId, result.getMessage());
+            configManager.getCQManager().deregisterScheduledTask(CQScheduleTask.this);
             return;
           }
         }
@@ -278,10 +322,12 @@ public class CQScheduleTask implements Runnable {
           LOGGER.info(
               "Stop submitting CQ {} because current node is not leader or current scheduled thread pool is shut down.",
               cqId);
+          configManager.getCQManager().deregisterScheduledTask(CQScheduleTask.this);
         }
 
       } else {
         LOGGER.warn("Execute CQ {} failed, TSStatus is {}", cqId, response);
+        onDataWritten(writtenTime);
         if (needSubmit()) {
           submitSelf(retryWaitTimeInMS, TimeUnit.MILLISECONDS);
         }
@@ -291,6 +337,7 @@ public class CQScheduleTask implements Runnable {
     @Override
     public void onError(Exception exception) {
       LOGGER.warn("Execute CQ {} failed", cqId, exception);
+      onDataWritten(writtenTime);
       if (needSubmit()) {
         submitSelf(retryWaitTimeInMS, TimeUnit.MILLISECONDS);
       }
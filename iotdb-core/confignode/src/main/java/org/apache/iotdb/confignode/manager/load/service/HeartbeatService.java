@@ -144,6 +144,8 @@ public class HeartbeatService {
       heartbeatReq.setSpaceQuotaUsage(configManager.getClusterQuotaManager().getSpaceQuotaUsage());
     }
 
+    heartbeatReq.setWrittenTimeReportAcks(configManager.getCQManager().getWrittenTimeReportAcks());
+
     /* Update heartbeat counter */
     heartbeatCounter.getAndIncrement();
 
@@ -196,6 +198,7 @@ public class HeartbeatService {
               configManager.getClusterQuotaManager().getRegionDisk(),
               configManager.getClusterSchemaManager()::updateTimeSeriesUsage,
               configManager.getClusterSchemaManager()::updateDeviceUsage,
+              configManager.getCQManager(),
               configManager.getPipeManager().getPipeRuntimeCoordinator());
       configManager.getClusterQuotaManager().updateSpaceQuotaUsage();
       AsyncDataNodeHeartbeatClientPool.getInstance()
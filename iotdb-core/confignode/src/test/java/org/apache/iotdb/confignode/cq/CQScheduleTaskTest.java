@@ -41,4 +41,20 @@ public class CQScheduleTaskTest {
     long everyInterval = 30L;
     assertEquals(110L, CQScheduleTask.getFirstExecutionTime(boundaryTime, everyInterval, now));
   }
+
+  @Test
+  public void testGetIncrementalStartTime() {
+    long startTime = 0L;
+    long lastEndTime = 100L;
+    // only the windows after the last execution are new
+    assertEquals(
+        100L, CQScheduleTask.getIncrementalStartTime(startTime, lastEndTime, Long.MAX_VALUE));
+    assertEquals(100L, CQScheduleTask.getIncrementalStartTime(startTime, lastEndTime, 120L));
+    // late data changes the windows after it
+    assertEquals(60L, CQScheduleTask.getIncrementalStartTime(startTime, lastEndTime, 60L));
+    // the windows before the time range are not executed at all
+    assertEquals(0L, CQScheduleTask.getIncrementalStartTime(startTime, lastEndTime, -10L));
+    // some executions were discarded
+    assertEquals(150L, CQScheduleTask.getIncrementalStartTime(150L, lastEndTime, 60L));
+  }
 }
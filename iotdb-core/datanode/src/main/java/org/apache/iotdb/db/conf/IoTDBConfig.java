@@ -540,6 +540,27 @@ public class IoTDBConfig {
   /** whether to cache meta data(ChunkMetaData and TsFileMetaData) or not. */
   private boolean metaDataCacheEnable = true;
 
+  /**
+   * How many bytes of chunks after the first chunk of a series in a TsFile are read ahead into the
+   * chunk cache. 0 means deciding by whether the disk is rotational, a negative value disables it.
+   */
+  private long chunkReadaheadSizeInByte = 0;
+
+  /**
+   * Directory to cache the metadata index of sealed TsFiles in, which should be on a faster disk
+   * than the data directories. Empty means the disk cache is disabled.
+   */
+  private String metadataDiskCacheDir = "";
+
+  /** Max total size of the metadata index cached in metadataDiskCacheDir. */
+  private long metadataDiskCacheSizeInByte = 10L * 1024 * 1024 * 1024;
+
+  /**
+   * Max number of series whose last flushed point is kept in the last value index of a data region.
+   * The index is disabled when it is not positive.
+   */
+  private int lastValueIndexMaxSeriesNumPerRegion = 1_000_000;
+
   /** Memory allocated for bloomFilter cache in read process */
   private long allocateMemoryForBloomFilterCache = allocateMemoryForRead / 1001;
 
@@ -561,6 +582,12 @@ public class IoTDBConfig {
   /** Max bytes of each FragmentInstance for DataExchange */
   private long maxBytesPerFragmentInstance = allocateMemoryForDataExchange / queryThreadCount;
 
+  /**
+   * Max proportion of the memory for DataExchange that all FragmentInstances of one query can
+   * reserve together on this DataNode
+   */
+  private double maxDataExchangeMemoryProportionPerQuery = 1.0;
+
   /** Memory allocated proportion for timeIndex */
   private long allocateMemoryForTimeIndex = allocateMemoryForRead * 200 / 1001;
 
@@ -960,6 +987,18 @@ public class IoTDBConfig {
   /** How many times will we retry to find an instance of stateful trigger */
   private int retryNumToFindStatefulTrigger = 3;
 
+  /** Number of threads used to fire async triggers */
+  private int triggerAsyncFireThreadNum = 2;
+
+  /** Max number of tablets buffered for each async trigger */
+  private int triggerAsyncFireQueueCapacity = 1000;
+
+  /** Max number of tablets fired by an async trigger in one batch */
+  private int triggerAsyncFireBatchSize = 100;
+
+  /** Whether the writer waits or drops the tablet when the queue of an async trigger is full */
+  private boolean triggerAsyncFireBlockWhenQueueFull = true;
+
   /** ThreadPool size for read operation in coordinator */
   private int coordinatorReadExecutorSize = 20;
 
@@ -1611,6 +1650,23 @@ public class IoTDBConfig {
     this.maxBytesPerFragmentInstance = maxBytesPerFragmentInstance;
   }
 
+  public double getMaxDataExchangeMemoryProportionPerQuery() {
+    return maxDataExchangeMemoryProportionPerQuery;
+  }
+
+  public void setMaxDataExchangeMemoryProportionPerQuery(
+      double maxDataExchangeMemoryProportionPerQuery) {
+    this.maxDataExchangeMemoryProportionPerQuery = maxDataExchangeMemoryProportionPerQuery;
+  }
+
+  /** Max bytes all FragmentInstances of one query can reserve for DataExchange together. */
+  public long getMaxBytesPerQuery() {
+    long maxBytesPerQuery =
+        (long) (allocateMemoryForDataExchange * maxDataExchangeMemoryProportionPerQuery);
+    return Math.min(
+        allocateMemoryForDataExchange, Math.max(maxBytesPerFragmentInstance, maxBytesPerQuery));
+  }
+
   public int getWindowEvaluationThreadCount() {
     return windowEvaluationThreadCount;
   }
@@ -2093,6 +2149,38 @@ public class IoTDBConfig {
     this.metaDataCacheEnable = metaDataCacheEnable;
   }
 
+  public long getChunkReadaheadSizeInByte() {
+    return chunkReadaheadSizeInByte;
+  }
+
+  public void setChunkReadaheadSizeInByte(long chunkReadaheadSizeInByte) {
+    this.chunkReadaheadSizeInByte = chunkReadaheadSizeInByte;
+  }
+
+  public String getMetadataDiskCacheDir() {
+    return metadataDiskCacheDir;
+  }
+
+  public void setMetadataDiskCacheDir(String metadataDiskCacheDir) {
+    this.metadataDiskCacheDir = metadataDiskCacheDir;
+  }
+
+  public long getMetadataDiskCacheSizeInByte() {
+    return metadataDiskCacheSizeInByte;
+  }
+
+  public void setMetadataDiskCacheSizeInByte(long metadataDiskCacheSizeInByte) {
+    this.metadataDiskCacheSizeInByte = metadataDiskCacheSizeInByte;
+  }
+
+  public int getLastValueIndexMaxSeriesNumPerRegion() {
+    return lastValueIndexMaxSeriesNumPerRegion;
+  }
+
+  public void setLastValueIndexMaxSeriesNumPerRegion(int lastValueIndexMaxSeriesNumPerRegion) {
+    this.lastValueIndexMaxSeriesNumPerRegion = lastValueIndexMaxSeriesNumPerRegion;
+  }
+
   public long getAllocateMemoryForBloomFilterCache() {
     return allocateMemoryForBloomFilterCache;
   }
@@ -3111,6 +3199,38 @@ public class IoTDBConfig {
     this.retryNumToFindStatefulTrigger = retryNumToFindStatefulTrigger;
   }
 
+  public int getTriggerAsyncFireThreadNum() {
+    return triggerAsyncFireThreadNum;
+  }
+
+  public void setTriggerAsyncFireThreadNum(int triggerAsyncFireThreadNum) {
+    this.triggerAsyncFireThreadNum = triggerAsyncFireThreadNum;
+  }
+
+  public int getTriggerAsyncFireQueueCapacity() {
+    return triggerAsyncFireQueueCapacity;
+  }
+
+  public void setTriggerAsyncFireQueueCapacity(int triggerAsyncFireQueueCapacity) {
+    this.triggerAsyncFireQueueCapacity = triggerAsyncFireQueueCapacity;
+  }
+
+  public int getTriggerAsyncFireBatchSize() {
+    return triggerAsyncFireBatchSize;
+  }
+
+  public void setTriggerAsyncFireBatchSize(int triggerAsyncFireBatchSize) {
+    this.triggerAsyncFireBatchSize = triggerAsyncFireBatchSize;
+  }
+
+  public boolean isTriggerAsyncFireBlockWhenQueueFull() {
+    return triggerAsyncFireBlockWhenQueueFull;
+  }
+
+  public void setTriggerAsyncFireBlockWhenQueueFull(boolean triggerAsyncFireBlockWhenQueueFull) {
+    this.triggerAsyncFireBlockWhenQueueFull = triggerAsyncFireBlockWhenQueueFull;
+  }
+
   public int getCoordinatorReadExecutorSize() {
     return coordinatorReadExecutorSize;
   }
@@ -321,6 +321,33 @@ public class IoTDBDescriptor {
                     "meta_data_cache_enable", Boolean.toString(conf.isMetaDataCacheEnable()))
                 .trim()));
 
+    conf.setChunkReadaheadSizeInByte(
+        Long.parseLong(
+            properties
+                .getProperty(
+                    "chunk_readahead_size_in_byte",
+                    Long.toString(conf.getChunkReadaheadSizeInByte()))
+                .trim()));
+
+    conf.setMetadataDiskCacheDir(
+        properties.getProperty("metadata_disk_cache_dir", conf.getMetadataDiskCacheDir()).trim());
+
+    conf.setMetadataDiskCacheSizeInByte(
+        Long.parseLong(
+            properties
+                .getProperty(
+                    "metadata_disk_cache_size_in_byte",
+                    Long.toString(conf.getMetadataDiskCacheSizeInByte()))
+                .trim()));
+
+    conf.setLastValueIndexMaxSeriesNumPerRegion(
+        Integer.parseInt(
+            properties
+                .getProperty(
+                    "last_value_index_max_series_num_per_region",
+                    Integer.toString(conf.getLastValueIndexMaxSeriesNumPerRegion()))
+                .trim()));
+
     initMemoryAllocate(properties);
 
     loadWALProps(properties);
@@ -542,6 +569,17 @@ public class IoTDBDescriptor {
       conf.setDegreeOfParallelism(Runtime.getRuntime().availableProcessors() / 2);
     }
 
+    conf.setMaxDataExchangeMemoryProportionPerQuery(
+        Double.parseDouble(
+            properties.getProperty(
+                "max_data_exchange_memory_proportion_per_query",
+                Double.toString(conf.getMaxDataExchangeMemoryProportionPerQuery()))));
+
+    if (conf.getMaxDataExchangeMemoryProportionPerQuery() <= 0
+        || conf.getMaxDataExchangeMemoryProportionPerQuery() > 1) {
+      conf.setMaxDataExchangeMemoryProportionPerQuery(1.0);
+    }
+
     conf.setModeMapSizeThreshold(
         Integer.parseInt(
             properties.getProperty(
@@ -1930,6 +1968,36 @@ public class IoTDBDescriptor {
                 "stateful_trigger_retry_num_when_not_found",
                 Integer.toString(conf.getRetryNumToFindStatefulTrigger()))));
 
+    int triggerAsyncFireThreadNum =
+        Integer.parseInt(
+            properties.getProperty(
+                "trigger_async_fire_thread_num",
+                Integer.toString(conf.getTriggerAsyncFireThreadNum())));
+    if (triggerAsyncFireThreadNum > 0) {
+      conf.setTriggerAsyncFireThreadNum(triggerAsyncFireThreadNum);
+    }
+    int triggerAsyncFireQueueCapacity =
+        Integer.parseInt(
+            properties.getProperty(
+                "trigger_async_fire_queue_capacity",
+                Integer.toString(conf.getTriggerAsyncFireQueueCapacity())));
+    if (triggerAsyncFireQueueCapacity > 0) {
+      conf.setTriggerAsyncFireQueueCapacity(triggerAsyncFireQueueCapacity);
+    }
+    int triggerAsyncFireBatchSize =
+        Integer.parseInt(
+            properties.getProperty(
+                "trigger_async_fire_batch_size",
+                Integer.toString(conf.getTriggerAsyncFireBatchSize())));
+    if (triggerAsyncFireBatchSize > 0) {
+      conf.setTriggerAsyncFireBatchSize(triggerAsyncFireBatchSize);
+    }
+    conf.setTriggerAsyncFireBlockWhenQueueFull(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "trigger_async_fire_block_when_queue_full",
+                Boolean.toString(conf.isTriggerAsyncFireBlockWhenQueueFull()))));
+
     int tlogBufferSize =
         Integer.parseInt(
             properties.getProperty("tlog_buffer_size", Integer.toString(conf.getTlogBufferSize())));
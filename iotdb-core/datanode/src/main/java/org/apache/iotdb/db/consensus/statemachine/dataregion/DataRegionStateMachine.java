@@ -32,16 +32,19 @@ import org.apache.iotdb.db.consensus.statemachine.BaseStateMachine;
 import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceManager;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.FragmentInstance;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNode;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.pipe.PipeEnrichedInsertNode;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertMultiTabletsNode;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertNode;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertRowNode;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertRowsNode;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertRowsOfOneDeviceNode;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertTabletNode;
 import org.apache.iotdb.db.storageengine.StorageEngine;
 import org.apache.iotdb.db.storageengine.buffer.BloomFilterCache;
 import org.apache.iotdb.db.storageengine.buffer.ChunkCache;
 import org.apache.iotdb.db.storageengine.buffer.TimeSeriesMetadataCache;
 import org.apache.iotdb.db.storageengine.dataregion.DataRegion;
+import org.apache.iotdb.db.storageengine.dataregion.EarliestWrittenTimeTracker;
 import org.apache.iotdb.db.storageengine.dataregion.snapshot.SnapshotLoader;
 import org.apache.iotdb.db.storageengine.dataregion.snapshot.SnapshotTaker;
 import org.apache.iotdb.rpc.TSStatusCode;
@@ -266,9 +269,26 @@ public class DataRegionStateMachine extends BaseStateMachine {
         break;
       }
     }
+    // tracked only after the data is visible, otherwise a continuous query may re-execute the
+    // windows of the reported time before the data is written and never re-execute them again
+    if (result.getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode()
+        || mayBePartiallyWritten(planNode)) {
+      EarliestWrittenTimeTracker.getInstance().update(planNode);
+    }
     return result;
   }
 
+  /** Whether some rows of a failed write may have been written. */
+  private static boolean mayBePartiallyWritten(PlanNode planNode) {
+    if (planNode instanceof PipeEnrichedInsertNode) {
+      planNode = ((PipeEnrichedInsertNode) planNode).getInsertNode();
+    }
+    return planNode instanceof InsertTabletNode
+        || planNode instanceof InsertRowsNode
+        || planNode instanceof InsertRowsOfOneDeviceNode
+        || planNode instanceof InsertMultiTabletsNode;
+  }
+
   @Override
   public DataSet read(IConsensusRequest request) {
     if (request instanceof GetConsensusReqReaderPlan) {
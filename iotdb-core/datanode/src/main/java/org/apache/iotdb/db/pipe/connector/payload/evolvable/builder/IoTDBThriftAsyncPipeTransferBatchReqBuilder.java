@@ -22,13 +22,106 @@ package org.apache.iotdb.db.pipe.connector.payload.evolvable.builder;
 import org.apache.iotdb.pipe.api.customizer.parameter.PipeParameters;
 import org.apache.iotdb.pipe.api.event.Event;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_IOTDB_BATCH_ADAPTIVE_ENABLE_DEFAULT_VALUE;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_IOTDB_BATCH_ADAPTIVE_ENABLE_KEY;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_IOTDB_BATCH_ADAPTIVE_TARGET_ROUND_TRIP_TIME_DEFAULT_VALUE;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_IOTDB_BATCH_ADAPTIVE_TARGET_ROUND_TRIP_TIME_KEY;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.SINK_IOTDB_BATCH_ADAPTIVE_ENABLE_KEY;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.SINK_IOTDB_BATCH_ADAPTIVE_TARGET_ROUND_TRIP_TIME_KEY;
+
 public class IoTDBThriftAsyncPipeTransferBatchReqBuilder extends PipeTransferBatchReqBuilder {
 
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(IoTDBThriftAsyncPipeTransferBatchReqBuilder.class);
+
+  // the adaptive batch size never drops below 1/MIN_BATCH_SIZE_DIVISOR of the size limit
+  private static final int MIN_BATCH_SIZE_DIVISOR = 16;
+  // the adaptive batch size grows by 1/BATCH_SIZE_GROWTH_DIVISOR of the size limit each time
+  private static final int BATCH_SIZE_GROWTH_DIVISOR = 8;
+  // the batch size only grows when the smoothed round trip time is below
+  // 1/GROWTH_ROUND_TRIP_TIME_DIVISOR of the target, so that it does not see-saw around the target
+  private static final int GROWTH_ROUND_TRIP_TIME_DIVISOR = 2;
+
+  private final boolean isAdaptiveBatchEnabled;
+  private final long targetRoundTripTimeInMs;
+  private volatile long adaptiveBatchSizeInBytes;
+  private double smoothedRoundTripTimeInMs = 0;
+
   public IoTDBThriftAsyncPipeTransferBatchReqBuilder(PipeParameters parameters) {
     super(parameters);
+
+    isAdaptiveBatchEnabled =
+        parameters.getBooleanOrDefault(
+            Arrays.asList(
+                CONNECTOR_IOTDB_BATCH_ADAPTIVE_ENABLE_KEY, SINK_IOTDB_BATCH_ADAPTIVE_ENABLE_KEY),
+            CONNECTOR_IOTDB_BATCH_ADAPTIVE_ENABLE_DEFAULT_VALUE);
+    targetRoundTripTimeInMs =
+        parameters.getLongOrDefault(
+            Arrays.asList(
+                CONNECTOR_IOTDB_BATCH_ADAPTIVE_TARGET_ROUND_TRIP_TIME_KEY,
+                SINK_IOTDB_BATCH_ADAPTIVE_TARGET_ROUND_TRIP_TIME_KEY),
+            CONNECTOR_IOTDB_BATCH_ADAPTIVE_TARGET_ROUND_TRIP_TIME_DEFAULT_VALUE);
+    adaptiveBatchSizeInBytes = super.getMaxBatchSizeInBytes();
+  }
+
+  /**
+   * Adjust the batch size according to the feedback of the receiver. The batch size is halved if
+   * the transfer failed or the smoothed round trip time exceeds the target round trip time, and
+   * grows gradually until it reaches the size limit if the smoothed round trip time is well below
+   * the target. Otherwise it is kept. The target is configured separately from the max batch delay,
+   * because the round trip time of a link with a high latency may exceed the max batch delay
+   * whatever the batch size is.
+   *
+   * @param roundTripTimeInMs the time between sending the batch and receiving the response
+   * @param isSuccessful whether the batch is transferred successfully
+   */
+  public synchronized void onBatchTransferred(long roundTripTimeInMs, boolean isSuccessful) {
+    if (!isAdaptiveBatchEnabled) {
+      return;
+    }
+
+    final long sizeLimit = super.getMaxBatchSizeInBytes();
+    final long oldBatchSize = Math.min(adaptiveBatchSizeInBytes, sizeLimit);
+
+    if (isSuccessful) {
+      smoothedRoundTripTimeInMs =
+          smoothedRoundTripTimeInMs == 0
+              ? roundTripTimeInMs
+              : smoothedRoundTripTimeInMs * 7 / 8 + roundTripTimeInMs / 8.0;
+    }
+
+    if (!isSuccessful || smoothedRoundTripTimeInMs > targetRoundTripTimeInMs) {
+      adaptiveBatchSizeInBytes = Math.max(oldBatchSize / 2, sizeLimit / MIN_BATCH_SIZE_DIVISOR);
+    } else if (smoothedRoundTripTimeInMs
+        < (double) targetRoundTripTimeInMs / GROWTH_ROUND_TRIP_TIME_DIVISOR) {
+      adaptiveBatchSizeInBytes =
+          Math.min(oldBatchSize + Math.max(sizeLimit / BATCH_SIZE_GROWTH_DIVISOR, 1), sizeLimit);
+    } else {
+      adaptiveBatchSizeInBytes = oldBatchSize;
+    }
+
+    if (adaptiveBatchSizeInBytes != oldBatchSize && LOGGER.isDebugEnabled()) {
+      LOGGER.debug(
+          "The adaptive batch size has changed from {} to {}, smoothed round trip time: {} ms.",
+          oldBatchSize,
+          adaptiveBatchSizeInBytes,
+          smoothedRoundTripTimeInMs);
+    }
+  }
+
+  @Override
+  protected long getMaxBatchSizeInBytes() {
+    // isAdaptiveBatchEnabled is false when called in the constructor of the super class
+    return isAdaptiveBatchEnabled
+        ? Math.min(adaptiveBatchSizeInBytes, super.getMaxBatchSizeInBytes())
+        : super.getMaxBatchSizeInBytes();
   }
 
   public List<Event> deepcopyEvents() {
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.connector.payload.evolvable.request;
+
+import org.apache.iotdb.commons.pipe.connector.payload.request.PipeRequestType;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.service.rpc.thrift.TPipeTransferReq;
+import org.apache.iotdb.tsfile.compress.ICompressor;
+import org.apache.iotdb.tsfile.compress.IUnCompressor;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Wraps another {@link TPipeTransferReq} whose body is compressed. The body is laid out as the
+ * compression type (1 byte), the type of the wrapped request (2 bytes), the uncompressed body
+ * length (4 bytes) and the compressed body.
+ */
+public class PipeTransferCompressedReq extends TPipeTransferReq {
+
+  private static final int HEADER_SIZE = Byte.BYTES + Short.BYTES + Integer.BYTES;
+
+  private PipeTransferCompressedReq() {
+    // Empty constructor
+  }
+
+  /////////////////////////////// Thrift ///////////////////////////////
+
+  /**
+   * Compress the body of the given request.
+   *
+   * @return the compressed request, or the given request itself if compression does not make it
+   *     smaller
+   */
+  public static TPipeTransferReq toTPipeTransferReq(
+      TPipeTransferReq originalReq, ICompressor compressor) throws IOException {
+    final ByteBuffer originalBody = originalReq.body.duplicate();
+    final int uncompressedLength = originalBody.remaining();
+
+    final byte[] compressedBody;
+    if (originalBody.hasArray()) {
+      compressedBody =
+          compressor.compress(
+              originalBody.array(),
+              originalBody.arrayOffset() + originalBody.position(),
+              uncompressedLength);
+    } else {
+      final byte[] uncompressedBody = new byte[uncompressedLength];
+      originalBody.get(uncompressedBody);
+      compressedBody = compressor.compress(uncompressedBody);
+    }
+    if (compressedBody.length + HEADER_SIZE >= uncompressedLength) {
+      return originalReq;
+    }
+
+    final ByteBuffer body = ByteBuffer.allocate(HEADER_SIZE + compressedBody.length);
+    ReadWriteIOUtils.write(compressor.getType().serialize(), body);
+    ReadWriteIOUtils.write(originalReq.type, body);
+    ReadWriteIOUtils.write(uncompressedLength, body);
+    body.put(compressedBody);
+    body.flip();
+
+    final PipeTransferCompressedReq compressedReq = new PipeTransferCompressedReq();
+    compressedReq.version = originalReq.version;
+    compressedReq.type = PipeRequestType.TRANSFER_COMPRESSED.getType();
+    compressedReq.body = body;
+    return compressedReq;
+  }
+
+  /**
+   * Decompress the given request into the request it wraps.
+   *
+   * @throws IOException if the uncompressed length is negative or exceeds the max thrift frame
+   *     size, which no request sent uncompressed can exceed either
+   */
+  public static TPipeTransferReq fromTPipeTransferReq(TPipeTransferReq transferReq)
+      throws IOException {
+    final ByteBuffer body = transferReq.body;
+    final CompressionType compressionType =
+        CompressionType.deserialize(ReadWriteIOUtils.readByte(body));
+    final short originalType = ReadWriteIOUtils.readShort(body);
+    final int uncompressedLength = ReadWriteIOUtils.readInt(body);
+    final int maxFrameSize = IoTDBDescriptor.getInstance().getConfig().getThriftMaxFrameSize();
+    if (uncompressedLength < 0 || uncompressedLength > maxFrameSize) {
+      throw new IOException(
+          String.format(
+              "The uncompressed length %s of the compressed request is out of range [0, %s].",
+              uncompressedLength, maxFrameSize));
+    }
+
+    final byte[] compressedBody = new byte[body.remaining()];
+    body.get(compressedBody);
+    final byte[] uncompressedBody = new byte[uncompressedLength];
+    IUnCompressor.getUnCompressor(compressionType)
+        .uncompress(compressedBody, 0, compressedBody.length, uncompressedBody, 0);
+
+    final TPipeTransferReq originalReq = new TPipeTransferReq();
+    originalReq.version = transferReq.version;
+    originalReq.type = originalType;
+    originalReq.body = ByteBuffer.wrap(uncompressedBody);
+    return originalReq;
+  }
+}
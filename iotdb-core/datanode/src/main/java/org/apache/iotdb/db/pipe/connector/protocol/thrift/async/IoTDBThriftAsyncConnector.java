@@ -20,9 +20,11 @@
 package org.apache.iotdb.db.pipe.connector.protocol.thrift.async;
 
 import org.apache.iotdb.common.rpc.thrift.TEndPoint;
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
 import org.apache.iotdb.commons.client.async.AsyncPipeDataTransferServiceClient;
 import org.apache.iotdb.commons.pipe.plugin.builtin.connector.iotdb.IoTDBConnector;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.builder.IoTDBThriftAsyncPipeTransferBatchReqBuilder;
+import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferCompressedReq;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTabletBinaryReq;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTabletInsertNodeReq;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTabletRawReq;
@@ -44,7 +46,9 @@ import org.apache.iotdb.pipe.api.customizer.parameter.PipeParameters;
 import org.apache.iotdb.pipe.api.event.Event;
 import org.apache.iotdb.pipe.api.event.dml.insertion.TabletInsertionEvent;
 import org.apache.iotdb.pipe.api.event.dml.insertion.TsFileInsertionEvent;
+import org.apache.iotdb.rpc.TSStatusCode;
 import org.apache.iotdb.service.rpc.thrift.TPipeTransferReq;
+import org.apache.iotdb.tsfile.compress.ICompressor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,9 +61,13 @@ import java.util.HashMap;
 import java.util.Objects;
 import java.util.concurrent.PriorityBlockingQueue;
 
+import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_COMPRESSOR_DEFAULT_VALUE;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_COMPRESSOR_KEY;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_COMPRESSOR_SET;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_IOTDB_BATCH_MODE_ENABLE_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_LEADER_CACHE_ENABLE_DEFAULT_VALUE;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_LEADER_CACHE_ENABLE_KEY;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.SINK_COMPRESSOR_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.SINK_IOTDB_BATCH_MODE_ENABLE_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.SINK_IOTDB_SSL_ENABLE_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.SINK_IOTDB_SSL_TRUST_STORE_PATH_KEY;
@@ -91,6 +99,11 @@ public class IoTDBThriftAsyncConnector extends IoTDBConnector {
 
   private IoTDBThriftAsyncPipeTransferBatchReqBuilder tabletBatchBuilder;
 
+  // null if compression is disabled
+  private ICompressor compressor;
+  // set to false once the receiver fails to recognize compressed requests
+  private volatile boolean isCompressionSupportedByReceiver = true;
+
   @Override
   public void validate(PipeParameterValidator validator) throws Exception {
     super.validate(validator);
@@ -103,6 +116,20 @@ public class IoTDBThriftAsyncConnector extends IoTDBConnector {
         parameters.getBooleanOrDefault(SINK_IOTDB_SSL_ENABLE_KEY, false),
         parameters.hasAttribute(SINK_IOTDB_SSL_TRUST_STORE_PATH_KEY),
         parameters.hasAttribute(SINK_IOTDB_SSL_TRUST_STORE_PWD_KEY));
+
+    final String compressorName =
+        parameters
+            .getStringOrDefault(
+                Arrays.asList(CONNECTOR_COMPRESSOR_KEY, SINK_COMPRESSOR_KEY),
+                CONNECTOR_COMPRESSOR_DEFAULT_VALUE)
+            .trim()
+            .toLowerCase();
+    validator.validate(
+        arg -> ((String) arg).isEmpty() || CONNECTOR_COMPRESSOR_SET.contains((String) arg),
+        String.format(
+            "Compressor should be one of %s, but got %s.",
+            CONNECTOR_COMPRESSOR_SET, compressorName),
+        compressorName);
   }
 
   @Override
@@ -126,6 +153,15 @@ public class IoTDBThriftAsyncConnector extends IoTDBConnector {
     if (isTabletBatchModeEnabled) {
       tabletBatchBuilder = new IoTDBThriftAsyncPipeTransferBatchReqBuilder(parameters);
     }
+
+    final String compressorName =
+        parameters
+            .getStringOrDefault(
+                Arrays.asList(CONNECTOR_COMPRESSOR_KEY, SINK_COMPRESSOR_KEY),
+                CONNECTOR_COMPRESSOR_DEFAULT_VALUE)
+            .trim()
+            .toUpperCase();
+    compressor = compressorName.isEmpty() ? null : ICompressor.getCompressor(compressorName);
   }
 
   @Override
@@ -168,10 +204,11 @@ public class IoTDBThriftAsyncConnector extends IoTDBConnector {
         final InsertNode insertNode =
             pipeInsertNodeTabletInsertionEvent.getInsertNodeViaCacheIfPossible();
         final TPipeTransferReq pipeTransferReq =
-            Objects.isNull(insertNode)
-                ? PipeTransferTabletBinaryReq.toTPipeTransferReq(
-                    pipeInsertNodeTabletInsertionEvent.getByteBuffer())
-                : PipeTransferTabletInsertNodeReq.toTPipeTransferReq(insertNode);
+            compressIfNecessary(
+                Objects.isNull(insertNode)
+                    ? PipeTransferTabletBinaryReq.toTPipeTransferReq(
+                        pipeInsertNodeTabletInsertionEvent.getByteBuffer())
+                    : PipeTransferTabletInsertNodeReq.toTPipeTransferReq(insertNode));
         final PipeTransferTabletInsertNodeEventHandler pipeTransferInsertNodeReqHandler =
             new PipeTransferTabletInsertNodeEventHandler(
                 pipeInsertNodeTabletInsertionEvent, pipeTransferReq, this);
@@ -180,10 +217,11 @@ public class IoTDBThriftAsyncConnector extends IoTDBConnector {
       } else { // tabletInsertionEvent instanceof PipeRawTabletInsertionEvent
         final PipeRawTabletInsertionEvent pipeRawTabletInsertionEvent =
             (PipeRawTabletInsertionEvent) tabletInsertionEvent;
-        final PipeTransferTabletRawReq pipeTransferTabletRawReq =
-            PipeTransferTabletRawReq.toTPipeTransferReq(
-                pipeRawTabletInsertionEvent.convertToTablet(),
-                pipeRawTabletInsertionEvent.isAligned());
+        final TPipeTransferReq pipeTransferTabletRawReq =
+            compressIfNecessary(
+                PipeTransferTabletRawReq.toTPipeTransferReq(
+                    pipeRawTabletInsertionEvent.convertToTablet(),
+                    pipeRawTabletInsertionEvent.isAligned()));
         final PipeTransferTabletRawEventHandler pipeTransferTabletReqHandler =
             new PipeTransferTabletRawEventHandler(
                 pipeRawTabletInsertionEvent, pipeTransferTabletRawReq, this);
@@ -275,6 +313,37 @@ public class IoTDBThriftAsyncConnector extends IoTDBConnector {
     }
   }
 
+  //////////////////////////// Compression ////////////////////////////
+
+  /**
+   * Compress the request if compression is enabled and supported by the receiver.
+   *
+   * @return the compressed request, or the given request if it is not compressed
+   */
+  public TPipeTransferReq compressIfNecessary(TPipeTransferReq req) throws IOException {
+    return compressor == null || !isCompressionSupportedByReceiver
+        ? req
+        : PipeTransferCompressedReq.toTPipeTransferReq(req, compressor);
+  }
+
+  /**
+   * Stop compressing requests if the receiver can not recognize them, which happens when the
+   * receiver is of an older version. The failed request will be retried without compression.
+   *
+   * @param status the status returned by the receiver
+   */
+  public void disableCompressionIfUnsupported(TSStatus status) {
+    if (compressor != null
+        && isCompressionSupportedByReceiver
+        && status.getCode() == TSStatusCode.PIPE_TYPE_ERROR.getStatusCode()) {
+      isCompressionSupportedByReceiver = false;
+      LOGGER.warn(
+          "The receiver does not support compressed requests, "
+              + "the requests will be transferred without compression. Status: {}.",
+          status);
+    }
+  }
+
   //////////////////////////// Leader cache update ////////////////////////////
 
   public void updateLeaderCache(String deviceId, TEndPoint endPoint) {
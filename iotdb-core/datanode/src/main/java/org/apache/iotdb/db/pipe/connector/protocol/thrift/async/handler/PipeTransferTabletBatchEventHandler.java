@@ -46,6 +46,9 @@ public class PipeTransferTabletBatchEventHandler implements AsyncMethodCallback<
   private final List<Event> events;
   private final TPipeTransferReq req;
 
+  private final IoTDBThriftAsyncPipeTransferBatchReqBuilder batchBuilder;
+  private long transferStartTime;
+
   private final IoTDBThriftAsyncConnector connector;
 
   public PipeTransferTabletBatchEventHandler(
@@ -54,12 +57,14 @@ public class PipeTransferTabletBatchEventHandler implements AsyncMethodCallback<
     // Deep copy to keep Ids' and events' reference
     requestCommitIds = batchBuilder.deepcopyRequestCommitIds();
     events = batchBuilder.deepcopyEvents();
-    req = batchBuilder.toTPipeTransferReq();
+    req = connector.compressIfNecessary(batchBuilder.toTPipeTransferReq());
 
+    this.batchBuilder = batchBuilder;
     this.connector = connector;
   }
 
   public void transfer(AsyncPipeDataTransferServiceClient client) throws TException {
+    transferStartTime = System.currentTimeMillis();
     client.pipeTransfer(req, this);
   }
 
@@ -72,6 +77,8 @@ public class PipeTransferTabletBatchEventHandler implements AsyncMethodCallback<
     }
 
     if (response.getStatus().getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+      batchBuilder.onBatchTransferred(System.currentTimeMillis() - transferStartTime, true);
+
       for (final Event event : events) {
         if (event instanceof EnrichedEvent) {
           ((EnrichedEvent) event)
@@ -79,6 +86,7 @@ public class PipeTransferTabletBatchEventHandler implements AsyncMethodCallback<
         }
       }
     } else {
+      connector.disableCompressionIfUnsupported(response.getStatus());
       onError(new PipeException(response.getStatus().getMessage()));
     }
   }
@@ -91,6 +99,8 @@ public class PipeTransferTabletBatchEventHandler implements AsyncMethodCallback<
         requestCommitIds,
         exception);
 
+    batchBuilder.onBatchTransferred(System.currentTimeMillis() - transferStartTime, false);
+
     for (final Event event : events) {
       connector.addFailureEventToRetryQueue(event);
     }
@@ -82,6 +82,7 @@ public abstract class PipeTransferTabletInsertionEventHandler<E extends TPipeTra
         updateLeaderCache(status);
       }
     } else {
+      connector.disableCompressionIfUnsupported(status);
       onError(new PipeException(status.getMessage()));
     }
   }
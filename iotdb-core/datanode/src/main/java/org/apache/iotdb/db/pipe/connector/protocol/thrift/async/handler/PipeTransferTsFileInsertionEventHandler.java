@@ -89,17 +89,20 @@ public class PipeTransferTsFileInsertionEventHandler
     if (readLength == -1) {
       isSealSignalSent.set(true);
       client.pipeTransfer(
-          PipeTransferFileSealReq.toTPipeTransferReq(tsFile.getName(), tsFile.length()), this);
+          connector.compressIfNecessary(
+              PipeTransferFileSealReq.toTPipeTransferReq(tsFile.getName(), tsFile.length())),
+          this);
       return;
     }
 
     client.pipeTransfer(
-        PipeTransferFilePieceReq.toTPipeTransferReq(
-            tsFile.getName(),
-            position,
-            readLength == readFileBufferSize
-                ? readBuffer
-                : Arrays.copyOfRange(readBuffer, 0, readLength)),
+        connector.compressIfNecessary(
+            PipeTransferFilePieceReq.toTPipeTransferReq(
+                tsFile.getName(),
+                position,
+                readLength == readFileBufferSize
+                    ? readBuffer
+                    : Arrays.copyOfRange(readBuffer, 0, readLength))),
         this);
     position += readLength;
   }
@@ -108,6 +111,7 @@ public class PipeTransferTsFileInsertionEventHandler
   public void onComplete(TPipeTransferResp response) {
     if (isSealSignalSent.get()) {
       if (response.getStatus().getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+        connector.disableCompressionIfUnsupported(response.getStatus());
         onError(
             new PipeException(
                 String.format(
@@ -152,6 +156,7 @@ public class PipeTransferTsFileInsertionEventHandler
         reader.seek(position);
         LOGGER.info("Redirect file position to {}.", position);
       } else if (code != TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+        connector.disableCompressionIfUnsupported(resp.getStatus());
         throw new PipeException(
             String.format("Transfer file %s error, result status %s.", tsFile, resp.getStatus()));
       }
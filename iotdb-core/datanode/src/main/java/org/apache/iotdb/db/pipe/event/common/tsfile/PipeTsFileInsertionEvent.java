@@ -24,6 +24,7 @@ import org.apache.iotdb.commons.consensus.index.impl.MinimumProgressIndex;
 import org.apache.iotdb.commons.pipe.task.meta.PipeTaskMeta;
 import org.apache.iotdb.db.pipe.event.EnrichedEvent;
 import org.apache.iotdb.db.pipe.resource.PipeResourceManager;
+import org.apache.iotdb.db.pipe.resource.tsfile.PipeTsFileResourceManager;
 import org.apache.iotdb.db.storageengine.dataregion.memtable.TsFileProcessor;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 import org.apache.iotdb.pipe.api.event.dml.insertion.TabletInsertionEvent;
@@ -209,6 +210,63 @@ public class PipeTsFileInsertionEvent extends EnrichedEvent implements TsFileIns
     }
   }
 
+  /**
+   * Copy the chunks of this TsFile matching the pattern and time range into a new TsFile in pipe
+   * dir, so that the matching data can still be transferred as a TsFile without being parsed into
+   * tablets.
+   *
+   * <p>The new TsFile is referenced once when it is returned. The caller should release the
+   * reference by {@link PipeTsFileResourceManager#decreaseFileReference(File)} after the returned
+   * event is collected.
+   *
+   * @return the event of the new TsFile, whose pattern and time range need not be parsed again.
+   *     {@code null} if the matching data can not be copied without decoding or nothing matches.
+   */
+  public PipeTsFileInsertionEvent parseEventWithPatternOrTimeByChunk() {
+    try {
+      waitForTsFileClose();
+
+      final File filteredTsFile =
+          PipeResourceManager.tsfile().getGeneratedTsFileInPipeDir(resource.getTsFile(), pipeName);
+      final TsFileResource filteredResource =
+          new TsFileInsertionDataChunkCopier(getPattern(), startTime, endTime)
+              .copy(tsFile, filteredTsFile);
+      if (filteredResource == null) {
+        return null;
+      }
+      filteredResource.setProgressIndex(resource.getMaxProgressIndexAfterClose());
+      PipeResourceManager.tsfile().registerGeneratedTsFile(filteredTsFile);
+
+      final PipeTsFileInsertionEvent filteredEvent =
+          new PipeTsFileInsertionEvent(
+              filteredResource,
+              isLoaded,
+              isGeneratedByPipe,
+              pipeName,
+              pipeTaskMeta,
+              getPattern(),
+              startTime,
+              endTime);
+      filteredEvent.skipParsingPattern();
+      filteredEvent.skipParsingTime();
+      return filteredEvent;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+
+      final String errorMsg =
+          String.format(
+              "Interrupted when waiting for closing TsFile %s.", resource.getTsFilePath());
+      LOGGER.warn(errorMsg, e);
+      throw new PipeException(errorMsg);
+    } catch (IOException e) {
+      LOGGER.warn(
+          "Failed to copy chunks of TsFile {}, it will be parsed into tablets.",
+          resource.getTsFilePath(),
+          e);
+      return null;
+    }
+  }
+
   /** Release the resource of data container. */
   @Override
   public void close() {
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.event.common.tsfile;
+
+import org.apache.iotdb.commons.pipe.config.PipeConfig;
+import org.apache.iotdb.db.pipe.resource.PipeResourceManager;
+import org.apache.iotdb.db.pipe.resource.memory.PipeMemoryBlock;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.db.storageengine.dataregion.utils.TsFileResourceUtils;
+import org.apache.iotdb.tsfile.file.metadata.AlignedChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.IChunkMetadata;
+import org.apache.iotdb.tsfile.read.TsFileDeviceIterator;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.utils.Pair;
+import org.apache.iotdb.tsfile.write.writer.TsFileIOWriter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Copies the chunks of a TsFile matching the pattern and time range of a pipe into a new TsFile
+ * without decoding them, so that a historical TsFile which only partly matches the pattern can
+ * still be transferred as a TsFile instead of being parsed into tablets.
+ *
+ * <p>Chunks are copied as a whole, so the copy is given up if any matching chunk is only partly in
+ * the time range. The caller should parse the original TsFile into tablets in that case.
+ */
+public class TsFileInsertionDataChunkCopier {
+
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(TsFileInsertionDataChunkCopier.class);
+
+  private final String pattern; // used to filter data
+  private final long startTime; // used to filter data
+  private final long endTime; // used to filter data
+
+  public TsFileInsertionDataChunkCopier(String pattern, long startTime, long endTime) {
+    this.pattern = pattern;
+    this.startTime = startTime;
+    this.endTime = endTime;
+  }
+
+  /**
+   * Copy the matching chunks of the source TsFile into the target TsFile.
+   *
+   * @return the resource of the target TsFile, or {@code null} if nothing matches or some chunk can
+   *     not be copied without decoding. The target file is deleted if {@code null} is returned.
+   * @throws IOException if failed to read the source TsFile or write the target TsFile
+   */
+  public TsFileResource copy(File sourceTsFile, File targetTsFile) throws IOException {
+    boolean isCopied = false;
+    try (final PipeMemoryBlock ignored =
+            PipeResourceManager.memory()
+                .forceAllocate(
+                    PipeConfig.getInstance()
+                        .getPipeMemoryAllocateForTsFileSequenceReaderInBytes());
+        final TsFileSequenceReader reader =
+            new TsFileSequenceReader(sourceTsFile.getPath(), true, true)) {
+      final Map<String, List<String>> deviceMeasurementsMap =
+          TsFileInsertionDataContainer.filterDeviceMeasurementsMapByPattern(
+              reader.getDeviceMeasurementsMap(), pattern);
+      if (deviceMeasurementsMap.isEmpty()) {
+        return null;
+      }
+
+      final TsFileIOWriter writer = new TsFileIOWriter(targetTsFile);
+      try {
+        // devices are iterated in the order of the metadata index, which is also the order
+        // required by the writer
+        final TsFileDeviceIterator deviceIsAlignedIterator =
+            reader.getAllDevicesIteratorWithIsAligned();
+        while (deviceIsAlignedIterator.hasNext()) {
+          final Pair<String, Boolean> deviceIsAlignedPair = deviceIsAlignedIterator.next();
+          final List<String> measurements =
+              deviceMeasurementsMap.get(deviceIsAlignedPair.getLeft());
+          if (measurements == null) {
+            continue;
+          }
+
+          final boolean isDeviceCopied =
+              Boolean.TRUE.equals(deviceIsAlignedPair.getRight())
+                  ? copyAlignedDevice(
+                      reader, writer, deviceIsAlignedPair.getLeft(), new HashSet<>(measurements))
+                  : copyNonAlignedDevice(
+                      reader, writer, deviceIsAlignedPair.getLeft(), new HashSet<>(measurements));
+          if (!isDeviceCopied) {
+            return null;
+          }
+        }
+
+        if (writer.getChunkGroupMetadataList().isEmpty()) {
+          return null;
+        }
+
+        writer.endFile();
+        isCopied = true;
+        return TsFileResourceUtils.generateTsFileResource(writer);
+      } finally {
+        if (!isCopied) {
+          writer.close();
+        }
+      }
+    } finally {
+      if (!isCopied) {
+        deleteTargetTsFile(targetTsFile);
+      }
+    }
+  }
+
+  /** @return {@code false} if some chunk of the device can not be copied without decoding */
+  private boolean copyNonAlignedDevice(
+      TsFileSequenceReader reader, TsFileIOWriter writer, String device, Set<String> measurements)
+      throws IOException {
+    final List<ChunkMetadata> chunkMetadataToCopy = new ArrayList<>();
+    for (final Map.Entry<String, List<ChunkMetadata>> entry :
+        reader.readChunkMetadataInDevice(device).entrySet()) {
+      if (!measurements.contains(entry.getKey())) {
+        continue;
+      }
+      for (final ChunkMetadata chunkMetadata : entry.getValue()) {
+        if (isFullyInTimeRange(chunkMetadata)) {
+          chunkMetadataToCopy.add(chunkMetadata);
+        } else if (isOverlappedWithTimeRange(chunkMetadata)) {
+          return false;
+        }
+      }
+    }
+
+    if (chunkMetadataToCopy.isEmpty()) {
+      return true;
+    }
+
+    writer.startChunkGroup(device);
+    for (final ChunkMetadata chunkMetadata : chunkMetadataToCopy) {
+      writer.writeChunk(reader.readMemChunk(chunkMetadata), chunkMetadata);
+    }
+    writer.endChunkGroup();
+    return true;
+  }
+
+  /** @return {@code false} if some chunk of the device can not be copied without decoding */
+  private boolean copyAlignedDevice(
+      TsFileSequenceReader reader, TsFileIOWriter writer, String device, Set<String> measurements)
+      throws IOException {
+    // each element is the time chunk followed by its matching value chunks
+    final List<List<ChunkMetadata>> chunkMetadataToCopy = new ArrayList<>();
+    for (final AlignedChunkMetadata alignedChunkMetadata : reader.getAlignedChunkMetadata(device)) {
+      if (!isFullyInTimeRange(alignedChunkMetadata)) {
+        if (isOverlappedWithTimeRange(alignedChunkMetadata)) {
+          return false;
+        }
+        continue;
+      }
+
+      final List<ChunkMetadata> timeAndValueChunkMetadata = new ArrayList<>();
+      timeAndValueChunkMetadata.add((ChunkMetadata) alignedChunkMetadata.getTimeChunkMetadata());
+      for (final IChunkMetadata valueChunkMetadata :
+          alignedChunkMetadata.getValueChunkMetadataList()) {
+        if (valueChunkMetadata != null
+            && measurements.contains(valueChunkMetadata.getMeasurementUid())) {
+          timeAndValueChunkMetadata.add((ChunkMetadata) valueChunkMetadata);
+        }
+      }
+      if (timeAndValueChunkMetadata.size() > 1) {
+        chunkMetadataToCopy.add(timeAndValueChunkMetadata);
+      }
+    }
+
+    if (chunkMetadataToCopy.isEmpty()) {
+      return true;
+    }
+
+    writer.startChunkGroup(device);
+    for (final List<ChunkMetadata> timeAndValueChunkMetadata : chunkMetadataToCopy) {
+      for (final ChunkMetadata chunkMetadata : timeAndValueChunkMetadata) {
+        writer.writeChunk(reader.readMemChunk(chunkMetadata), chunkMetadata);
+      }
+    }
+    writer.endChunkGroup();
+    return true;
+  }
+
+  private boolean isFullyInTimeRange(IChunkMetadata chunkMetadata) {
+    return startTime <= chunkMetadata.getStartTime() && chunkMetadata.getEndTime() <= endTime;
+  }
+
+  private boolean isOverlappedWithTimeRange(IChunkMetadata chunkMetadata) {
+    return startTime <= chunkMetadata.getEndTime() && chunkMetadata.getStartTime() <= endTime;
+  }
+
+  private static void deleteTargetTsFile(File targetTsFile) {
+    try {
+      Files.deleteIfExists(targetTsFile.toPath());
+    } catch (IOException e) {
+      LOGGER.warn("Failed to delete TsFile {} generated by pipe.", targetTsFile.getPath(), e);
+    }
+  }
+}
@@ -125,7 +125,9 @@ public class TsFileInsertionDataContainer implements AutoCloseable {
       allocatedMemoryBlock = PipeResourceManager.memory().forceAllocate(memoryRequiredInBytes);
 
       deviceMeasurementsMapIterator =
-          filterDeviceMeasurementsMapByPattern(deviceMeasurementsMap).entrySet().iterator();
+          filterDeviceMeasurementsMapByPattern(deviceMeasurementsMap, pattern)
+              .entrySet()
+              .iterator();
 
       // No longer need this. Help GC.
       tsFileSequenceReader.clearCachedDeviceMetadata();
@@ -135,8 +137,8 @@ public class TsFileInsertionDataContainer implements AutoCloseable {
     }
   }
 
-  private Map<String, List<String>> filterDeviceMeasurementsMapByPattern(
-      Map<String, List<String>> originalDeviceMeasurementsMap) {
+  static Map<String, List<String>> filterDeviceMeasurementsMapByPattern(
+      Map<String, List<String>> originalDeviceMeasurementsMap, String pattern) {
     final Map<String, List<String>> filteredDeviceMeasurementsMap = new HashMap<>();
     for (Map.Entry<String, List<String>> entry : originalDeviceMeasurementsMap.entrySet()) {
       final String deviceId = entry.getKey();
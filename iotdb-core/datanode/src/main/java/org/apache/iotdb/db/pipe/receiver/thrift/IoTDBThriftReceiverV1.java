@@ -20,7 +20,10 @@
 package org.apache.iotdb.db.pipe.receiver.thrift;
 
 import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
 import org.apache.iotdb.commons.conf.CommonDescriptor;
+import org.apache.iotdb.commons.pipe.config.PipeConfig;
 import org.apache.iotdb.commons.pipe.connector.payload.request.IoTDBConnectorRequestVersion;
 import org.apache.iotdb.commons.pipe.connector.payload.request.PipeRequestType;
 import org.apache.iotdb.commons.pipe.connector.payload.request.PipeTransferSnapshotPieceReq;
@@ -35,6 +38,7 @@ import org.apache.iotdb.db.pipe.agent.PipeAgent;
 import org.apache.iotdb.db.pipe.connector.payload.airgap.AirGapPseudoTPipeTransferRequest;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.common.PipeTransferHandshakeConstant;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.reponse.PipeTransferFilePieceResp;
+import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferCompressedReq;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferFilePieceReq;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferFileSealReq;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferHandshakeV1Req;
@@ -73,8 +77,14 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.file.Files;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -109,6 +119,24 @@ public class IoTDBThriftReceiverV1 implements IoTDBThriftReceiver {
   private File writingFile;
   private RandomAccessFile writingFileWriter;
 
+  private static final int PARALLEL_APPLY_THREAD_NUM =
+      PipeConfig.getInstance().getPipeReceiverParallelApplyThreadNum();
+
+  // Shared by all receivers, initialized on first use
+  private static class ParallelApplyHolder {
+
+    private static final PipeReceiverStatementPartitioner STATEMENT_PARTITIONER =
+        new PipeReceiverStatementPartitioner(PARALLEL_APPLY_THREAD_NUM);
+
+    private static final ExecutorService EXECUTOR =
+        IoTDBThreadPoolFactory.newFixedThreadPool(
+            PARALLEL_APPLY_THREAD_NUM, ThreadName.PIPE_RECEIVER_PARALLEL_APPLY_POOL.getName());
+
+    private ParallelApplyHolder() {
+      // Empty constructor
+    }
+  }
+
   @Override
   public synchronized TPipeTransferResp receive(
       TPipeTransferReq req, IPartitionFetcher partitionFetcher, ISchemaFetcher schemaFetcher) {
@@ -155,6 +183,11 @@ public class IoTDBThriftReceiverV1 implements IoTDBThriftReceiver {
             return handleTransferSnapshotPiece((PipeTransferSnapshotPieceReq) req);
           case TRANSFER_SNAPSHOT_SEAL:
             return handleTransferSnapshotSeal((PipeTransferSnapshotSealReq) req);
+          case TRANSFER_COMPRESSED:
+            return receive(
+                PipeTransferCompressedReq.fromTPipeTransferReq(req),
+                partitionFetcher,
+                schemaFetcher);
           default:
             break;
         }
@@ -343,18 +376,59 @@ public class IoTDBThriftReceiverV1 implements IoTDBThriftReceiver {
       ISchemaFetcher schemaFetcher) {
     final Pair<InsertRowsStatement, InsertMultiTabletsStatement> statementPair =
         req.constructStatements();
-    return new TPipeTransferResp(
-        RpcUtils.squashResponseStatusList(
-            Stream.of(
-                    statementPair.getLeft().isEmpty()
-                        ? RpcUtils.SUCCESS_STATUS
-                        : executeStatement(
-                            statementPair.getLeft(), partitionFetcher, schemaFetcher),
-                    statementPair.getRight().isEmpty()
-                        ? RpcUtils.SUCCESS_STATUS
-                        : executeStatement(
-                            statementPair.getRight(), partitionFetcher, schemaFetcher))
-                .collect(Collectors.toList())));
+
+    final List<Pair<InsertRowsStatement, InsertMultiTabletsStatement>> statementGroups =
+        PARALLEL_APPLY_THREAD_NUM > 1
+            ? ParallelApplyHolder.STATEMENT_PARTITIONER.partition(statementPair)
+            : Collections.singletonList(statementPair);
+    if (statementGroups.size() <= 1) {
+      return new TPipeTransferResp(
+          executeStatementPair(statementPair, partitionFetcher, schemaFetcher));
+    }
+
+    // Groups contain disjoint devices, so they can be applied concurrently without breaking the
+    // order of data of the same device
+    final List<Future<TSStatus>> futures = new ArrayList<>(statementGroups.size());
+    for (final Pair<InsertRowsStatement, InsertMultiTabletsStatement> statementGroup :
+        statementGroups) {
+      futures.add(
+          ParallelApplyHolder.EXECUTOR.submit(
+              () -> executeStatementPair(statementGroup, partitionFetcher, schemaFetcher)));
+    }
+
+    final List<TSStatus> statuses = new ArrayList<>(futures.size());
+    for (final Future<TSStatus> future : futures) {
+      try {
+        statuses.add(future.get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        statuses.add(
+            RpcUtils.getStatus(
+                TSStatusCode.PIPE_TRANSFER_EXECUTE_STATEMENT_ERROR,
+                "Interrupted while applying the tablet batch."));
+      } catch (ExecutionException e) {
+        LOGGER.warn("Failed to apply part of the tablet batch.", e);
+        statuses.add(
+            RpcUtils.getStatus(
+                TSStatusCode.PIPE_TRANSFER_EXECUTE_STATEMENT_ERROR, e.getCause().getMessage()));
+      }
+    }
+    return new TPipeTransferResp(RpcUtils.squashResponseStatusList(statuses));
+  }
+
+  private TSStatus executeStatementPair(
+      Pair<InsertRowsStatement, InsertMultiTabletsStatement> statementPair,
+      IPartitionFetcher partitionFetcher,
+      ISchemaFetcher schemaFetcher) {
+    return RpcUtils.squashResponseStatusList(
+        Stream.of(
+                statementPair.getLeft().isEmpty()
+                    ? RpcUtils.SUCCESS_STATUS
+                    : executeStatement(statementPair.getLeft(), partitionFetcher, schemaFetcher),
+                statementPair.getRight().isEmpty()
+                    ? RpcUtils.SUCCESS_STATUS
+                    : executeStatement(statementPair.getRight(), partitionFetcher, schemaFetcher))
+            .collect(Collectors.toList()));
   }
 
   private TPipeTransferResp handleTransferFilePiece(
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.receiver.thrift;
+
+import org.apache.iotdb.commons.partition.executor.SeriesPartitionExecutor;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertBaseStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertMultiTabletsStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertRowStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertRowsStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertTabletStatement;
+import org.apache.iotdb.tsfile.utils.Pair;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits the statements of a transferred tablet batch into groups which can be applied
+ * concurrently.
+ *
+ * <p>Statements are grouped by the series partition slot of their devices, so all statements of a
+ * device fall into the same group and keep their original order in it, and devices of the same
+ * slot, which are written into the same data region, are applied by the same task instead of
+ * contending for the region's write lock.
+ */
+public class PipeReceiverStatementPartitioner {
+
+  private static final IoTDBConfig IOTDB_CONFIG = IoTDBDescriptor.getInstance().getConfig();
+
+  private final SeriesPartitionExecutor partitionExecutor;
+  private final int groupNum;
+
+  public PipeReceiverStatementPartitioner(int groupNum) {
+    this.partitionExecutor =
+        SeriesPartitionExecutor.getSeriesPartitionExecutor(
+            IOTDB_CONFIG.getSeriesPartitionExecutorClass(),
+            IOTDB_CONFIG.getSeriesPartitionSlotNum());
+    this.groupNum = Math.max(groupNum, 1);
+  }
+
+  /**
+   * Split the statements into at most {@code groupNum} groups. Empty groups are omitted.
+   *
+   * @param statementPair the rows statement and the tablets statement of a batch
+   * @return the rows statement and the tablets statement of each group
+   */
+  public List<Pair<InsertRowsStatement, InsertMultiTabletsStatement>> partition(
+      Pair<InsertRowsStatement, InsertMultiTabletsStatement> statementPair) {
+    final List<List<InsertRowStatement>> rowStatementGroups = newGroups();
+    final List<List<InsertTabletStatement>> tabletStatementGroups = newGroups();
+
+    for (final InsertRowStatement statement : statementPair.getLeft().getInsertRowStatementList()) {
+      rowStatementGroups.get(getGroupIndex(statement)).add(statement);
+    }
+    for (final InsertTabletStatement statement :
+        statementPair.getRight().getInsertTabletStatementList()) {
+      tabletStatementGroups.get(getGroupIndex(statement)).add(statement);
+    }
+
+    final List<Pair<InsertRowsStatement, InsertMultiTabletsStatement>> result = new ArrayList<>();
+    for (int i = 0; i < groupNum; ++i) {
+      if (rowStatementGroups.get(i).isEmpty() && tabletStatementGroups.get(i).isEmpty()) {
+        continue;
+      }
+
+      final InsertRowsStatement insertRowsStatement = new InsertRowsStatement();
+      insertRowsStatement.setInsertRowStatementList(rowStatementGroups.get(i));
+      final InsertMultiTabletsStatement insertMultiTabletsStatement =
+          new InsertMultiTabletsStatement();
+      insertMultiTabletsStatement.setInsertTabletStatementList(tabletStatementGroups.get(i));
+      result.add(new Pair<>(insertRowsStatement, insertMultiTabletsStatement));
+    }
+    return result;
+  }
+
+  private int getGroupIndex(InsertBaseStatement statement) {
+    return partitionExecutor
+            .getSeriesPartitionSlot(statement.getDevicePath().getFullPath())
+            .getSlotId()
+        % groupNum;
+  }
+
+  private <T> List<List<T>> newGroups() {
+    final List<List<T>> groups = new ArrayList<>(groupNum);
+    for (int i = 0; i < groupNum; ++i) {
+      groups.add(new ArrayList<>());
+    }
+    return groups;
+  }
+}
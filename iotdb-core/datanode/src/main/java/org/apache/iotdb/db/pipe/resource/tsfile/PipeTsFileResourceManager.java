@@ -24,6 +24,7 @@ import org.apache.iotdb.commons.pipe.config.PipeConfig;
 import org.apache.iotdb.db.pipe.agent.PipeAgent;
 import org.apache.iotdb.db.pipe.agent.runtime.PipePeriodicalJobExecutor;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 
 import org.slf4j.Logger;
@@ -39,6 +40,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 
 public class PipeTsFileResourceManager {
@@ -49,6 +51,8 @@ public class PipeTsFileResourceManager {
       new ConcurrentHashMap<>();
   private final ReentrantLock lock = new ReentrantLock();
 
+  private final AtomicLong generatedTsFileIndex = new AtomicLong(0);
+
   public PipeTsFileResourceManager() {
     PipeAgent.runtime()
         .registerPeriodicalJob(
@@ -150,6 +154,61 @@ public class PipeTsFileResourceManager {
     }
   }
 
+  /**
+   * given a tsfile, get a file in pipe dir to hold a tsfile generated from it by pipe, e.g. a
+   * tsfile only containing the chunks matching the pattern of a pipe. the returned file is not
+   * created, but its parent dir is.
+   *
+   * @param tsFile the original tsfile
+   * @param generatorName the name of the generator, e.g. the pipe name, to tell apart the tsfiles
+   *     generated from the same tsfile
+   * @return the file to hold the generated tsfile
+   * @throws IOException when the parent dir can not be created
+   */
+  public File getGeneratedTsFileInPipeDir(File tsFile, String generatorName) throws IOException {
+    final File hardlink = getHardlinkOrCopiedFileInPipeDir(tsFile);
+    if (!hardlink.getParentFile().exists() && !hardlink.getParentFile().mkdirs()) {
+      throw new IOException(
+          String.format(
+              "failed to create parent dir %s for tsfile generated from %s",
+              hardlink.getParentFile().getPath(), tsFile.getPath()));
+    }
+
+    final String hardlinkName = hardlink.getName();
+    final String prefix =
+        hardlinkName.endsWith(TsFileConstant.TSFILE_SUFFIX)
+            ? hardlinkName.substring(
+                0, hardlinkName.length() - TsFileConstant.TSFILE_SUFFIX.length())
+            : hardlinkName;
+    return new File(
+        hardlink.getParentFile(),
+        prefix
+            + IoTDBConstant.FILE_NAME_SEPARATOR
+            + generatorName
+            + IoTDBConstant.FILE_NAME_SEPARATOR
+            + generatedTsFileIndex.getAndIncrement()
+            + TsFileConstant.TSFILE_SUFFIX);
+  }
+
+  /**
+   * given a tsfile generated by pipe in pipe dir, maintain a reference count for it like hardlinks,
+   * so that it is deleted when it is no longer referenced.
+   *
+   * <p>the reference count of the file is 1 after registration, the caller should decrease it when
+   * it no longer holds the file.
+   *
+   * @param generatedTsFile the tsfile generated by pipe
+   */
+  public void registerGeneratedTsFile(File generatedTsFile) {
+    lock.lock();
+    try {
+      hardlinkOrCopiedFileToPipeTsFileResourceMap.put(
+          generatedTsFile.getPath(), new PipeTsFileResource(generatedTsFile, true));
+    } finally {
+      lock.unlock();
+    }
+  }
+
   private boolean increaseReferenceIfExists(String path) {
     final PipeTsFileResource resource = hardlinkOrCopiedFileToPipeTsFileResourceMap.get(path);
     if (resource != null) {
@@ -19,6 +19,7 @@
 
 package org.apache.iotdb.db.pipe.task.connection;
 
+import org.apache.iotdb.commons.pipe.config.PipeConfig;
 import org.apache.iotdb.commons.pipe.task.connection.BoundedBlockingPendingQueue;
 import org.apache.iotdb.db.pipe.event.EnrichedEvent;
 import org.apache.iotdb.db.pipe.event.common.heartbeat.PipeHeartbeatEvent;
@@ -26,6 +27,7 @@ import org.apache.iotdb.db.pipe.event.common.tablet.PipeInsertNodeTabletInsertio
 import org.apache.iotdb.db.pipe.event.common.tablet.PipeRawTabletInsertionEvent;
 import org.apache.iotdb.db.pipe.event.common.tsfile.PipeTsFileInsertionEvent;
 import org.apache.iotdb.db.pipe.progress.committer.PipeEventCommitManager;
+import org.apache.iotdb.db.pipe.resource.PipeResourceManager;
 import org.apache.iotdb.pipe.api.collector.EventCollector;
 import org.apache.iotdb.pipe.api.event.Event;
 import org.apache.iotdb.pipe.api.event.dml.insertion.TabletInsertionEvent;
@@ -110,6 +112,20 @@ public class PipeEventCollector implements EventCollector, AutoCloseable {
       return;
     }
 
+    // Try to transfer the matching chunks as a new TsFile before parsing them into tablets
+    if (PipeConfig.getInstance().getPipeTsFileChunkPassThroughEnabled()) {
+      final PipeTsFileInsertionEvent filteredEvent =
+          sourceEvent.parseEventWithPatternOrTimeByChunk();
+      if (filteredEvent != null) {
+        try {
+          collectEvent(filteredEvent);
+        } finally {
+          PipeResourceManager.tsfile().decreaseFileReference(filteredEvent.getTsFile());
+        }
+        return;
+      }
+    }
+
     try {
       for (final TabletInsertionEvent parsedEvent : sourceEvent.toTabletInsertionEvents()) {
         collectEvent(parsedEvent);
@@ -94,6 +94,7 @@ import org.apache.iotdb.db.queryengine.plan.expression.binary.LogicAndExpression
 import org.apache.iotdb.db.queryengine.plan.expression.leaf.ConstantOperand;
 import org.apache.iotdb.db.queryengine.plan.expression.leaf.TimestampOperand;
 import org.apache.iotdb.db.queryengine.plan.parser.StatementGenerator;
+import org.apache.iotdb.db.queryengine.plan.planner.distribution.DataNodeCostModel;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.FragmentInstance;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNode;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNodeId;
@@ -111,6 +112,7 @@ import org.apache.iotdb.db.queryengine.plan.planner.plan.node.metedata.write.vie
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.metedata.write.view.RollbackLogicalViewBlackListNode;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.DeleteDataNode;
 import org.apache.iotdb.db.queryengine.plan.scheduler.load.LoadTsFileScheduler;
+import org.apache.iotdb.db.queryengine.plan.statement.component.GroupByTimeComponent;
 import org.apache.iotdb.db.queryengine.plan.statement.component.WhereCondition;
 import org.apache.iotdb.db.queryengine.plan.statement.crud.QueryStatement;
 import org.apache.iotdb.db.schemaengine.SchemaEngine;
@@ -122,6 +124,7 @@ import org.apache.iotdb.db.schemaengine.template.TemplateInternalRPCUpdateType;
 import org.apache.iotdb.db.service.DataNode;
 import org.apache.iotdb.db.service.RegionMigrateService;
 import org.apache.iotdb.db.storageengine.StorageEngine;
+import org.apache.iotdb.db.storageengine.dataregion.EarliestWrittenTimeTracker;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.settle.SettleRequestHandler;
 import org.apache.iotdb.db.storageengine.rescon.quotas.DataNodeSpaceQuotaManager;
 import org.apache.iotdb.db.storageengine.rescon.quotas.DataNodeThrottleQuotaManager;
@@ -206,8 +209,10 @@ import org.apache.iotdb.trigger.api.enums.TriggerEvent;
 import org.apache.iotdb.tsfile.exception.NotImplementedException;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.utils.Pair;
 import org.apache.iotdb.tsfile.utils.RamUsageEstimator;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+import org.apache.iotdb.tsfile.utils.TimeDuration;
 import org.apache.iotdb.tsfile.write.record.Tablet;
 
 import com.google.common.collect.ImmutableList;
@@ -309,6 +314,7 @@ public class DataNodeInternalRPCServiceImpl implements IDataNodeRPCService.Iface
     resp.setAccepted(executionResult.isAccepted());
     resp.setMessage(executionResult.getMessage());
     resp.setNeedRetry(executionResult.isNeedRetry());
+    resp.setQueryLoad(DataNodeCostModel.getLocalQueryLoad());
     return resp;
   }
 
@@ -1026,6 +1032,36 @@ public class DataNodeInternalRPCServiceImpl implements IDataNodeRPCService.Iface
     }
   }
 
+  /**
+   * Get the start time of the windows a CQ needs to execute, given that the windows before the
+   * incremental start time have been computed and not changed since.
+   *
+   * @return the original start time if the query can not be partly executed
+   */
+  public static long getCQIncrementalStartTime(
+      QueryStatement s, long startTime, long incrementalStartTime) {
+    if (incrementalStartTime <= startTime
+        || s.getFillComponent() != null
+        || s.hasLimit()
+        || s.hasOffset()) {
+      return startTime;
+    }
+    // only the windows of GROUP BY TIME are independent of the data before them
+    GroupByTimeComponent groupByTimeComponent = s.getGroupByTimeComponent();
+    if (groupByTimeComponent == null) {
+      return startTime;
+    }
+    TimeDuration interval = groupByTimeComponent.getInterval();
+    if (interval.containsMonth()
+        || !interval.equals(groupByTimeComponent.getSlidingStep())
+        || s.getGroupByComponent() != null) {
+      return startTime;
+    }
+    // start from the window containing the incremental start time
+    long windowLength = interval.nonMonthDuration;
+    return startTime + (incrementalStartTime - startTime) / windowLength * windowLength;
+  }
+
   @Override
   public TSStatus executeCQ(TExecuteCQ req) {
 
@@ -1045,12 +1081,21 @@ public class DataNodeInternalRPCServiceImpl implements IDataNodeRPCService.Iface
             TSStatusCode.SQL_PARSE_ERROR, "This operation type is not supported");
       }
 
+      // 0. Skip the windows which have been computed and not changed since
+      long startTime =
+          req.isSetIncrementalStartTime()
+              ? getCQIncrementalStartTime(s, req.startTime, req.incrementalStartTime)
+              : req.startTime;
+      if (startTime >= req.endTime) {
+        return RpcUtils.SUCCESS_STATUS;
+      }
+
       // 1. Add time filter in where
       Expression timeFilter =
           new LogicAndExpression(
               new GreaterEqualExpression(
                   new TimestampOperand(),
-                  new ConstantOperand(TSDataType.INT64, String.valueOf(req.startTime))),
+                  new ConstantOperand(TSDataType.INT64, String.valueOf(startTime))),
               new LessThanExpression(
                   new TimestampOperand(),
                   new ConstantOperand(TSDataType.INT64, String.valueOf(req.endTime))));
@@ -1063,7 +1108,7 @@ public class DataNodeInternalRPCServiceImpl implements IDataNodeRPCService.Iface
 
       // 2. Add time range in group by time
       if (s.getGroupByTimeComponent() != null) {
-        s.getGroupByTimeComponent().setStartTime(req.startTime);
+        s.getGroupByTimeComponent().setStartTime(startTime);
         s.getGroupByTimeComponent().setEndTime(req.endTime);
         s.getGroupByTimeComponent().setLeftCRightO(true);
       }
@@ -1198,6 +1243,22 @@ public class DataNodeInternalRPCServiceImpl implements IDataNodeRPCService.Iface
       PipeAgent.task().collectPipeMetaList(resp);
     }
 
+    // Report the data written since the last acknowledged report to the continuous queries
+    EarliestWrittenTimeTracker writtenTimeTracker = EarliestWrittenTimeTracker.getInstance();
+    if (req.isSetWrittenTimeReportAcks()) {
+      Long acknowledgedReportId =
+          req.getWrittenTimeReportAcks()
+              .get(IoTDBDescriptor.getInstance().getConfig().getDataNodeId());
+      if (acknowledgedReportId != null) {
+        writtenTimeTracker.acknowledge(acknowledgedReportId);
+      }
+    }
+    Pair<Long, Long> writtenTimeReport = writtenTimeTracker.report();
+    if (writtenTimeReport != null) {
+      resp.setWrittenTimeReportId(writtenTimeReport.left);
+      resp.setEarliestWrittenTime(writtenTimeReport.right);
+    }
+
     return resp;
   }
 
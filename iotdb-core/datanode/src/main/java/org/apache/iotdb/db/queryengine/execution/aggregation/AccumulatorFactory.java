@@ -135,6 +135,15 @@ public class AccumulatorFactory {
         return new VarianceAccumulator(tsDataType, VarianceAccumulator.VarianceType.VAR_SAMP);
       case VAR_POP:
         return new VarianceAccumulator(tsDataType, VarianceAccumulator.VarianceType.VAR_POP);
+      case APPROX_COUNT_DISTINCT:
+        return new ApproxCountDistinctAccumulator(tsDataType);
+      case APPROX_PERCENTILE:
+        return new ApproxPercentileAccumulator(
+            tsDataType,
+            Double.parseDouble(
+                inputAttributes.getOrDefault(
+                    ApproxPercentileAccumulator.PERCENTILE_ATTRIBUTE,
+                    String.valueOf(ApproxPercentileAccumulator.DEFAULT_PERCENTILE))));
       default:
         throw new IllegalArgumentException("Invalid Aggregation function: " + aggregationType);
     }
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.aggregation;
+
+import org.apache.iotdb.db.queryengine.execution.aggregation.sketch.HyperLogLog;
+import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
+import org.apache.iotdb.tsfile.read.common.block.column.ColumnBuilder;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.BitMap;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.nio.ByteBuffer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Estimates the number of distinct values with a {@link HyperLogLog} sketch. The serialized sketch
+ * is the intermediate result, so partial results can be merged across regions and time slices.
+ */
+public class ApproxCountDistinctAccumulator implements Accumulator {
+
+  private static final HashFunction BINARY_HASH_FUNCTION = Hashing.murmur3_128();
+
+  private final TSDataType seriesDataType;
+  private final HyperLogLog hyperLogLog = new HyperLogLog();
+
+  // only set when the input is the final result of another aggregation
+  private Long finalResult;
+
+  public ApproxCountDistinctAccumulator(TSDataType seriesDataType) {
+    this.seriesDataType = seriesDataType;
+  }
+
+  @Override
+  public void addInput(Column[] columns, BitMap bitMap) {
+    int size = columns[0].getPositionCount();
+    Column valueColumn = columns[1];
+    switch (seriesDataType) {
+      case INT32:
+        for (int i = 0; i < size; i++) {
+          if ((bitMap == null || bitMap.isMarked(i)) && !valueColumn.isNull(i)) {
+            hyperLogLog.offer(hash(valueColumn.getInt(i)));
+          }
+        }
+        return;
+      case INT64:
+        for (int i = 0; i < size; i++) {
+          if ((bitMap == null || bitMap.isMarked(i)) && !valueColumn.isNull(i)) {
+            hyperLogLog.offer(hash(valueColumn.getLong(i)));
+          }
+        }
+        return;
+      case FLOAT:
+        for (int i = 0; i < size; i++) {
+          if ((bitMap == null || bitMap.isMarked(i)) && !valueColumn.isNull(i)) {
+            hyperLogLog.offer(hash(Float.floatToIntBits(valueColumn.getFloat(i))));
+          }
+        }
+        return;
+      case DOUBLE:
+        for (int i = 0; i < size; i++) {
+          if ((bitMap == null || bitMap.isMarked(i)) && !valueColumn.isNull(i)) {
+            hyperLogLog.offer(hash(Double.doubleToLongBits(valueColumn.getDouble(i))));
+          }
+        }
+        return;
+      case BOOLEAN:
+        for (int i = 0; i < size; i++) {
+          if ((bitMap == null || bitMap.isMarked(i)) && !valueColumn.isNull(i)) {
+            hyperLogLog.offer(hash(valueColumn.getBoolean(i) ? 1 : 0));
+          }
+        }
+        return;
+      case TEXT:
+        for (int i = 0; i < size; i++) {
+          if ((bitMap == null || bitMap.isMarked(i)) && !valueColumn.isNull(i)) {
+            hyperLogLog.offer(
+                BINARY_HASH_FUNCTION.hashBytes(valueColumn.getBinary(i).getValues()).asLong());
+          }
+        }
+        return;
+      default:
+        throw new UnSupportedDataTypeException(
+            String.format(
+                "Unsupported data type in aggregation approx_count_distinct : %s", seriesDataType));
+    }
+  }
+
+  @Override
+  public void addIntermediate(Column[] partialResult) {
+    checkArgument(partialResult.length == 1, "partialResult of approx_count_distinct should be 1");
+    if (partialResult[0].isNull(0)) {
+      return;
+    }
+    hyperLogLog.merge(
+        HyperLogLog.deserialize(ByteBuffer.wrap(partialResult[0].getBinary(0).getValues())));
+  }
+
+  @Override
+  public void addStatistics(Statistics statistics) {
+    throw new UnsupportedOperationException(getClass().getName());
+  }
+
+  @Override
+  public void setFinal(Column finalResult) {
+    reset();
+    if (!finalResult.isNull(0)) {
+      this.finalResult = finalResult.getLong(0);
+    }
+  }
+
+  @Override
+  public void outputIntermediate(ColumnBuilder[] columnBuilders) {
+    checkArgument(columnBuilders.length == 1, "partialResult of approx_count_distinct should be 1");
+    if (hyperLogLog.isEmpty()) {
+      columnBuilders[0].appendNull();
+    } else {
+      columnBuilders[0].writeBinary(new Binary(hyperLogLog.serialize()));
+    }
+  }
+
+  @Override
+  public void outputFinal(ColumnBuilder columnBuilder) {
+    columnBuilder.writeLong(finalResult != null ? finalResult : hyperLogLog.cardinality());
+  }
+
+  @Override
+  public void reset() {
+    hyperLogLog.reset();
+    finalResult = null;
+  }
+
+  @Override
+  public boolean hasFinalResult() {
+    return false;
+  }
+
+  @Override
+  public TSDataType[] getIntermediateType() {
+    return new TSDataType[] {TSDataType.TEXT};
+  }
+
+  @Override
+  public TSDataType getFinalType() {
+    return TSDataType.INT64;
+  }
+
+  /** Finalizer of MurmurHash3, spreads the bits of a value over the whole 64-bit hash. */
+  private static long hash(long value) {
+    long hash = value;
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.aggregation;
+
+import org.apache.iotdb.db.queryengine.execution.aggregation.sketch.KLLSketch;
+import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
+import org.apache.iotdb.tsfile.read.common.block.column.ColumnBuilder;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.BitMap;
+
+import java.nio.ByteBuffer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Estimates a percentile of the input with a {@link KLLSketch}. The serialized sketch is the
+ * intermediate result, so partial results can be merged across regions and time slices.
+ */
+public class ApproxPercentileAccumulator implements Accumulator {
+
+  public static final String PERCENTILE_ATTRIBUTE = "percentile";
+  public static final double DEFAULT_PERCENTILE = 0.5;
+
+  private final TSDataType seriesDataType;
+  private final double percentile;
+  private KLLSketch sketch = new KLLSketch();
+
+  public ApproxPercentileAccumulator(TSDataType seriesDataType, double percentile) {
+    this.seriesDataType = seriesDataType;
+    this.percentile = percentile;
+  }
+
+  @Override
+  public void addInput(Column[] columns, BitMap bitMap) {
+    int size = columns[0].getPositionCount();
+    Column valueColumn = columns[1];
+    switch (seriesDataType) {
+      case INT32:
+        for (int i = 0; i < size; i++) {
+          if ((bitMap == null || bitMap.isMarked(i)) && !valueColumn.isNull(i)) {
+            sketch.update(valueColumn.getInt(i));
+          }
+        }
+        return;
+      case INT64:
+        for (int i = 0; i < size; i++) {
+          if ((bitMap == null || bitMap.isMarked(i)) && !valueColumn.isNull(i)) {
+            sketch.update(valueColumn.getLong(i));
+          }
+        }
+        return;
+      case FLOAT:
+        for (int i = 0; i < size; i++) {
+          if ((bitMap == null || bitMap.isMarked(i)) && !valueColumn.isNull(i)) {
+            sketch.update(valueColumn.getFloat(i));
+          }
+        }
+        return;
+      case DOUBLE:
+        for (int i = 0; i < size; i++) {
+          if ((bitMap == null || bitMap.isMarked(i)) && !valueColumn.isNull(i)) {
+            sketch.update(valueColumn.getDouble(i));
+          }
+        }
+        return;
+      case TEXT:
+      case BOOLEAN:
+      default:
+        throw new UnSupportedDataTypeException(
+            String.format(
+                "Unsupported data type in aggregation approx_percentile : %s", seriesDataType));
+    }
+  }
+
+  @Override
+  public void addIntermediate(Column[] partialResult) {
+    checkArgument(partialResult.length == 1, "partialResult of approx_percentile should be 1");
+    if (partialResult[0].isNull(0)) {
+      return;
+    }
+    KLLSketch partialSketch =
+        KLLSketch.deserialize(ByteBuffer.wrap(partialResult[0].getBinary(0).getValues()));
+    if (sketch.isEmpty()) {
+      sketch = partialSketch;
+    } else {
+      sketch.merge(partialSketch);
+    }
+  }
+
+  @Override
+  public void addStatistics(Statistics statistics) {
+    throw new UnsupportedOperationException(getClass().getName());
+  }
+
+  @Override
+  public void setFinal(Column finalResult) {
+    reset();
+    if (!finalResult.isNull(0)) {
+      sketch.update(finalResult.getDouble(0));
+    }
+  }
+
+  @Override
+  public void outputIntermediate(ColumnBuilder[] columnBuilders) {
+    checkArgument(columnBuilders.length == 1, "partialResult of approx_percentile should be 1");
+    if (sketch.isEmpty()) {
+      columnBuilders[0].appendNull();
+    } else {
+      columnBuilders[0].writeBinary(new Binary(sketch.serialize()));
+    }
+  }
+
+  @Override
+  public void outputFinal(ColumnBuilder columnBuilder) {
+    if (sketch.isEmpty()) {
+      columnBuilder.appendNull();
+    } else {
+      columnBuilder.writeDouble(sketch.getQuantile(percentile));
+    }
+  }
+
+  @Override
+  public void reset() {
+    sketch.reset();
+  }
+
+  @Override
+  public boolean hasFinalResult() {
+    return false;
+  }
+
+  @Override
+  public TSDataType[] getIntermediateType() {
+    return new TSDataType[] {TSDataType.TEXT};
+  }
+
+  @Override
+  public TSDataType getFinalType() {
+    return TSDataType.DOUBLE;
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.aggregation.sketch;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * HyperLogLog sketch estimating the number of distinct values. Values are offered as 64-bit hashes.
+ * Sketches with the same precision can be merged, so partial results of different regions or time
+ * slices can be combined without keeping the values.
+ *
+ * <p>With precision p the sketch keeps 2^p one-byte registers, and the standard error of the
+ * estimation is about 1.04 / sqrt(2^p).
+ */
+public class HyperLogLog {
+
+  public static final int DEFAULT_PRECISION = 14;
+
+  public static final int MIN_PRECISION = 4;
+  public static final int MAX_PRECISION = 18;
+
+  private final int precision;
+  private final byte[] registers;
+
+  public HyperLogLog() {
+    this(DEFAULT_PRECISION);
+  }
+
+  public HyperLogLog(int precision) {
+    if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Precision of HyperLogLog should be in [%d, %d], but got %d",
+              MIN_PRECISION, MAX_PRECISION, precision));
+    }
+    this.precision = precision;
+    this.registers = new byte[1 << precision];
+  }
+
+  /** Offer a well distributed 64-bit hash of a value. */
+  public void offer(long hash) {
+    int index = (int) (hash >>> (Long.SIZE - precision));
+    // the sentinel bit bounds the rank when all remaining bits are zero
+    long remaining = (hash << precision) | (1L << (precision - 1));
+    byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+    if (registers[index] < rank) {
+      registers[index] = rank;
+    }
+  }
+
+  /** Merge another sketch with the same precision into this one. */
+  public void merge(HyperLogLog other) {
+    if (other.precision != precision) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Cannot merge HyperLogLog of precision %d into precision %d",
+              other.precision, precision));
+    }
+    for (int i = 0; i < registers.length; i++) {
+      if (registers[i] < other.registers[i]) {
+        registers[i] = other.registers[i];
+      }
+    }
+  }
+
+  public long cardinality() {
+    int registerNum = registers.length;
+    double sum = 0;
+    int zeroRegisterNum = 0;
+    for (byte register : registers) {
+      sum += 1.0 / (1L << register);
+      if (register == 0) {
+        zeroRegisterNum++;
+      }
+    }
+    double estimate = alpha(registerNum) * registerNum * registerNum / sum;
+    // small range correction, the 64-bit hash makes large range correction unnecessary
+    if (estimate <= 2.5 * registerNum && zeroRegisterNum > 0) {
+      estimate = registerNum * Math.log((double) registerNum / zeroRegisterNum);
+    }
+    return Math.round(estimate);
+  }
+
+  public boolean isEmpty() {
+    for (byte register : registers) {
+      if (register != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public void reset() {
+    Arrays.fill(registers, (byte) 0);
+  }
+
+  public byte[] serialize() {
+    ByteBuffer buffer = ByteBuffer.allocate(Byte.BYTES + registers.length);
+    buffer.put((byte) precision);
+    buffer.put(registers);
+    return buffer.array();
+  }
+
+  public static HyperLogLog deserialize(ByteBuffer buffer) {
+    HyperLogLog hyperLogLog = new HyperLogLog(buffer.get());
+    buffer.get(hyperLogLog.registers);
+    return hyperLogLog;
+  }
+
+  private static double alpha(int registerNum) {
+    switch (registerNum) {
+      case 16:
+        return 0.673;
+      case 32:
+        return 0.697;
+      case 64:
+        return 0.709;
+      default:
+        return 0.7213 / (1 + 1.079 / registerNum);
+    }
+  }
+}
@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.aggregation.sketch;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * KLL sketch estimating quantiles of a stream of doubles in bounded memory.
+ *
+ * <p>Values are kept in a hierarchy of compactors, a value at level h stands for 2^h values of the
+ * input. When a compactor exceeds its capacity, it is sorted and every other value is promoted to
+ * the next level. Capacities shrink geometrically towards the lower levels, so the sketch keeps
+ * O(k) values, and the rank error is about 1.65 / k. Sketches with the same k can be merged, so
+ * partial results of different regions or time slices can be combined without keeping the values.
+ */
+public class KLLSketch {
+
+  public static final int DEFAULT_K = 200;
+
+  private static final int MIN_K = 8;
+  private static final int MIN_CAPACITY = 2;
+  private static final double CAPACITY_DECAY = 2.0 / 3.0;
+
+  private final int k;
+  // compactors.get(h) holds the values of level h in its first sizes[h] elements
+  private final List<double[]> compactors = new ArrayList<>();
+  private int[] sizes = new int[0];
+  private long count;
+
+  private int retainedNum;
+  private int maxRetainedNum;
+
+  // used to choose which half of a compactor is promoted
+  private final Random random = new Random(0);
+
+  public KLLSketch() {
+    this(DEFAULT_K);
+  }
+
+  public KLLSketch(int k) {
+    if (k < MIN_K) {
+      throw new IllegalArgumentException(
+          String.format("K of KLL sketch should be at least %d, but got %d", MIN_K, k));
+    }
+    this.k = k;
+    addLevel();
+  }
+
+  public void update(double value) {
+    append(0, value);
+    count++;
+    if (retainedNum > maxRetainedNum) {
+      compress();
+    }
+  }
+
+  /** Merge another sketch with the same k into this one. */
+  public void merge(KLLSketch other) {
+    if (other.k != k) {
+      throw new IllegalArgumentException(
+          String.format("Cannot merge KLL sketch of k %d into k %d", other.k, k));
+    }
+    while (compactors.size() < other.compactors.size()) {
+      addLevel();
+    }
+    for (int h = 0; h < other.compactors.size(); h++) {
+      double[] values = other.compactors.get(h);
+      for (int i = 0; i < other.sizes[h]; i++) {
+        append(h, values[i]);
+      }
+    }
+    count += other.count;
+    while (retainedNum > maxRetainedNum) {
+      compress();
+    }
+  }
+
+  /**
+   * Estimate the value at the given normalized rank.
+   *
+   * @param fraction normalized rank in [0, 1]
+   * @return the estimated quantile, or NaN if the sketch is empty
+   */
+  public double getQuantile(double fraction) {
+    if (count == 0) {
+      return Double.NaN;
+    }
+    double[] values = new double[retainedNum];
+    long[] weights = new long[retainedNum];
+    Integer[] order = new Integer[retainedNum];
+    int index = 0;
+    long totalWeight = 0;
+    for (int h = 0; h < compactors.size(); h++) {
+      double[] compactor = compactors.get(h);
+      for (int i = 0; i < sizes[h]; i++) {
+        values[index] = compactor[i];
+        weights[index] = 1L << h;
+        order[index] = index;
+        totalWeight += weights[index];
+        index++;
+      }
+    }
+    Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+
+    double targetWeight = fraction * totalWeight;
+    long cumulativeWeight = 0;
+    for (Integer i : order) {
+      cumulativeWeight += weights[i];
+      if (cumulativeWeight >= targetWeight) {
+        return values[i];
+      }
+    }
+    return values[order[order.length - 1]];
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public boolean isEmpty() {
+    return count == 0;
+  }
+
+  public void reset() {
+    compactors.clear();
+    sizes = new int[0];
+    count = 0;
+    retainedNum = 0;
+    maxRetainedNum = 0;
+    addLevel();
+  }
+
+  public byte[] serialize() {
+    ByteBuffer buffer =
+        ByteBuffer.allocate(
+            Integer.BYTES * (2 + compactors.size()) + Long.BYTES + Double.BYTES * retainedNum);
+    buffer.putInt(k);
+    buffer.putLong(count);
+    buffer.putInt(compactors.size());
+    for (int h = 0; h < compactors.size(); h++) {
+      buffer.putInt(sizes[h]);
+      double[] compactor = compactors.get(h);
+      for (int i = 0; i < sizes[h]; i++) {
+        buffer.putDouble(compactor[i]);
+      }
+    }
+    return buffer.array();
+  }
+
+  public static KLLSketch deserialize(ByteBuffer buffer) {
+    KLLSketch sketch = new KLLSketch(buffer.getInt());
+    long count = buffer.getLong();
+    int levelNum = buffer.getInt();
+    while (sketch.compactors.size() < levelNum) {
+      sketch.addLevel();
+    }
+    for (int h = 0; h < levelNum; h++) {
+      int size = buffer.getInt();
+      for (int i = 0; i < size; i++) {
+        sketch.append(h, buffer.getDouble());
+      }
+    }
+    sketch.count = count;
+    return sketch;
+  }
+
+  private void append(int level, double value) {
+    double[] compactor = compactors.get(level);
+    if (sizes[level] == compactor.length) {
+      compactor = Arrays.copyOf(compactor, compactor.length * 2);
+      compactors.set(level, compactor);
+    }
+    compactor[sizes[level]++] = value;
+    retainedNum++;
+  }
+
+  /** Compact the lowest compactor exceeding its capacity. */
+  private void compress() {
+    for (int h = 0; h < compactors.size(); h++) {
+      if (sizes[h] < capacity(h)) {
+        continue;
+      }
+      if (h + 1 == compactors.size()) {
+        addLevel();
+      }
+      double[] compactor = compactors.get(h);
+      // keep the last value at this level if the size is odd
+      int compactedSize = sizes[h] & ~1;
+      Arrays.sort(compactor, 0, sizes[h]);
+      double leftOver = compactor[sizes[h] - 1];
+      int offset = random.nextBoolean() ? 1 : 0;
+      for (int i = offset; i < compactedSize; i += 2) {
+        append(h + 1, compactor[i]);
+      }
+      retainedNum -= sizes[h];
+      if (compactedSize < sizes[h]) {
+        sizes[h] = 0;
+        append(h, leftOver);
+      } else {
+        sizes[h] = 0;
+      }
+      return;
+    }
+  }
+
+  private int capacity(int level) {
+    int depth = compactors.size() - level - 1;
+    return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+  }
+
+  private void addLevel() {
+    compactors.add(new double[MIN_CAPACITY]);
+    sizes = Arrays.copyOf(sizes, compactors.size());
+    maxRetainedNum = 0;
+    for (int h = 0; h < compactors.size(); h++) {
+      maxRetainedNum += capacity(h);
+    }
+  }
+}
@@ -149,10 +149,13 @@ public class LoadTsFileManager {
       throws IOException {
     if (!uuid2WriterManager.containsKey(uuid)) {
       synchronized (uuid2CleanupTask) {
-        final CleanupTask cleanupTask =
-            new CleanupTask(uuid, CONFIG.getLoadCleanupTaskExecutionDelayTimeSeconds() * 1000);
-        uuid2CleanupTask.put(uuid, cleanupTask);
-        cleanupTaskQueue.add(cleanupTask);
+        // pieces of the same TsFile may arrive concurrently, only register the task once
+        if (!uuid2CleanupTask.containsKey(uuid)) {
+          final CleanupTask cleanupTask =
+              new CleanupTask(uuid, CONFIG.getLoadCleanupTaskExecutionDelayTimeSeconds() * 1000);
+          uuid2CleanupTask.put(uuid, cleanupTask);
+          cleanupTaskQueue.add(cleanupTask);
+        }
       }
     }
 
@@ -244,7 +247,8 @@ public class LoadTsFileManager {
     }
 
     @SuppressWarnings("squid:S3824")
-    private void write(DataPartitionInfo partitionInfo, ChunkData chunkData) throws IOException {
+    private synchronized void write(DataPartitionInfo partitionInfo, ChunkData chunkData)
+        throws IOException {
       if (isClosed) {
         throw new IOException(String.format(MESSAGE_WRITER_MANAGER_HAS_BEEN_CLOSED, taskDir));
       }
@@ -270,7 +274,7 @@ public class LoadTsFileManager {
       chunkData.writeToFileWriter(writer);
     }
 
-    private void writeDeletion(DataRegion dataRegion, DeletionData deletionData)
+    private synchronized void writeDeletion(DataRegion dataRegion, DeletionData deletionData)
         throws IOException {
       if (isClosed) {
         throw new IOException(String.format(MESSAGE_WRITER_MANAGER_HAS_BEEN_CLOSED, taskDir));
@@ -299,7 +303,7 @@ public class LoadTsFileManager {
       }
     }
 
-    private void loadAll(boolean isGeneratedByPipe, ProgressIndex progressIndex)
+    private synchronized void loadAll(boolean isGeneratedByPipe, ProgressIndex progressIndex)
         throws IOException, LoadFileException {
       if (isClosed) {
         throw new IOException(String.format(MESSAGE_WRITER_MANAGER_HAS_BEEN_CLOSED, taskDir));
@@ -357,7 +361,7 @@ public class LoadTsFileManager {
           .sum();
     }
 
-    private void close() {
+    private synchronized void close() {
       if (isClosed) {
         return;
       }
@@ -34,7 +34,8 @@ public class LocalMemoryManager {
         new MemoryPool(
             "read",
             IoTDBDescriptor.getInstance().getConfig().getAllocateMemoryForDataExchange(),
-            IoTDBDescriptor.getInstance().getConfig().getMaxBytesPerFragmentInstance());
+            IoTDBDescriptor.getInstance().getConfig().getMaxBytesPerFragmentInstance(),
+            IoTDBDescriptor.getInstance().getConfig().getMaxBytesPerQuery());
   }
 
   public MemoryPool getQueryPool() {
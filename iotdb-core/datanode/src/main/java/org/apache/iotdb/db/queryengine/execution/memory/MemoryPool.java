@@ -114,15 +114,34 @@ public class MemoryPool {
   private final long maxBytes;
   private final long maxBytesPerFragmentInstance;
 
+  /**
+   * Max bytes all fragment instances of one query can reserve together, so that one heavy query
+   * cannot occupy the whole pool and block other queries.
+   */
+  private final long maxBytesPerQuery;
+
   private final AtomicLong remainingBytes;
   /** queryId -> fragmentInstanceId -> planNodeId -> bytesReserved. */
   private final Map<String, Map<String, Map<String, Long>>> queryMemoryReservations =
       new ConcurrentHashMap<>();
 
+  /** queryId -> bytesReserved, the sum of all plan nodes of the query in this pool. */
+  private final Map<String, AtomicLong> queryReservedBytes = new ConcurrentHashMap<>();
+
+  /** count of reservations which were blocked, and of those blocked by the per query limit. */
+  private final AtomicLong blockedReservationCount = new AtomicLong(0);
+
+  private final AtomicLong queryLimitedReservationCount = new AtomicLong(0);
+
   private final Queue<MemoryReservationFuture<Void>> memoryReservationFutures =
       new ConcurrentLinkedQueue<>();
 
   public MemoryPool(String id, long maxBytes, long maxBytesPerFragmentInstance) {
+    this(id, maxBytes, maxBytesPerFragmentInstance, maxBytes);
+  }
+
+  public MemoryPool(
+      String id, long maxBytes, long maxBytesPerFragmentInstance, long maxBytesPerQuery) {
     this.id = Validate.notNull(id, "id can not be null.");
     Validate.isTrue(maxBytes > 0L, "max bytes should be greater than zero: %d", maxBytes);
     this.maxBytes = maxBytes;
@@ -132,6 +151,13 @@ public class MemoryPool {
         maxBytesPerFragmentInstance,
         maxBytes);
     this.maxBytesPerFragmentInstance = maxBytesPerFragmentInstance;
+    Validate.isTrue(
+        maxBytesPerQuery >= maxBytesPerFragmentInstance && maxBytesPerQuery <= maxBytes,
+        "max bytes per query should be in [maxBytesPerFI,maxBytes]. maxBytesPerQuery: %d, maxBytesPerFI: %d, maxBytes: %d",
+        maxBytesPerQuery,
+        maxBytesPerFragmentInstance,
+        maxBytes);
+    this.maxBytesPerQuery = maxBytesPerQuery;
     this.remainingBytes = new AtomicLong(maxBytes);
   }
 
@@ -143,10 +169,22 @@ public class MemoryPool {
     return maxBytes;
   }
 
+  public long getMaxBytesPerQuery() {
+    return maxBytesPerQuery;
+  }
+
   public long getRemainingBytes() {
     return remainingBytes.get();
   }
 
+  public long getBlockedReservationCount() {
+    return blockedReservationCount.get();
+  }
+
+  public long getQueryLimitedReservationCount() {
+    return queryLimitedReservationCount.get();
+  }
+
   public int getQueryMemoryReservationSize() {
     return queryMemoryReservations.size();
   }
@@ -166,6 +204,7 @@ public class MemoryPool {
           .computeIfAbsent(queryId, x -> new ConcurrentHashMap<>())
           .computeIfAbsent(fragmentInstanceId, x -> new ConcurrentHashMap<>())
           .putIfAbsent(planNodeId, 0L);
+      queryReservedBytes.computeIfAbsent(queryId, x -> new AtomicLong(0));
     }
   }
 
@@ -194,6 +233,7 @@ public class MemoryPool {
         queryRelatedMemory.remove(fragmentInstanceId);
         if (queryRelatedMemory.isEmpty()) {
           queryMemoryReservations.remove(queryId);
+          queryReservedBytes.remove(queryId);
         }
       }
       if (hasPotentialMemoryLeak) {
@@ -248,6 +288,10 @@ public class MemoryPool {
       LOGGER.debug(
           "Blocked reserve request: {} bytes memory for planNodeId{}", bytesToReserve, planNodeId);
       rollbackReserve(queryId, fragmentInstanceId, planNodeId, bytesToReserve);
+      blockedReservationCount.incrementAndGet();
+      if (getQueryMemoryReservedBytes(queryId) + bytesToReserve > maxBytesPerQuery) {
+        queryLimitedReservationCount.incrementAndGet();
+      }
       result =
           MemoryReservationFuture.create(
               queryId, fragmentInstanceId, planNodeId, bytesToReserve, maxBytesCanReserve);
@@ -324,6 +368,10 @@ public class MemoryPool {
       throw new IllegalArgumentException("RelatedMemoryReserved can't be null when freeing memory");
     }
 
+    AtomicLong reservedBytesOfQuery = queryReservedBytes.get(queryId);
+    if (reservedBytesOfQuery != null) {
+      reservedBytesOfQuery.addAndGet(-bytes);
+    }
     remainingBytes.addAndGet(bytes);
 
     if (memoryReservationFutures.isEmpty()) {
@@ -354,14 +402,8 @@ public class MemoryPool {
   }
 
   public long getQueryMemoryReservedBytes(String queryId) {
-    if (!queryMemoryReservations.containsKey(queryId)) {
-      return 0L;
-    }
-    long sum = 0;
-    for (Map<String, Long> map : queryMemoryReservations.get(queryId).values()) {
-      sum = sum + map.values().stream().reduce(0L, Long::sum);
-    }
-    return sum;
+    AtomicLong reservedBytesOfQuery = queryReservedBytes.get(queryId);
+    return reservedBytesOfQuery == null ? 0L : reservedBytesOfQuery.get();
   }
 
   public long getReservedBytes() {
@@ -375,13 +417,15 @@ public class MemoryPool {
       long bytesToReserve,
       long maxBytesCanReserve) {
     long tryRemainingBytes = remainingBytes.addAndGet(-bytesToReserve);
-    long queryRemainingBytes =
+    long planNodeRemainingBytes =
         maxBytesCanReserve
             - queryMemoryReservations
                 .get(queryId)
                 .get(fragmentInstanceId)
                 .merge(planNodeId, bytesToReserve, Long::sum);
-    return tryRemainingBytes >= 0 && queryRemainingBytes >= 0;
+    long queryRemainingBytes =
+        maxBytesPerQuery - queryReservedBytes.get(queryId).addAndGet(bytesToReserve);
+    return tryRemainingBytes >= 0 && planNodeRemainingBytes >= 0 && queryRemainingBytes >= 0;
   }
 
   private void rollbackReserve(
@@ -390,6 +434,7 @@ public class MemoryPool {
         .get(queryId)
         .get(fragmentInstanceId)
         .merge(planNodeId, -bytesToReserve, Long::sum);
+    queryReservedBytes.get(queryId).addAndGet(-bytesToReserve);
     remainingBytes.addAndGet(bytesToReserve);
   }
 }
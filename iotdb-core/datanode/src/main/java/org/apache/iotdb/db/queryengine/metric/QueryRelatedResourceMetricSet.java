@@ -91,6 +91,9 @@ public class QueryRelatedResourceMetricSet implements IMetricSet {
   private static final String REMAINING_BYTES = "remaining_bytes";
   private static final String QUERY_MEMORY_RESERVATION_SIZE = "query_memory_reservation_size";
   private static final String MEMORY_RESERVATION_SIZE = "memory_reservation_size";
+  private static final String MAX_BYTES_PER_QUERY = "max_bytes_per_query";
+  private static final String BLOCKED_RESERVATION_COUNT = "blocked_reservation_count";
+  private static final String QUERY_LIMITED_RESERVATION_COUNT = "query_limited_reservation_count";
 
   /////////////////////////////////////////////////////////////////////////////////////////////////
   // LocalExecutionPlanner
@@ -170,6 +173,24 @@ public class QueryRelatedResourceMetricSet implements IMetricSet {
         MemoryPool::getMemoryReservationSize,
         Tag.NAME.toString(),
         MEMORY_RESERVATION_SIZE);
+    metricService
+        .getOrCreateGauge(
+            MEMORY_POOL, MetricLevel.IMPORTANT, Tag.NAME.toString(), MAX_BYTES_PER_QUERY)
+        .set(memoryPool.getMaxBytesPerQuery());
+    metricService.createAutoGauge(
+        MEMORY_POOL,
+        MetricLevel.IMPORTANT,
+        memoryPool,
+        MemoryPool::getBlockedReservationCount,
+        Tag.NAME.toString(),
+        BLOCKED_RESERVATION_COUNT);
+    metricService.createAutoGauge(
+        MEMORY_POOL,
+        MetricLevel.IMPORTANT,
+        memoryPool,
+        MemoryPool::getQueryLimitedReservationCount,
+        Tag.NAME.toString(),
+        QUERY_LIMITED_RESERVATION_COUNT);
 
     // LocalExecutionPlanner
     metricService.createAutoGauge(
@@ -224,6 +245,11 @@ public class QueryRelatedResourceMetricSet implements IMetricSet {
         MetricType.AUTO_GAUGE, MEMORY_POOL, Tag.NAME.toString(), QUERY_MEMORY_RESERVATION_SIZE);
     metricService.remove(
         MetricType.AUTO_GAUGE, MEMORY_POOL, Tag.NAME.toString(), MEMORY_RESERVATION_SIZE);
+    metricService.remove(MetricType.GAUGE, MEMORY_POOL, Tag.NAME.toString(), MAX_BYTES_PER_QUERY);
+    metricService.remove(
+        MetricType.AUTO_GAUGE, MEMORY_POOL, Tag.NAME.toString(), BLOCKED_RESERVATION_COUNT);
+    metricService.remove(
+        MetricType.AUTO_GAUGE, MEMORY_POOL, Tag.NAME.toString(), QUERY_LIMITED_RESERVATION_COUNT);
 
     // LocalExecutionPlanner
     metricService.remove(
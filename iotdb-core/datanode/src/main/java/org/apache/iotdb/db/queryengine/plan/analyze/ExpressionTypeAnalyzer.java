@@ -443,6 +443,8 @@ public class ExpressionTypeAnalyzer {
       case SqlConstant.VAR_POP:
       case SqlConstant.VAR_SAMP:
       case SqlConstant.MAX_BY:
+      case SqlConstant.APPROX_COUNT_DISTINCT:
+      case SqlConstant.APPROX_PERCENTILE:
         return expressionTypes.get(NodeRef.of(inputExpressions.get(0)));
       default:
         throw new IllegalArgumentException(
@@ -119,16 +119,16 @@ public class DeviceUsingTemplateSchemaCache {
       return indexOfMissingMeasurements;
     }
 
-    computation.computeDevice(
-        templateManager.getTemplate(deviceCacheEntry.getTemplateId()).isDirectAligned());
-    Map<String, IMeasurementSchema> templateSchema =
-        templateManager.getTemplate(deviceCacheEntry.getTemplateId()).getSchemaMap();
+    // resolve the template once for all the measurements
+    Template template = templateManager.getTemplate(deviceCacheEntry.getTemplateId());
+    computation.computeDevice(template.isDirectAligned());
+    Map<String, IMeasurementSchema> templateSchema = template.getSchemaMap();
     for (int i = 0; i < measurements.length; i++) {
-      if (!templateSchema.containsKey(measurements[i])) {
+      IMeasurementSchema schema = templateSchema.get(measurements[i]);
+      if (schema == null) {
         indexOfMissingMeasurements.add(i);
         continue;
       }
-      IMeasurementSchema schema = templateSchema.get(measurements[i]);
       computation.computeMeasurement(
           i,
           new IMeasurementSchemaInfo() {
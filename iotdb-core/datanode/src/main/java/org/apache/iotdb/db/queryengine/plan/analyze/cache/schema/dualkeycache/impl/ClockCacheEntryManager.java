@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.analyze.cache.schema.dualkeycache.impl;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class implements the cache entry manager with CLOCK (second chance) policy.
+ *
+ * <p>Accessing a cache entry only sets its reference bit without any lock, so cache reads never
+ * contend on the bookkeeping. Entries are put into striped lists in round-robin. On eviction, the
+ * oldest entry of a list is evicted if it has not been referenced since it was last examined,
+ * otherwise its reference bit is cleared and it is moved back to the head of the list. At most
+ * {@link #MAX_SECOND_CHANCE_NUM} entries are given a second chance per eviction so that eviction
+ * always terminates under concurrent reads. Each entry knows the list it is linked in, so it is
+ * invalidated under the lock of that list.
+ *
+ * @param <FK> The first key of cache value.
+ * @param <SK> The second key of cache value.
+ * @param <V> The cache value.
+ */
+class ClockCacheEntryManager<FK, SK, V>
+    implements ICacheEntryManager<FK, SK, V, ClockCacheEntryManager.ClockCacheEntry<SK, V>> {
+
+  private static final int SLOT_NUM = 128;
+
+  private static final int MAX_SECOND_CHANCE_NUM = 64;
+
+  private final ClockLinkedList[] clockLinkedLists = new ClockLinkedList[SLOT_NUM];
+
+  private final AtomicInteger cachePutRoundRobinIndex = new AtomicInteger(0);
+
+  private final AtomicInteger cacheEvictRoundRobinIndex = new AtomicInteger(0);
+
+  @Override
+  public ClockCacheEntry<SK, V> createCacheEntry(
+      SK secondKey, V value, ICacheEntryGroup<FK, SK, V, ClockCacheEntry<SK, V>> cacheEntryGroup) {
+    return new ClockCacheEntry<>(secondKey, value, cacheEntryGroup);
+  }
+
+  @Override
+  public void access(ClockCacheEntry<SK, V> cacheEntry) {
+    // avoid writing the shared field when it has already been set
+    if (!cacheEntry.referenced) {
+      cacheEntry.referenced = true;
+    }
+  }
+
+  @Override
+  public void put(ClockCacheEntry<SK, V> cacheEntry) {
+    getNextList(cachePutRoundRobinIndex).add(cacheEntry);
+  }
+
+  @Override
+  public void invalid(ClockCacheEntry<SK, V> cacheEntry) {
+    ClockLinkedList clockLinkedList = cacheEntry.belongedList;
+    // the entry has already been evicted
+    if (clockLinkedList != null) {
+      clockLinkedList.invalid(cacheEntry);
+    }
+  }
+
+  @Override
+  public ClockCacheEntry<SK, V> evict() {
+    int startIndex = getNextIndex(cacheEvictRoundRobinIndex);
+    ClockLinkedList clockLinkedList;
+    ClockCacheEntry<SK, V> cacheEntry;
+    for (int i = 0; i < SLOT_NUM; i++) {
+      if (startIndex == SLOT_NUM) {
+        startIndex = 0;
+      }
+      clockLinkedList = clockLinkedLists[startIndex];
+      if (clockLinkedList != null) {
+        cacheEntry = clockLinkedList.evict();
+        if (cacheEntry != null) {
+          return cacheEntry;
+        }
+      }
+      startIndex++;
+    }
+    return null;
+  }
+
+  @Override
+  public void cleanUp() {
+    synchronized (clockLinkedLists) {
+      for (int i = 0; i < SLOT_NUM; i++) {
+        clockLinkedLists[i] = null;
+      }
+    }
+  }
+
+  private ClockLinkedList getNextList(AtomicInteger roundRobinIndex) {
+    int listIndex = getNextIndex(roundRobinIndex);
+    ClockLinkedList clockLinkedList = clockLinkedLists[listIndex];
+    if (clockLinkedList == null) {
+      synchronized (clockLinkedLists) {
+        clockLinkedList = clockLinkedLists[listIndex];
+        if (clockLinkedList == null) {
+          clockLinkedList = new ClockLinkedList();
+          clockLinkedLists[listIndex] = clockLinkedList;
+        }
+      }
+    }
+    return clockLinkedList;
+  }
+
+  private int getNextIndex(AtomicInteger roundRobinIndex) {
+    return roundRobinIndex.getAndUpdate(
+        currentValue -> {
+          currentValue = currentValue + 1;
+          return currentValue >= SLOT_NUM ? 0 : currentValue;
+        });
+  }
+
+  static class ClockCacheEntry<SK, V> implements ICacheEntry<SK, V> {
+
+    private final SK secondKey;
+    private volatile ICacheEntryGroup cacheEntryGroup;
+
+    private V value;
+
+    // whether this entry has been accessed since it was last examined by eviction
+    private volatile boolean referenced = false;
+
+    private ClockCacheEntry<SK, V> pre = null;
+    private ClockCacheEntry<SK, V> next = null;
+
+    // the list this entry is linked in, null if it is not in any list
+    private volatile ClockLinkedList belongedList = null;
+
+    private ClockCacheEntry(SK secondKey, V value, ICacheEntryGroup cacheEntryGroup) {
+      this.secondKey = secondKey;
+      this.value = value;
+      this.cacheEntryGroup = cacheEntryGroup;
+    }
+
+    @Override
+    public SK getSecondKey() {
+      return secondKey;
+    }
+
+    @Override
+    public V getValue() {
+      return value;
+    }
+
+    @Override
+    public ICacheEntryGroup getBelongedGroup() {
+      return cacheEntryGroup;
+    }
+
+    @Override
+    public void setBelongedGroup(ICacheEntryGroup belongedGroup) {
+      this.cacheEntryGroup = belongedGroup;
+    }
+
+    @Override
+    public void replaceValue(V newValue) {
+      this.value = newValue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      ClockCacheEntry<?, ?> that = (ClockCacheEntry<?, ?>) o;
+      return Objects.equals(secondKey, that.secondKey)
+          && Objects.equals(cacheEntryGroup, that.cacheEntryGroup);
+    }
+
+    @Override
+    public int hashCode() {
+      return cacheEntryGroup.hashCode() * 31 + secondKey.hashCode();
+    }
+  }
+
+  private static class ClockLinkedList {
+
+    // head.next is the newest
+    private final ClockCacheEntry head;
+    private final ClockCacheEntry tail;
+
+    public ClockLinkedList() {
+      head = new ClockCacheEntry(null, null, null);
+      tail = new ClockCacheEntry(null, null, null);
+      head.next = tail;
+      tail.pre = head;
+    }
+
+    synchronized void add(ClockCacheEntry cacheEntry) {
+      addToHead(cacheEntry);
+    }
+
+    synchronized ClockCacheEntry evict() {
+      ClockCacheEntry cacheEntry;
+      for (int i = 0; i < MAX_SECOND_CHANCE_NUM; i++) {
+        cacheEntry = tail.pre;
+        if (cacheEntry == head) {
+          return null;
+        }
+        if (!cacheEntry.referenced) {
+          break;
+        }
+        // give the referenced entry a second chance
+        cacheEntry.referenced = false;
+        remove(cacheEntry);
+        addToHead(cacheEntry);
+      }
+      cacheEntry = tail.pre;
+      if (cacheEntry == head) {
+        return null;
+      }
+      unlink(cacheEntry);
+      return cacheEntry;
+    }
+
+    synchronized void invalid(ClockCacheEntry cacheEntry) {
+      // the entry may have been evicted before the lock is acquired
+      if (cacheEntry.belongedList == this) {
+        unlink(cacheEntry);
+      }
+    }
+
+    private void addToHead(ClockCacheEntry cacheEntry) {
+      cacheEntry.next = head.next;
+      cacheEntry.pre = head;
+      head.next.pre = cacheEntry;
+      head.next = cacheEntry;
+      cacheEntry.belongedList = this;
+    }
+
+    private void remove(ClockCacheEntry cacheEntry) {
+      cacheEntry.pre.next = cacheEntry.next;
+      cacheEntry.next.pre = cacheEntry.pre;
+    }
+
+    private void unlink(ClockCacheEntry cacheEntry) {
+      remove(cacheEntry);
+      cacheEntry.next = null;
+      cacheEntry.pre = null;
+      cacheEntry.belongedList = null;
+    }
+  }
+}
@@ -52,6 +52,9 @@ public class DualKeyCacheBuilder<FK, SK, V> {
       case FIFO:
         cacheEntryManager = new FIFOCacheEntryManager<>();
         break;
+      case CLOCK:
+        cacheEntryManager = new ClockCacheEntryManager<>();
+        break;
     }
     return new DualKeyCacheImpl<>(
         cacheEntryManager,
@@ -21,5 +21,6 @@ package org.apache.iotdb.db.queryengine.plan.analyze.cache.schema.dualkeycache.i
 
 public enum DualKeyCachePolicy {
   LRU,
-  FIFO;
+  FIFO,
+  CLOCK;
 }
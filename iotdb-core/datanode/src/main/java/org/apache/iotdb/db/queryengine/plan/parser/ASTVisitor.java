@@ -51,6 +51,7 @@ import org.apache.iotdb.db.qp.sql.IoTDBSqlParser.ProcessorAttributeClauseContext
 import org.apache.iotdb.db.qp.sql.IoTDBSqlParser.ShowFunctionsContext;
 import org.apache.iotdb.db.qp.sql.IoTDBSqlParserBaseVisitor;
 import org.apache.iotdb.db.queryengine.common.header.ColumnHeaderConstant;
+import org.apache.iotdb.db.queryengine.execution.aggregation.ApproxPercentileAccumulator;
 import org.apache.iotdb.db.queryengine.execution.operator.window.WindowType;
 import org.apache.iotdb.db.queryengine.plan.analyze.ExpressionAnalyzer;
 import org.apache.iotdb.db.queryengine.plan.expression.Expression;
@@ -2913,11 +2914,19 @@ public class ASTVisitor extends IoTDBSqlParserBaseVisitor<Statement> {
       case SqlConstant.VARIANCE:
       case SqlConstant.VAR_POP:
       case SqlConstant.VAR_SAMP:
+      case SqlConstant.APPROX_COUNT_DISTINCT:
         checkFunctionExpressionInputSize(
             functionExpression.getExpressionString(),
             functionExpression.getExpressions().size(),
             1);
         return;
+      case SqlConstant.APPROX_PERCENTILE:
+        checkFunctionExpressionInputSize(
+            functionExpression.getExpressionString(),
+            functionExpression.getExpressions().size(),
+            1);
+        checkApproxPercentileAttribute(functionExpression);
+        return;
       case SqlConstant.COUNT_IF:
       case SqlConstant.MAX_BY:
         checkFunctionExpressionInputSize(
@@ -2931,6 +2940,30 @@ public class ASTVisitor extends IoTDBSqlParserBaseVisitor<Statement> {
     }
   }
 
+  private void checkApproxPercentileAttribute(FunctionExpression functionExpression) {
+    final String percentile =
+        functionExpression
+            .getFunctionAttributes()
+            .get(ApproxPercentileAccumulator.PERCENTILE_ATTRIBUTE);
+    if (percentile == null) {
+      return;
+    }
+    double value;
+    try {
+      value = Double.parseDouble(percentile);
+    } catch (NumberFormatException e) {
+      value = Double.NaN;
+    }
+    if (!(value >= 0 && value <= 1)) {
+      throw new SemanticException(
+          String.format(
+              "The attribute '%s' of %s should be a number in [0, 1], but got '%s'.",
+              ApproxPercentileAccumulator.PERCENTILE_ATTRIBUTE,
+              functionExpression.getExpressionString(),
+              percentile));
+    }
+  }
+
   private void checkBuiltInScalarFunctionInput(FunctionExpression functionExpression) {
     BuiltInScalarFunctionHelperFactory.createHelper(functionExpression.getFunctionName())
         .checkBuiltInScalarFunctionInputSize(functionExpression);
@@ -27,7 +27,9 @@ import org.apache.iotdb.db.queryengine.execution.fragment.DataNodeQueryContext;
 import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceContext;
 import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceStateMachine;
 import org.apache.iotdb.db.queryengine.execution.operator.Operator;
+import org.apache.iotdb.db.queryengine.execution.schedule.DriverScheduler;
 import org.apache.iotdb.db.queryengine.plan.analyze.TypeProvider;
+import org.apache.iotdb.db.queryengine.plan.planner.distribution.DataNodeCostModel;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNode;
 import org.apache.iotdb.db.schemaengine.schemaregion.ISchemaRegion;
 import org.apache.iotdb.db.utils.SetThreadName;
@@ -77,6 +79,11 @@ public class LocalExecutionPlanner {
       throws MemoryNotEnoughException {
     LocalExecutionPlanContext context =
         new LocalExecutionPlanContext(types, instanceContext, dataNodeQueryContext);
+    context.setDegreeOfParallelism(
+        DataNodeCostModel.getDegreeOfParallelism(
+            context.getDegreeOfParallelism(),
+            IoTDBDescriptor.getInstance().getConfig().getQueryThreadCount(),
+            DriverScheduler.getInstance().getReadyQueueTaskCount()));
 
     // Generate pipelines, return the last pipeline data structure
     // TODO Replace operator with operatorFactory to build multiple driver for one pipeline
@@ -227,6 +227,7 @@ import org.apache.iotdb.db.queryengine.statistics.StatisticsManager;
 import org.apache.iotdb.db.queryengine.transformation.dag.column.ColumnTransformer;
 import org.apache.iotdb.db.queryengine.transformation.dag.column.leaf.LeafColumnTransformer;
 import org.apache.iotdb.db.queryengine.transformation.dag.udf.UDTFContext;
+import org.apache.iotdb.db.storageengine.dataregion.IDataRegionForQuery;
 import org.apache.iotdb.db.utils.columngenerator.ColumnGenerator;
 import org.apache.iotdb.db.utils.columngenerator.ColumnGeneratorType;
 import org.apache.iotdb.db.utils.columngenerator.SlidingTimeColumnGenerator;
@@ -2385,7 +2386,12 @@ public class OperatorTreeGenerator extends PlanVisitor<Operator, LocalExecutionP
     }
 
     if (timeValuePair == null) { // last value is not cached
-      return createUpdateLastCacheOperator(node, context, node.getSeriesPath());
+      TimeValuePair indexedLastPoint = getIndexedLastPoint(node.getSeriesPath(), context);
+      if (indexedLastPoint == null) {
+        return createUpdateLastCacheOperator(node, context, node.getSeriesPath());
+      }
+      context.addCachedLastValue(indexedLastPoint, node.outputPathSymbol());
+      return null;
     } else if (timeValuePair.getValue() == null) { // there is no data for this time series
       return null;
     } else if (!LastQueryUtil.satisfyFilter(
@@ -2404,6 +2410,51 @@ public class OperatorTreeGenerator extends PlanVisitor<Operator, LocalExecutionP
     }
   }
 
+  /**
+   * Get the last point of a series whose last value is not cached from the last value index of the
+   * DataRegion. The point is reported to the DataNodeQueryContext like a scanned one, so that the
+   * last cache is updated once all DataRegions of the series have reported.
+   *
+   * @return null if the series should be scanned
+   */
+  private TimeValuePair getIndexedLastPoint(
+      MeasurementPath fullPath, LocalExecutionPlanContext context) {
+    IDataRegionForQuery dataRegion =
+        ((DataDriverContext) context.getDriverContext()).getDataRegion();
+    TimeValuePair timeValuePair =
+        dataRegion.getIndexedLastPoint(fullPath.getDevicePath(), fullPath.getMeasurement());
+    if (timeValuePair == null
+        || !LastQueryUtil.satisfyFilter(
+            updateFilterUsingTTL(context.getGlobalTimeFilter(), context.getDataRegionTTL()),
+            timeValuePair)) {
+      return null;
+    }
+    if (context.isNeedUpdateLastCache()) {
+      context.dataNodeQueryContext.lock();
+      try {
+        Pair<AtomicInteger, TimeValuePair> seriesScanInfo =
+            context.dataNodeQueryContext.getSeriesScanInfo(fullPath);
+        if (seriesScanInfo != null) {
+          if (seriesScanInfo.right == null
+              || timeValuePair.getTimestamp() > seriesScanInfo.right.getTimestamp()) {
+            seriesScanInfo.right = timeValuePair;
+          }
+          if (seriesScanInfo.left.decrementAndGet() == 0) {
+            DATA_NODE_SCHEMA_CACHE.updateLastCache(
+                dataRegion.getDatabaseName(),
+                fullPath,
+                seriesScanInfo.right,
+                false,
+                Long.MIN_VALUE);
+          }
+        }
+      } finally {
+        context.dataNodeQueryContext.unLock();
+      }
+    }
+    return timeValuePair;
+  }
+
   private boolean isFilterGtOrGe(Filter filter) {
     return filter instanceof TimeGt || filter instanceof TimeGtEq;
   }
@@ -2588,7 +2639,17 @@ public class OperatorTreeGenerator extends PlanVisitor<Operator, LocalExecutionP
       }
 
       if (timeValuePair == null) { // last value is not cached
-        unCachedMeasurementIndexes.add(i);
+        TimeValuePair indexedLastPoint =
+            getIndexedLastPoint(
+                new MeasurementPath(measurementPath, alignedPath.getSchemaList().get(i), true),
+                context);
+        if (indexedLastPoint == null) {
+          unCachedMeasurementIndexes.add(i);
+        } else if (node.getOutputViewPath() != null) {
+          context.addCachedLastValue(indexedLastPoint, node.getOutputViewPath());
+        } else {
+          context.addCachedLastValue(indexedLastPoint, measurementPath.getFullPath());
+        }
       } else if (timeValuePair.getValue() == null) {
         // there is no data for this time series, just ignore
       } else if (!LastQueryUtil.satisfyFilter(
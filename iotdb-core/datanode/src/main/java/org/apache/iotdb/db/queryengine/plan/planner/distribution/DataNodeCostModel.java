@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.planner.distribution;
+
+import org.apache.iotdb.common.rpc.thrift.TDataNodeLocation;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.queryengine.execution.schedule.DriverScheduler;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates the cost of running a fragment instance on each DataNode from what this coordinator
+ * observes, and is used to pick the replica of a region to read from and to size the pipeline
+ * parallelism of a fragment instance.
+ *
+ * <p>The cost of a DataNode is the moving average of its query load, which is the number of drivers
+ * waiting for a query worker thread per worker thread. Each DataNode reports its load when it
+ * accepts a read fragment instance, so the loads of local and remote DataNodes are comparable,
+ * unlike the dispatch latency which mostly reflects whether the DataNode is local. A failed
+ * dispatch, e.g. to a lagging replica, is recorded as {@link #FAILURE_LOAD}.
+ */
+public class DataNodeCostModel {
+
+  /** weight of the newest sample in the moving average. */
+  private static final double SMOOTHING_FACTOR = 0.2;
+
+  /**
+   * the cost of a DataNode halves every this many nanoseconds without a new sample, so that an
+   * expensive replica which is no longer chosen is tried again once it has cooled down.
+   */
+  private static final long COST_HALF_LIFE_IN_NANOS = 30_000_000_000L;
+
+  /**
+   * a replica is only preferred over the default one if it is cheaper by this ratio and by {@link
+   * #SWITCH_MIN_LOAD_DIFFERENCE}.
+   */
+  private static final double SWITCH_THRESHOLD = 0.2;
+
+  private static final double SWITCH_MIN_LOAD_DIFFERENCE = 0.5;
+
+  static final double FAILURE_LOAD = 10;
+
+  private final Map<Integer, DataNodeCost> dataNodeIdToCost = new ConcurrentHashMap<>();
+
+  DataNodeCostModel() {
+    // use getInstance()
+  }
+
+  public static DataNodeCostModel getInstance() {
+    return DataNodeCostModelHolder.INSTANCE;
+  }
+
+  /** @return the query load of this DataNode, see {@link DataNodeCostModel} */
+  public static double getLocalQueryLoad() {
+    return (double) DriverScheduler.getInstance().getReadyQueueTaskCount()
+        / Math.max(1, IoTDBDescriptor.getInstance().getConfig().getQueryThreadCount());
+  }
+
+  /** Record the query load reported by the DataNode a read fragment instance is dispatched to. */
+  public void recordLoad(int dataNodeId, double load) {
+    recordLoad(dataNodeId, load, System.nanoTime());
+  }
+
+  /** Record that a read fragment instance can not be dispatched to the DataNode. */
+  public void recordFailure(int dataNodeId) {
+    recordLoad(dataNodeId, FAILURE_LOAD, System.nanoTime());
+  }
+
+  void recordLoad(int dataNodeId, double sample, long currentTime) {
+    dataNodeIdToCost.compute(
+        dataNodeId,
+        (id, cost) -> {
+          if (cost == null) {
+            return new DataNodeCost(sample, currentTime);
+          }
+          double decayedCost = cost.getCost(currentTime);
+          return new DataNodeCost(
+              decayedCost + SMOOTHING_FACTOR * (sample - decayedCost), currentTime);
+        });
+  }
+
+  /** @return the estimated cost of the DataNode, 0 if nothing has been dispatched to it yet */
+  public double getCost(int dataNodeId) {
+    return getCost(dataNodeId, System.nanoTime());
+  }
+
+  double getCost(int dataNodeId, long currentTime) {
+    DataNodeCost cost = dataNodeIdToCost.get(dataNodeId);
+    return cost == null ? 0 : cost.getCost(currentTime);
+  }
+
+  /**
+   * Select the replica to read from.
+   *
+   * @param candidates available replicas, must not be empty
+   * @param defaultIndex index of the replica chosen when no other replica is clearly cheaper, which
+   *     spreads sessions over replicas with similar costs
+   * @return index of the selected replica in candidates
+   */
+  public int selectReplica(List<TDataNodeLocation> candidates, int defaultIndex) {
+    return selectReplica(candidates, defaultIndex, System.nanoTime());
+  }
+
+  int selectReplica(List<TDataNodeLocation> candidates, int defaultIndex, long currentTime) {
+    double defaultCost = getCost(candidates.get(defaultIndex).getDataNodeId(), currentTime);
+    int cheapestIndex = defaultIndex;
+    double cheapestCost = defaultCost;
+    for (int i = 0; i < candidates.size(); i++) {
+      double cost = getCost(candidates.get(i).getDataNodeId(), currentTime);
+      if (cost < cheapestCost) {
+        cheapestIndex = i;
+        cheapestCost = cost;
+      }
+    }
+    return cheapestCost < defaultCost * (1 - SWITCH_THRESHOLD)
+            && defaultCost - cheapestCost >= SWITCH_MIN_LOAD_DIFFERENCE
+        ? cheapestIndex
+        : defaultIndex;
+  }
+
+  /**
+   * Size the pipeline parallelism of a fragment instance by the load of the local query scheduler.
+   * When drivers are already waiting for a worker thread, splitting a fragment instance into more
+   * pipelines only adds scheduling and memory overhead, so the configured parallelism is scaled
+   * down by the share of worker threads that is not already claimed.
+   *
+   * @param configuredDegree the configured degree of parallelism
+   * @param workerThreadNum number of query worker threads
+   * @param readyTaskNum number of drivers waiting for a worker thread
+   */
+  public static int getDegreeOfParallelism(
+      int configuredDegree, int workerThreadNum, long readyTaskNum) {
+    if (readyTaskNum <= 0 || configuredDegree <= 1) {
+      return Math.max(1, configuredDegree);
+    }
+    long degree = configuredDegree * (long) workerThreadNum / (workerThreadNum + readyTaskNum);
+    return (int) Math.max(1, degree);
+  }
+
+  private static class DataNodeCost {
+
+    private final double cost;
+    private final long updateTime;
+
+    private DataNodeCost(double cost, long updateTime) {
+      this.cost = cost;
+      this.updateTime = updateTime;
+    }
+
+    private double getCost(long currentTime) {
+      long elapsedTime = currentTime - updateTime;
+      if (elapsedTime <= 0) {
+        return cost;
+      }
+      return cost * Math.pow(0.5, (double) elapsedTime / COST_HALF_LIFE_IN_NANOS);
+    }
+  }
+
+  private static class DataNodeCostModelHolder {
+
+    private static final DataNodeCostModel INSTANCE = new DataNodeCostModel();
+
+    private DataNodeCostModelHolder() {
+      // empty constructor
+    }
+  }
+}
@@ -224,7 +224,13 @@ public class SimpleFragmentParallelPlanner implements IFragmentParallelPlaner {
     if (!selectRandomDataNode || queryContext.getSession() == null) {
       targetIndex = 0;
     } else {
-      targetIndex = (int) (queryContext.getSession().getSessionId() % availableDataNodes.size());
+      // any replica can serve a weak consistency read, so sessions are spread over replicas and a
+      // replica is skipped if it is observed to be clearly more loaded than another one
+      targetIndex =
+          DataNodeCostModel.getInstance()
+              .selectReplica(
+                  availableDataNodes,
+                  (int) (queryContext.getSession().getSessionId() % availableDataNodes.size()));
     }
     return availableDataNodes.get(targetIndex);
   }
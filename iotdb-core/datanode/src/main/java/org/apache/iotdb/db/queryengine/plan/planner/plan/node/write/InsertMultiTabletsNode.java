@@ -272,7 +272,11 @@ public class InsertMultiTabletsNode extends InsertNode {
 
   @Override
   public long getMinTime() {
-    throw new NotImplementedException();
+    long minTime = Long.MAX_VALUE;
+    for (InsertTabletNode node : insertTabletNodeList) {
+      minTime = Math.min(minTime, node.getMinTime());
+    }
+    return minTime;
   }
 
   @Override
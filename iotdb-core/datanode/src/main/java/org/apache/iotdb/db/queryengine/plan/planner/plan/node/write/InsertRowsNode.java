@@ -252,7 +252,11 @@ public class InsertRowsNode extends InsertNode {
 
   @Override
   public long getMinTime() {
-    throw new NotImplementedException();
+    long minTime = Long.MAX_VALUE;
+    for (InsertRowNode node : insertRowNodeList) {
+      minTime = Math.min(minTime, node.getMinTime());
+    }
+    return minTime;
   }
 
   @Override
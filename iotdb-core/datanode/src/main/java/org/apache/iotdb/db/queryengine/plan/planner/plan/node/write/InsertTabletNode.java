@@ -620,7 +620,8 @@ public class InsertTabletNode extends InsertNode implements WALEntryValue {
 
   public void subDeserialize(ByteBuffer buffer) {
     try {
-      devicePath = new PartialPath(ReadWriteIOUtils.readString(buffer));
+      devicePath =
+          DataNodeDevicePathCache.getInstance().getPartialPath(ReadWriteIOUtils.readString(buffer));
     } catch (IllegalPathException e) {
       throw new IllegalArgumentException("Cannot deserialize InsertTabletNode", e);
     }
@@ -903,7 +904,8 @@ public class InsertTabletNode extends InsertNode implements WALEntryValue {
   private void subDeserializeFromWAL(ByteBuffer buffer) {
     searchIndex = buffer.getLong();
     try {
-      devicePath = new PartialPath(ReadWriteIOUtils.readString(buffer));
+      devicePath =
+          DataNodeDevicePathCache.getInstance().getPartialPath(ReadWriteIOUtils.readString(buffer));
     } catch (IllegalPathException e) {
       throw new IllegalArgumentException("Cannot deserialize InsertTabletNode", e);
     }
@@ -184,6 +184,12 @@ public class AggregationDescriptor {
         case MAX_BY:
           outputAggregationNames.add(addPartialSuffix(SqlConstant.MAX_BY));
           break;
+        case APPROX_COUNT_DISTINCT:
+          outputAggregationNames.add(addPartialSuffix(SqlConstant.APPROX_COUNT_DISTINCT));
+          break;
+        case APPROX_PERCENTILE:
+          outputAggregationNames.add(addPartialSuffix(SqlConstant.APPROX_PERCENTILE));
+          break;
         case UDAF:
           outputAggregationNames.add(addPartialSuffix(aggregationFuncName));
           break;
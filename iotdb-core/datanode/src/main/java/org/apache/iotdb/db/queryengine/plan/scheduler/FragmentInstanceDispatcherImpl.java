@@ -36,6 +36,7 @@ import org.apache.iotdb.db.queryengine.execution.executor.RegionReadExecutor;
 import org.apache.iotdb.db.queryengine.execution.executor.RegionWriteExecutor;
 import org.apache.iotdb.db.queryengine.metric.QueryExecutionMetricSet;
 import org.apache.iotdb.db.queryengine.plan.analyze.QueryType;
+import org.apache.iotdb.db.queryengine.plan.planner.distribution.DataNodeCostModel;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.FragmentInstance;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNode;
 import org.apache.iotdb.db.utils.SetThreadName;
@@ -83,6 +84,7 @@ public class FragmentInstanceDispatcherImpl implements IFragInstanceDispatcher {
       QueryExecutionMetricSet.getInstance();
   private static final PerformanceOverviewMetrics PERFORMANCE_OVERVIEW_METRICS =
       PerformanceOverviewMetrics.getInstance();
+  private static final DataNodeCostModel DATA_NODE_COST_MODEL = DataNodeCostModel.getInstance();
 
   private static final String DISPATCH_FAILED = "[DispatchFailed]";
 
@@ -273,10 +275,18 @@ public class FragmentInstanceDispatcherImpl implements IFragInstanceDispatcher {
   private void dispatchOneInstance(FragmentInstance instance)
       throws FragmentInstanceDispatchException {
     TEndPoint endPoint = instance.getHostDataNode().getInternalEndPoint();
-    if (isDispatchedToLocal(endPoint)) {
-      dispatchLocally(instance);
-    } else {
-      dispatchRemote(instance, endPoint);
+    boolean success = false;
+    try {
+      if (isDispatchedToLocal(endPoint)) {
+        dispatchLocally(instance);
+      } else {
+        dispatchRemote(instance, endPoint);
+      }
+      success = true;
+    } finally {
+      if (!success && instance.getType() == QueryType.READ) {
+        DATA_NODE_COST_MODEL.recordFailure(instance.getHostDataNode().getDataNodeId());
+      }
     }
   }
 
@@ -310,6 +320,11 @@ public class FragmentInstanceDispatcherImpl implements IFragInstanceDispatcher {
                       TSStatusCode.EXECUTE_STATEMENT_ERROR, sendFragmentInstanceResp.message));
             }
           }
+          if (sendFragmentInstanceResp.isSetQueryLoad()) {
+            DATA_NODE_COST_MODEL.recordLoad(
+                instance.getHostDataNode().getDataNodeId(),
+                sendFragmentInstanceResp.getQueryLoad());
+          }
           break;
         case WRITE:
           TSendBatchPlanNodeReq sendPlanNodeReq =
@@ -410,6 +425,8 @@ public class FragmentInstanceDispatcherImpl implements IFragInstanceDispatcher {
           throw new FragmentInstanceDispatchException(
               RpcUtils.getStatus(TSStatusCode.EXECUTE_STATEMENT_ERROR, readResult.getMessage()));
         }
+        DATA_NODE_COST_MODEL.recordLoad(
+            instance.getHostDataNode().getDataNodeId(), DataNodeCostModel.getLocalQueryLoad());
         break;
       case WRITE:
         PlanNode planNode = instance.getFragment().getPlanNodeTree();
@@ -241,7 +241,31 @@ public class LoadTsFileScheduler implements IScheduler {
     return true;
   }
 
-  private boolean dispatchOnePieceNode(
+  /**
+   * Dispatch the piece nodes to their replica sets concurrently, and wait for all of them. Pieces
+   * of different replica sets go to different DataNodes or regions, so they are independent of each
+   * other.
+   *
+   * @return false if any piece fails to be dispatched, the others are cancelled if not finished
+   */
+  private boolean dispatchPieceNodes(List<Pair<LoadTsFilePieceNode, TRegionReplicaSet>> pieces) {
+    List<Future<FragInstanceDispatchResult>> dispatchResultFutures = new ArrayList<>();
+    for (Pair<LoadTsFilePieceNode, TRegionReplicaSet> piece : pieces) {
+      dispatchResultFutures.add(submitOnePieceNode(piece.left, piece.right));
+    }
+    for (int i = 0; i < pieces.size(); i++) {
+      if (!waitOnePieceNode(
+          pieces.get(i).left, pieces.get(i).right, dispatchResultFutures.get(i))) {
+        for (int j = i + 1; j < pieces.size(); j++) {
+          dispatchResultFutures.get(j).cancel(true);
+        }
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private Future<FragInstanceDispatchResult> submitOnePieceNode(
       LoadTsFilePieceNode pieceNode, TRegionReplicaSet replicaSet) {
     allReplicaSets.add(replicaSet);
     FragmentInstance instance =
@@ -253,9 +277,13 @@ public class LoadTsFileScheduler implements IScheduler {
             queryContext.getTimeOut(),
             queryContext.getSession());
     instance.setExecutorAndHost(new StorageExecutor(replicaSet));
-    Future<FragInstanceDispatchResult> dispatchResultFuture =
-        dispatcher.dispatch(Collections.singletonList(instance));
+    return dispatcher.dispatch(Collections.singletonList(instance));
+  }
 
+  private boolean waitOnePieceNode(
+      LoadTsFilePieceNode pieceNode,
+      TRegionReplicaSet replicaSet,
+      Future<FragInstanceDispatchResult> dispatchResultFuture) {
     try {
       FragInstanceDispatchResult result =
           dispatchResultFuture.get(
@@ -473,6 +501,11 @@ public class LoadTsFileScheduler implements IScheduler {
       return dataSize <= SINGLE_SCHEDULER_MAX_MEMORY_SIZE && block.hasEnoughMemory();
     }
 
+    private boolean isMemoryEnoughAfterRelease(long releasedSize) {
+      return dataSize - releasedSize <= SINGLE_SCHEDULER_MAX_MEMORY_SIZE
+          && block.hasEnoughMemory(-releasedSize);
+    }
+
     private boolean addOrSendChunkData(ChunkData chunkData) {
       nonDirectionalChunkData.add(chunkData);
       dataSize += chunkData.getDataSize();
@@ -488,27 +521,34 @@ public class LoadTsFileScheduler implements IScheduler {
                     Comparator.comparingLong(o -> replicaSet2Piece.get(o).getDataSize()).reversed())
                 .collect(Collectors.toList());
 
+        // pick the biggest pieces until enough memory would be released, and send them together
+        List<Pair<LoadTsFilePieceNode, TRegionReplicaSet>> piecesToDispatch = new ArrayList<>();
+        long releasedSize = 0;
         for (TRegionReplicaSet sortedReplicaSet : sortedReplicaSets) {
           LoadTsFilePieceNode pieceNode = replicaSet2Piece.get(sortedReplicaSet);
           if (pieceNode.getDataSize() == 0) { // total data size has been reduced to 0
             break;
           }
-          if (!scheduler.dispatchOnePieceNode(pieceNode, sortedReplicaSet)) {
-            return false;
+          piecesToDispatch.add(new Pair<>(pieceNode, sortedReplicaSet));
+          releasedSize += pieceNode.getDataSize();
+          if (isMemoryEnoughAfterRelease(releasedSize)) {
+            break;
           }
+        }
+        if (!scheduler.dispatchPieceNodes(piecesToDispatch)) {
+          return false;
+        }
 
-          dataSize -= pieceNode.getDataSize();
-          block.reduceMemoryUsage(pieceNode.getDataSize());
+        for (Pair<LoadTsFilePieceNode, TRegionReplicaSet> piece : piecesToDispatch) {
+          dataSize -= piece.left.getDataSize();
+          block.reduceMemoryUsage(piece.left.getDataSize());
           replicaSet2Piece.put(
-              sortedReplicaSet,
+              piece.right,
               new LoadTsFilePieceNode(
                   singleTsFileNode.getPlanNodeId(),
                   singleTsFileNode
                       .getTsFileResource()
                       .getTsFile())); // can not just remove, because of deletion
-          if (isMemoryEnough()) {
-            break;
-          }
         }
       }
 
@@ -554,15 +594,16 @@ public class LoadTsFileScheduler implements IScheduler {
     private boolean sendAllTsFileData() {
       routeChunkData();
 
+      List<Pair<LoadTsFilePieceNode, TRegionReplicaSet>> pieces = new ArrayList<>();
       for (Map.Entry<TRegionReplicaSet, LoadTsFilePieceNode> entry : replicaSet2Piece.entrySet()) {
         block.reduceMemoryUsage(entry.getValue().getDataSize());
-        if (!scheduler.dispatchOnePieceNode(entry.getValue(), entry.getKey())) {
-          LOGGER.warn(
-              "Dispatch piece node {} of TsFile {} error.",
-              entry.getValue(),
-              singleTsFileNode.getTsFileResource().getTsFile());
-          return false;
-        }
+        pieces.add(new Pair<>(entry.getValue(), entry.getKey()));
+      }
+      if (!scheduler.dispatchPieceNodes(pieces)) {
+        LOGGER.warn(
+            "Dispatch piece nodes of TsFile {} error.",
+            singleTsFileNode.getTsFileResource().getTsFile());
+        return false;
       }
       return true;
     }
@@ -21,13 +21,24 @@ package org.apache.iotdb.db.queryengine.transformation.dag.adapter;
 
 import org.apache.iotdb.commons.udf.utils.UDFDataTypeTransformer;
 import org.apache.iotdb.db.queryengine.transformation.datastructure.row.ElasticSerializableRowRecordList;
+import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.block.column.BinaryColumnBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.BooleanColumnBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
+import org.apache.iotdb.tsfile.read.common.block.column.ColumnBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.DoubleColumnBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.FloatColumnBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.IntColumnBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.LongColumnBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.TimeColumnBuilder;
 import org.apache.iotdb.udf.api.access.Row;
 import org.apache.iotdb.udf.api.access.RowIterator;
 import org.apache.iotdb.udf.api.access.RowWindow;
 import org.apache.iotdb.udf.api.type.Type;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 public class ElasticSerializableRowRecordListBackedMultiColumnWindow implements RowWindow {
 
@@ -44,6 +55,10 @@ public class ElasticSerializableRowRecordListBackedMultiColumnWindow implements
   private final ElasticSerializableRowRecordListBackedMultiColumnRow row;
   private ElasticSerializableRowRecordListBackedMultiColumnWindowIterator rowIterator;
 
+  // built lazily and reused until the window moves
+  private final Column[] valueColumns;
+  private Column timeColumn;
+
   public ElasticSerializableRowRecordListBackedMultiColumnWindow(
       ElasticSerializableRowRecordList rowRecordList) {
     this.rowRecordList = rowRecordList;
@@ -54,6 +69,7 @@ public class ElasticSerializableRowRecordListBackedMultiColumnWindow implements
     size = 0;
 
     row = new ElasticSerializableRowRecordListBackedMultiColumnRow(dataTypes);
+    valueColumns = new Column[dataTypes.length];
   }
 
   @Override
@@ -89,6 +105,63 @@ public class ElasticSerializableRowRecordListBackedMultiColumnWindow implements
     return rowIterator;
   }
 
+  @Override
+  public Column getColumn(int columnIndex) throws IOException {
+    if (valueColumns[columnIndex] == null) {
+      valueColumns[columnIndex] = buildValueColumn(columnIndex);
+    }
+    return valueColumns[columnIndex];
+  }
+
+  @Override
+  public Column getTimeColumn() throws IOException {
+    if (timeColumn == null) {
+      // the timestamp is stored after the values in a row record
+      int timeIndex = dataTypes.length;
+      TimeColumnBuilder builder = new TimeColumnBuilder(null, size);
+      for (int i = beginIndex; i < endIndex; i++) {
+        builder.writeLong((long) rowRecordList.getRowRecord(i)[timeIndex]);
+      }
+      timeColumn = builder.build();
+    }
+    return timeColumn;
+  }
+
+  private Column buildValueColumn(int columnIndex) throws IOException {
+    ColumnBuilder builder;
+    switch (dataTypes[columnIndex]) {
+      case INT32:
+        builder = new IntColumnBuilder(null, size);
+        break;
+      case INT64:
+        builder = new LongColumnBuilder(null, size);
+        break;
+      case FLOAT:
+        builder = new FloatColumnBuilder(null, size);
+        break;
+      case DOUBLE:
+        builder = new DoubleColumnBuilder(null, size);
+        break;
+      case BOOLEAN:
+        builder = new BooleanColumnBuilder(null, size);
+        break;
+      case TEXT:
+        builder = new BinaryColumnBuilder(null, size);
+        break;
+      default:
+        throw new UnSupportedDataTypeException(dataTypes[columnIndex].toString());
+    }
+    for (int i = beginIndex; i < endIndex; i++) {
+      Object value = rowRecordList.getRowRecord(i)[columnIndex];
+      if (value == null) {
+        builder.appendNull();
+      } else {
+        builder.writeObject(value);
+      }
+    }
+    return builder.build();
+  }
+
   @Override
   public long windowStartTime() {
     return startTime;
@@ -102,7 +175,12 @@ public class ElasticSerializableRowRecordListBackedMultiColumnWindow implements
   public void setEmptyWindow(long startTime, long endTime) {
     this.startTime = startTime;
     this.endTime = endTime;
+    this.beginIndex = 0;
+    this.endIndex = 0;
     this.size = 0;
+
+    Arrays.fill(valueColumns, null);
+    timeColumn = null;
   }
 
   public void seek(int beginIndex, int endIndex, long startTime, long endTime) {
@@ -114,5 +192,7 @@ public class ElasticSerializableRowRecordListBackedMultiColumnWindow implements
     this.endTime = endTime;
 
     rowIterator = null;
+    Arrays.fill(valueColumns, null);
+    timeColumn = null;
   }
 }
@@ -21,11 +21,23 @@ package org.apache.iotdb.db.queryengine.transformation.dag.adapter;
 
 import org.apache.iotdb.commons.udf.utils.UDFDataTypeTransformer;
 import org.apache.iotdb.db.queryengine.transformation.datastructure.tv.ElasticSerializableTVList;
+import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
+import org.apache.iotdb.tsfile.read.common.block.column.BinaryColumnBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.BooleanColumnBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
+import org.apache.iotdb.tsfile.read.common.block.column.ColumnBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.DoubleColumnBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.FloatColumnBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.IntColumnBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.LongColumnBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.TimeColumnBuilder;
 import org.apache.iotdb.udf.api.access.Row;
 import org.apache.iotdb.udf.api.access.RowIterator;
 import org.apache.iotdb.udf.api.access.RowWindow;
 import org.apache.iotdb.udf.api.type.Type;
 
+import java.io.IOException;
+
 public class ElasticSerializableTVListBackedSingleColumnWindow implements RowWindow {
 
   private final ElasticSerializableTVList tvList;
@@ -39,6 +51,10 @@ public class ElasticSerializableTVListBackedSingleColumnWindow implements RowWin
   private final ElasticSerializableTVListBackedSingleColumnRow row;
   private ElasticSerializableTVListBackedSingleColumnWindowIterator rowIterator;
 
+  // built lazily and reused until the window moves
+  private Column valueColumn;
+  private Column timeColumn;
+
   // [beginIndex, endIndex)
   public ElasticSerializableTVListBackedSingleColumnWindow(ElasticSerializableTVList tvList) {
     this.tvList = tvList;
@@ -82,6 +98,98 @@ public class ElasticSerializableTVListBackedSingleColumnWindow implements RowWin
     return rowIterator;
   }
 
+  @Override
+  public Column getColumn(int columnIndex) throws IOException {
+    if (columnIndex != 0) {
+      throw new IndexOutOfBoundsException("Index: " + columnIndex + ", Size: 1");
+    }
+    if (valueColumn == null) {
+      valueColumn = buildValueColumn();
+    }
+    return valueColumn;
+  }
+
+  @Override
+  public Column getTimeColumn() throws IOException {
+    if (timeColumn == null) {
+      TimeColumnBuilder builder = new TimeColumnBuilder(null, size);
+      for (int i = beginIndex; i < endIndex; i++) {
+        builder.writeLong(tvList.getTime(i));
+      }
+      timeColumn = builder.build();
+    }
+    return timeColumn;
+  }
+
+  private Column buildValueColumn() throws IOException {
+    ColumnBuilder builder;
+    switch (tvList.getDataType()) {
+      case INT32:
+        builder = new IntColumnBuilder(null, size);
+        for (int i = beginIndex; i < endIndex; i++) {
+          if (tvList.isNull(i)) {
+            builder.appendNull();
+          } else {
+            builder.writeInt(tvList.getInt(i));
+          }
+        }
+        break;
+      case INT64:
+        builder = new LongColumnBuilder(null, size);
+        for (int i = beginIndex; i < endIndex; i++) {
+          if (tvList.isNull(i)) {
+            builder.appendNull();
+          } else {
+            builder.writeLong(tvList.getLong(i));
+          }
+        }
+        break;
+      case FLOAT:
+        builder = new FloatColumnBuilder(null, size);
+        for (int i = beginIndex; i < endIndex; i++) {
+          if (tvList.isNull(i)) {
+            builder.appendNull();
+          } else {
+            builder.writeFloat(tvList.getFloat(i));
+          }
+        }
+        break;
+      case DOUBLE:
+        builder = new DoubleColumnBuilder(null, size);
+        for (int i = beginIndex; i < endIndex; i++) {
+          if (tvList.isNull(i)) {
+            builder.appendNull();
+          } else {
+            builder.writeDouble(tvList.getDouble(i));
+          }
+        }
+        break;
+      case BOOLEAN:
+        builder = new BooleanColumnBuilder(null, size);
+        for (int i = beginIndex; i < endIndex; i++) {
+          if (tvList.isNull(i)) {
+            builder.appendNull();
+          } else {
+            builder.writeBoolean(tvList.getBoolean(i));
+          }
+        }
+        break;
+      case TEXT:
+        builder = new BinaryColumnBuilder(null, size);
+        for (int i = beginIndex; i < endIndex; i++) {
+          if (tvList.isNull(i)) {
+            builder.appendNull();
+          } else {
+            builder.writeBinary(tvList.getBinary(i));
+          }
+        }
+        break;
+      default:
+        throw new UnSupportedDataTypeException(tvList.getDataType().toString());
+    }
+    return builder.build();
+  }
+
   @Override
   public long windowStartTime() {
     return startTime;
@@ -95,7 +203,12 @@ public class ElasticSerializableTVListBackedSingleColumnWindow implements RowWin
   public void setEmptyWindow(long startTime, long endTime) {
     this.startTime = startTime;
     this.endTime = endTime;
+    this.beginIndex = 0;
+    this.endIndex = 0;
     this.size = 0;
+
+    valueColumn = null;
+    timeColumn = null;
   }
 
   public void seek(int beginIndex, int endIndex, long startTime, long endTime) {
@@ -108,5 +221,7 @@ public class ElasticSerializableTVListBackedSingleColumnWindow implements RowWin
 
     row.seek(beginIndex);
     rowIterator = null;
+    valueColumn = null;
+    timeColumn = null;
   }
 }
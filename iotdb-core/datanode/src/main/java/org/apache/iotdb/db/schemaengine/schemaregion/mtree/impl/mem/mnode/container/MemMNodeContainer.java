@@ -16,7 +16,6 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-
 package org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.container;
 
 import org.apache.iotdb.commons.schema.node.utils.IMNodeContainer;
@@ -24,24 +23,348 @@ import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.IMemMN
 
 import javax.validation.constraints.NotNull;
 
+import java.util.AbstractCollection;
 import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 
 import static java.util.Collections.emptySet;
 
-public class MemMNodeContainer extends ConcurrentHashMap<String, IMemMNode>
+/**
+ * Children of an in-memory MNode.
+ *
+ * <p>Most nodes have only a few children, for which a ConcurrentHashMap costs far more memory than
+ * the children themselves. So the children are kept in one sorted array of alternating names and
+ * nodes, which is replaced rather than modified and can therefore be read without locking. Once
+ * there are more than {@link #MAX_SORTED_ARRAY_SIZE} children, they are moved into a
+ * ConcurrentHashMap so that adding children to a node with high fanout stays cheap.
+ *
+ * <p>Like ConcurrentHashMap, reads are lock free, iterators are weakly consistent and null keys or
+ * values are not allowed.
+ */
+public class MemMNodeContainer extends AbstractMap<String, IMemMNode>
     implements IMNodeContainer<IMemMNode> {
 
+  /** Max number of children kept in the sorted array. */
+  static final int MAX_SORTED_ARRAY_SIZE = 16;
+
+  private static final Object[] EMPTY_ARRAY = new Object[0];
+
   private static final IMNodeContainer<IMemMNode> EMPTY_CONTAINER =
       new MemMNodeContainer.EmptyContainer();
 
+  /**
+   * Names at even indexes in ascending order, each followed by the node with that name. Only used
+   * while {@link #hashedChildren} is null.
+   */
+  @SuppressWarnings("squid:S3077")
+  private volatile Object[] sortedChildren = EMPTY_ARRAY;
+
+  @SuppressWarnings("squid:S3077")
+  private volatile ConcurrentHashMap<String, IMemMNode> hashedChildren = null;
+
   public static IMNodeContainer<IMemMNode> emptyMNodeContainer() {
     return EMPTY_CONTAINER;
   }
 
+  @Override
+  public int size() {
+    // read the array before the map, see moveToHashedChildren
+    Object[] array = sortedChildren;
+    Map<String, IMemMNode> map = hashedChildren;
+    return map == null ? array.length >> 1 : map.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return get(key) != null;
+  }
+
+  @Override
+  public IMemMNode get(Object key) {
+    Object[] array = sortedChildren;
+    Map<String, IMemMNode> map = hashedChildren;
+    if (map != null) {
+      return map.get(key);
+    }
+    if (!(key instanceof String)) {
+      return null;
+    }
+    int index = indexOf(array, (String) key);
+    return index < 0 ? null : (IMemMNode) array[index + 1];
+  }
+
+  @Override
+  public IMemMNode put(String key, IMemMNode value) {
+    return put(key, value, false);
+  }
+
+  @Override
+  public IMemMNode putIfAbsent(String key, IMemMNode value) {
+    return put(key, value, true);
+  }
+
+  private IMemMNode put(String key, IMemMNode value, boolean onlyIfAbsent) {
+    if (key == null || value == null) {
+      throw new NullPointerException();
+    }
+    ConcurrentHashMap<String, IMemMNode> map = hashedChildren;
+    if (map != null) {
+      return onlyIfAbsent ? map.putIfAbsent(key, value) : map.put(key, value);
+    }
+    synchronized (this) {
+      map = hashedChildren;
+      if (map != null) {
+        return onlyIfAbsent ? map.putIfAbsent(key, value) : map.put(key, value);
+      }
+      Object[] array = sortedChildren;
+      int index = indexOf(array, key);
+      if (index >= 0) {
+        IMemMNode oldValue = (IMemMNode) array[index + 1];
+        if (!onlyIfAbsent) {
+          Object[] newArray = array.clone();
+          newArray[index + 1] = value;
+          sortedChildren = newArray;
+        }
+        return oldValue;
+      }
+
+      if ((array.length >> 1) >= MAX_SORTED_ARRAY_SIZE) {
+        moveToHashedChildren(array).put(key, value);
+        return null;
+      }
+      int insertIndex = -(index + 1);
+      Object[] newArray = new Object[array.length + 2];
+      System.arraycopy(array, 0, newArray, 0, insertIndex);
+      newArray[insertIndex] = key;
+      newArray[insertIndex + 1] = value;
+      System.arraycopy(array, insertIndex, newArray, insertIndex + 2, array.length - insertIndex);
+      sortedChildren = newArray;
+      return null;
+    }
+  }
+
+  private ConcurrentHashMap<String, IMemMNode> moveToHashedChildren(Object[] array) {
+    ConcurrentHashMap<String, IMemMNode> map = new ConcurrentHashMap<>(array.length);
+    for (int i = 0; i < array.length; i += 2) {
+      map.put((String) array[i], (IMemMNode) array[i + 1]);
+    }
+    // readers load the array before the map, so a reader seeing the emptied array is sure to see
+    // the map as well
+    hashedChildren = map;
+    sortedChildren = EMPTY_ARRAY;
+    return map;
+  }
+
+  @Override
+  public IMemMNode remove(Object key) {
+    if (!(key instanceof String)) {
+      return null;
+    }
+    Map<String, IMemMNode> map = hashedChildren;
+    if (map != null) {
+      return map.remove(key);
+    }
+    synchronized (this) {
+      map = hashedChildren;
+      if (map != null) {
+        return map.remove(key);
+      }
+      Object[] array = sortedChildren;
+      int index = indexOf(array, (String) key);
+      if (index < 0) {
+        return null;
+      }
+      Object[] newArray = new Object[array.length - 2];
+      System.arraycopy(array, 0, newArray, 0, index);
+      System.arraycopy(array, index + 2, newArray, index, array.length - index - 2);
+      sortedChildren = newArray.length == 0 ? EMPTY_ARRAY : newArray;
+      return (IMemMNode) array[index + 1];
+    }
+  }
+
+  @Override
+  public void clear() {
+    Map<String, IMemMNode> map = hashedChildren;
+    if (map != null) {
+      map.clear();
+      return;
+    }
+    synchronized (this) {
+      map = hashedChildren;
+      if (map != null) {
+        map.clear();
+      } else {
+        sortedChildren = EMPTY_ARRAY;
+      }
+    }
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super String, ? super IMemMNode> action) {
+    Object[] array = sortedChildren;
+    Map<String, IMemMNode> map = hashedChildren;
+    if (map != null) {
+      map.forEach(action);
+      return;
+    }
+    for (int i = 0; i < array.length; i += 2) {
+      action.accept((String) array[i], (IMemMNode) array[i + 1]);
+    }
+  }
+
+  @Override
+  @NotNull
+  public Set<String> keySet() {
+    return new AbstractSet<String>() {
+      @Override
+      public Iterator<String> iterator() {
+        return new ChildrenIterator<String>() {
+          @Override
+          String getElement(String name, IMemMNode node) {
+            return name;
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return MemMNodeContainer.this.size();
+      }
+
+      @Override
+      public boolean contains(Object o) {
+        return containsKey(o);
+      }
+    };
+  }
+
+  @Override
+  @NotNull
+  public Collection<IMemMNode> values() {
+    return new AbstractCollection<IMemMNode>() {
+      @Override
+      public Iterator<IMemMNode> iterator() {
+        return new ChildrenIterator<IMemMNode>() {
+          @Override
+          IMemMNode getElement(String name, IMemMNode node) {
+            return node;
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return MemMNodeContainer.this.size();
+      }
+    };
+  }
+
+  @Override
+  @NotNull
+  public Set<Map.Entry<String, IMemMNode>> entrySet() {
+    return new AbstractSet<Map.Entry<String, IMemMNode>>() {
+      @Override
+      public Iterator<Map.Entry<String, IMemMNode>> iterator() {
+        return new ChildrenIterator<Map.Entry<String, IMemMNode>>() {
+          @Override
+          Map.Entry<String, IMemMNode> getElement(String name, IMemMNode node) {
+            return new AbstractMap.SimpleImmutableEntry<>(name, node);
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return MemMNodeContainer.this.size();
+      }
+    };
+  }
+
+  /** Binary search the name in the even indexes of the sorted array. */
+  private static int indexOf(Object[] array, String name) {
+    int low = 0;
+    int high = (array.length >> 1) - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = ((String) array[mid << 1]).compareTo(name);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return mid << 1;
+      }
+    }
+    return -((low << 1) + 1);
+  }
+
+  /**
+   * Iterates a snapshot of the sorted array, or the map if the children have been moved into it.
+   * Removing through the iterator removes the child from this container.
+   */
+  private abstract class ChildrenIterator<E> implements Iterator<E> {
+
+    private final Object[] array;
+    private final Iterator<Map.Entry<String, IMemMNode>> mapIterator;
+    private int nextIndex = 0;
+    private String lastName = null;
+
+    private ChildrenIterator() {
+      Object[] currentArray = sortedChildren;
+      Map<String, IMemMNode> map = hashedChildren;
+      this.array = map == null ? currentArray : EMPTY_ARRAY;
+      this.mapIterator = map == null ? null : map.entrySet().iterator();
+    }
+
+    abstract E getElement(String name, IMemMNode node);
+
+    @Override
+    public boolean hasNext() {
+      return mapIterator == null ? nextIndex < array.length : mapIterator.hasNext();
+    }
+
+    @Override
+    public E next() {
+      if (mapIterator != null) {
+        Map.Entry<String, IMemMNode> entry = mapIterator.next();
+        lastName = entry.getKey();
+        return getElement(entry.getKey(), entry.getValue());
+      }
+      if (nextIndex >= array.length) {
+        throw new NoSuchElementException();
+      }
+      lastName = (String) array[nextIndex];
+      IMemMNode node = (IMemMNode) array[nextIndex + 1];
+      nextIndex += 2;
+      return getElement(lastName, node);
+    }
+
+    @Override
+    public void remove() {
+      if (lastName == null) {
+        throw new IllegalStateException();
+      }
+      if (mapIterator != null) {
+        mapIterator.remove();
+      } else {
+        MemMNodeContainer.this.remove(lastName);
+      }
+      lastName = null;
+    }
+  }
+
   private static class EmptyContainer extends AbstractMap<String, IMemMNode>
       implements IMNodeContainer<IMemMNode> {
 
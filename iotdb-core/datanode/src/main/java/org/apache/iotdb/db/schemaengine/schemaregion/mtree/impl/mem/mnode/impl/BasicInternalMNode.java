@@ -38,7 +38,7 @@ public class BasicInternalMNode extends BasicMNode implements IInternalMNode<IMe
   /**
    * Suppress warnings reason: volatile for double synchronized check.
    *
-   * <p>This will be a ConcurrentHashMap instance
+   * <p>This will be a MemMNodeContainer instance
    */
   @SuppressWarnings("squid:S3077")
   private transient volatile IMNodeContainer<IMemMNode> children = null;
@@ -96,7 +96,9 @@ public class BasicInternalMNode extends BasicMNode implements IInternalMNode<IMe
       }
     }
     child.setParent(this);
-    IMemMNode existingChild = children.putIfAbsent(name, child);
+    // use the name held by the child as key, which may be shared with other nodes
+    IMemMNode existingChild =
+        children.putIfAbsent(name.equals(child.getName()) ? child.getName() : name, child);
     return existingChild == null ? child : existingChild;
   }
 
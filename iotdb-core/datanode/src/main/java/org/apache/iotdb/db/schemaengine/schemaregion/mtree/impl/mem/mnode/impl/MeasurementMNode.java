@@ -25,6 +25,7 @@ import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.IMemMN
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.basic.BasicMNode;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.container.MemMNodeContainer;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.info.MeasurementInfo;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.utils.MeasurementSchemaInterner;
 import org.apache.iotdb.tsfile.write.schema.IMeasurementSchema;
 
 public class MeasurementMNode extends AbstractMeasurementMNode<IMemMNode, BasicMNode>
@@ -35,6 +36,8 @@ public class MeasurementMNode extends AbstractMeasurementMNode<IMemMNode, BasicM
     super(
         new BasicMNode(parent == null ? null : parent.getAsMNode(), name),
         new MeasurementInfo(schema, alias));
+    // share the name held by the shared schema
+    setName(MeasurementSchemaInterner.internName(name, getSchema()));
   }
 
   @Override
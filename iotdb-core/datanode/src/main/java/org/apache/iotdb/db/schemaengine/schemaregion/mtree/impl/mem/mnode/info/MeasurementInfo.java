@@ -20,6 +20,7 @@ package org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.info;
 
 import org.apache.iotdb.commons.schema.node.info.IMeasurementInfo;
 import org.apache.iotdb.commons.schema.node.role.IMeasurementMNode;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.utils.MeasurementSchemaInterner;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.write.schema.IMeasurementSchema;
 
@@ -29,7 +30,10 @@ public class MeasurementInfo implements IMeasurementInfo {
   protected String alias;
   /** tag/attribute's start offset in tag file */
   private long offset = -1;
-  /** measurement's Schema for one timeseries represented by current leaf node */
+  /**
+   * measurement's Schema for one timeseries represented by current leaf node, shared with other
+   * measurements having the same schema
+   */
   private IMeasurementSchema schema;
   /** whether this measurement is pre deleted and considered in black list */
   private boolean preDeleted = false;
@@ -38,7 +42,7 @@ public class MeasurementInfo implements IMeasurementInfo {
   private static final int ALIAS_BASE_SIZE = 52;
 
   public MeasurementInfo(IMeasurementSchema schema, String alias) {
-    this.schema = schema;
+    this.schema = MeasurementSchemaInterner.intern(schema);
     this.alias = alias;
   }
 
@@ -57,7 +61,7 @@ public class MeasurementInfo implements IMeasurementInfo {
 
   @Override
   public void setSchema(IMeasurementSchema schema) {
-    this.schema = schema;
+    this.schema = MeasurementSchemaInterner.intern(schema);
   }
 
   @Override
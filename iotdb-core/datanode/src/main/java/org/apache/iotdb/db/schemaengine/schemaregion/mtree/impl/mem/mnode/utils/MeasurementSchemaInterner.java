@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.utils;
+
+import org.apache.iotdb.tsfile.write.schema.IMeasurementSchema;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * Shares one schema object among the measurements with the same name, data type, encoding and
+ * compressor. Devices of the same kind usually have the same measurements, so most measurement
+ * nodes can share both the schema and the name held by it instead of keeping copies of them.
+ *
+ * <p>Schemas are held weakly and are released once no measurement uses them. Schemas with props are
+ * not shared since {@link MeasurementSchema#equals} ignores props.
+ */
+public class MeasurementSchemaInterner {
+
+  private static final Interner<MeasurementSchema> INTERNER = Interners.newWeakInterner();
+
+  private MeasurementSchemaInterner() {
+    // util class
+  }
+
+  public static IMeasurementSchema intern(IMeasurementSchema schema) {
+    if (schema == null
+        || schema.getClass() != MeasurementSchema.class
+        || schema.getProps() != null) {
+      return schema;
+    }
+    return INTERNER.intern((MeasurementSchema) schema);
+  }
+
+  /**
+   * @return the name held by the shared schema if it is the same as the given name, otherwise the
+   *     given name
+   */
+  public static String internName(String name, IMeasurementSchema schema) {
+    return schema != null && name != null && name.equals(schema.getMeasurementId())
+        ? schema.getMeasurementId()
+        : name;
+  }
+}
@@ -77,8 +77,7 @@ public abstract class ResourceByPathUtils {
   }
 
   public abstract ITimeSeriesMetadata generateTimeSeriesMetadata(
-      List<ReadOnlyMemChunk> readOnlyMemChunk, List<IChunkMetadata> chunkMetadataList)
-      throws IOException;
+      List<ReadOnlyMemChunk> readOnlyMemChunk, List<IChunkMetadata> chunkMetadataList);
 
   public abstract ReadOnlyMemChunk getReadOnlyMemChunkFromMemTable(
       QueryContext context,
@@ -80,6 +80,7 @@ import org.apache.iotdb.db.storageengine.dataregion.flush.FlushManager;
 import org.apache.iotdb.db.storageengine.dataregion.wal.WALManager;
 import org.apache.iotdb.db.storageengine.dataregion.wal.utils.WALMode;
 import org.apache.iotdb.db.storageengine.rescon.disk.TierManager;
+import org.apache.iotdb.db.trigger.executor.TriggerAsyncFireExecutor;
 import org.apache.iotdb.db.trigger.executor.TriggerExecutor;
 import org.apache.iotdb.db.trigger.service.TriggerInformationUpdater;
 import org.apache.iotdb.db.trigger.service.TriggerManagementService;
@@ -952,6 +953,7 @@ public class DataNode implements DataNodeMBean {
 
   private void stopTriggerRelatedServices() {
     triggerInformationUpdater.stopTriggerInformationUpdater();
+    TriggerAsyncFireExecutor.getInstance().stop();
   }
 
   private void setUncaughtExceptionHandler() {
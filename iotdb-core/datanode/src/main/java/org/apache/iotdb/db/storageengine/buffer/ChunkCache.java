@@ -136,6 +136,16 @@ public class ChunkCache {
     }
   }
 
+  /** Check whether the chunk is in the cache without loading it or counting a hit or miss. */
+  public boolean contains(ChunkCacheKey chunkCacheKey) {
+    return lruCache.asMap().containsKey(chunkCacheKey);
+  }
+
+  /** Put a chunk read ahead of time into the cache if it is not cached yet. */
+  public void putIfAbsent(ChunkCacheKey chunkCacheKey, Chunk chunk) {
+    lruCache.asMap().putIfAbsent(chunkCacheKey, chunk);
+  }
+
   public double calculateChunkHitRatio() {
     return lruCache.stats().hitRate();
   }
@@ -203,6 +213,10 @@ public class ChunkCache {
       return filePath;
     }
 
+    public long getOffsetOfChunkHeader() {
+      return offsetOfChunkHeader;
+    }
+
     @Override
     public boolean equals(Object o) {
       if (this == o) {
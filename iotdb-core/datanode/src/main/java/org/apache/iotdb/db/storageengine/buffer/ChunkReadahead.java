@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.buffer;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.IoTThreadFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.storageengine.dataregion.read.control.FileReaderManager;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.tsfile.file.metadata.AlignedChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.IChunkMetadata;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.Chunk;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the chunks a series scan is about to visit into the {@link ChunkCache} ahead of time.
+ *
+ * <p>When a scan reads a chunk of a series in a sealed TsFile, the following chunks of the series
+ * within the readahead size are read asynchronously. Chunks close to each other are read with one
+ * IO, which avoids a seek per chunk header and chunk body on rotational disks. The readahead size
+ * is larger on rotational disks, where reading some unused bytes is much cheaper than a seek.
+ *
+ * <p>Readahead is best-effort: tasks are dropped when the queue is full and failures are ignored,
+ * the scan then reads the chunks itself.
+ */
+public class ChunkReadahead {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ChunkReadahead.class);
+  private static final IoTDBConfig CONFIG = IoTDBDescriptor.getInstance().getConfig();
+
+  static final int HDD_READAHEAD_SIZE_IN_BYTE = 4 * 1024 * 1024;
+  static final int SSD_READAHEAD_SIZE_IN_BYTE = 512 * 1024;
+
+  private static final int TASK_QUEUE_CAPACITY = 1024;
+
+  private final boolean enable;
+  private final long configuredReadaheadSize;
+  private final ExecutorService readaheadExecutor;
+
+  /** readahead size of the directory containing a TsFile. */
+  private final Map<String, Integer> directoryToReadaheadSize = new ConcurrentHashMap<>();
+
+  /** chunks being read ahead, so that a window is not read again before it is cached. */
+  private final Set<ChunkCache.ChunkCacheKey> loadingKeys = ConcurrentHashMap.newKeySet();
+
+  private ChunkReadahead() {
+    configuredReadaheadSize = CONFIG.getChunkReadaheadSizeInByte();
+    enable = configuredReadaheadSize >= 0 && CONFIG.isMetaDataCacheEnable();
+    if (enable) {
+      int threadCount = Math.max(1, CONFIG.getQueryThreadCount() / 4);
+      readaheadExecutor =
+          IoTDBThreadPoolFactory.newThreadPool(
+              threadCount,
+              threadCount,
+              0L,
+              TimeUnit.MILLISECONDS,
+              new ArrayBlockingQueue<>(TASK_QUEUE_CAPACITY),
+              new IoTThreadFactory(ThreadName.CHUNK_READAHEAD.getName()),
+              ThreadName.CHUNK_READAHEAD.getName());
+    } else {
+      readaheadExecutor = null;
+    }
+  }
+
+  public static ChunkReadahead getInstance() {
+    return ChunkReadaheadHolder.INSTANCE;
+  }
+
+  /**
+   * Read the chunks of the given chunk metadata list within the readahead size into the chunk cache
+   * asynchronously. Nothing is read if the first chunk is cached or being read already, so calling
+   * this with the chunks following each chunk the scan visits reads the next window only when the
+   * scan has reached the end of the previous one.
+   */
+  public void prefetch(TsFileResource resource, List<? extends IChunkMetadata> chunkMetadataList) {
+    if (!enable || chunkMetadataList.isEmpty() || !resource.isClosed()) {
+      return;
+    }
+    if (isCachedOrLoading(getKey(resource, chunkMetadataList.get(0).getOffsetOfChunkHeader()))) {
+      return;
+    }
+    int readaheadSize = getReadaheadSize(resource.getTsFile());
+    List<ChunkCache.ChunkCacheKey> keys = new ArrayList<>();
+    for (long offset : getOffsetsToPrefetch(chunkMetadataList, readaheadSize)) {
+      ChunkCache.ChunkCacheKey key = getKey(resource, offset);
+      if (!ChunkCache.getInstance().contains(key) && loadingKeys.add(key)) {
+        keys.add(key);
+      }
+    }
+    if (keys.isEmpty()) {
+      return;
+    }
+    try {
+      readaheadExecutor.submit(() -> readChunks(resource, keys, readaheadSize));
+    } catch (RejectedExecutionException e) {
+      // too many pending readahead tasks, let the scan read the chunks itself
+      keys.forEach(loadingKeys::remove);
+    }
+  }
+
+  private boolean isCachedOrLoading(ChunkCache.ChunkCacheKey key) {
+    return loadingKeys.contains(key) || ChunkCache.getInstance().contains(key);
+  }
+
+  /**
+   * Get the sorted offsets of the chunk headers in the given chunk metadata list which are within
+   * readaheadSize bytes after the first of them. The list is scanned only until a chunk starts
+   * beyond the readahead size.
+   */
+  static List<Long> getOffsetsToPrefetch(
+      List<? extends IChunkMetadata> chunkMetadataList, int readaheadSize) {
+    List<Long> offsets = new ArrayList<>();
+    if (chunkMetadataList.isEmpty()) {
+      return offsets;
+    }
+    long firstOffset = chunkMetadataList.get(0).getOffsetOfChunkHeader();
+    for (IChunkMetadata chunkMetadata : chunkMetadataList) {
+      if (chunkMetadata.getOffsetOfChunkHeader() - firstOffset > readaheadSize) {
+        break;
+      }
+      if (chunkMetadata instanceof AlignedChunkMetadata) {
+        AlignedChunkMetadata alignedChunkMetadata = (AlignedChunkMetadata) chunkMetadata;
+        offsets.add(alignedChunkMetadata.getTimeChunkMetadata().getOffsetOfChunkHeader());
+        for (IChunkMetadata valueChunkMetadata : alignedChunkMetadata.getValueChunkMetadataList()) {
+          if (valueChunkMetadata != null) {
+            offsets.add(valueChunkMetadata.getOffsetOfChunkHeader());
+          }
+        }
+      } else if (chunkMetadata instanceof ChunkMetadata) {
+        offsets.add(chunkMetadata.getOffsetOfChunkHeader());
+      }
+    }
+    Collections.sort(offsets);
+    offsets.removeIf(offset -> offset - firstOffset > readaheadSize);
+    return offsets;
+  }
+
+  private void readChunks(
+      TsFileResource resource, List<ChunkCache.ChunkCacheKey> keys, int readaheadSize) {
+    try {
+      if (resource.isDeleted()) {
+        return;
+      }
+      List<Long> offsets = new ArrayList<>(keys.size());
+      for (ChunkCache.ChunkCacheKey key : keys) {
+        offsets.add(key.getOffsetOfChunkHeader());
+      }
+      TsFileSequenceReader reader =
+          FileReaderManager.getInstance().get(resource.getTsFilePath(), true);
+      List<Chunk> chunks = reader.readMemChunks(offsets, readaheadSize);
+      for (int i = 0; i < chunks.size(); i++) {
+        Chunk chunk = chunks.get(i);
+        // to save memory footprint, we don't save measurementId in ChunkHeader of Chunk
+        chunk.getHeader().setMeasurementID(null);
+        ChunkCache.getInstance().putIfAbsent(keys.get(i), chunk);
+      }
+    } catch (IOException e) {
+      LOGGER.debug("Failed to read chunks ahead from {}", resource.getTsFilePath(), e);
+    } finally {
+      keys.forEach(loadingKeys::remove);
+    }
+  }
+
+  private static ChunkCache.ChunkCacheKey getKey(TsFileResource resource, long offset) {
+    return new ChunkCache.ChunkCacheKey(
+        resource.getTsFilePath(), resource.getTsFileID(), offset, true);
+  }
+
+  private int getReadaheadSize(File tsFile) {
+    if (configuredReadaheadSize > 0) {
+      return (int) Math.min(Integer.MAX_VALUE, configuredReadaheadSize);
+    }
+    File directory = tsFile.getParentFile();
+    if (directory == null) {
+      return SSD_READAHEAD_SIZE_IN_BYTE;
+    }
+    return directoryToReadaheadSize.computeIfAbsent(
+        directory.getPath(),
+        path ->
+            isRotational(directory.toPath())
+                ? HDD_READAHEAD_SIZE_IN_BYTE
+                : SSD_READAHEAD_SIZE_IN_BYTE);
+  }
+
+  /**
+   * Check whether the file is stored on a rotational disk by the block device attributes in sysfs.
+   * Returns false if it can not be decided, for example on other operating systems.
+   */
+  static boolean isRotational(Path path) {
+    try {
+      String deviceName = Paths.get(Files.getFileStore(path).name()).getFileName().toString();
+      Path device = Paths.get("/sys/class/block", deviceName);
+      if (!Files.exists(device)) {
+        return false;
+      }
+      device = device.toRealPath();
+      // a partition has no queue attributes, they belong to the disk containing it
+      Path rotational = device.resolve("queue").resolve("rotational");
+      if (!Files.exists(rotational) && device.getParent() != null) {
+        rotational = device.getParent().resolve("queue").resolve("rotational");
+      }
+      return Files.exists(rotational)
+          && new String(Files.readAllBytes(rotational), StandardCharsets.UTF_8).trim().equals("1");
+    } catch (IOException | RuntimeException e) {
+      LOGGER.debug("Failed to decide whether {} is on a rotational disk", path, e);
+      return false;
+    }
+  }
+
+  private static class ChunkReadaheadHolder {
+
+    private static final ChunkReadahead INSTANCE = new ChunkReadahead();
+
+    private ChunkReadaheadHolder() {
+      // empty constructor
+    }
+  }
+}
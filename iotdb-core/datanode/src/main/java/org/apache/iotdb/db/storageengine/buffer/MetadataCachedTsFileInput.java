@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.buffer;
+
+import org.apache.iotdb.tsfile.read.reader.TsFileInput;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A TsFileInput of a sealed TsFile which reads the metadata index of the TsFile from a copy in the
+ * {@link TsFileMetadataDiskCache}, and the chunks from the TsFile itself.
+ */
+class MetadataCachedTsFileInput implements TsFileInput {
+
+  private final TsFileInput tsFileInput;
+  private final TsFileInput cacheInput;
+
+  /** position in the TsFile from which the bytes are read from the cache */
+  private final long metadataOffset;
+
+  /** position in the cache file of the byte at metadataOffset of the TsFile */
+  private final long cacheDataOffset;
+
+  private long position = 0;
+
+  MetadataCachedTsFileInput(
+      TsFileInput tsFileInput, TsFileInput cacheInput, long metadataOffset, long cacheDataOffset) {
+    this.tsFileInput = tsFileInput;
+    this.cacheInput = cacheInput;
+    this.metadataOffset = metadataOffset;
+    this.cacheDataOffset = cacheDataOffset;
+  }
+
+  @Override
+  public long size() throws IOException {
+    return tsFileInput.size();
+  }
+
+  @Override
+  public long position() {
+    return position;
+  }
+
+  @Override
+  public TsFileInput position(long newPosition) {
+    position = newPosition;
+    return this;
+  }
+
+  @Override
+  public int read(ByteBuffer dst) throws IOException {
+    int readSize = read(dst, position);
+    if (readSize > 0) {
+      position += readSize;
+    }
+    return readSize;
+  }
+
+  @Override
+  public int read(ByteBuffer dst, long position) throws IOException {
+    if (position < metadataOffset) {
+      return tsFileInput.read(dst, position);
+    }
+    return cacheInput.read(dst, position - metadataOffset + cacheDataOffset);
+  }
+
+  @Override
+  public InputStream wrapAsInputStream() {
+    return new InputStream() {
+      @Override
+      public int read() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1);
+        return MetadataCachedTsFileInput.this.read(buffer) <= 0 ? -1 : buffer.get(0) & 0xFF;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+          return 0;
+        }
+        int readSize = MetadataCachedTsFileInput.this.read(ByteBuffer.wrap(b, off, len));
+        return readSize <= 0 ? -1 : readSize;
+      }
+    };
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      tsFileInput.close();
+    } finally {
+      cacheInput.close();
+    }
+  }
+
+  @Override
+  public String getFilePath() {
+    return tsFileInput.getFilePath();
+  }
+}
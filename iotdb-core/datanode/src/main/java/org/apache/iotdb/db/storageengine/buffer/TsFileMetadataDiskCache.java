@@ -0,0 +1,414 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.buffer;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.IoTThreadFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.commons.utils.TestOnly;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileID;
+import org.apache.iotdb.tsfile.fileSystem.FSFactoryProducer;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.reader.LocalTsFileInput;
+import org.apache.iotdb.tsfile.read.reader.TsFileInput;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the metadata index of sealed TsFiles in a local directory, which is usually on an SSD
+ * while the TsFiles are on HDDs.
+ *
+ * <p>The metadata index of a TsFile is the region from the first TimeseriesMetadata to the end of
+ * the file, containing the TimeseriesMetadata, the MetadataIndexNodes, the TsFileMetadata and the
+ * bloom filter. When a reader of a sealed TsFile is opened, the region is copied into a cache file
+ * asynchronously. The readers opened afterwards read the region from the cache file, so that the
+ * metadata index traversal of a query does not seek on the HDD.
+ *
+ * <p>A cache file is named by the {@link TsFileID} of the TsFile, so a compacted TsFile never uses
+ * the cache of its source files. The cache file is written to a temporary file and renamed when it
+ * is complete, so a crash never leaves a partial cache file. The name and length of the TsFile are
+ * recorded in the header of the cache file and checked before it is used. Cache files survive
+ * restarts, they are deleted with their TsFiles, and the least recently used ones are evicted when
+ * the cache is full.
+ */
+public class TsFileMetadataDiskCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TsFileMetadataDiskCache.class);
+  private static final IoTDBConfig CONFIG = IoTDBDescriptor.getInstance().getConfig();
+
+  static final String CACHE_FILE_SUFFIX = ".meta";
+  private static final String TEMP_SUFFIX = ".tmp";
+  private static final int MAGIC_NUMBER = 0x4D455441;
+  private static final int TASK_QUEUE_CAPACITY = 1024;
+
+  private final boolean enable;
+  private final File cacheDir;
+  private final long maxSize;
+  private final ExecutorService cacheExecutor;
+
+  /** size of each cache file by name */
+  private final Map<String, Long> cacheFileSizes = new ConcurrentHashMap<>();
+
+  private final AtomicLong usedSize = new AtomicLong(0);
+
+  /** TsFiles whose metadata index is being cached. */
+  private final Set<String> loadingFiles = ConcurrentHashMap.newKeySet();
+
+  private TsFileMetadataDiskCache() {
+    this(CONFIG.getMetadataDiskCacheDir(), CONFIG.getMetadataDiskCacheSizeInByte());
+  }
+
+  TsFileMetadataDiskCache(String cacheDir, long maxSize) {
+    this.cacheDir = cacheDir.isEmpty() ? null : new File(cacheDir);
+    this.maxSize = maxSize;
+    boolean enableCache = this.cacheDir != null && maxSize > 0;
+    if (enableCache) {
+      enableCache = recover();
+    }
+    enable = enableCache;
+    if (enable) {
+      LOGGER.info("TsFileMetadataDiskCache dir = {}, size = {}", cacheDir, maxSize);
+      cacheExecutor =
+          IoTDBThreadPoolFactory.newThreadPool(
+              1,
+              1,
+              0L,
+              TimeUnit.MILLISECONDS,
+              new ArrayBlockingQueue<>(TASK_QUEUE_CAPACITY),
+              new IoTThreadFactory(ThreadName.METADATA_DISK_CACHE.getName()),
+              ThreadName.METADATA_DISK_CACHE.getName());
+    } else {
+      cacheExecutor = null;
+    }
+  }
+
+  public static TsFileMetadataDiskCache getInstance() {
+    return TsFileMetadataDiskCacheHolder.INSTANCE;
+  }
+
+  /** Remove the temporary files left by a crash and load the sizes of the cache files. */
+  private boolean recover() {
+    if (!cacheDir.exists() && !cacheDir.mkdirs()) {
+      LOGGER.warn("Can not create the metadata disk cache dir {}, disable it", cacheDir);
+      return false;
+    }
+    File[] files = cacheDir.listFiles();
+    if (files == null) {
+      LOGGER.warn("Can not list the metadata disk cache dir {}, disable it", cacheDir);
+      return false;
+    }
+    for (File file : files) {
+      if (file.getName().endsWith(CACHE_FILE_SUFFIX)) {
+        cacheFileSizes.put(file.getName(), file.length());
+        usedSize.addAndGet(file.length());
+      } else if (file.getName().endsWith(TEMP_SUFFIX)) {
+        deleteFile(file);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Get the input of a sealed TsFile which reads its metadata index from the cache. If the metadata
+   * index is not cached, it is cached asynchronously and null is returned.
+   */
+  public TsFileInput getTsFileInput(String tsFilePath) {
+    if (!enable) {
+      return null;
+    }
+    File tsFile = new File(tsFilePath);
+    String cacheFileName = getCacheFileName(tsFilePath);
+    if (cacheFileName == null) {
+      return null;
+    }
+    File cacheFile = new File(cacheDir, cacheFileName);
+    if (!cacheFileSizes.containsKey(cacheFileName)) {
+      cacheAsync(tsFile, cacheFile);
+      return null;
+    }
+
+    TsFileInput cacheInput = null;
+    try {
+      cacheInput = new LocalTsFileInput(cacheFile.toPath());
+      long[] header = readHeader(cacheInput, tsFile);
+      if (header == null) {
+        cacheInput.close();
+        removeCacheFile(cacheFile);
+        cacheAsync(tsFile, cacheFile);
+        return null;
+      }
+      if (!cacheFile.setLastModified(System.currentTimeMillis())) {
+        LOGGER.debug("Failed to update the last modified time of {}", cacheFile);
+      }
+      return new MetadataCachedTsFileInput(
+          FSFactoryProducer.getFileInputFactory().getTsFileInput(tsFilePath),
+          cacheInput,
+          header[0],
+          header[1]);
+    } catch (IOException e) {
+      LOGGER.warn("Failed to read the metadata index of {} from {}", tsFile, cacheFile, e);
+      if (cacheInput != null) {
+        try {
+          cacheInput.close();
+        } catch (IOException ex) {
+          LOGGER.debug("Failed to close {}", cacheFile, ex);
+        }
+      }
+      removeCacheFile(cacheFile);
+      return null;
+    }
+  }
+
+  /**
+   * Read the header of the cache file.
+   *
+   * @return the offset of the metadata index in the TsFile and in the cache file, or null if the
+   *     cache file does not belong to the TsFile
+   */
+  private static long[] readHeader(TsFileInput cacheInput, File tsFile) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(Integer.BYTES + 2 * Long.BYTES + Integer.BYTES);
+    readFully(cacheInput, header, 0);
+    header.flip();
+    if (header.getInt() != MAGIC_NUMBER) {
+      return null;
+    }
+    long tsFileLength = header.getLong();
+    long metadataOffset = header.getLong();
+    int nameLength = header.getInt();
+    if (tsFileLength != tsFile.length() || nameLength < 0 || nameLength > cacheInput.size()) {
+      return null;
+    }
+    ByteBuffer name = ByteBuffer.allocate(nameLength);
+    readFully(cacheInput, name, header.capacity());
+    if (!tsFile.getName().equals(new String(name.array(), StandardCharsets.UTF_8))) {
+      return null;
+    }
+    long cacheDataOffset = (long) header.capacity() + nameLength;
+    if (cacheInput.size() != cacheDataOffset + tsFileLength - metadataOffset) {
+      return null;
+    }
+    return new long[] {metadataOffset, cacheDataOffset};
+  }
+
+  private static void readFully(TsFileInput input, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      int readSize = input.read(buffer, position);
+      if (readSize < 0) {
+        throw new IOException("Unexpected end of " + input.getFilePath());
+      }
+      position += readSize;
+    }
+  }
+
+  private void cacheAsync(File tsFile, File cacheFile) {
+    if (!loadingFiles.add(cacheFile.getName())) {
+      return;
+    }
+    try {
+      cacheExecutor.submit(
+          () -> {
+            try {
+              cache(tsFile, cacheFile);
+            } catch (IOException e) {
+              LOGGER.warn("Failed to cache the metadata index of {}", tsFile, e);
+            } finally {
+              loadingFiles.remove(cacheFile.getName());
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      // too many files to cache, they will be cached when they are read next time
+      loadingFiles.remove(cacheFile.getName());
+    }
+  }
+
+  /** Copy the metadata index of the TsFile into the cache file. */
+  void cache(File tsFile, File cacheFile) throws IOException {
+    if (!tsFile.exists() || cacheFileSizes.containsKey(cacheFile.getName())) {
+      return;
+    }
+    long tsFileLength = tsFile.length();
+    long metadataOffset;
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(tsFile.getPath())) {
+      metadataOffset = reader.readFileMetadata().getMetaOffset();
+    }
+    byte[] name = tsFile.getName().getBytes(StandardCharsets.UTF_8);
+    ByteBuffer header = ByteBuffer.allocate(Integer.BYTES + 2 * Long.BYTES + Integer.BYTES);
+    header.putInt(MAGIC_NUMBER).putLong(tsFileLength).putLong(metadataOffset).putInt(name.length);
+    header.flip();
+    long cacheFileSize = header.remaining() + name.length + tsFileLength - metadataOffset;
+    if (!reserve(cacheFileSize)) {
+      return;
+    }
+
+    File tempFile = new File(cacheDir, cacheFile.getName() + TEMP_SUFFIX);
+    boolean success = false;
+    try {
+      try (FileChannel source = FileChannel.open(tsFile.toPath(), StandardOpenOption.READ);
+          FileChannel target =
+              FileChannel.open(
+                  tempFile.toPath(),
+                  StandardOpenOption.CREATE,
+                  StandardOpenOption.TRUNCATE_EXISTING,
+                  StandardOpenOption.WRITE)) {
+        while (header.hasRemaining()) {
+          target.write(header);
+        }
+        ByteBuffer nameBuffer = ByteBuffer.wrap(name);
+        while (nameBuffer.hasRemaining()) {
+          target.write(nameBuffer);
+        }
+        long position = metadataOffset;
+        while (position < tsFileLength) {
+          long transferred = source.transferTo(position, tsFileLength - position, target);
+          if (transferred <= 0) {
+            throw new IOException("Unexpected end of " + tsFile);
+          }
+          position += transferred;
+        }
+        target.force(true);
+      }
+      Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+      cacheFileSizes.put(cacheFile.getName(), cacheFileSize);
+      success = true;
+    } finally {
+      if (!success) {
+        usedSize.addAndGet(-cacheFileSize);
+        deleteFile(tempFile);
+      }
+    }
+    // the TsFile may be deleted while it is being cached
+    if (!tsFile.exists()) {
+      removeCacheFile(cacheFile);
+    }
+  }
+
+  /**
+   * Reserve space for a new cache file, evicting the least recently used cache files if necessary.
+   *
+   * @return false if the file is larger than the cache
+   */
+  private boolean reserve(long size) {
+    if (size > maxSize) {
+      return false;
+    }
+    if (usedSize.addAndGet(size) <= maxSize) {
+      return true;
+    }
+    List<File> cacheFiles = new ArrayList<>();
+    for (String name : cacheFileSizes.keySet()) {
+      cacheFiles.add(new File(cacheDir, name));
+    }
+    cacheFiles.sort(Comparator.comparingLong(File::lastModified));
+    for (File cacheFile : cacheFiles) {
+      if (usedSize.get() <= maxSize) {
+        break;
+      }
+      removeCacheFile(cacheFile);
+    }
+    return true;
+  }
+
+  /** Remove the cached metadata index of a TsFile, called when the TsFile is deleted. */
+  public void remove(File tsFile) {
+    if (!enable) {
+      return;
+    }
+    String cacheFileName = getCacheFileName(tsFile.getPath());
+    if (cacheFileName != null) {
+      removeCacheFile(new File(cacheDir, cacheFileName));
+    }
+  }
+
+  private void removeCacheFile(File cacheFile) {
+    Long size = cacheFileSizes.remove(cacheFile.getName());
+    if (size != null) {
+      usedSize.addAndGet(-size);
+      deleteFile(cacheFile);
+    }
+  }
+
+  private static void deleteFile(File file) {
+    try {
+      Files.deleteIfExists(file.toPath());
+    } catch (IOException e) {
+      LOGGER.warn("Failed to delete {}", file, e);
+    }
+  }
+
+  /** Get the name of the cache file of a TsFile, or null if its TsFileID is not unique. */
+  private static String getCacheFileName(String tsFilePath) {
+    TsFileID tsFileID;
+    try {
+      tsFileID = new TsFileID(tsFilePath);
+    } catch (RuntimeException e) {
+      return null;
+    }
+    if (tsFileID.regionId < 0) {
+      // loaded or external TsFiles
+      return null;
+    }
+    return tsFileID.regionId
+        + "-"
+        + tsFileID.timePartitionId
+        + "-"
+        + tsFileID.fileVersion
+        + "-"
+        + tsFileID.compactionVersion
+        + CACHE_FILE_SUFFIX;
+  }
+
+  @TestOnly
+  long getUsedSize() {
+    return usedSize.get();
+  }
+
+  private static class TsFileMetadataDiskCacheHolder {
+
+    private static final TsFileMetadataDiskCache INSTANCE = new TsFileMetadataDiskCache();
+
+    private TsFileMetadataDiskCacheHolder() {
+      // empty constructor
+    }
+  }
+}
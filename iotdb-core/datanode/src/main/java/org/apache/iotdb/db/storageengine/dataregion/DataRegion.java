@@ -78,6 +78,8 @@ import org.apache.iotdb.db.storageengine.dataregion.flush.CloseFileListener;
 import org.apache.iotdb.db.storageengine.dataregion.flush.FlushListener;
 import org.apache.iotdb.db.storageengine.dataregion.flush.FlushStatus;
 import org.apache.iotdb.db.storageengine.dataregion.flush.TsFileFlushPolicy;
+import org.apache.iotdb.db.storageengine.dataregion.memtable.DeviceIDFactory;
+import org.apache.iotdb.db.storageengine.dataregion.memtable.IDeviceID;
 import org.apache.iotdb.db.storageengine.dataregion.memtable.IMemTable;
 import org.apache.iotdb.db.storageengine.dataregion.memtable.TsFileProcessor;
 import org.apache.iotdb.db.storageengine.dataregion.memtable.TsFileProcessorInfo;
@@ -113,6 +115,7 @@ import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
 import org.apache.iotdb.tsfile.fileSystem.FSFactoryProducer;
 import org.apache.iotdb.tsfile.fileSystem.FSType;
 import org.apache.iotdb.tsfile.fileSystem.fsFactory.FSFactory;
+import org.apache.iotdb.tsfile.read.TimeValuePair;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.utils.FSUtils;
 import org.apache.iotdb.tsfile.utils.Pair;
@@ -233,6 +236,8 @@ public class DataRegion implements IDataRegionForQuery {
   private File storageGroupSysDir;
   /** manage seqFileList and unSeqFileList. */
   private final TsFileManager tsFileManager;
+  /** last points of flushed series, persisted in the database system directory. */
+  private final LastValueIndex lastValueIndex;
 
   /** manage tsFileResource degrade. */
   private final TsFileResourceManager tsFileResourceManager = TsFileResourceManager.getInstance();
@@ -313,6 +318,8 @@ public class DataRegion implements IDataRegionForQuery {
     }
 
     lastFlushTimeMap = new HashLastFlushTimeMap();
+    lastValueIndex =
+        new LastValueIndex(storageGroupSysDir, config.getLastValueIndexMaxSeriesNumPerRegion());
 
     // recover tsfiles unless consensus protocol is ratis and storage storageengine is not ready
     if (config.isClusterMode()
@@ -322,6 +329,8 @@ public class DataRegion implements IDataRegionForQuery {
           "Skip recovering data region {}[{}] when consensus protocol is ratis and storage storageengine is not ready.",
           databaseName,
           dataRegionId);
+      // the data will be loaded from a snapshot
+      lastValueIndex.clear();
       for (String fileFolder : TierManager.getInstance().getAllFilesFolders()) {
         File dataRegionFolder =
             fsFactory.getFile(fileFolder, databaseName + File.separator + dataRegionId);
@@ -350,6 +359,7 @@ public class DataRegion implements IDataRegionForQuery {
     this.databaseName = databaseName;
     this.dataRegionId = id;
     this.tsFileManager = new TsFileManager(databaseName, id, "");
+    this.lastValueIndex = LastValueIndex.disabled();
     this.partitionMaxFileVersions = new HashMap<>();
     partitionMaxFileVersions.put(0L, 0L);
   }
@@ -359,6 +369,71 @@ public class DataRegion implements IDataRegionForQuery {
     return databaseName;
   }
 
+  public LastValueIndex getLastValueIndex() {
+    return lastValueIndex;
+  }
+
+  @Override
+  public TimeValuePair getIndexedLastPoint(PartialPath devicePath, String measurement) {
+    String device = devicePath.getFullPath();
+    if (lastValueIndex.get(device, measurement) == null) {
+      return null;
+    }
+    IDeviceID deviceId = DeviceIDFactory.getInstance().getDeviceID(device);
+    readLock();
+    try {
+      long maxTimeInMemTables = Long.MIN_VALUE;
+      List<TsFileProcessor> processors = new ArrayList<>(workSequenceTsFileProcessors.values());
+      processors.addAll(workUnsequenceTsFileProcessors.values());
+      processors.addAll(closingSequenceTsFileProcessor.cloneList());
+      processors.addAll(closingUnSequenceTsFileProcessor.cloneList());
+      for (TsFileProcessor processor : processors) {
+        maxTimeInMemTables =
+            Math.max(maxTimeInMemTables, processor.getMaxTimeInMemTables(deviceId, measurement));
+      }
+      // memtables are checked before the index, so data moved from a memtable into the index by a
+      // concurrent flush is not missed
+      TimeValuePair lastPoint = lastValueIndex.get(device, measurement);
+      return lastPoint != null && lastPoint.getTimestamp() >= maxTimeInMemTables ? lastPoint : null;
+    } finally {
+      readUnlock();
+    }
+  }
+
+  /**
+   * Create the admission of the series of a memtable flushed into the given TsFile into the last
+   * value index. TsFiles of earlier time partitions only hold earlier data, and so do the formerly
+   * flushed memtables of a sequence TsFile, so they are not checked. Should not be called with the
+   * flushQueryLock of a TsFileProcessor held, as it takes the lock of the TsFileManager.
+   */
+  public LastValueIndex.Admission getLastValueIndexAdmission(
+      TsFileResource flushedResource, boolean sequence) {
+    // got before the TsFiles, so that a TsFile loaded after they are collected is detected
+    long removalVersion = lastValueIndex.getRemovalVersion();
+    List<Long> timePartitions = new ArrayList<>();
+    for (long timePartition : tsFileManager.getTimePartitions()) {
+      if (timePartition >= flushedResource.getTimePartition()) {
+        timePartitions.add(timePartition);
+      }
+    }
+    List<TsFileResource> otherResources = tsFileManager.getTsFileList(true, timePartitions);
+    otherResources.addAll(tsFileManager.getTsFileList(false, timePartitions));
+    if (sequence) {
+      otherResources.remove(flushedResource);
+    }
+    return new LastValueIndex.Admission(
+        removalVersion,
+        device -> {
+          long maxTime = Long.MIN_VALUE;
+          for (TsFileResource resource : otherResources) {
+            if (!resource.definitelyNotContains(device)) {
+              maxTime = Math.max(maxTime, resource.getEndTime(device));
+            }
+          }
+          return maxTime;
+        });
+  }
+
   public boolean isReady() {
     return isReady;
   }
@@ -723,6 +798,8 @@ public class DataRegion implements IDataRegionForQuery {
   private void recoverUnsealedTsFileCallBack(UnsealedTsFileRecoverPerformer recoverPerformer) {
     try {
       TsFileResource tsFileResource = recoverPerformer.getTsFileResource();
+      // the last value index may miss the data flushed into this file before the restart
+      lastValueIndex.removeDevices(tsFileResource.getDevices());
       boolean isSeq = recoverPerformer.isSequence();
       if (!recoverPerformer.canWrite()) {
         // cannot write, just close it
@@ -1585,6 +1662,7 @@ public class DataRegion implements IDataRegionForQuery {
       this.workSequenceTsFileProcessors.clear();
       this.workUnsequenceTsFileProcessors.clear();
       this.tsFileManager.clear();
+      lastValueIndex.clear();
       lastFlushTimeMap.clearFlushedTime();
       lastFlushTimeMap.clearGlobalFlushedTime();
     } finally {
@@ -1984,6 +2062,8 @@ public class DataRegion implements IDataRegionForQuery {
       // deviceMatchInfo contains the DeviceId means this device matched the pattern
       Set<String> deviceMatchInfo = new HashSet<>();
       deleteDataInFiles(unsealedTsFileResource, deletion, devicePaths, deviceMatchInfo);
+      // after the deletion is recorded for flushing memtables, see TsFileProcessor
+      lastValueIndex.delete(pattern, startTime, endTime);
       writeUnlock();
       hasReleasedLock = true;
 
@@ -2031,6 +2111,7 @@ public class DataRegion implements IDataRegionForQuery {
       List<TsFileResource> unsealedTsFileResource = new ArrayList<>();
       separateTsFile(sealedTsFileResource, unsealedTsFileResource, startTime, endTime);
       deleteDataDirectlyInFile(unsealedTsFileResource, pathToDelete, startTime, endTime);
+      lastValueIndex.delete(pathToDelete, startTime, endTime);
       writeUnlock();
       releasedLock = true;
       deleteDataDirectlyInFile(sealedTsFileResource, pathToDelete, startTime, endTime);
@@ -2581,9 +2662,11 @@ public class DataRegion implements IDataRegionForQuery {
       }
       loadTsFileToUnSequence(
           tsfileToBeInserted, newTsFileResource, newFilePartitionId, deleteOriginFile);
+      lastValueIndex.removeDevices(newTsFileResource.getDevices());
 
       PipeInsertionDataNodeListener.getInstance()
           .listenToTsFile(dataRegionId, newTsFileResource, true, isGeneratedByPipe);
+      EarliestWrittenTimeTracker.getInstance().update(newTsFileResource.getFileStartTime());
 
       FileMetrics.getInstance()
           .addTsFile(
@@ -2934,6 +3017,7 @@ public class DataRegion implements IDataRegionForQuery {
     if (tsFileResourceToBeMoved == null) {
       return false;
     }
+    lastValueIndex.removeDevices(tsFileResourceToBeMoved.getDevices());
     tsFileResourceToBeMoved.writeLock();
     try {
       tsFileResourceToBeMoved.moveTo(targetDir);
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion;
+
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNode;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.pipe.PipeEnrichedDeleteDataNode;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.pipe.PipeEnrichedInsertNode;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.DeleteDataNode;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertNode;
+import org.apache.iotdb.tsfile.utils.Pair;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the earliest timestamp of the data written, deleted or loaded on this DataNode since the
+ * last heartbeat. It is reported to the ConfigNode with the heartbeat, so that continuous queries
+ * only re-execute the windows which may have been changed since their last execution.
+ *
+ * <p>A reported time is kept until the ConfigNode acknowledges the report in a later heartbeat, and
+ * merged into the following reports until then, so that a lost heartbeat does not lose it.
+ */
+public class EarliestWrittenTimeTracker {
+
+  /** earliest written time since the last report */
+  private final AtomicLong earliestWrittenTime = new AtomicLong(Long.MAX_VALUE);
+
+  /** earliest written time of the reports which are not acknowledged yet */
+  private long unacknowledgedTime = Long.MAX_VALUE;
+
+  /**
+   * id of the last report, starting from the current time so that an acknowledgement for the
+   * reports before a restart does not match the new ones
+   */
+  private long reportId = System.currentTimeMillis();
+
+  EarliestWrittenTimeTracker() {
+    // singleton, created directly by tests
+  }
+
+  public void update(long writtenTime) {
+    // in-order data is usually later than the tracked time, skip the CAS for it
+    if (writtenTime < earliestWrittenTime.get()) {
+      earliestWrittenTime.accumulateAndGet(writtenTime, Math::min);
+    }
+  }
+
+  /** Update the tracked time with an insert or delete node which is successfully executed. */
+  public void update(PlanNode planNode) {
+    if (planNode instanceof PipeEnrichedInsertNode) {
+      planNode = ((PipeEnrichedInsertNode) planNode).getInsertNode();
+    } else if (planNode instanceof PipeEnrichedDeleteDataNode) {
+      planNode = ((PipeEnrichedDeleteDataNode) planNode).getDeleteDataNode();
+    }
+
+    if (planNode instanceof InsertNode) {
+      update(((InsertNode) planNode).getMinTime());
+    } else if (planNode instanceof DeleteDataNode) {
+      update(((DeleteDataNode) planNode).getDeleteStartTime());
+    }
+  }
+
+  /**
+   * Report the earliest written time since the last acknowledged report.
+   *
+   * @return the id of the report and the earliest written time, or null if nothing is written since
+   *     the last acknowledged report
+   */
+  public synchronized Pair<Long, Long> report() {
+    unacknowledgedTime =
+        Math.min(unacknowledgedTime, earliestWrittenTime.getAndSet(Long.MAX_VALUE));
+    if (unacknowledgedTime == Long.MAX_VALUE) {
+      return null;
+    }
+    return new Pair<>(++reportId, unacknowledgedTime);
+  }
+
+  /**
+   * Acknowledge a report received by the ConfigNode. The acknowledgement of an earlier report is
+   * ignored, as the times it does not include are reported again by the last report.
+   */
+  public synchronized void acknowledge(long acknowledgedReportId) {
+    if (acknowledgedReportId == reportId) {
+      unacknowledgedTime = Long.MAX_VALUE;
+    }
+  }
+
+  public static EarliestWrittenTimeTracker getInstance() {
+    return EarliestWrittenTimeTrackerHolder.INSTANCE;
+  }
+
+  private static class EarliestWrittenTimeTrackerHolder {
+
+    private static final EarliestWrittenTimeTracker INSTANCE = new EarliestWrittenTimeTracker();
+
+    private EarliestWrittenTimeTrackerHolder() {
+      // empty constructor
+    }
+  }
+}
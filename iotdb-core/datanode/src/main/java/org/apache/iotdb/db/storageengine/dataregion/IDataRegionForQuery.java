@@ -22,6 +22,7 @@ import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.db.exception.query.QueryProcessException;
 import org.apache.iotdb.db.queryengine.execution.fragment.QueryContext;
 import org.apache.iotdb.db.storageengine.dataregion.read.QueryDataSource;
+import org.apache.iotdb.tsfile.read.TimeValuePair;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 
 import java.util.List;
@@ -48,4 +49,12 @@ public interface IDataRegionForQuery {
 
   /** Get database name of this DataRegion */
   String getDatabaseName();
+
+  /**
+   * Get the last point of the series in this DataRegion from its last value index, if it is not
+   * older than the data of the series in memory.
+   *
+   * @return null if the last point is unknown and the series should be scanned
+   */
+  TimeValuePair getIndexedLastPoint(PartialPath devicePath, String measurement);
 }
@@ -0,0 +1,540 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion;
+
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.commons.utils.SerializeUtils;
+import org.apache.iotdb.tsfile.read.TimeValuePair;
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Keeps the last point of every flushed series of a DataRegion, so that last queries can be
+ * answered without reading TsFiles, also right after a restart.
+ *
+ * <p>The index is updated when a memtable is flushed, so it only covers flushed data and the caller
+ * should compare it with the data in memtables. Every change is appended to a log in the system
+ * directory of the DataRegion before it becomes visible, and the log is rewritten as a snapshot of
+ * the index when it grows too large. Entries which may become stale, e.g. because of deletions or
+ * loaded TsFiles, are removed instead of being corrected.
+ *
+ * <p>The index knows nothing about the TsFiles written before a series was added, e.g. after an
+ * upgrade or after the series was removed, so a series which is not indexed is only added when its
+ * flushed point is later than the data of its device in the other TsFiles, see {@link Admission}.
+ *
+ * <p>To bound the memory, new series are not added once the index holds {@code maxSeriesNum}
+ * series. Last queries of those series scan TsFiles as before.
+ */
+public class LastValueIndex {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LastValueIndex.class);
+
+  public static final String LOG_FILE_NAME = "last_value.index";
+
+  private static final String SNAPSHOT_SUFFIX = ".tmp";
+
+  private static final byte UPDATE = 0;
+  private static final byte REMOVE = 1;
+
+  /** measurement number of a removed record which removes the whole device. */
+  private static final int ALL_MEASUREMENTS = -1;
+
+  /** the log is rewritten when it holds more series than this ratio of the indexed ones. */
+  private static final int COMPACTION_RATIO = 2;
+
+  private static final int MIN_SERIES_NUM_IN_LOG_TO_COMPACT = 10_000;
+
+  private final File logFile;
+
+  private final int maxSeriesNum;
+
+  /** device -> measurement -> last point */
+  private final Map<String, Map<String, TimeValuePair>> lastPoints = new ConcurrentHashMap<>();
+
+  private int seriesNum = 0;
+
+  private long seriesNumInLog = 0;
+
+  /** increased by every removal, see {@link Admission} */
+  private long removalVersion = 0;
+
+  /**
+   * Load the index of a DataRegion from its log.
+   *
+   * @param dataRegionSysDir system directory of the DataRegion
+   * @param maxSeriesNum max number of indexed series, the index is disabled and its log is deleted
+   *     if it is not positive
+   */
+  public LastValueIndex(File dataRegionSysDir, int maxSeriesNum) {
+    this.logFile = new File(dataRegionSysDir, LOG_FILE_NAME);
+    this.maxSeriesNum = maxSeriesNum;
+    if (isEnabled()) {
+      recover();
+    } else {
+      deleteLogFile(dataRegionSysDir);
+    }
+  }
+
+  private LastValueIndex() {
+    this.logFile = null;
+    this.maxSeriesNum = 0;
+  }
+
+  /** Create a disabled index, which has no log and never touches the file system. */
+  public static LastValueIndex disabled() {
+    return new LastValueIndex();
+  }
+
+  /** Delete the log of the index in the given system directory of a DataRegion. */
+  public static void deleteLogFile(File dataRegionSysDir) {
+    File logFile = new File(dataRegionSysDir, LOG_FILE_NAME);
+    try {
+      Files.deleteIfExists(logFile.toPath());
+    } catch (IOException e) {
+      LOGGER.warn("Failed to delete last value index {}", logFile, e);
+    }
+  }
+
+  public boolean isEnabled() {
+    return maxSeriesNum > 0;
+  }
+
+  /** @return the last flushed point of the series, or null if the series is not indexed */
+  public TimeValuePair get(String device, String measurement) {
+    Map<String, TimeValuePair> measurementToLastPoint = lastPoints.get(device);
+    return measurementToLastPoint == null ? null : measurementToLastPoint.get(measurement);
+  }
+
+  public synchronized int getSeriesNum() {
+    return seriesNum;
+  }
+
+  public synchronized long getRemovalVersion() {
+    return removalVersion;
+  }
+
+  /**
+   * Update the index with the last points of a flushed memtable. An indexed point is only replaced
+   * by a point which is not older than it, and a series which is not indexed is only added if the
+   * admission allows it.
+   *
+   * @param flushedLastPoints device -> measurement -> last point
+   */
+  public synchronized void update(
+      Map<String, Map<String, TimeValuePair>> flushedLastPoints, Admission admission) {
+    if (!isEnabled()) {
+      return;
+    }
+    // the TsFiles checked by the admission may have changed since it was created
+    boolean canAdmit = admission.removalVersion == removalVersion;
+    Map<String, Long> maxTimeOfOtherTsFiles = new HashMap<>();
+    Map<String, Map<String, TimeValuePair>> changes = new HashMap<>();
+    int changedSeriesNum = 0;
+    int admittedSeriesNum = 0;
+    for (Map.Entry<String, Map<String, TimeValuePair>> deviceEntry : flushedLastPoints.entrySet()) {
+      for (Map.Entry<String, TimeValuePair> entry : deviceEntry.getValue().entrySet()) {
+        TimeValuePair indexed = get(deviceEntry.getKey(), entry.getKey());
+        if (indexed == null) {
+          if (!canAdmit
+              || seriesNum + admittedSeriesNum >= maxSeriesNum
+              || entry.getValue().getTimestamp()
+                  <= maxTimeOfOtherTsFiles.computeIfAbsent(
+                      deviceEntry.getKey(), admission.maxTimeOfOtherTsFiles::applyAsLong)) {
+            continue;
+          }
+          admittedSeriesNum++;
+        } else if (indexed.getTimestamp() > entry.getValue().getTimestamp()) {
+          continue;
+        }
+        changes
+            .computeIfAbsent(deviceEntry.getKey(), k -> new HashMap<>())
+            .put(entry.getKey(), entry.getValue());
+        changedSeriesNum++;
+      }
+    }
+    if (changes.isEmpty()) {
+      return;
+    }
+
+    ByteArrayOutputStream record = new ByteArrayOutputStream();
+    try (DataOutputStream output = new DataOutputStream(record)) {
+      serializeUpdate(changes, output);
+    } catch (IOException e) {
+      LOGGER.error("Failed to serialize the update of last value index {}", logFile, e);
+      return;
+    }
+    if (append(record.toByteArray(), changedSeriesNum)) {
+      applyUpdate(changes);
+      mayCompact();
+    }
+  }
+
+  /** Remove the series matching the pattern whose last point is in [startTime, endTime]. */
+  public synchronized void delete(PartialPath pattern, long startTime, long endTime) {
+    if (!isEnabled()) {
+      return;
+    }
+    removalVersion++;
+    Map<String, List<String>> removed = new HashMap<>();
+    for (Map.Entry<String, Map<String, TimeValuePair>> deviceEntry : lastPoints.entrySet()) {
+      for (String measurement :
+          getDeletedMeasurements(
+              deviceEntry.getKey(), deviceEntry.getValue(), pattern, startTime, endTime)) {
+        removed.computeIfAbsent(deviceEntry.getKey(), k -> new ArrayList<>()).add(measurement);
+      }
+    }
+    remove(removed);
+  }
+
+  /** Remove all series of the given devices. */
+  public synchronized void removeDevices(Collection<String> devices) {
+    if (!isEnabled()) {
+      return;
+    }
+    removalVersion++;
+    Map<String, List<String>> removed = new HashMap<>();
+    for (String device : devices) {
+      if (lastPoints.containsKey(device)) {
+        removed.put(device, null);
+      }
+    }
+    remove(removed);
+  }
+
+  /** Remove all series and the log. */
+  public synchronized void clear() {
+    removalVersion++;
+    lastPoints.clear();
+    seriesNum = 0;
+    seriesNumInLog = 0;
+    if (logFile != null) {
+      deleteLogFile(logFile.getParentFile());
+    }
+  }
+
+  /**
+   * Remove the points matching a deletion from the given last points, e.g. the last points of a
+   * memtable which is flushed while the deletion happens.
+   *
+   * @param lastPoints device -> measurement -> last point
+   */
+  public static void removeDeletedPoints(
+      Map<String, Map<String, TimeValuePair>> lastPoints,
+      PartialPath pattern,
+      long startTime,
+      long endTime) {
+    Iterator<Map.Entry<String, Map<String, TimeValuePair>>> iterator =
+        lastPoints.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<String, Map<String, TimeValuePair>> deviceEntry = iterator.next();
+      for (String measurement :
+          getDeletedMeasurements(
+              deviceEntry.getKey(), deviceEntry.getValue(), pattern, startTime, endTime)) {
+        deviceEntry.getValue().remove(measurement);
+      }
+      if (deviceEntry.getValue().isEmpty()) {
+        iterator.remove();
+      }
+    }
+  }
+
+  private static List<String> getDeletedMeasurements(
+      String device,
+      Map<String, TimeValuePair> measurementToLastPoint,
+      PartialPath pattern,
+      long startTime,
+      long endTime) {
+    PartialPath devicePath;
+    try {
+      devicePath = new PartialPath(device);
+    } catch (IllegalPathException e) {
+      // can not tell whether the device matches, remove it to be safe
+      return new ArrayList<>(measurementToLastPoint.keySet());
+    }
+    List<String> deleted = new ArrayList<>();
+    for (Map.Entry<String, TimeValuePair> entry : measurementToLastPoint.entrySet()) {
+      long time = entry.getValue().getTimestamp();
+      if (startTime <= time
+          && time <= endTime
+          && pattern.matchFullPath(devicePath.concatNode(entry.getKey()))) {
+        deleted.add(entry.getKey());
+      }
+    }
+    return deleted;
+  }
+
+  /** @param removed device -> removed measurements, null for all measurements of the device */
+  private void remove(Map<String, List<String>> removed) {
+    if (removed.isEmpty()) {
+      return;
+    }
+    ByteArrayOutputStream record = new ByteArrayOutputStream();
+    int removedSeriesNum = 0;
+    try (DataOutputStream output = new DataOutputStream(record)) {
+      output.writeByte(REMOVE);
+      output.writeInt(removed.size());
+      for (Map.Entry<String, List<String>> entry : removed.entrySet()) {
+        ReadWriteIOUtils.write(entry.getKey(), output);
+        if (entry.getValue() == null) {
+          output.writeInt(ALL_MEASUREMENTS);
+          removedSeriesNum += lastPoints.get(entry.getKey()).size();
+        } else {
+          output.writeInt(entry.getValue().size());
+          for (String measurement : entry.getValue()) {
+            ReadWriteIOUtils.write(measurement, output);
+          }
+          removedSeriesNum += entry.getValue().size();
+        }
+      }
+    } catch (IOException e) {
+      LOGGER.error("Failed to serialize the removal of last value index {}", logFile, e);
+      clear();
+      return;
+    }
+    // a removal must not be lost, otherwise stale points come back after a restart
+    if (append(record.toByteArray(), removedSeriesNum)) {
+      applyRemove(removed);
+      mayCompact();
+    } else {
+      clear();
+    }
+  }
+
+  private void applyUpdate(Map<String, Map<String, TimeValuePair>> changes) {
+    for (Map.Entry<String, Map<String, TimeValuePair>> deviceEntry : changes.entrySet()) {
+      Map<String, TimeValuePair> measurementToLastPoint =
+          lastPoints.computeIfAbsent(deviceEntry.getKey(), k -> new ConcurrentHashMap<>());
+      for (Map.Entry<String, TimeValuePair> entry : deviceEntry.getValue().entrySet()) {
+        if (measurementToLastPoint.put(entry.getKey(), entry.getValue()) == null) {
+          seriesNum++;
+        }
+      }
+    }
+  }
+
+  private void applyRemove(Map<String, List<String>> removed) {
+    for (Map.Entry<String, List<String>> entry : removed.entrySet()) {
+      Map<String, TimeValuePair> measurementToLastPoint = lastPoints.get(entry.getKey());
+      if (measurementToLastPoint == null) {
+        continue;
+      }
+      if (entry.getValue() == null) {
+        seriesNum -= measurementToLastPoint.size();
+        lastPoints.remove(entry.getKey());
+        continue;
+      }
+      for (String measurement : entry.getValue()) {
+        if (measurementToLastPoint.remove(measurement) != null) {
+          seriesNum--;
+        }
+      }
+      if (measurementToLastPoint.isEmpty()) {
+        lastPoints.remove(entry.getKey());
+      }
+    }
+  }
+
+  private static void serializeUpdate(
+      Map<String, Map<String, TimeValuePair>> changes, DataOutputStream output) throws IOException {
+    output.writeByte(UPDATE);
+    output.writeInt(changes.size());
+    for (Map.Entry<String, Map<String, TimeValuePair>> deviceEntry : changes.entrySet()) {
+      ReadWriteIOUtils.write(deviceEntry.getKey(), output);
+      output.writeInt(deviceEntry.getValue().size());
+      for (Map.Entry<String, TimeValuePair> entry : deviceEntry.getValue().entrySet()) {
+        ReadWriteIOUtils.write(entry.getKey(), output);
+        SerializeUtils.serializeTVPair(entry.getValue(), output);
+      }
+    }
+  }
+
+  private void redo(ByteBuffer record) throws IOException {
+    byte type = record.get();
+    int deviceNum = record.getInt();
+    if (type == UPDATE) {
+      Map<String, Map<String, TimeValuePair>> changes = new HashMap<>();
+      for (int i = 0; i < deviceNum; i++) {
+        String device = ReadWriteIOUtils.readString(record);
+        int measurementNum = record.getInt();
+        Map<String, TimeValuePair> measurementToLastPoint = new HashMap<>();
+        for (int j = 0; j < measurementNum; j++) {
+          measurementToLastPoint.put(
+              ReadWriteIOUtils.readString(record), SerializeUtils.deserializeTVPair(record));
+        }
+        changes.put(device, measurementToLastPoint);
+      }
+      applyUpdate(changes);
+    } else if (type == REMOVE) {
+      Map<String, List<String>> removed = new HashMap<>();
+      for (int i = 0; i < deviceNum; i++) {
+        String device = ReadWriteIOUtils.readString(record);
+        int measurementNum = record.getInt();
+        if (measurementNum == ALL_MEASUREMENTS) {
+          removed.put(device, null);
+          continue;
+        }
+        List<String> measurements = new ArrayList<>(measurementNum);
+        for (int j = 0; j < measurementNum; j++) {
+          measurements.add(ReadWriteIOUtils.readString(record));
+        }
+        removed.put(device, measurements);
+      }
+      applyRemove(removed);
+    } else {
+      throw new IOException("Unknown record type " + type);
+    }
+  }
+
+  private void recover() {
+    if (!logFile.exists()) {
+      return;
+    }
+    long logSize = logFile.length();
+    try (DataInputStream input =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(logFile.toPath())))) {
+      while (true) {
+        int recordSize;
+        try {
+          recordSize = input.readInt();
+        } catch (EOFException e) {
+          break;
+        }
+        if (recordSize <= 0) {
+          throw new IOException("Illegal record size " + recordSize);
+        } else if (recordSize > logSize) {
+          throw new EOFException();
+        }
+        byte[] record = new byte[recordSize];
+        input.readFully(record);
+        redo(ByteBuffer.wrap(record));
+      }
+    } catch (EOFException e) {
+      // the process stopped while appending the last record, which was not applied
+      LOGGER.warn("Ignore the incomplete last record of last value index {}", logFile);
+    } catch (IOException | RuntimeException e) {
+      LOGGER.warn("Failed to recover last value index from {}, clear it", logFile, e);
+      lastPoints.clear();
+      seriesNum = 0;
+    }
+    LOGGER.info("Recovered {} series from last value index {}", seriesNum, logFile);
+    // drop the redundant and incomplete records
+    snapshot();
+  }
+
+  private boolean append(byte[] record, int seriesNumInRecord) {
+    try (FileOutputStream output = new FileOutputStream(logFile, true)) {
+      output.write(ByteBuffer.allocate(Integer.BYTES).putInt(record.length).array());
+      output.write(record);
+      output.getChannel().force(false);
+    } catch (IOException e) {
+      LOGGER.error("Failed to append to last value index {}", logFile, e);
+      return false;
+    }
+    seriesNumInLog += seriesNumInRecord;
+    return true;
+  }
+
+  private void mayCompact() {
+    if (seriesNumInLog > MIN_SERIES_NUM_IN_LOG_TO_COMPACT
+        && seriesNumInLog > (long) COMPACTION_RATIO * seriesNum) {
+      snapshot();
+    }
+  }
+
+  /** Rewrite the log with one record holding the whole index. */
+  private void snapshot() {
+    if (lastPoints.isEmpty()) {
+      clear();
+      return;
+    }
+    File snapshotFile = new File(logFile.getPath() + SNAPSHOT_SUFFIX);
+    ByteArrayOutputStream record = new ByteArrayOutputStream();
+    try (DataOutputStream output = new DataOutputStream(record)) {
+      serializeUpdate(lastPoints, output);
+    } catch (IOException e) {
+      LOGGER.error("Failed to serialize last value index {}", logFile, e);
+      clear();
+      return;
+    }
+    byte[] bytes = record.toByteArray();
+    try (FileOutputStream output = new FileOutputStream(snapshotFile)) {
+      output.write(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+      output.write(bytes);
+      output.getChannel().force(false);
+    } catch (IOException e) {
+      LOGGER.error("Failed to write snapshot of last value index {}", logFile, e);
+      return;
+    }
+    try {
+      Files.move(snapshotFile.toPath(), logFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      seriesNumInLog = seriesNum;
+    } catch (IOException e) {
+      LOGGER.error("Failed to replace last value index {} with its snapshot", logFile, e);
+    }
+  }
+
+  /**
+   * Decides whether the series of a flushed memtable which are not indexed can be added. Such a
+   * series is only added when its point is later than the data of its device in the other TsFiles
+   * of the DataRegion, otherwise an older TsFile may hold a later point, e.g. a loaded TsFile or a
+   * TsFile written before the index was enabled. No series is added if any removal happened since
+   * the admission was created, as a TsFile may have been loaded after it collected the TsFiles.
+   */
+  public static class Admission {
+
+    private final long removalVersion;
+
+    /** device -> max time of the device in the other TsFiles */
+    private final ToLongFunction<String> maxTimeOfOtherTsFiles;
+
+    /**
+     * @param removalVersion {@link LastValueIndex#getRemovalVersion()} got before the TsFiles were
+     *     collected
+     * @param maxTimeOfOtherTsFiles device -> max time of the device in the other TsFiles
+     */
+    public Admission(long removalVersion, ToLongFunction<String> maxTimeOfOtherTsFiles) {
+      this.removalVersion = removalVersion;
+      this.maxTimeOfOtherTsFiles = maxTimeOfOtherTsFiles;
+    }
+  }
+}
@@ -22,6 +22,7 @@ import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.db.exception.query.QueryProcessException;
 import org.apache.iotdb.db.queryengine.execution.fragment.QueryContext;
 import org.apache.iotdb.db.storageengine.dataregion.read.QueryDataSource;
+import org.apache.iotdb.tsfile.read.TimeValuePair;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 
 import java.util.Collections;
@@ -73,6 +74,11 @@ public class VirtualDataRegion implements IDataRegionForQuery {
     return VIRTUAL_DB_NAME;
   }
 
+  @Override
+  public TimeValuePair getIndexedLastPoint(PartialPath devicePath, String measurement) {
+    return null;
+  }
+
   private static class InstanceHolder {
 
     private InstanceHolder() {}
@@ -39,6 +39,7 @@ import org.apache.iotdb.db.storageengine.dataregion.wal.utils.WALWriteUtils;
 import org.apache.iotdb.db.utils.MemUtils;
 import org.apache.iotdb.metrics.utils.MetricLevel;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.TimeValuePair;
 import org.apache.iotdb.tsfile.utils.Pair;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 import org.apache.iotdb.tsfile.write.schema.IMeasurementSchema;
@@ -689,6 +690,19 @@ public abstract class AbstractMemTable implements IMemTable {
     return latestTimeForEachDevice;
   }
 
+  @Override
+  public Map<String, Map<String, TimeValuePair>> getLastPointsOfFlushedSeries() {
+    Map<String, Map<String, TimeValuePair>> lastPoints = new HashMap<>();
+    for (Entry<IDeviceID, IWritableMemChunkGroup> entry : memTableMap.entrySet()) {
+      Map<String, TimeValuePair> lastPointsOfDevice =
+          entry.getValue().getLastPointsOfSortedSeries();
+      if (!lastPointsOfDevice.isEmpty()) {
+        lastPoints.put(entry.getKey().toStringID(), lastPointsOfDevice);
+      }
+    }
+    return lastPoints;
+  }
+
   public static class Factory {
     private Factory() {
       // Empty constructor
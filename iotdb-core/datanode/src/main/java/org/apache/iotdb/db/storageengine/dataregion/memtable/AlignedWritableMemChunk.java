@@ -26,8 +26,11 @@ import org.apache.iotdb.db.utils.MemUtils;
 import org.apache.iotdb.db.utils.datastructure.AlignedTVList;
 import org.apache.iotdb.db.utils.datastructure.TVList;
 import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
+import org.apache.iotdb.tsfile.encoding.encoder.EncodingSelector;
 import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.TimeValuePair;
 import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.BitMap;
 import org.apache.iotdb.tsfile.utils.Pair;
@@ -41,6 +44,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -205,6 +209,9 @@ public class AlignedWritableMemChunk implements IWritableMemChunk {
    */
   private Pair<Object[], BitMap[]> checkAndReorderColumnValuesInInsertPlan(
       List<IMeasurementSchema> schemaListInInsertPlan, Object[] columnValues, BitMap[] bitMaps) {
+    if (isSameColumnOrder(schemaListInInsertPlan)) {
+      return new Pair<>(columnValues, bitMaps);
+    }
     Object[] reorderedColumnValues = new Object[schemaList.size()];
     BitMap[] reorderedBitMaps = bitMaps == null ? null : new BitMap[schemaList.size()];
     for (int i = 0; i < schemaListInInsertPlan.size(); i++) {
@@ -234,6 +241,25 @@ public class AlignedWritableMemChunk implements IWritableMemChunk {
     return new Pair<>(reorderedColumnValues, reorderedBitMaps);
   }
 
+  /**
+   * Whether the columns in the InsertPlan are exactly the columns of this chunk in the same order,
+   * which is the common case for devices using the same schema template or always inserting the
+   * same measurements. The columns can then be appended without looking up their indexes.
+   */
+  private boolean isSameColumnOrder(List<IMeasurementSchema> schemaListInInsertPlan) {
+    if (schemaListInInsertPlan.size() != schemaList.size()) {
+      return false;
+    }
+    for (int i = 0; i < schemaListInInsertPlan.size(); i++) {
+      IMeasurementSchema measurementSchema = schemaListInInsertPlan.get(i);
+      if (measurementSchema == null
+          || !measurementSchema.getMeasurementId().equals(schemaList.get(i).getMeasurementId())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   @Override
   public TVList getTVList() {
     return list;
@@ -319,7 +345,55 @@ public class AlignedWritableMemChunk implements IWritableMemChunk {
 
   @Override
   public IChunkWriter createIChunkWriter() {
-    return new AlignedChunkWriterImpl(schemaList);
+    List<IMeasurementSchema> resolvedSchemaList = new ArrayList<>(schemaList.size());
+    for (int columnIndex = 0; columnIndex < schemaList.size(); columnIndex++) {
+      resolvedSchemaList.add(resolveEncoding(columnIndex));
+    }
+    return new AlignedChunkWriterImpl(resolvedSchemaList);
+  }
+
+  /**
+   * For columns using AUTO encoding, sample the non-null values of the sorted list to choose the
+   * encoding of the chunk to be flushed. The chosen encoding is recorded in the chunk header. All
+   * the values are passed to the selector, so that candidates which can not encode some of them are
+   * excluded.
+   */
+  private IMeasurementSchema resolveEncoding(int columnIndex) {
+    IMeasurementSchema schema = schemaList.get(columnIndex);
+    if (schema.getEncodingType() != TSEncoding.AUTO) {
+      return schema;
+    }
+    TSDataType dataType = schema.getType();
+    EncodingSelector selector = new EncodingSelector(dataType);
+    for (int sortedRowIndex = 0; sortedRowIndex < list.rowCount(); sortedRowIndex++) {
+      int valueIndex = list.getValueIndex(sortedRowIndex);
+      if (list.isNullValue(valueIndex, columnIndex)) {
+        continue;
+      }
+      switch (dataType) {
+        case BOOLEAN:
+          selector.sample(list.getBooleanByValueIndex(valueIndex, columnIndex));
+          break;
+        case INT32:
+          selector.sample(list.getIntByValueIndex(valueIndex, columnIndex));
+          break;
+        case INT64:
+          selector.sample(list.getLongByValueIndex(valueIndex, columnIndex));
+          break;
+        case FLOAT:
+          selector.sample(list.getFloatByValueIndex(valueIndex, columnIndex));
+          break;
+        case DOUBLE:
+          selector.sample(list.getDoubleByValueIndex(valueIndex, columnIndex));
+          break;
+        case TEXT:
+          selector.sample(list.getBinaryByValueIndex(valueIndex, columnIndex));
+          break;
+        default:
+          throw new UnSupportedDataTypeException(UNSUPPORTED_TYPE + dataType);
+      }
+    }
+    return EncodingSelector.resolveSchema(schema, selector.select());
   }
 
   @SuppressWarnings({"squid:S6541", "squid:S3776"})
@@ -477,6 +551,28 @@ public class AlignedWritableMemChunk implements IWritableMemChunk {
     }
   }
 
+  /**
+   * Get the last non-null point of every column, columns without any value are omitted. The list
+   * should have been sorted.
+   */
+  public Map<String, TimeValuePair> getLastPointsOfSortedList() {
+    Map<String, TimeValuePair> lastPoints = new HashMap<>();
+    for (Map.Entry<String, Integer> entry : measurementIndexMap.entrySet()) {
+      int columnIndex = entry.getValue();
+      for (int rowIndex = list.rowCount() - 1; rowIndex >= 0; rowIndex--) {
+        if (!list.isNullValue(list.getValueIndex(rowIndex), columnIndex)) {
+          lastPoints.put(
+              entry.getKey(),
+              new TimeValuePair(
+                  list.getTime(rowIndex),
+                  list.getTimeValuePair(rowIndex).getValue().getVector()[columnIndex]));
+          break;
+        }
+      }
+    }
+    return lastPoints;
+  }
+
   @Override
   public long getFirstPoint() {
     if (list.rowCount() == 0) {
@@ -22,12 +22,23 @@ package org.apache.iotdb.db.storageengine.dataregion.memtable;
 import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.commons.utils.TestOnly;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import java.util.function.Function;
 
-/** factory to build device id according to configured algorithm */
+/**
+ * factory to build device id according to configured algorithm.
+ *
+ * <p>Device ids are interned, so all inserts of a device share one device id object instead of
+ * building a new one for each insert, and the device id maps of memtables can compare device ids by
+ * reference. A device id is released once it is not used by any memtable or insert node.
+ */
 public class DeviceIDFactory {
   private Function<String, IDeviceID> getDeviceIDFunction;
 
+  private final Cache<String, IDeviceID> deviceIDCache = Caffeine.newBuilder().weakValues().build();
+
   // region DeviceIDFactory Singleton
   private static class DeviceIDFactoryHolder {
 
@@ -59,7 +70,7 @@ public class DeviceIDFactory {
    * @return device id of the timeseries
    */
   public IDeviceID getDeviceID(PartialPath devicePath) {
-    return getDeviceIDFunction.apply(devicePath.toString());
+    return getDeviceID(devicePath.toString());
   }
 
   /**
@@ -69,12 +80,13 @@ public class DeviceIDFactory {
    * @return device id of the timeseries
    */
   public IDeviceID getDeviceID(String devicePath) {
-    return getDeviceIDFunction.apply(devicePath);
+    return deviceIDCache.get(devicePath, getDeviceIDFunction);
   }
 
   /** reset id method */
   @TestOnly
   public void reset() {
     getDeviceIDFunction = PlainDeviceID::new;
+    deviceIDCache.invalidateAll();
   }
 }
@@ -28,6 +28,7 @@ import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertTablet
 import org.apache.iotdb.db.storageengine.dataregion.flush.FlushStatus;
 import org.apache.iotdb.db.storageengine.dataregion.modification.Modification;
 import org.apache.iotdb.db.storageengine.dataregion.wal.buffer.WALEntryValue;
+import org.apache.iotdb.tsfile.read.TimeValuePair;
 import org.apache.iotdb.tsfile.utils.Pair;
 import org.apache.iotdb.tsfile.write.schema.IMeasurementSchema;
 
@@ -176,6 +177,14 @@ public interface IMemTable extends WALEntryValue {
 
   Map<String, Long> getMaxTime();
 
+  /**
+   * Get the last point of every series in this memtable. Should only be called after the memtable
+   * is flushed, when its TVLists are sorted and no longer written.
+   *
+   * @return device -> measurement -> last point
+   */
+  Map<String, Map<String, TimeValuePair>> getLastPointsOfFlushedSeries();
+
   String getDatabase();
 
   String getDataRegionId();
@@ -21,6 +21,7 @@ package org.apache.iotdb.db.storageengine.dataregion.memtable;
 
 import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.db.storageengine.dataregion.wal.buffer.WALEntryValue;
+import org.apache.iotdb.tsfile.read.TimeValuePair;
 import org.apache.iotdb.tsfile.utils.BitMap;
 import org.apache.iotdb.tsfile.write.schema.IMeasurementSchema;
 
@@ -54,4 +55,10 @@ public interface IWritableMemChunkGroup extends WALEntryValue {
   long getCurrentTVListSize(String measurement);
 
   long getMaxTime();
+
+  /**
+   * Get the last point of every measurement in this group, measurements without any point are
+   * omitted. The TVLists should have been sorted.
+   */
+  Map<String, TimeValuePair> getLastPointsOfSortedSeries();
 }
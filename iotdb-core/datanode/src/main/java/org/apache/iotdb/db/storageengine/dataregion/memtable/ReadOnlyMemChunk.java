@@ -25,6 +25,7 @@ import org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.MemChunkLo
 import org.apache.iotdb.db.utils.datastructure.TVList;
 import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
 import org.apache.iotdb.tsfile.encoding.encoder.Encoder;
+import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
 import org.apache.iotdb.tsfile.file.metadata.IChunkMetadata;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
@@ -44,6 +45,11 @@ import java.util.Map;
 /**
  * ReadOnlyMemChunk is a snapshot of the working MemTable and flushing memtable in the memory used
  * for querying.
+ *
+ * <p>The snapshot of a non-aligned series only captures the rows of the TVList when it is created,
+ * which is done while the locks of the memtables are held. The rows are copied into a TsBlock when
+ * the chunk is read for the first time, so that writes and flushes are not blocked while the
+ * TsBlock is built.
  */
 public class ReadOnlyMemChunk {
 
@@ -59,10 +65,27 @@ public class ReadOnlyMemChunk {
 
   protected TsBlock tsBlock;
 
+  /** The TVList whose reference is held until the TsBlock is built. */
+  private TVList sourceTvList;
+
+  /** The snapshot of the rows to build the TsBlock from, null once the TsBlock is built. */
+  @SuppressWarnings("squid:S3077")
+  private volatile TVList tvListSnapshot;
+
+  private int floatPrecision;
+
+  private TSEncoding encoding;
+
+  private List<TimeRange> deletionList;
+
   protected ReadOnlyMemChunk(QueryContext context) {
     this.context = context;
   }
 
+  /**
+   * @param tvList the sorted TVList whose reference has been increased by the caller, which is
+   *     released once the TsBlock is built
+   */
   public ReadOnlyMemChunk(
       QueryContext context,
       String measurementUid,
@@ -92,14 +115,35 @@ public class ReadOnlyMemChunk {
         floatPrecision = TSFileDescriptor.getInstance().getConfig().getFloatPrecision();
       }
     }
-    this.tsBlock = tvList.buildTsBlock(floatPrecision, encoding, deletionList);
-    initChunkMetaFromTsBlock();
+    this.floatPrecision = floatPrecision;
+    this.encoding = encoding;
+    this.deletionList = deletionList;
+    this.sourceTvList = tvList;
+    this.tvListSnapshot = tvList.getSnapshot();
+  }
+
+  /** Build the TsBlock from the snapshot of the TVList if it is not built yet. */
+  private void buildTsBlockIfNecessary() {
+    if (tvListSnapshot == null) {
+      return;
+    }
+    synchronized (this) {
+      if (tvListSnapshot == null) {
+        return;
+      }
+      tsBlock = tvListSnapshot.buildTsBlock(floatPrecision, encoding, deletionList);
+      initChunkMetaFromTsBlock();
+      sourceTvList.decreaseReferenceCount();
+      sourceTvList = null;
+      deletionList = null;
+      tvListSnapshot = null;
+    }
   }
 
-  private void initChunkMetaFromTsBlock() throws QueryProcessException {
+  private void initChunkMetaFromTsBlock() {
     Statistics statsByType = Statistics.getStatsByType(dataType);
     IChunkMetadata metaData = new ChunkMetadata(measurementUid, dataType, 0, statsByType);
-    if (!isEmpty()) {
+    if (!tsBlock.isEmpty()) {
       switch (dataType) {
         case BOOLEAN:
           for (int i = 0; i < tsBlock.getPositionCount(); i++) {
@@ -132,10 +176,10 @@ public class ReadOnlyMemChunk {
           }
           break;
         default:
-          throw new QueryProcessException("Unsupported data type:" + dataType);
+          throw new UnSupportedDataTypeException("Unsupported data type:" + dataType);
       }
     }
-    statsByType.setEmpty(isEmpty());
+    statsByType.setEmpty(tsBlock.isEmpty());
     metaData.setChunkLoader(new MemChunkLoader(context, this));
     metaData.setVersion(Long.MAX_VALUE);
     cachedMetaData = metaData;
@@ -146,18 +190,22 @@ public class ReadOnlyMemChunk {
   }
 
   public boolean isEmpty() {
+    buildTsBlockIfNecessary();
     return tsBlock.isEmpty();
   }
 
   public IChunkMetadata getChunkMetaData() {
+    buildTsBlockIfNecessary();
     return cachedMetaData;
   }
 
   public IPointReader getPointReader() {
+    buildTsBlockIfNecessary();
     return tsBlock.getTsBlockSingleColumnIterator();
   }
 
   public TsBlock getTsBlock() {
+    buildTsBlockIfNecessary();
     return tsBlock;
   }
 }
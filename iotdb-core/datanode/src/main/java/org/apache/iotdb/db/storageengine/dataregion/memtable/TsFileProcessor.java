@@ -44,6 +44,7 @@ import org.apache.iotdb.db.service.metrics.WritingMetrics;
 import org.apache.iotdb.db.storageengine.StorageEngine;
 import org.apache.iotdb.db.storageengine.dataregion.DataRegion;
 import org.apache.iotdb.db.storageengine.dataregion.DataRegionInfo;
+import org.apache.iotdb.db.storageengine.dataregion.LastValueIndex;
 import org.apache.iotdb.db.storageengine.dataregion.flush.CloseFileListener;
 import org.apache.iotdb.db.storageengine.dataregion.flush.CompressionRatio;
 import org.apache.iotdb.db.storageengine.dataregion.flush.FlushListener;
@@ -67,6 +68,7 @@ import org.apache.iotdb.rpc.TSStatusCode;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
 import org.apache.iotdb.tsfile.file.metadata.IChunkMetadata;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.TimeValuePair;
 import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.Pair;
 import org.apache.iotdb.tsfile.write.writer.RestorableTsFileIOWriter;
@@ -1105,6 +1107,72 @@ public class TsFileProcessor {
     }
   }
 
+  /**
+   * Put the last points of a flushed memTable into the last value index of the DataRegion before
+   * the memTable is released. Deletions which arrived during the flush are not applied to the
+   * memTable, so the points they may delete are skipped. Should be called with the write lock of
+   * flushQueryLock held.
+   *
+   * @param admission got by {@link #getLastValueIndexAdmission()} before flushQueryLock is held
+   */
+  private void updateLastValueIndex(IMemTable memTable, LastValueIndex.Admission admission) {
+    DataRegion dataRegion = dataRegionInfo.getDataRegion();
+    if (admission == null || dataRegion == null) {
+      return;
+    }
+    Map<String, Map<String, TimeValuePair>> lastPoints = memTable.getLastPointsOfFlushedSeries();
+    for (Pair<Modification, IMemTable> entry : modsToMemtable) {
+      if (entry.right.equals(memTable)) {
+        Deletion deletion = (Deletion) entry.left;
+        LastValueIndex.removeDeletedPoints(
+            lastPoints, deletion.getPath(), deletion.getStartTime(), deletion.getEndTime());
+      }
+    }
+    dataRegion.getLastValueIndex().update(lastPoints, admission);
+  }
+
+  /** @return null if the last value index is disabled */
+  private LastValueIndex.Admission getLastValueIndexAdmission() {
+    DataRegion dataRegion = dataRegionInfo.getDataRegion();
+    if (dataRegion == null || !dataRegion.getLastValueIndex().isEnabled()) {
+      return null;
+    }
+    return dataRegion.getLastValueIndexAdmission(tsFileResource, sequence);
+  }
+
+  /**
+   * Get the max time of the series in the working and flushing memTables.
+   *
+   * @return Long.MIN_VALUE if there is no data of the series in memory
+   */
+  public long getMaxTimeInMemTables(IDeviceID deviceId, String measurement) {
+    flushQueryLock.readLock().lock();
+    try {
+      long maxTime = Long.MIN_VALUE;
+      for (IMemTable flushingMemTable : flushingMemTables) {
+        maxTime = Math.max(maxTime, getMaxTime(flushingMemTable, deviceId, measurement));
+      }
+      if (workMemTable != null) {
+        maxTime = Math.max(maxTime, getMaxTime(workMemTable, deviceId, measurement));
+      }
+      return maxTime;
+    } finally {
+      flushQueryLock.readLock().unlock();
+    }
+  }
+
+  private static long getMaxTime(IMemTable memTable, IDeviceID deviceId, String measurement) {
+    IWritableMemChunkGroup memChunkGroup = memTable.getMemTableMap().get(deviceId);
+    if (memChunkGroup == null || !memChunkGroup.contains(measurement)) {
+      return Long.MIN_VALUE;
+    }
+    if (memChunkGroup instanceof AlignedWritableMemChunkGroup) {
+      // the max time of the whole device, which is no less than the one of the measurement
+      return memChunkGroup.getMaxTime();
+    }
+    return memChunkGroup.getMemChunkMap().get(measurement).getMaxTime();
+  }
+
   /** This method will synchronize the memTable and release its flushing resources */
   private void syncReleaseFlushedMemTable(IMemTable memTable) {
     synchronized (flushingMemTables) {
@@ -1128,6 +1196,7 @@ public class TsFileProcessor {
   @SuppressWarnings({"squid:S3776", "squid:S2142"}) // Suppress high Cognitive Complexity warning
   public void flushOneMemTable() {
     IMemTable memTableToFlush = flushingMemTables.getFirst();
+    boolean isMemTableFlushed = false;
 
     // signal memtable only may appear when calling asyncClose()
     if (!memTableToFlush.isSignalMemTable()) {
@@ -1146,6 +1215,7 @@ public class TsFileProcessor {
                   storageGroupName,
                   dataRegionInfo.getDataRegion().getDataRegionId());
           flushTask.syncFlushMemTable();
+          isMemTableFlushed = true;
         } catch (Throwable e) {
           if (writer == null) {
             logger.info(
@@ -1204,8 +1274,13 @@ public class TsFileProcessor {
       }
     }
 
+    LastValueIndex.Admission lastValueIndexAdmission =
+        isMemTableFlushed ? getLastValueIndexAdmission() : null;
     try {
       flushQueryLock.writeLock().lock();
+      if (isMemTableFlushed) {
+        updateLastValueIndex(memTableToFlush, lastValueIndexAdmission);
+      }
       Iterator<Pair<Modification, IMemTable>> iterator = modsToMemtable.iterator();
       while (iterator.hasNext()) {
         Pair<Modification, IMemTable> entry = iterator.next();
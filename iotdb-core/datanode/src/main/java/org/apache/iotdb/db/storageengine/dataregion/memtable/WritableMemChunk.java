@@ -24,8 +24,10 @@ import org.apache.iotdb.db.storageengine.dataregion.flush.CompressionRatio;
 import org.apache.iotdb.db.storageengine.dataregion.wal.buffer.IWALByteBufferView;
 import org.apache.iotdb.db.utils.MemUtils;
 import org.apache.iotdb.db.utils.datastructure.TVList;
+import org.apache.iotdb.tsfile.encoding.encoder.EncodingSelector;
 import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.BitMap;
 import org.apache.iotdb.tsfile.write.chunk.ChunkWriterImpl;
@@ -280,13 +282,55 @@ public class WritableMemChunk implements IWritableMemChunk {
   }
 
   @Override
-  public int delete(long lowerBound, long upperBound) {
+  public synchronized int delete(long lowerBound, long upperBound) {
+    // the deletion moves the rows, which may be still read by queries
+    if (list.getReferenceCount() > 0) {
+      list = list.clone();
+    }
     return list.delete(lowerBound, upperBound);
   }
 
   @Override
   public IChunkWriter createIChunkWriter() {
-    return new ChunkWriterImpl(schema);
+    return new ChunkWriterImpl(resolveEncoding());
+  }
+
+  /**
+   * For series using AUTO encoding, sample the sorted list to choose the encoding of the chunk to
+   * be flushed. The chosen encoding is recorded in the chunk header. All the values are passed to
+   * the selector, so that candidates which can not encode some of them are excluded.
+   */
+  private IMeasurementSchema resolveEncoding() {
+    if (schema.getEncodingType() != TSEncoding.AUTO) {
+      return schema;
+    }
+    TSDataType dataType = schema.getType();
+    EncodingSelector selector = new EncodingSelector(dataType);
+    for (int i = 0; i < list.rowCount(); i++) {
+      switch (dataType) {
+        case BOOLEAN:
+          selector.sample(list.getBoolean(i));
+          break;
+        case INT32:
+          selector.sample(list.getInt(i));
+          break;
+        case INT64:
+          selector.sample(list.getLong(i));
+          break;
+        case FLOAT:
+          selector.sample(list.getFloat(i));
+          break;
+        case DOUBLE:
+          selector.sample(list.getDouble(i));
+          break;
+        case TEXT:
+          selector.sample(list.getBinary(i));
+          break;
+        default:
+          throw new UnSupportedDataTypeException(UNSUPPORTED_TYPE + dataType);
+      }
+    }
+    return EncodingSelector.resolveSchema(schema, selector.select());
   }
 
   @Override
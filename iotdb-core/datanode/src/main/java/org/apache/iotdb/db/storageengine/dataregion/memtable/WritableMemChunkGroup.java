@@ -23,6 +23,8 @@ import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.commons.path.PathPatternUtil;
 import org.apache.iotdb.db.storageengine.dataregion.wal.buffer.IWALByteBufferView;
 import org.apache.iotdb.db.storageengine.dataregion.wal.utils.WALWriteUtils;
+import org.apache.iotdb.db.utils.datastructure.TVList;
+import org.apache.iotdb.tsfile.read.TimeValuePair;
 import org.apache.iotdb.tsfile.utils.BitMap;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 import org.apache.iotdb.tsfile.write.schema.IMeasurementSchema;
@@ -172,6 +174,18 @@ public class WritableMemChunkGroup implements IWritableMemChunkGroup {
     return maxTime;
   }
 
+  @Override
+  public Map<String, TimeValuePair> getLastPointsOfSortedSeries() {
+    Map<String, TimeValuePair> lastPoints = new HashMap<>();
+    for (Entry<String, IWritableMemChunk> entry : memChunkMap.entrySet()) {
+      TVList list = entry.getValue().getTVList();
+      if (list.rowCount() > 0) {
+        lastPoints.put(entry.getKey(), list.getTimeValuePair(list.rowCount() - 1));
+      }
+    }
+    return lastPoints;
+  }
+
   @Override
   public int serializedSize() {
     int size = 0;
@@ -22,6 +22,7 @@ package org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk;
 import org.apache.iotdb.db.queryengine.execution.fragment.QueryContext;
 import org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet;
 import org.apache.iotdb.db.storageengine.buffer.ChunkCache;
+import org.apache.iotdb.db.storageengine.buffer.ChunkReadahead;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 import org.apache.iotdb.tsfile.file.metadata.AlignedChunkMetadata;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
@@ -34,6 +35,7 @@ import org.apache.iotdb.tsfile.read.reader.chunk.AlignedChunkReader;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet.INIT_CHUNK_READER_ALIGNED_DISK;
@@ -45,13 +47,24 @@ public class DiskAlignedChunkLoader implements IChunkLoader {
 
   private final TsFileResource resource;
 
+  // chunks of the same series after the chunk loaded by this loader, used for readahead
+  private final List<? extends IChunkMetadata> followingChunkMetadataList;
+
   private static final SeriesScanCostMetricSet SERIES_SCAN_COST_METRIC_SET =
       SeriesScanCostMetricSet.getInstance();
 
   public DiskAlignedChunkLoader(QueryContext context, TsFileResource resource) {
+    this(context, resource, Collections.emptyList());
+  }
+
+  public DiskAlignedChunkLoader(
+      QueryContext context,
+      TsFileResource resource,
+      List<? extends IChunkMetadata> followingChunkMetadataList) {
     this.context = context;
     this.debug = context.isDebug();
     this.resource = resource;
+    this.followingChunkMetadataList = followingChunkMetadataList;
   }
 
   @Override
@@ -69,6 +82,7 @@ public class DiskAlignedChunkLoader implements IChunkLoader {
       throws IOException {
     long t1 = System.nanoTime();
     try {
+      ChunkReadahead.getInstance().prefetch(resource, followingChunkMetadataList);
       AlignedChunkMetadata alignedChunkMetadata = (AlignedChunkMetadata) chunkMetaData;
       ChunkMetadata timeChunkMetadata = (ChunkMetadata) alignedChunkMetadata.getTimeChunkMetadata();
       Chunk timeChunk =
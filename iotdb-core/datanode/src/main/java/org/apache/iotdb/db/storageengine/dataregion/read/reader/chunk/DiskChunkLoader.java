@@ -22,6 +22,7 @@ package org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk;
 import org.apache.iotdb.db.queryengine.execution.fragment.QueryContext;
 import org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet;
 import org.apache.iotdb.db.storageengine.buffer.ChunkCache;
+import org.apache.iotdb.db.storageengine.buffer.ChunkReadahead;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
 import org.apache.iotdb.tsfile.file.metadata.IChunkMetadata;
@@ -32,6 +33,8 @@ import org.apache.iotdb.tsfile.read.reader.IChunkReader;
 import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReader;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 
 import static org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet.INIT_CHUNK_READER_NONALIGNED_DISK;
 
@@ -44,10 +47,21 @@ public class DiskChunkLoader implements IChunkLoader {
 
   private final boolean debug;
 
+  // chunks of the same series after the chunk loaded by this loader, used for readahead
+  private final List<? extends IChunkMetadata> followingChunkMetadataList;
+
   public DiskChunkLoader(QueryContext context, TsFileResource resource) {
+    this(context, resource, Collections.emptyList());
+  }
+
+  public DiskChunkLoader(
+      QueryContext context,
+      TsFileResource resource,
+      List<? extends IChunkMetadata> followingChunkMetadataList) {
     this.context = context;
     this.debug = context.isDebug();
     this.resource = resource;
+    this.followingChunkMetadataList = followingChunkMetadataList;
   }
 
   @Override
@@ -74,6 +88,7 @@ public class DiskChunkLoader implements IChunkLoader {
       throws IOException {
     long t1 = System.nanoTime();
     try {
+      ChunkReadahead.getInstance().prefetch(resource, followingChunkMetadataList);
       Chunk chunk =
           ChunkCache.getInstance()
               .get(
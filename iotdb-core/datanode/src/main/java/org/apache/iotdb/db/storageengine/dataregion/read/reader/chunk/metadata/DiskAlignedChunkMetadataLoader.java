@@ -116,14 +116,20 @@ public class DiskAlignedChunkMetadataLoader implements IChunkMetadataLoader {
 
       // it is ok, even if it is not thread safe, because the cost of creating a DiskChunkLoader is
       // very cheap.
-      alignedChunkMetadataList.forEach(
-          chunkMetadata -> {
-            if (chunkMetadata.needSetChunkLoader()) {
-              chunkMetadata.setVersion(resource.getVersion());
-              chunkMetadata.setClosed(resource.isClosed());
-              chunkMetadata.setChunkLoader(new DiskAlignedChunkLoader(context, resource));
-            }
-          });
+      for (int i = 0; i < alignedChunkMetadataList.size(); i++) {
+        AlignedChunkMetadata chunkMetadata = alignedChunkMetadataList.get(i);
+        if (chunkMetadata.needSetChunkLoader()) {
+          chunkMetadata.setVersion(resource.getVersion());
+          chunkMetadata.setClosed(resource.isClosed());
+          // the list is not modified after returning a copy of it, so its sub lists can be used
+          // for readahead
+          chunkMetadata.setChunkLoader(
+              new DiskAlignedChunkLoader(
+                  context,
+                  resource,
+                  alignedChunkMetadataList.subList(i + 1, alignedChunkMetadataList.size())));
+        }
+      }
 
       return new ArrayList<>(alignedChunkMetadataList);
     } finally {
@@ -34,6 +34,7 @@ import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet.CHUNK_METADATA_FILTER_NONALIGNED_DISK;
@@ -115,14 +116,19 @@ public class DiskChunkMetadataLoader implements IChunkMetadataLoader {
 
       // it is ok, even if it is not thread safe, because the cost of creating a DiskChunkLoader is
       // very cheap.
-      chunkMetadataList.forEach(
-          chunkMetadata -> {
-            if (chunkMetadata.needSetChunkLoader()) {
-              chunkMetadata.setVersion(resource.getVersion());
-              chunkMetadata.setClosed(resource.isClosed());
-              chunkMetadata.setChunkLoader(new DiskChunkLoader(context, resource));
-            }
-          });
+      // the returned list may be modified by the caller, so the chunks following each chunk are
+      // taken from a copy of it
+      final List<IChunkMetadata> readaheadList = new ArrayList<>(chunkMetadataList);
+      for (int i = 0; i < readaheadList.size(); i++) {
+        IChunkMetadata chunkMetadata = readaheadList.get(i);
+        if (chunkMetadata.needSetChunkLoader()) {
+          chunkMetadata.setVersion(resource.getVersion());
+          chunkMetadata.setClosed(resource.isClosed());
+          chunkMetadata.setChunkLoader(
+              new DiskChunkLoader(
+                  context, resource, readaheadList.subList(i + 1, readaheadList.size())));
+        }
+      }
 
       return chunkMetadataList;
     } finally {
@@ -24,6 +24,7 @@ import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.exception.DiskSpaceInsufficientException;
 import org.apache.iotdb.db.storageengine.StorageEngine;
 import org.apache.iotdb.db.storageengine.dataregion.DataRegion;
+import org.apache.iotdb.db.storageengine.dataregion.LastValueIndex;
 import org.apache.iotdb.db.storageengine.rescon.disk.FolderManager;
 import org.apache.iotdb.db.storageengine.rescon.disk.strategy.DirectoryStrategyType;
 
@@ -59,12 +60,16 @@ public class SnapshotLoader {
 
   private DataRegion loadSnapshot() {
     try {
-      return new DataRegion(
+      String systemDir =
           IoTDBDescriptor.getInstance().getConfig().getSystemDir()
               + File.separator
               + "databases"
               + File.separator
-              + storageGroupName,
+              + storageGroupName;
+      // the last value index of the replaced data is stale
+      LastValueIndex.deleteLogFile(new File(systemDir, dataRegionId));
+      return new DataRegion(
+          systemDir,
           dataRegionId,
           StorageEngine.getInstance().getFileFlushPolicy(),
           storageGroupName);
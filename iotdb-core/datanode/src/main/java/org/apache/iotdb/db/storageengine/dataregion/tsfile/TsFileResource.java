@@ -29,6 +29,7 @@ import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.exception.PartitionViolationException;
 import org.apache.iotdb.db.schemaengine.schemaregion.utils.ResourceByPathUtils;
+import org.apache.iotdb.db.storageengine.buffer.TsFileMetadataDiskCache;
 import org.apache.iotdb.db.storageengine.dataregion.DataRegion;
 import org.apache.iotdb.db.storageengine.dataregion.memtable.ReadOnlyMemChunk;
 import org.apache.iotdb.db.storageengine.dataregion.memtable.TsFileProcessor;
@@ -63,6 +64,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -141,8 +143,12 @@ public class TsFileResource {
   /** Mem chunk data. Only be set in a temporal TsFileResource in a read process. */
   private Map<PartialPath, List<ReadOnlyMemChunk>> pathToReadOnlyMemChunkMap = new HashMap<>();
 
-  /** used for unsealed file to get TimeseriesMetadata */
-  private Map<PartialPath, ITimeSeriesMetadata> pathToTimeSeriesMetadataMap = new HashMap<>();
+  /**
+   * used for unsealed file to get TimeseriesMetadata, which is generated when it is first read, so
+   * that the mem chunks are not read while the locks of the memtables are held
+   */
+  private Map<PartialPath, ITimeSeriesMetadata> pathToTimeSeriesMetadataMap =
+      new ConcurrentHashMap<>();
 
   /**
    * If it is not null, it indicates that the current tsfile resource is a snapshot of the
@@ -199,7 +205,6 @@ public class TsFileResource {
     this.timeIndex = originTsFileResource.timeIndex;
     this.pathToReadOnlyMemChunkMap = pathToReadOnlyMemChunkMap;
     this.pathToChunkMetadataListMap = pathToChunkMetadataListMap;
-    generatePathToTimeSeriesMetadataMap();
     this.originTsFileResource = originTsFileResource;
     this.tsFileID = originTsFileResource.tsFileID;
     this.isSeq = originTsFileResource.isSeq;
@@ -538,6 +543,7 @@ public class TsFileResource {
    */
   public boolean remove() {
     forceMarkDeleted();
+    TsFileMetadataDiskCache.getInstance().remove(file);
     try {
       fsFactory.deleteIfExists(file);
       fsFactory.deleteIfExists(
@@ -810,10 +816,15 @@ public class TsFileResource {
    * @return TimeseriesMetadata or the first ValueTimeseriesMetadata in VectorTimeseriesMetadata
    */
   public ITimeSeriesMetadata getTimeSeriesMetadata(PartialPath seriesPath) {
-    if (pathToTimeSeriesMetadataMap.containsKey(seriesPath)) {
-      return pathToTimeSeriesMetadataMap.get(seriesPath);
+    if (!pathToChunkMetadataListMap.containsKey(seriesPath)) {
+      return null;
     }
-    return null;
+    return pathToTimeSeriesMetadataMap.computeIfAbsent(
+        seriesPath,
+        path ->
+            ResourceByPathUtils.getResourceInstance(path)
+                .generateTimeSeriesMetadata(
+                    pathToReadOnlyMemChunkMap.get(path), pathToChunkMetadataListMap.get(path)));
   }
 
   public DataRegion.SettleTsFileCallBack getSettleTsFileCallBack() {
@@ -1069,16 +1080,6 @@ public class TsFileResource {
     return ramSize - timeIndex.calculateRamSize();
   }
 
-  private void generatePathToTimeSeriesMetadataMap() throws IOException {
-    for (PartialPath path : pathToChunkMetadataListMap.keySet()) {
-      pathToTimeSeriesMetadataMap.put(
-          path,
-          ResourceByPathUtils.getResourceInstance(path)
-              .generateTimeSeriesMetadata(
-                  pathToReadOnlyMemChunkMap.get(path), pathToChunkMetadataListMap.get(path)));
-    }
-  }
-
   public void deleteRemovedDeviceAndUpdateEndTime(Map<String, Long> lastTimeForEachDevice) {
     ITimeIndex newTimeIndex = CONFIG.getTimeIndexLevel().getTimeIndex();
     for (Map.Entry<String, Long> entry : lastTimeForEachDevice.entrySet()) {
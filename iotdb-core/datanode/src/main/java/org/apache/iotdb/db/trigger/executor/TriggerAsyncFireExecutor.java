@@ -0,0 +1,363 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.trigger.executor;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.commons.trigger.TriggerInformation;
+import org.apache.iotdb.commons.trigger.exception.TriggerExecutionException;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.trigger.service.TriggerManagementService;
+import org.apache.iotdb.trigger.api.enums.TriggerEvent;
+import org.apache.iotdb.tsfile.utils.BitMap;
+import org.apache.iotdb.tsfile.utils.Pair;
+import org.apache.iotdb.tsfile.write.record.Tablet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fires AFTER INSERT triggers asynchronously, so that slow trigger logic does not add latency to
+ * the write path. A trigger is fired asynchronously if it is created with the attribute {@code
+ * 'async'='true'}.
+ *
+ * <p>Tablets of each trigger are copied and buffered in a bounded queue, and fired by a shared pool
+ * of workers in micro-batches, in which consecutive tablets of the same device and measurements are
+ * merged into one tablet. The tablets of a trigger are fired by at most one worker at a time and in
+ * the order they are submitted. When the queue of a trigger is full, the writer either waits for
+ * the queue or drops the tablet, according to {@code trigger_async_fire_block_when_queue_full}.
+ *
+ * <p>Since the insertion has already completed, a failure of an async trigger is only logged and
+ * counted, and the failure strategy of the trigger does not take effect.
+ */
+public class TriggerAsyncFireExecutor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TriggerAsyncFireExecutor.class);
+
+  private static final IoTDBConfig CONFIG = IoTDBDescriptor.getInstance().getConfig();
+
+  public static final String ASYNC_ATTRIBUTE_KEY = "async";
+
+  private final int queueCapacity;
+  private final int batchSize;
+  private final boolean blockWhenQueueFull;
+
+  private final Map<String, TriggerFireQueue> triggerNameToQueue = new ConcurrentHashMap<>();
+
+  private final ExecutorService workerPool;
+
+  private volatile boolean isStopped = false;
+
+  private TriggerAsyncFireExecutor() {
+    queueCapacity = CONFIG.getTriggerAsyncFireQueueCapacity();
+    batchSize = CONFIG.getTriggerAsyncFireBatchSize();
+    blockWhenQueueFull = CONFIG.isTriggerAsyncFireBlockWhenQueueFull();
+    workerPool =
+        IoTDBThreadPoolFactory.newFixedThreadPool(
+            CONFIG.getTriggerAsyncFireThreadNum(), ThreadName.TRIGGER_ASYNC_FIRE_POOL.getName());
+  }
+
+  /** Whether the trigger should be fired by {@link TriggerAsyncFireExecutor}. */
+  public static boolean isAsyncTrigger(TriggerInformation triggerInformation) {
+    return TriggerEvent.AFTER_INSERT.equals(triggerInformation.getEvent())
+        && triggerInformation.getAttributes() != null
+        && Boolean.parseBoolean(triggerInformation.getAttributes().get(ASYNC_ATTRIBUTE_KEY));
+  }
+
+  /**
+   * Create the queue of an async trigger. Tablets are only submitted to the triggers registered
+   * here, so that an insertion racing with {@link #deregister} can not leave behind a queue that
+   * would be fired by a later trigger with the same name.
+   */
+  public void register(String triggerName) {
+    triggerNameToQueue.putIfAbsent(triggerName, new TriggerFireQueue(triggerName, queueCapacity));
+  }
+
+  /**
+   * Submit a tablet to be fired by the trigger. The rows of the tablet are copied, because the
+   * tablet may share its arrays with the insertion, which are reused after the insertion.
+   *
+   * @return false if the tablet is dropped because the queue of the trigger is full, the trigger is
+   *     not registered or the executor is stopped
+   */
+  public boolean submit(String triggerName, Tablet tablet) {
+    final TriggerFireQueue queue = triggerNameToQueue.get(triggerName);
+    if (queue == null || isStopped) {
+      LOGGER.debug(
+          "Drop the tablet of trigger({}), which is not registered for async firing.", triggerName);
+      TriggerAsyncFireMetrics.getInstance().recordDroppedTablets(1);
+      return false;
+    }
+    tablet = copyTablet(tablet);
+
+    boolean isSubmitted;
+    if (blockWhenQueueFull) {
+      try {
+        queue.tablets.put(tablet);
+        isSubmitted = true;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        isSubmitted = false;
+      }
+    } else {
+      isSubmitted = queue.tablets.offer(tablet);
+    }
+
+    if (!isSubmitted) {
+      TriggerAsyncFireMetrics.getInstance().recordDroppedTablets(1);
+      return false;
+    }
+    TriggerAsyncFireMetrics.getInstance().recordSubmittedTablets(1);
+    scheduleIfNecessary(queue);
+    return true;
+  }
+
+  /** Discard the buffered tablets of a dropped trigger. */
+  public void deregister(String triggerName) {
+    final TriggerFireQueue queue = triggerNameToQueue.remove(triggerName);
+    if (queue != null) {
+      discard(queue);
+    }
+  }
+
+  /** Stop the workers and discard all the buffered tablets. */
+  public void stop() {
+    isStopped = true;
+    workerPool.shutdownNow();
+    for (final String triggerName : triggerNameToQueue.keySet()) {
+      deregister(triggerName);
+    }
+    LOGGER.info("Trigger async fire executor is stopped.");
+  }
+
+  private void discard(TriggerFireQueue queue) {
+    final int droppedTabletCount = queue.tablets.size();
+    queue.tablets.clear();
+    TriggerAsyncFireMetrics.getInstance().recordDroppedTablets(droppedTabletCount);
+  }
+
+  public long getPendingTabletCount() {
+    long count = 0;
+    for (final TriggerFireQueue queue : triggerNameToQueue.values()) {
+      count += queue.tablets.size();
+    }
+    return count;
+  }
+
+  private void scheduleIfNecessary(TriggerFireQueue queue) {
+    if (queue.isScheduled.compareAndSet(false, true)) {
+      try {
+        workerPool.submit(() -> fireNextBatch(queue));
+      } catch (RejectedExecutionException e) {
+        // The executor is stopped
+        queue.isScheduled.set(false);
+        discard(queue);
+      }
+    }
+  }
+
+  private void fireNextBatch(TriggerFireQueue queue) {
+    try {
+      final List<Tablet> batch = new ArrayList<>(Math.min(batchSize, queue.tablets.size()));
+      queue.tablets.drainTo(batch, batchSize);
+      if (!batch.isEmpty()) {
+        fireBatch(queue.triggerName, batch);
+      }
+    } catch (Exception e) {
+      LOGGER.warn("Error occurred when firing trigger({}) asynchronously.", queue.triggerName, e);
+    } finally {
+      queue.isScheduled.set(false);
+      // Reschedule instead of looping, so that the workers are shared fairly among triggers
+      if (!queue.tablets.isEmpty() && triggerNameToQueue.get(queue.triggerName) == queue) {
+        scheduleIfNecessary(queue);
+      }
+    }
+  }
+
+  private void fireBatch(String triggerName, List<Tablet> batch) {
+    final TriggerExecutor executor =
+        TriggerManagementService.getInstance().getExecutor(triggerName);
+    if (executor == null) {
+      // The trigger has been dropped
+      TriggerAsyncFireMetrics.getInstance().recordDroppedTablets(batch.size());
+      return;
+    }
+
+    final long startTime = System.nanoTime();
+    for (final Pair<Tablet, Integer> tabletAndMergedCount : mergeTablets(batch)) {
+      boolean isSuccessful;
+      try {
+        isSuccessful = executor.fire(tabletAndMergedCount.getLeft(), TriggerEvent.AFTER_INSERT);
+      } catch (TriggerExecutionException e) {
+        isSuccessful = false;
+      }
+      if (isSuccessful) {
+        TriggerAsyncFireMetrics.getInstance().recordFiredTablets(tabletAndMergedCount.getRight());
+      } else {
+        TriggerAsyncFireMetrics.getInstance().recordFailedTablets(tabletAndMergedCount.getRight());
+        LOGGER.warn(
+            "Failed to fire trigger({}) asynchronously with {} rows of device {}.",
+            triggerName,
+            tabletAndMergedCount.getLeft().rowSize,
+            tabletAndMergedCount.getLeft().deviceId);
+      }
+    }
+    TriggerAsyncFireMetrics.getInstance().recordBatchFireCost(System.nanoTime() - startTime);
+  }
+
+  /** Copy the rows of the tablet into new arrays. */
+  static Tablet copyTablet(Tablet tablet) {
+    final int rowCount = tablet.rowSize;
+    final long[] timestamps = new long[rowCount];
+    System.arraycopy(tablet.timestamps, 0, timestamps, 0, rowCount);
+
+    final Object[] values = new Object[tablet.values.length];
+    for (int column = 0; column < values.length; ++column) {
+      final Object value = tablet.values[column];
+      if (value != null) {
+        values[column] = Array.newInstance(value.getClass().getComponentType(), rowCount);
+        System.arraycopy(value, 0, values[column], 0, rowCount);
+      }
+    }
+
+    BitMap[] bitMaps = null;
+    if (tablet.bitMaps != null) {
+      bitMaps = new BitMap[tablet.bitMaps.length];
+      for (int column = 0; column < bitMaps.length; ++column) {
+        if (tablet.bitMaps[column] != null) {
+          bitMaps[column] = tablet.bitMaps[column].getRegion(0, rowCount);
+        }
+      }
+    }
+    return new Tablet(
+        tablet.deviceId,
+        new ArrayList<>(tablet.getSchemas()),
+        timestamps,
+        values,
+        bitMaps,
+        rowCount);
+  }
+
+  /**
+   * Merge the consecutive tablets of the same device and measurements, so that the tablets are
+   * still fired in the order they are submitted.
+   *
+   * @return the merged tablets, each paired with the number of tablets merged into it
+   */
+  public static List<Pair<Tablet, Integer>> mergeTablets(List<Tablet> tablets) {
+    final List<List<Tablet>> groups = new ArrayList<>();
+    Tablet last = null;
+    for (final Tablet tablet : tablets) {
+      if (last == null
+          || !Objects.equals(last.deviceId, tablet.deviceId)
+          || !Objects.equals(last.getSchemas(), tablet.getSchemas())) {
+        groups.add(new ArrayList<>());
+      }
+      groups.get(groups.size() - 1).add(tablet);
+      last = tablet;
+    }
+
+    final List<Pair<Tablet, Integer>> mergedTablets = new ArrayList<>(groups.size());
+    for (final List<Tablet> group : groups) {
+      mergedTablets.add(
+          new Pair<>(
+              group.size() == 1 ? group.get(0) : mergeTabletsOfSameSchema(group), group.size()));
+    }
+    return mergedTablets;
+  }
+
+  private static Tablet mergeTabletsOfSameSchema(List<Tablet> tablets) {
+    final Tablet first = tablets.get(0);
+    final int columnCount = first.getSchemas().size();
+
+    int rowCount = 0;
+    boolean hasBitMaps = false;
+    for (final Tablet tablet : tablets) {
+      rowCount += tablet.rowSize;
+      hasBitMaps |= tablet.bitMaps != null;
+    }
+
+    final Tablet merged = new Tablet(first.deviceId, first.getSchemas(), rowCount);
+    if (hasBitMaps) {
+      merged.initBitMaps();
+    }
+
+    int offset = 0;
+    for (final Tablet tablet : tablets) {
+      System.arraycopy(tablet.timestamps, 0, merged.timestamps, offset, tablet.rowSize);
+      for (int column = 0; column < columnCount; ++column) {
+        System.arraycopy(tablet.values[column], 0, merged.values[column], offset, tablet.rowSize);
+
+        final BitMap bitMap = tablet.bitMaps == null ? null : tablet.bitMaps[column];
+        if (bitMap == null) {
+          continue;
+        }
+        for (int row = 0; row < tablet.rowSize; ++row) {
+          if (bitMap.isMarked(row)) {
+            merged.bitMaps[column].mark(offset + row);
+          }
+        }
+      }
+      offset += tablet.rowSize;
+    }
+    merged.rowSize = rowCount;
+    return merged;
+  }
+
+  private static class TriggerFireQueue {
+
+    private final String triggerName;
+    private final BlockingQueue<Tablet> tablets;
+    private final AtomicBoolean isScheduled = new AtomicBoolean(false);
+
+    private TriggerFireQueue(String triggerName, int capacity) {
+      this.triggerName = triggerName;
+      this.tablets = new ArrayBlockingQueue<>(capacity);
+    }
+  }
+
+  /////////////////////////////// Singleton ///////////////////////////////
+
+  private static class TriggerAsyncFireExecutorHolder {
+
+    private static final TriggerAsyncFireExecutor INSTANCE = new TriggerAsyncFireExecutor();
+
+    private TriggerAsyncFireExecutorHolder() {
+      // Empty constructor
+    }
+  }
+
+  public static TriggerAsyncFireExecutor getInstance() {
+    return TriggerAsyncFireExecutorHolder.INSTANCE;
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.trigger.executor;
+
+import org.apache.iotdb.commons.service.metric.enums.Metric;
+import org.apache.iotdb.commons.service.metric.enums.Tag;
+import org.apache.iotdb.metrics.AbstractMetricService;
+import org.apache.iotdb.metrics.impl.DoNothingMetricManager;
+import org.apache.iotdb.metrics.metricsets.IMetricSet;
+import org.apache.iotdb.metrics.type.Counter;
+import org.apache.iotdb.metrics.type.Timer;
+import org.apache.iotdb.metrics.utils.MetricLevel;
+import org.apache.iotdb.metrics.utils.MetricType;
+
+public class TriggerAsyncFireMetrics implements IMetricSet {
+
+  private static final String SUBMITTED = "submitted";
+  private static final String FIRED = "fired";
+  private static final String FAILED = "failed";
+  private static final String DROPPED = "dropped";
+
+  private Counter submittedTabletCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
+  private Counter firedTabletCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
+  private Counter failedTabletCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
+  private Counter droppedTabletCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
+
+  private Timer batchFireTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+
+  //////////////////////////// bindTo & unbindFrom (metric framework) ////////////////////////////
+
+  @Override
+  public void bindTo(AbstractMetricService metricService) {
+    submittedTabletCounter = createCounter(metricService, SUBMITTED);
+    firedTabletCounter = createCounter(metricService, FIRED);
+    failedTabletCounter = createCounter(metricService, FAILED);
+    droppedTabletCounter = createCounter(metricService, DROPPED);
+    batchFireTimer =
+        metricService.getOrCreateTimer(
+            Metric.TRIGGER_ASYNC_FIRE_COST.toString(), MetricLevel.IMPORTANT);
+    metricService.createAutoGauge(
+        Metric.TRIGGER_ASYNC_FIRE_PENDING_TABLET_COUNT.toString(),
+        MetricLevel.IMPORTANT,
+        TriggerAsyncFireExecutor.getInstance(),
+        TriggerAsyncFireExecutor::getPendingTabletCount);
+  }
+
+  private Counter createCounter(AbstractMetricService metricService, String type) {
+    return metricService.getOrCreateCounter(
+        Metric.TRIGGER_ASYNC_FIRE_TABLET_COUNT.toString(),
+        MetricLevel.IMPORTANT,
+        Tag.TYPE.toString(),
+        type);
+  }
+
+  @Override
+  public void unbindFrom(AbstractMetricService metricService) {
+    submittedTabletCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
+    firedTabletCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
+    failedTabletCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
+    droppedTabletCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
+    batchFireTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+    for (final String type : new String[] {SUBMITTED, FIRED, FAILED, DROPPED}) {
+      metricService.remove(
+          MetricType.COUNTER,
+          Metric.TRIGGER_ASYNC_FIRE_TABLET_COUNT.toString(),
+          Tag.TYPE.toString(),
+          type);
+    }
+    metricService.remove(MetricType.TIMER, Metric.TRIGGER_ASYNC_FIRE_COST.toString());
+    metricService.remove(
+        MetricType.AUTO_GAUGE, Metric.TRIGGER_ASYNC_FIRE_PENDING_TABLET_COUNT.toString());
+  }
+
+  //////////////////////////// trigger integration ////////////////////////////
+
+  public void recordSubmittedTablets(long count) {
+    submittedTabletCounter.inc(count);
+  }
+
+  public void recordFiredTablets(long count) {
+    firedTabletCounter.inc(count);
+  }
+
+  public void recordFailedTablets(long count) {
+    failedTabletCounter.inc(count);
+  }
+
+  public void recordDroppedTablets(long count) {
+    droppedTabletCounter.inc(count);
+  }
+
+  public void recordBatchFireCost(long costTimeInNanos) {
+    batchFireTimer.updateNanos(costTimeInNanos);
+  }
+
+  //////////////////////////// singleton ////////////////////////////
+
+  private static class TriggerAsyncFireMetricsHolder {
+
+    private static final TriggerAsyncFireMetrics INSTANCE = new TriggerAsyncFireMetrics();
+
+    private TriggerAsyncFireMetricsHolder() {
+      // empty constructor
+    }
+  }
+
+  public static TriggerAsyncFireMetrics getInstance() {
+    return TriggerAsyncFireMetricsHolder.INSTANCE;
+  }
+
+  private TriggerAsyncFireMetrics() {
+    // empty constructor
+  }
+}
@@ -320,6 +320,12 @@ public class TriggerFireVisitor extends PlanVisitor<TriggerFireResult, TriggerEv
   }
 
   private TriggerFireResult fire(String triggerName, Tablet tablet, TriggerEvent event) {
+    if (isFiredAsynchronously(triggerName, event)) {
+      return TriggerAsyncFireExecutor.getInstance().submit(triggerName, tablet)
+          ? TriggerFireResult.SUCCESS
+          : TriggerFireResult.FAILED_NO_TERMINATION;
+    }
+
     TriggerFireResult result = TriggerFireResult.SUCCESS;
     for (int i = 0; i < FIRE_RETRY_NUM; i++) {
       if (TriggerManagementService.getInstance().needToFireOnAnotherDataNode(triggerName)) {
@@ -402,6 +408,18 @@ public class TriggerFireVisitor extends PlanVisitor<TriggerFireResult, TriggerEv
     return result;
   }
 
+  /** Stateful triggers located on other DataNodes are always fired synchronously. */
+  private boolean isFiredAsynchronously(String triggerName, TriggerEvent event) {
+    if (!TriggerEvent.AFTER_INSERT.equals(event)) {
+      return false;
+    }
+    TriggerInformation triggerInformation =
+        TriggerManagementService.getInstance().getTriggerInformation(triggerName);
+    return triggerInformation != null
+        && TriggerAsyncFireExecutor.isAsyncTrigger(triggerInformation)
+        && !TriggerManagementService.getInstance().needToFireOnAnotherDataNode(triggerName);
+  }
+
   /** Return true if the config node returns a new TDataNodeLocation. */
   private boolean updateLocationOfStatefulTrigger(String triggerName, int currentDataNodeId) {
     try (ConfigNodeClient configNodeClient =
@@ -30,6 +30,7 @@ import org.apache.iotdb.commons.trigger.service.TriggerExecutableManager;
 import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.confignode.rpc.thrift.TTriggerState;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.trigger.executor.TriggerAsyncFireExecutor;
 import org.apache.iotdb.db.trigger.executor.TriggerExecutor;
 import org.apache.iotdb.db.utils.datastructure.PatternTreeMapFactory;
 import org.apache.iotdb.trigger.api.Trigger;
@@ -118,6 +119,7 @@ public class TriggerManagementService {
       acquireLock();
       TriggerInformation triggerInformation = triggerTable.removeTriggerInformation(triggerName);
       TriggerExecutor executor = executorMap.remove(triggerName);
+      TriggerAsyncFireExecutor.getInstance().deregister(triggerName);
       if (executor != null) {
         executor.onDrop();
       }
@@ -298,6 +300,9 @@ public class TriggerManagementService {
       triggerTable.addTriggerInformation(triggerName, triggerInformation);
       // update PatternTreeMap
       patternTreeMap.append(triggerInformation.getPathPattern(), triggerName);
+      if (TriggerAsyncFireExecutor.isAsyncTrigger(triggerInformation)) {
+        TriggerAsyncFireExecutor.getInstance().register(triggerName);
+      }
       // if it is a stateful trigger, we only maintain its instance on specified DataNode
       if (!triggerInformation.isStateful()
           || triggerInformation.getDataNodeLocation().getDataNodeId() == DATA_NODE_ID) {
@@ -366,6 +371,9 @@ public class TriggerManagementService {
     triggerTable.addTriggerInformation(triggerInformation.getTriggerName(), triggerInformation);
     // update PatternTreeMap
     patternTreeMap.append(triggerInformation.getPathPattern(), triggerInformation.getTriggerName());
+    if (TriggerAsyncFireExecutor.isAsyncTrigger(triggerInformation)) {
+      TriggerAsyncFireExecutor.getInstance().register(triggerInformation.getTriggerName());
+    }
     executorMap.put(triggerInformation.getTriggerName(), triggerExecutor);
   }
 
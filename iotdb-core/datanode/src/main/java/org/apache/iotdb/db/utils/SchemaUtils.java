@@ -47,6 +47,7 @@ public class SchemaUtils {
     Set<TSEncoding> booleanSet = new HashSet<>();
     booleanSet.add(TSEncoding.PLAIN);
     booleanSet.add(TSEncoding.RLE);
+    booleanSet.add(TSEncoding.AUTO);
     schemaChecker.put(TSDataType.BOOLEAN, booleanSet);
 
     Set<TSEncoding> intSet = new HashSet<>();
@@ -58,6 +59,7 @@ public class SchemaUtils {
     intSet.add(TSEncoding.CHIMP);
     intSet.add(TSEncoding.SPRINTZ);
     intSet.add(TSEncoding.RLBE);
+    intSet.add(TSEncoding.AUTO);
 
     schemaChecker.put(TSDataType.INT32, intSet);
     schemaChecker.put(TSDataType.INT64, intSet);
@@ -71,6 +73,7 @@ public class SchemaUtils {
     floatSet.add(TSEncoding.CHIMP);
     floatSet.add(TSEncoding.SPRINTZ);
     floatSet.add(TSEncoding.RLBE);
+    floatSet.add(TSEncoding.AUTO);
 
     schemaChecker.put(TSDataType.FLOAT, floatSet);
     schemaChecker.put(TSDataType.DOUBLE, floatSet);
@@ -78,6 +81,7 @@ public class SchemaUtils {
     Set<TSEncoding> textSet = new HashSet<>();
     textSet.add(TSEncoding.PLAIN);
     textSet.add(TSEncoding.DICTIONARY);
+    textSet.add(TSEncoding.AUTO);
     schemaChecker.put(TSDataType.TEXT, textSet);
   }
 
@@ -123,6 +127,7 @@ public class SchemaUtils {
       case SqlConstant.COUNT:
       case SqlConstant.TIME_DURATION:
       case SqlConstant.COUNT_TIME:
+      case SqlConstant.APPROX_COUNT_DISTINCT:
         return TSDataType.INT64;
       case SqlConstant.AVG:
       case SqlConstant.SUM:
@@ -132,6 +137,7 @@ public class SchemaUtils {
       case SqlConstant.VARIANCE:
       case SqlConstant.VAR_POP:
       case SqlConstant.VAR_SAMP:
+      case SqlConstant.APPROX_PERCENTILE:
         return TSDataType.DOUBLE;
         // Partial aggregation names
       case SqlConstant.STDDEV + "_partial":
@@ -141,6 +147,8 @@ public class SchemaUtils {
       case SqlConstant.VAR_POP + "_partial":
       case SqlConstant.VAR_SAMP + "_partial":
       case SqlConstant.MAX_BY + "_partial":
+      case SqlConstant.APPROX_COUNT_DISTINCT + "_partial":
+      case SqlConstant.APPROX_PERCENTILE + "_partial":
         return TSDataType.TEXT;
       case SqlConstant.LAST_VALUE:
       case SqlConstant.FIRST_VALUE:
@@ -205,6 +213,10 @@ public class SchemaUtils {
         return SqlConstant.VAR_POP;
       case VAR_SAMP:
         return SqlConstant.VAR_SAMP;
+      case APPROX_COUNT_DISTINCT:
+        return SqlConstant.APPROX_COUNT_DISTINCT;
+      case APPROX_PERCENTILE:
+        return SqlConstant.APPROX_PERCENTILE;
       default:
         return null;
     }
@@ -239,6 +251,8 @@ public class SchemaUtils {
       case VAR_POP:
       case VAR_SAMP:
       case MAX_BY:
+      case APPROX_COUNT_DISTINCT:
+      case APPROX_PERCENTILE:
       case UDAF:
         return true;
       default:
@@ -275,6 +289,10 @@ public class SchemaUtils {
         return Collections.singletonList(addPartialSuffix(SqlConstant.VAR_SAMP));
       case MAX_BY:
         return Collections.singletonList(addPartialSuffix(SqlConstant.MAX_BY));
+      case APPROX_COUNT_DISTINCT:
+        return Collections.singletonList(addPartialSuffix(SqlConstant.APPROX_COUNT_DISTINCT));
+      case APPROX_PERCENTILE:
+        return Collections.singletonList(addPartialSuffix(SqlConstant.APPROX_PERCENTILE));
       case AVG:
         return Arrays.asList(SqlConstant.COUNT, SqlConstant.SUM);
       case TIME_DURATION:
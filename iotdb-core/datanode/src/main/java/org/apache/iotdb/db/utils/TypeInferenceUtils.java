@@ -153,7 +153,10 @@ public class TypeInferenceUtils {
       case SqlConstant.VARIANCE:
       case SqlConstant.VAR_POP:
       case SqlConstant.VAR_SAMP:
+      case SqlConstant.APPROX_PERCENTILE:
         return TSDataType.DOUBLE;
+      case SqlConstant.APPROX_COUNT_DISTINCT:
+        return TSDataType.INT64;
       default:
         throw new IllegalArgumentException(
             "Invalid Aggregation function: " + aggregationFunctionName);
@@ -182,6 +185,12 @@ public class TypeInferenceUtils {
         }
         throw new SemanticException(
             "Aggregate functions [AVG, SUM, EXTREME, MIN_VALUE, MAX_VALUE, STDDEV, STDDEV_POP, STDDEV_SAMP, VARIANCE, VAR_POP, VAR_SAMP] only support numeric data types [INT32, INT64, FLOAT, DOUBLE]");
+      case SqlConstant.APPROX_PERCENTILE:
+        if (dataType.isNumeric()) {
+          return;
+        }
+        throw new SemanticException(
+            "Aggregate function [APPROX_PERCENTILE] only supports numeric data types [INT32, INT64, FLOAT, DOUBLE]");
       case SqlConstant.COUNT:
       case SqlConstant.COUNT_TIME:
       case SqlConstant.MIN_TIME:
@@ -191,6 +200,7 @@ public class TypeInferenceUtils {
       case SqlConstant.TIME_DURATION:
       case SqlConstant.MODE:
       case SqlConstant.MAX_BY:
+      case SqlConstant.APPROX_COUNT_DISTINCT:
         return;
       case SqlConstant.COUNT_IF:
         if (dataType != TSDataType.BOOLEAN) {
@@ -236,6 +246,8 @@ public class TypeInferenceUtils {
       case SqlConstant.VAR_POP:
       case SqlConstant.VAR_SAMP:
       case SqlConstant.MAX_BY:
+      case SqlConstant.APPROX_COUNT_DISTINCT:
+      case SqlConstant.APPROX_PERCENTILE:
         return;
       case SqlConstant.COUNT_IF:
         Expression keepExpression = inputExpressions.get(1);
@@ -63,6 +63,8 @@ public class SqlConstant {
   public static final String VARIANCE = "variance";
   public static final String VAR_POP = "var_pop";
   public static final String VAR_SAMP = "var_samp";
+  public static final String APPROX_COUNT_DISTINCT = "approx_count_distinct";
+  public static final String APPROX_PERCENTILE = "approx_percentile";
 
   public static final String COUNT_TIME = "count_time";
   public static final String COUNT_TIME_HEADER = "count_time(*)";
@@ -76,6 +76,14 @@ public abstract class BinaryTVList extends TVList {
     return cloneList;
   }
 
+  @Override
+  public BinaryTVList getSnapshot() {
+    BinaryTVList snapshot = BinaryTVList.newList();
+    snapshotAs(snapshot);
+    snapshot.values = new ArrayList<>(values);
+    return snapshot;
+  }
+
   private Binary[] cloneValue(Binary[] array) {
     Binary[] cloneArray = new Binary[array.length];
     System.arraycopy(array, 0, cloneArray, 0, array.length);
@@ -69,6 +69,14 @@ public abstract class BooleanTVList extends TVList {
     return cloneList;
   }
 
+  @Override
+  public BooleanTVList getSnapshot() {
+    BooleanTVList snapshot = BooleanTVList.newList();
+    snapshotAs(snapshot);
+    snapshot.values = new ArrayList<>(values);
+    return snapshot;
+  }
+
   private boolean[] cloneValue(boolean[] array) {
     boolean[] cloneArray = new boolean[array.length];
     System.arraycopy(array, 0, cloneArray, 0, array.length);
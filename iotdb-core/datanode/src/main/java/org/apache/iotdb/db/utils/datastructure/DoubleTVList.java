@@ -69,6 +69,14 @@ public abstract class DoubleTVList extends TVList {
     return cloneList;
   }
 
+  @Override
+  public DoubleTVList getSnapshot() {
+    DoubleTVList snapshot = DoubleTVList.newList();
+    snapshotAs(snapshot);
+    snapshot.values = new ArrayList<>(values);
+    return snapshot;
+  }
+
   private double[] cloneValue(double[] array) {
     double[] cloneArray = new double[array.length];
     System.arraycopy(array, 0, cloneArray, 0, array.length);
@@ -69,6 +69,14 @@ public abstract class FloatTVList extends TVList {
     return cloneList;
   }
 
+  @Override
+  public FloatTVList getSnapshot() {
+    FloatTVList snapshot = FloatTVList.newList();
+    snapshotAs(snapshot);
+    snapshot.values = new ArrayList<>(values);
+    return snapshot;
+  }
+
   private float[] cloneValue(float[] array) {
     float[] cloneArray = new float[array.length];
     System.arraycopy(array, 0, cloneArray, 0, array.length);
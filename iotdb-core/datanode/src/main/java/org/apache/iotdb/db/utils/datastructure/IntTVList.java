@@ -68,6 +68,14 @@ public abstract class IntTVList extends TVList {
     return cloneList;
   }
 
+  @Override
+  public IntTVList getSnapshot() {
+    IntTVList snapshot = IntTVList.newList();
+    snapshotAs(snapshot);
+    snapshot.values = new ArrayList<>(values);
+    return snapshot;
+  }
+
   private int[] cloneValue(int[] array) {
     int[] cloneArray = new int[array.length];
     System.arraycopy(array, 0, cloneArray, 0, array.length);
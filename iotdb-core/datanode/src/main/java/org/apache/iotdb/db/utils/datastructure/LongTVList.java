@@ -68,6 +68,14 @@ public abstract class LongTVList extends TVList {
     return cloneList;
   }
 
+  @Override
+  public LongTVList getSnapshot() {
+    LongTVList snapshot = LongTVList.newList();
+    snapshotAs(snapshot);
+    snapshot.values = new ArrayList<>(values);
+    return snapshot;
+  }
+
   private long[] cloneValue(long[] array) {
     long[] cloneArray = new long[array.length];
     System.arraycopy(array, 0, cloneArray, 0, array.length);
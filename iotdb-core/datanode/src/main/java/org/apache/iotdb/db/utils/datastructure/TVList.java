@@ -56,8 +56,11 @@ public abstract class TVList implements WALEntryValue {
 
   protected boolean sorted = true;
   protected long maxTime;
-  // record reference count of this tv list
-  // currently this reference will only be increase because we can't know when to decrease it
+  // record reference count of this tv list. A query increases it when it gets the list. Sorting
+  // a referenced list, or deleting from a referenced non-aligned list, clones it instead of moving
+  // rows the query may read.
+  // ReadOnlyMemChunk releases its reference by decreaseReferenceCount() once it has built the
+  // TsBlock from the snapshot of the list. The reference of an aligned list is never released.
   protected AtomicInteger referenceCount;
   private long version;
 
@@ -111,6 +114,10 @@ public abstract class TVList implements WALEntryValue {
     referenceCount.incrementAndGet();
   }
 
+  public void decreaseReferenceCount() {
+    referenceCount.decrementAndGet();
+  }
+
   public int getReferenceCount() {
     return referenceCount.get();
   }
@@ -240,6 +247,24 @@ public abstract class TVList implements WALEntryValue {
   @Override
   public abstract TVList clone();
 
+  /**
+   * Get a read-only snapshot of the current rows of this list. The snapshot shares the primitive
+   * arrays with this list instead of copying them, so the rows appended to this list afterwards are
+   * not visible in it. Rows of this list must not be moved (by sorting or deletion) or released
+   * while the snapshot is read, so a reference of this list should be held until then. The snapshot
+   * must not be modified or cleared.
+   */
+  public TVList getSnapshot() {
+    throw new UnsupportedOperationException(ERR_DATATYPE_NOT_CONSISTENT);
+  }
+
+  protected void snapshotAs(TVList snapshot) {
+    snapshot.timestamps = new ArrayList<>(timestamps);
+    snapshot.rowCount = rowCount;
+    snapshot.sorted = sorted;
+    snapshot.maxTime = maxTime;
+  }
+
   public TVList clone(long version) {
     this.version = version;
     return clone();
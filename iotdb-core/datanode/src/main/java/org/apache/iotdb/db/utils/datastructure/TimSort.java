@@ -52,7 +52,9 @@ public interface TimSort {
   void reverseRange(int lo, int hi);
 
   /**
-   * the entrance of tim_sort; 1. array_size <= 32, use binary sort. 2. recursively invoke merge
+   * the entrance of tim_sort; 1. array_size <= 32, use binary sort. 2. if at least half of the
+   * array is already sorted from the start, which is common as rows are mostly appended in time
+   * order, sort the rest and merge it into the sorted run. 3. otherwise recursively invoke merge
    * sort.
    */
   default void sort(int lo, int hi) {
@@ -64,8 +66,17 @@ public interface TimSort {
       binarySort(lo, hi, lo + initRunLen);
       return;
     }
-    int mid = (lo + hi) >>> 1;
-    sort(lo, mid);
+    int runHi = lo + 1;
+    while (runHi < hi && compare(runHi, runHi - 1) >= 0) {
+      runHi++;
+    }
+    if (runHi == hi) {
+      return;
+    }
+    int mid = runHi - lo >= (hi - lo) >>> 1 ? runHi : (lo + hi) >>> 1;
+    if (mid != runHi) {
+      sort(lo, mid);
+    }
     sort(mid, hi);
     merge(lo, mid, hi);
   }
@@ -131,13 +142,20 @@ public interface TimSort {
       }
       setPivotTo(left);
     }
-    for (int i = lo; i < hi; i++) {
-      setToSorted(i, i);
-    }
   }
 
   /** merge arrays [lo, mid) [mid, hi] */
   default void merge(int lo, int mid, int hi) {
+    if (compare(mid - 1, mid) <= 0) {
+      // already in order
+      return;
+    }
+    // the rows of [lo, mid) not later than the first row of [mid, hi) and the rows of [mid, hi)
+    // not earlier than the last row of [lo, mid) are already in place, only the overlapping rows
+    // between them need to be merged
+    lo = firstLaterThan(lo, mid, mid);
+    hi = firstNotEarlierThan(mid, hi, mid - 1);
+
     // end of sorting buffer
     int tmpIdx = 0;
 
@@ -187,4 +205,30 @@ public interface TimSort {
       setFromSorted(i, i);
     }
   }
+
+  /** @return the first index in the sorted [lo, hi) whose time is later than the time of pos */
+  default int firstLaterThan(int lo, int hi, int pos) {
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (compare(mid, pos) <= 0) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  /** @return the first index in the sorted [lo, hi) whose time is not earlier than that of pos */
+  default int firstNotEarlierThan(int lo, int hi, int pos) {
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (compare(mid, pos) < 0) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
 }
@@ -19,13 +19,20 @@
 
 package org.apache.iotdb.db.consensus.statemachine.dataregion;
 
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
 import org.apache.iotdb.commons.exception.IllegalPathException;
 import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.exception.WriteProcessRejectException;
+import org.apache.iotdb.db.exception.query.OutOfTTLException;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNodeId;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertNode;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertRowNode;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertRowsNode;
+import org.apache.iotdb.db.storageengine.dataregion.DataRegion;
+import org.apache.iotdb.db.storageengine.dataregion.EarliestWrittenTimeTracker;
+import org.apache.iotdb.rpc.TSStatusCode;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.utils.Pair;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -33,6 +40,11 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
 public class DataRegionStateMachineTest {
 
   @Test
@@ -75,4 +87,67 @@ public class DataRegionStateMachineTest {
     InsertNode mergedNode = fakeStateMachine.mergeInsertNodes(list);
     Assert.assertTrue(mergedNode instanceof InsertRowsNode);
   }
+
+  @Test
+  public void testTrackWrittenTimeAfterApply() throws Exception {
+    EarliestWrittenTimeTracker tracker = EarliestWrittenTimeTracker.getInstance();
+    acknowledgeReport(tracker);
+
+    // a heartbeat reports the written time while the write is retried and applied
+    List<Pair<Long, Long>> reportsDuringWrite = new ArrayList<>();
+    DataRegion dataRegion = mock(DataRegion.class);
+    doAnswer(
+            invocation -> {
+              reportsDuringWrite.add(acknowledgeReport(tracker));
+              if (reportsDuringWrite.size() == 1) {
+                throw new WriteProcessRejectException(
+                    "reject", TSStatusCode.WRITE_PROCESS_REJECT.getStatusCode());
+              }
+              return null;
+            })
+        .when(dataRegion)
+        .insert(any(InsertRowNode.class));
+
+    TSStatus status = new DataRegionStateMachine(dataRegion).write(createInsertRowNode(1000L));
+    Assert.assertEquals(TSStatusCode.SUCCESS_STATUS.getStatusCode(), status.getCode());
+    // the window of the written time is not consumed before the data is visible
+    Assert.assertEquals(2, reportsDuringWrite.size());
+    Assert.assertNull(reportsDuringWrite.get(0));
+    Assert.assertNull(reportsDuringWrite.get(1));
+    // but reported by the next heartbeat
+    Assert.assertEquals(1000L, (long) acknowledgeReport(tracker).right);
+  }
+
+  @Test
+  public void testNotTrackFailedWrite() throws Exception {
+    EarliestWrittenTimeTracker tracker = EarliestWrittenTimeTracker.getInstance();
+    acknowledgeReport(tracker);
+
+    DataRegion dataRegion = mock(DataRegion.class);
+    doThrow(new OutOfTTLException(1000L, 2000L)).when(dataRegion).insert(any(InsertRowNode.class));
+    TSStatus status = new DataRegionStateMachine(dataRegion).write(createInsertRowNode(1000L));
+    Assert.assertNotEquals(TSStatusCode.SUCCESS_STATUS.getStatusCode(), status.getCode());
+    Assert.assertNull(acknowledgeReport(tracker));
+  }
+
+  /** Report the written time as a heartbeat does, and acknowledge it as the ConfigNode does. */
+  private static Pair<Long, Long> acknowledgeReport(EarliestWrittenTimeTracker tracker) {
+    Pair<Long, Long> report = tracker.report();
+    if (report != null) {
+      tracker.acknowledge(report.left);
+    }
+    return report;
+  }
+
+  private static InsertRowNode createInsertRowNode(long time) throws IllegalPathException {
+    return new InsertRowNode(
+        new PlanNodeId("plan node 1"),
+        new PartialPath("root.sg.d1"),
+        false,
+        new String[] {"s1"},
+        new TSDataType[] {TSDataType.DOUBLE},
+        time,
+        new Object[] {1.0},
+        false);
+  }
 }
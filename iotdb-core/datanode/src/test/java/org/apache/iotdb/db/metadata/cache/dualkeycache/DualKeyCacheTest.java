@@ -53,7 +53,7 @@ public class DualKeyCacheTest {
 
   @Parameterized.Parameters
   public static List<String> getTestModes() {
-    return Arrays.asList("FIFO", "LRU");
+    return Arrays.asList("FIFO", "LRU", "CLOCK");
   }
 
   @Test
@@ -28,6 +28,7 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 
 public class DeviceIDTest {
   @Test
@@ -44,4 +45,15 @@ public class DeviceIDTest {
     assertNotEquals(deviceID1, deviceID3);
     assertNotEquals(deviceID2, deviceID3);
   }
+
+  @Test
+  public void deviceIDInternTest() throws IllegalPathException {
+    IDeviceID deviceID1 = DeviceIDFactory.getInstance().getDeviceID(new PartialPath("root.sg1.d1"));
+    IDeviceID deviceID2 = DeviceIDFactory.getInstance().getDeviceID(new String("root.sg1.d1"));
+
+    // all inserts of a device share one device id
+    assertSame(deviceID1, deviceID2);
+    assertSame(deviceID1.toStringID(), deviceID2.toStringID());
+    assertEquals("root.sg1.d1", deviceID1.toStringID());
+  }
 }
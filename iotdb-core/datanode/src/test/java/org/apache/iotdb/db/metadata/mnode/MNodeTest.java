@@ -18,13 +18,22 @@
  */
 package org.apache.iotdb.db.metadata.mnode;
 
+import org.apache.iotdb.commons.schema.node.role.IMeasurementMNode;
 import org.apache.iotdb.commons.schema.node.utils.IMNodeFactory;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.IMemMNode;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.loader.MNodeFactoryLoader;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 
 import org.junit.Test;
 
+import java.util.Collections;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 public class MNodeTest {
 
@@ -57,4 +66,46 @@ public class MNodeTest {
             .addChild(nodeFactory.createInternalMNode(null, "temperature"));
     assertEquals("root.sg1.aa.bb.cc.dd.device11.temperature", temperatureNode.getFullPath());
   }
+
+  @Test
+  public void testShareMeasurementSchema() {
+    IMemMNode d1 = nodeFactory.createInternalMNode(null, "d1");
+    IMemMNode d2 = nodeFactory.createInternalMNode(null, "d2");
+    IMeasurementMNode<IMemMNode> s1OfD1 =
+        nodeFactory.createMeasurementMNode(
+            null,
+            new String("s1"),
+            new MeasurementSchema(
+                new String("s1"), TSDataType.INT64, TSEncoding.RLE, CompressionType.SNAPPY),
+            null);
+    IMeasurementMNode<IMemMNode> s1OfD2 =
+        nodeFactory.createMeasurementMNode(
+            null,
+            new String("s1"),
+            new MeasurementSchema(
+                new String("s1"), TSDataType.INT64, TSEncoding.RLE, CompressionType.SNAPPY),
+            null);
+    d1.addChild(s1OfD1.getAsMNode());
+    d2.addChild(new String("s1"), s1OfD2.getAsMNode());
+
+    assertSame(s1OfD1.getSchema(), s1OfD2.getSchema());
+    assertSame(s1OfD1.getName(), s1OfD2.getName());
+    assertSame(s1OfD2.getName(), d2.getChildren().keySet().iterator().next());
+    assertEquals("d2.s1", s1OfD2.getFullPath());
+
+    // schemas with different props are not shared
+    IMeasurementMNode<IMemMNode> s1WithProps =
+        nodeFactory.createMeasurementMNode(
+            null,
+            "s1",
+            new MeasurementSchema(
+                "s1",
+                TSDataType.INT64,
+                TSEncoding.RLE,
+                CompressionType.SNAPPY,
+                Collections.singletonMap("k", "v")),
+            null);
+    assertNotSame(s1OfD1.getSchema(), s1WithProps.getSchema());
+    assertEquals(Collections.singletonMap("k", "v"), s1WithProps.getSchema().getProps());
+  }
 }
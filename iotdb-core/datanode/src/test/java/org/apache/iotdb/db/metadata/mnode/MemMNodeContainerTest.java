@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.metadata.mnode;
+
+import org.apache.iotdb.commons.schema.node.utils.IMNodeFactory;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.IMemMNode;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.container.MemMNodeContainer;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.loader.MNodeFactoryLoader;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+public class MemMNodeContainerTest {
+
+  private final IMNodeFactory<IMemMNode> nodeFactory =
+      MNodeFactoryLoader.getInstance().getMemMNodeIMNodeFactory();
+
+  @Test
+  public void testSortedChildren() {
+    MemMNodeContainer container = new MemMNodeContainer();
+    Assert.assertTrue(container.isEmpty());
+
+    List<String> names = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      names.add("s" + i);
+    }
+    Collections.shuffle(names);
+    for (String name : names) {
+      Assert.assertNull(container.putIfAbsent(name, nodeFactory.createInternalMNode(null, name)));
+    }
+    IMemMNode s3 = container.get("s3");
+    Assert.assertEquals("s3", s3.getName());
+    Assert.assertSame(s3, container.putIfAbsent("s3", nodeFactory.createInternalMNode(null, "s3")));
+    Assert.assertSame(s3, container.get("s3"));
+    Assert.assertNull(container.get("s10"));
+    Assert.assertFalse(container.containsKey(3));
+
+    // children are iterated in the order of names
+    Collections.sort(names);
+    Assert.assertEquals(names, new ArrayList<>(container.keySet()));
+    Assert.assertEquals(10, container.values().size());
+
+    Assert.assertSame(s3, container.remove("s3"));
+    Assert.assertNull(container.remove("s3"));
+    Iterator<IMemMNode> iterator = container.values().iterator();
+    iterator.next();
+    iterator.remove();
+    Assert.assertEquals(8, container.size());
+    Assert.assertFalse(container.containsKey("s0"));
+
+    container.clear();
+    Assert.assertTrue(container.isEmpty());
+  }
+
+  @Test
+  public void testManyChildren() {
+    MemMNodeContainer container = new MemMNodeContainer();
+    int childrenNum = 1000;
+    for (int i = 0; i < childrenNum; i++) {
+      container.put("d" + i, nodeFactory.createInternalMNode(null, "d" + i));
+    }
+    Assert.assertEquals(childrenNum, container.size());
+    for (int i = 0; i < childrenNum; i++) {
+      Assert.assertEquals("d" + i, container.get("d" + i).getName());
+    }
+
+    // iterating children while removing them
+    int count = 0;
+    for (String name : container.keySet()) {
+      Assert.assertNotNull(container.remove(name));
+      count++;
+    }
+    Assert.assertEquals(childrenNum, count);
+    Assert.assertTrue(container.isEmpty());
+  }
+}
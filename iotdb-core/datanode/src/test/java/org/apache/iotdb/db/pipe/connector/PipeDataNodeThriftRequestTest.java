@@ -25,9 +25,11 @@ import org.apache.iotdb.commons.pipe.connector.payload.request.PipeRequestType;
 import org.apache.iotdb.commons.pipe.connector.payload.request.PipeTransferSnapshotPieceReq;
 import org.apache.iotdb.commons.pipe.connector.payload.request.PipeTransferSnapshotSealReq;
 import org.apache.iotdb.commons.pipe.connector.payload.response.PipeTransferSnapshotPieceResp;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.pipe.connector.payload.airgap.AirGapPseudoTPipeTransferRequest;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.common.PipeTransferHandshakeConstant;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.reponse.PipeTransferFilePieceResp;
+import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferCompressedReq;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferFilePieceReq;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferFileSealReq;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferHandshakeV1Req;
@@ -41,6 +43,8 @@ import org.apache.iotdb.db.queryengine.plan.planner.plan.node.metedata.write.Cre
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertRowNode;
 import org.apache.iotdb.db.queryengine.plan.statement.Statement;
 import org.apache.iotdb.rpc.RpcUtils;
+import org.apache.iotdb.service.rpc.thrift.TPipeTransferReq;
+import org.apache.iotdb.tsfile.compress.ICompressor;
 import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
@@ -374,4 +378,55 @@ public class PipeDataNodeThriftRequestTest {
     Assert.assertEquals(resp.getStatus(), deserializeResp.getStatus());
     Assert.assertEquals(resp.getEndWritingOffset(), deserializeResp.getEndWritingOffset());
   }
+
+  @Test
+  public void testPipeTransferCompressedReq() throws IOException {
+    final byte[] content = new byte[4096];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) (i % 16);
+    }
+    final TPipeTransferReq req =
+        PipeTransferFilePieceReq.toTPipeTransferReq("1.tsfile", 0, content);
+
+    for (final CompressionType compressionType :
+        new CompressionType[] {CompressionType.LZ4, CompressionType.ZSTD, CompressionType.GZIP}) {
+      final TPipeTransferReq compressedReq =
+          PipeTransferCompressedReq.toTPipeTransferReq(
+              req, ICompressor.getCompressor(compressionType));
+      Assert.assertEquals(PipeRequestType.TRANSFER_COMPRESSED.getType(), compressedReq.getType());
+      Assert.assertTrue(compressedReq.getBody().length < req.getBody().length);
+
+      final TPipeTransferReq decompressedReq =
+          PipeTransferCompressedReq.fromTPipeTransferReq(compressedReq);
+      Assert.assertEquals(req.getVersion(), decompressedReq.getVersion());
+      Assert.assertEquals(req.getType(), decompressedReq.getType());
+      Assert.assertArrayEquals(req.getBody(), decompressedReq.getBody());
+
+      final PipeTransferFilePieceReq deserializeReq =
+          PipeTransferFilePieceReq.fromTPipeTransferReq(decompressedReq);
+      Assert.assertArrayEquals(content, deserializeReq.getFilePiece());
+    }
+
+    // the request is not wrapped if compression does not make it smaller
+    final TPipeTransferReq smallReq = PipeTransferFileSealReq.toTPipeTransferReq("1.tsfile", 100);
+    Assert.assertSame(
+        smallReq,
+        PipeTransferCompressedReq.toTPipeTransferReq(
+            smallReq, ICompressor.getCompressor(CompressionType.LZ4)));
+
+    // the uncompressed length from the wire is not trusted
+    for (final int uncompressedLength :
+        new int[] {-1, IoTDBDescriptor.getInstance().getConfig().getThriftMaxFrameSize() + 1}) {
+      final TPipeTransferReq compressedReq =
+          PipeTransferCompressedReq.toTPipeTransferReq(
+              req, ICompressor.getCompressor(CompressionType.LZ4));
+      compressedReq.body.putInt(Byte.BYTES + Short.BYTES, uncompressedLength);
+      try {
+        PipeTransferCompressedReq.fromTPipeTransferReq(compressedReq);
+        Assert.fail();
+      } catch (IOException e) {
+        Assert.assertTrue(e.getMessage().contains(String.valueOf(uncompressedLength)));
+      }
+    }
+  }
 }
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.connector.payload.evolvable.builder;
+
+import org.apache.iotdb.pipe.api.customizer.parameter.PipeParameters;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_IOTDB_BATCH_ADAPTIVE_ENABLE_KEY;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_IOTDB_BATCH_ADAPTIVE_TARGET_ROUND_TRIP_TIME_KEY;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_IOTDB_BATCH_DELAY_KEY;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_IOTDB_BATCH_SIZE_KEY;
+
+public class IoTDBThriftAsyncPipeTransferBatchReqBuilderTest {
+
+  private static final long BATCH_SIZE = 1024 * 1024;
+
+  @Test
+  public void testShrinkOnFailure() {
+    try (IoTDBThriftAsyncPipeTransferBatchReqBuilder builder = createBuilder(true)) {
+      final long sizeLimit = builder.getMaxBatchSizeInBytes();
+
+      builder.onBatchTransferred(10, false);
+      Assert.assertEquals(sizeLimit / 2, builder.getMaxBatchSizeInBytes());
+      builder.onBatchTransferred(10, false);
+      Assert.assertEquals(sizeLimit / 4, builder.getMaxBatchSizeInBytes());
+
+      // never drops below 1/16 of the size limit
+      for (int i = 0; i < 10; i++) {
+        builder.onBatchTransferred(10, false);
+      }
+      Assert.assertEquals(sizeLimit / 16, builder.getMaxBatchSizeInBytes());
+
+      // grows by 1/8 of the size limit on each fast success, up to the size limit
+      builder.onBatchTransferred(10, true);
+      Assert.assertEquals(sizeLimit / 16 + sizeLimit / 8, builder.getMaxBatchSizeInBytes());
+      for (int i = 0; i < 10; i++) {
+        builder.onBatchTransferred(10, true);
+      }
+      Assert.assertEquals(sizeLimit, builder.getMaxBatchSizeInBytes());
+    }
+  }
+
+  @Test
+  public void testShrinkOnSlowRoundTrip() {
+    try (IoTDBThriftAsyncPipeTransferBatchReqBuilder builder = createBuilder(true)) {
+      final long sizeLimit = builder.getMaxBatchSizeInBytes();
+
+      // the target round trip time is 1 second
+      builder.onBatchTransferred(2000, true);
+      Assert.assertEquals(sizeLimit / 2, builder.getMaxBatchSizeInBytes());
+
+      // the smoothed round trip time stays above the target after one fast round trip
+      builder.onBatchTransferred(10, true);
+      Assert.assertEquals(sizeLimit / 4, builder.getMaxBatchSizeInBytes());
+
+      // and drops below half of it after several ones
+      for (int i = 0; i < 20; i++) {
+        builder.onBatchTransferred(10, true);
+      }
+      Assert.assertEquals(sizeLimit, builder.getMaxBatchSizeInBytes());
+    }
+  }
+
+  @Test
+  public void testKeepSizeWithinHysteresisBand() {
+    try (IoTDBThriftAsyncPipeTransferBatchReqBuilder builder = createBuilder(true)) {
+      final long sizeLimit = builder.getMaxBatchSizeInBytes();
+
+      // between half of the target and the target, the batch size is neither shrunk nor grown
+      for (int i = 0; i < 10; i++) {
+        builder.onBatchTransferred(800, true);
+      }
+      Assert.assertEquals(sizeLimit, builder.getMaxBatchSizeInBytes());
+
+      builder.onBatchTransferred(800, false);
+      Assert.assertEquals(sizeLimit / 2, builder.getMaxBatchSizeInBytes());
+      for (int i = 0; i < 10; i++) {
+        builder.onBatchTransferred(800, true);
+      }
+      Assert.assertEquals(sizeLimit / 2, builder.getMaxBatchSizeInBytes());
+    }
+  }
+
+  @Test
+  public void testNotShrinkOnRoundTripAboveMaxDelay() {
+    final Map<String, String> attributes = createAttributes(true);
+    attributes.remove(CONNECTOR_IOTDB_BATCH_ADAPTIVE_TARGET_ROUND_TRIP_TIME_KEY);
+    try (IoTDBThriftAsyncPipeTransferBatchReqBuilder builder =
+        new IoTDBThriftAsyncPipeTransferBatchReqBuilder(new PipeParameters(attributes))) {
+      final long sizeLimit = builder.getMaxBatchSizeInBytes();
+
+      // a high latency link exceeds the max delay of 1 second whatever the batch size is
+      for (int i = 0; i < 10; i++) {
+        builder.onBatchTransferred(1500, true);
+      }
+      Assert.assertEquals(sizeLimit, builder.getMaxBatchSizeInBytes());
+    }
+  }
+
+  @Test
+  public void testAdaptiveBatchDisabled() {
+    try (IoTDBThriftAsyncPipeTransferBatchReqBuilder builder = createBuilder(false)) {
+      final long sizeLimit = builder.getMaxBatchSizeInBytes();
+      builder.onBatchTransferred(10, false);
+      builder.onBatchTransferred(2000, true);
+      Assert.assertEquals(sizeLimit, builder.getMaxBatchSizeInBytes());
+    }
+  }
+
+  private static IoTDBThriftAsyncPipeTransferBatchReqBuilder createBuilder(
+      boolean isAdaptiveBatchEnabled) {
+    return new IoTDBThriftAsyncPipeTransferBatchReqBuilder(
+        new PipeParameters(createAttributes(isAdaptiveBatchEnabled)));
+  }
+
+  private static Map<String, String> createAttributes(boolean isAdaptiveBatchEnabled) {
+    final Map<String, String> attributes = new HashMap<>();
+    attributes.put(CONNECTOR_IOTDB_BATCH_DELAY_KEY, "1");
+    attributes.put(CONNECTOR_IOTDB_BATCH_SIZE_KEY, String.valueOf(BATCH_SIZE));
+    attributes.put(
+        CONNECTOR_IOTDB_BATCH_ADAPTIVE_ENABLE_KEY, String.valueOf(isAdaptiveBatchEnabled));
+    attributes.put(CONNECTOR_IOTDB_BATCH_ADAPTIVE_TARGET_ROUND_TRIP_TIME_KEY, "1000");
+    return attributes;
+  }
+}
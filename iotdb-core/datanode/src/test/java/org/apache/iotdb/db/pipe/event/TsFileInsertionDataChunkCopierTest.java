@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.event;
+
+import org.apache.iotdb.db.pipe.event.common.tsfile.TsFileInsertionDataChunkCopier;
+import org.apache.iotdb.db.pipe.event.common.tsfile.TsFileInsertionDataContainer;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.utils.TsFileGeneratorUtils;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TsFileInsertionDataChunkCopierTest {
+
+  private static final long TSFILE_START_TIME = 300L;
+  private static final int ROW_NUMBER_IN_ONE_DEVICE = 1000;
+
+  private File alignedTsFile;
+  private File nonalignedTsFile;
+  private File targetTsFile;
+
+  @Before
+  public void setUp() throws Exception {
+    alignedTsFile =
+        TsFileGeneratorUtils.generateAlignedTsFile(
+            "aligned.tsfile",
+            2,
+            2,
+            ROW_NUMBER_IN_ONE_DEVICE,
+            (int) TSFILE_START_TIME,
+            10000,
+            700,
+            50);
+    nonalignedTsFile =
+        TsFileGeneratorUtils.generateNonAlignedTsFile(
+            "nonaligned.tsfile",
+            2,
+            2,
+            ROW_NUMBER_IN_ONE_DEVICE,
+            (int) TSFILE_START_TIME,
+            10000,
+            700,
+            50);
+    targetTsFile = new File("filtered.tsfile");
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    alignedTsFile.delete();
+    nonalignedTsFile.delete();
+    targetTsFile.delete();
+  }
+
+  @Test
+  public void testCopyByDevicePattern() throws Exception {
+    for (final File sourceTsFile : new File[] {alignedTsFile, nonalignedTsFile}) {
+      final String device = getSortedDevices(sourceTsFile).get(0);
+
+      final TsFileResource resource =
+          new TsFileInsertionDataChunkCopier(device, Long.MIN_VALUE, Long.MAX_VALUE)
+              .copy(sourceTsFile, targetTsFile);
+      Assert.assertNotNull(resource);
+      Assert.assertTrue(resource.isClosed());
+      Assert.assertEquals(TSFILE_START_TIME, resource.getFileStartTime());
+      Assert.assertEquals(
+          TSFILE_START_TIME + ROW_NUMBER_IN_ONE_DEVICE - 1, resource.getFileEndTime());
+
+      try (final TsFileSequenceReader reader = new TsFileSequenceReader(targetTsFile.getPath())) {
+        final Map<String, List<String>> deviceMeasurementsMap = reader.getDeviceMeasurementsMap();
+        Assert.assertEquals(Collections.singleton(device), deviceMeasurementsMap.keySet());
+        Assert.assertTrue(deviceMeasurementsMap.get(device).contains("s0"));
+        Assert.assertTrue(deviceMeasurementsMap.get(device).contains("s1"));
+      }
+      Assert.assertEquals(ROW_NUMBER_IN_ONE_DEVICE, countRows(targetTsFile, 2));
+      Assert.assertTrue(targetTsFile.delete());
+    }
+  }
+
+  @Test
+  public void testCopyByMeasurementPattern() throws Exception {
+    for (final File sourceTsFile : new File[] {alignedTsFile, nonalignedTsFile}) {
+      final String device = getSortedDevices(sourceTsFile).get(1);
+      final String pattern = device + ".s1";
+
+      final TsFileResource resource =
+          new TsFileInsertionDataChunkCopier(pattern, Long.MIN_VALUE, Long.MAX_VALUE)
+              .copy(sourceTsFile, targetTsFile);
+      Assert.assertNotNull(resource);
+
+      try (final TsFileSequenceReader reader = new TsFileSequenceReader(targetTsFile.getPath())) {
+        final Map<String, List<String>> deviceMeasurementsMap = reader.getDeviceMeasurementsMap();
+        Assert.assertEquals(Collections.singleton(device), deviceMeasurementsMap.keySet());
+        Assert.assertTrue(deviceMeasurementsMap.get(device).contains("s1"));
+        Assert.assertFalse(deviceMeasurementsMap.get(device).contains("s0"));
+      }
+      Assert.assertEquals(ROW_NUMBER_IN_ONE_DEVICE, countRows(targetTsFile, 1));
+      Assert.assertTrue(targetTsFile.delete());
+    }
+  }
+
+  @Test
+  public void testGiveUpCopy() throws Exception {
+    for (final File sourceTsFile : new File[] {alignedTsFile, nonalignedTsFile}) {
+      // the first chunk is only partly in the time range
+      Assert.assertNull(
+          new TsFileInsertionDataChunkCopier("root", TSFILE_START_TIME + 1, Long.MAX_VALUE)
+              .copy(sourceTsFile, targetTsFile));
+      Assert.assertFalse(targetTsFile.exists());
+
+      // no chunk is in the time range
+      Assert.assertNull(
+          new TsFileInsertionDataChunkCopier("root", 0, TSFILE_START_TIME - 1)
+              .copy(sourceTsFile, targetTsFile));
+      Assert.assertFalse(targetTsFile.exists());
+
+      // no device matches the pattern
+      Assert.assertNull(
+          new TsFileInsertionDataChunkCopier("root.non_existent", Long.MIN_VALUE, Long.MAX_VALUE)
+              .copy(sourceTsFile, targetTsFile));
+      Assert.assertFalse(targetTsFile.exists());
+    }
+  }
+
+  private static List<String> getSortedDevices(File tsFile) throws Exception {
+    try (final TsFileSequenceReader reader = new TsFileSequenceReader(tsFile.getPath())) {
+      final List<String> devices = new ArrayList<>(reader.getDeviceMeasurementsMap().keySet());
+      Collections.sort(devices);
+      return devices;
+    }
+  }
+
+  private static int countRows(File tsFile, int expectedMeasurementNumber) throws Exception {
+    final AtomicInteger count = new AtomicInteger(0);
+    try (final TsFileInsertionDataContainer container =
+        new TsFileInsertionDataContainer(tsFile, "root", Long.MIN_VALUE, Long.MAX_VALUE)) {
+      container
+          .toTabletInsertionEvents()
+          .forEach(
+              event ->
+                  event
+                      .processRowByRow(
+                          (row, collector) -> {
+                            Assert.assertEquals(expectedMeasurementNumber, row.size());
+                            count.incrementAndGet();
+                          })
+                      .forEach(ignored -> {}));
+    }
+    return count.get();
+  }
+}
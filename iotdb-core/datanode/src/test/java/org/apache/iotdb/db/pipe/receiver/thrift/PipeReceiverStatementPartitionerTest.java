@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.receiver.thrift;
+
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertMultiTabletsStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertRowStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertRowsStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertTabletStatement;
+import org.apache.iotdb.tsfile.utils.Pair;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PipeReceiverStatementPartitionerTest {
+
+  private static final int DEVICE_NUM = 20;
+  private static final int ROW_NUM_PER_DEVICE = 5;
+
+  @Test
+  public void testPartition() throws IllegalPathException {
+    final List<InsertRowStatement> rowStatements = new ArrayList<>();
+    final List<InsertTabletStatement> tabletStatements = new ArrayList<>();
+    for (int time = 0; time < ROW_NUM_PER_DEVICE; ++time) {
+      for (int i = 0; i < DEVICE_NUM; ++i) {
+        final InsertRowStatement rowStatement = new InsertRowStatement();
+        rowStatement.setDevicePath(new PartialPath("root.sg.d" + i));
+        rowStatement.setTime(time);
+        rowStatements.add(rowStatement);
+      }
+    }
+    for (int i = 0; i < DEVICE_NUM; i += 2) {
+      final InsertTabletStatement tabletStatement = new InsertTabletStatement();
+      tabletStatement.setDevicePath(new PartialPath("root.sg.d" + i));
+      tabletStatements.add(tabletStatement);
+    }
+
+    final InsertRowsStatement insertRowsStatement = new InsertRowsStatement();
+    insertRowsStatement.setInsertRowStatementList(rowStatements);
+    final InsertMultiTabletsStatement insertMultiTabletsStatement =
+        new InsertMultiTabletsStatement();
+    insertMultiTabletsStatement.setInsertTabletStatementList(tabletStatements);
+
+    final List<Pair<InsertRowsStatement, InsertMultiTabletsStatement>> groups =
+        new PipeReceiverStatementPartitioner(4)
+            .partition(new Pair<>(insertRowsStatement, insertMultiTabletsStatement));
+    Assert.assertTrue(groups.size() > 1);
+    Assert.assertTrue(groups.size() <= 4);
+
+    // every device belongs to exactly one group, and its rows keep their original order
+    final Map<String, Integer> deviceGroupMap = new HashMap<>();
+    int rowCount = 0;
+    int tabletCount = 0;
+    for (int i = 0; i < groups.size(); ++i) {
+      final int groupIndex = i;
+      final Map<String, Long> lastTimeMap = new HashMap<>();
+      for (final InsertRowStatement rowStatement :
+          groups.get(groupIndex).getLeft().getInsertRowStatementList()) {
+        final String device = rowStatement.getDevicePath().getFullPath();
+        Assert.assertEquals(
+            groupIndex, (int) deviceGroupMap.computeIfAbsent(device, k -> groupIndex));
+        final Long lastTime = lastTimeMap.put(device, rowStatement.getTime());
+        Assert.assertTrue(lastTime == null || lastTime < rowStatement.getTime());
+        ++rowCount;
+      }
+      for (final InsertTabletStatement tabletStatement :
+          groups.get(groupIndex).getRight().getInsertTabletStatementList()) {
+        Assert.assertEquals(
+            groupIndex, (int) deviceGroupMap.get(tabletStatement.getDevicePath().getFullPath()));
+        ++tabletCount;
+      }
+    }
+    Assert.assertEquals(DEVICE_NUM * ROW_NUM_PER_DEVICE, rowCount);
+    Assert.assertEquals(tabletStatements.size(), tabletCount);
+    Assert.assertEquals(DEVICE_NUM, deviceGroupMap.size());
+  }
+
+  @Test
+  public void testPartitionIntoOneGroup() throws IllegalPathException {
+    final InsertRowStatement rowStatement = new InsertRowStatement();
+    rowStatement.setDevicePath(new PartialPath("root.sg.d0"));
+    final InsertRowsStatement insertRowsStatement = new InsertRowsStatement();
+    insertRowsStatement.setInsertRowStatementList(new ArrayList<>());
+    insertRowsStatement.getInsertRowStatementList().add(rowStatement);
+    final InsertMultiTabletsStatement insertMultiTabletsStatement =
+        new InsertMultiTabletsStatement();
+    insertMultiTabletsStatement.setInsertTabletStatementList(new ArrayList<>());
+
+    final List<Pair<InsertRowsStatement, InsertMultiTabletsStatement>> groups =
+        new PipeReceiverStatementPartitioner(4)
+            .partition(new Pair<>(insertRowsStatement, insertMultiTabletsStatement));
+    Assert.assertEquals(1, groups.size());
+    Assert.assertTrue(groups.get(0).getRight().isEmpty());
+  }
+}
@@ -909,4 +909,127 @@ public class AccumulatorTest {
     maxByAccumulator.outputFinal(finalResult);
     Assert.assertEquals(-99, finalResult.build().getInt(0));
   }
+
+  @Test
+  public void approxCountDistinctAccumulatorTest() {
+    Accumulator approxCountDistinctAccumulator =
+        AccumulatorFactory.createBuiltinAccumulator(
+            TAggregationType.APPROX_COUNT_DISTINCT,
+            Collections.singletonList(TSDataType.DOUBLE),
+            Collections.emptyList(),
+            Collections.emptyMap(),
+            true);
+    // check intermediate type and final type
+    Assert.assertEquals(TSDataType.TEXT, approxCountDistinctAccumulator.getIntermediateType()[0]);
+    Assert.assertEquals(TSDataType.INT64, approxCountDistinctAccumulator.getFinalType());
+    // check returning null intermediate result and zero while no data
+    ColumnBuilder[] intermediateResult = new ColumnBuilder[1];
+    intermediateResult[0] = new BinaryColumnBuilder(null, 1);
+    approxCountDistinctAccumulator.outputIntermediate(intermediateResult);
+    Assert.assertTrue(intermediateResult[0].build().isNull(0));
+    ColumnBuilder finalResult = new LongColumnBuilder(null, 1);
+    approxCountDistinctAccumulator.outputFinal(finalResult);
+    Assert.assertEquals(0, finalResult.build().getLong(0));
+
+    Column[] timeAndValueColumn = getTimeAndValueColumn(0);
+    approxCountDistinctAccumulator.addInput(timeAndValueColumn, null);
+    Assert.assertFalse(approxCountDistinctAccumulator.hasFinalResult());
+    intermediateResult[0] = new BinaryColumnBuilder(null, 1);
+    approxCountDistinctAccumulator.outputIntermediate(intermediateResult);
+    finalResult = new LongColumnBuilder(null, 1);
+    approxCountDistinctAccumulator.outputFinal(finalResult);
+    Assert.assertEquals(100, finalResult.build().getLong(0), 2);
+
+    // merging the same values again does not change the estimation
+    approxCountDistinctAccumulator.addIntermediate(new Column[] {intermediateResult[0].build()});
+    finalResult = new LongColumnBuilder(null, 1);
+    approxCountDistinctAccumulator.outputFinal(finalResult);
+    Assert.assertEquals(100, finalResult.build().getLong(0), 2);
+
+    // estimation of many distinct values merged from partial results
+    approxCountDistinctAccumulator.reset();
+    int distinctNum = 1_000_000;
+    int partialNum = 10;
+    for (int partial = 0; partial < partialNum; partial++) {
+      Accumulator partialAccumulator =
+          AccumulatorFactory.createBuiltinAccumulator(
+              TAggregationType.APPROX_COUNT_DISTINCT,
+              Collections.singletonList(TSDataType.INT64),
+              Collections.emptyList(),
+              Collections.emptyMap(),
+              true);
+      TimeColumnBuilder timeColumnBuilder = new TimeColumnBuilder(null, distinctNum / partialNum);
+      LongColumnBuilder valueColumnBuilder = new LongColumnBuilder(null, distinctNum / partialNum);
+      for (int i = partial; i < distinctNum; i += partialNum) {
+        timeColumnBuilder.writeLong(i);
+        valueColumnBuilder.writeLong(i);
+      }
+      partialAccumulator.addInput(
+          new Column[] {timeColumnBuilder.build(), valueColumnBuilder.build()}, null);
+      intermediateResult[0] = new BinaryColumnBuilder(null, 1);
+      partialAccumulator.outputIntermediate(intermediateResult);
+      approxCountDistinctAccumulator.addIntermediate(new Column[] {intermediateResult[0].build()});
+    }
+    finalResult = new LongColumnBuilder(null, 1);
+    approxCountDistinctAccumulator.outputFinal(finalResult);
+    Assert.assertEquals(distinctNum, finalResult.build().getLong(0), distinctNum * 0.03);
+  }
+
+  @Test
+  public void approxPercentileAccumulatorTest() {
+    Accumulator approxPercentileAccumulator =
+        AccumulatorFactory.createBuiltinAccumulator(
+            TAggregationType.APPROX_PERCENTILE,
+            Collections.singletonList(TSDataType.INT32),
+            Collections.emptyList(),
+            Collections.singletonMap(ApproxPercentileAccumulator.PERCENTILE_ATTRIBUTE, "0.9"),
+            true);
+    // check intermediate type and final type
+    Assert.assertEquals(TSDataType.TEXT, approxPercentileAccumulator.getIntermediateType()[0]);
+    Assert.assertEquals(TSDataType.DOUBLE, approxPercentileAccumulator.getFinalType());
+    // check returning null while no data
+    ColumnBuilder[] intermediateResult = new ColumnBuilder[1];
+    intermediateResult[0] = new BinaryColumnBuilder(null, 1);
+    approxPercentileAccumulator.outputIntermediate(intermediateResult);
+    Assert.assertTrue(intermediateResult[0].build().isNull(0));
+    ColumnBuilder finalResult = new DoubleColumnBuilder(null, 1);
+    approxPercentileAccumulator.outputFinal(finalResult);
+    Assert.assertTrue(finalResult.build().isNull(0));
+
+    // the sketch keeps all the values of small inputs, so the result is exact: -99 ~ 0
+    Column[] timeAndValueColumn = getTimeAndValueColumn(1);
+    approxPercentileAccumulator.addInput(timeAndValueColumn, null);
+    Assert.assertFalse(approxPercentileAccumulator.hasFinalResult());
+    finalResult = new DoubleColumnBuilder(null, 1);
+    approxPercentileAccumulator.outputFinal(finalResult);
+    Assert.assertEquals(-10d, finalResult.build().getDouble(0), 0.001);
+
+    // estimation of many values merged from partial results
+    approxPercentileAccumulator.reset();
+    int valueNum = 1_000_000;
+    int partialNum = 10;
+    for (int partial = 0; partial < partialNum; partial++) {
+      Accumulator partialAccumulator =
+          AccumulatorFactory.createBuiltinAccumulator(
+              TAggregationType.APPROX_PERCENTILE,
+              Collections.singletonList(TSDataType.INT32),
+              Collections.emptyList(),
+              Collections.emptyMap(),
+              true);
+      TimeColumnBuilder timeColumnBuilder = new TimeColumnBuilder(null, valueNum / partialNum);
+      IntColumnBuilder valueColumnBuilder = new IntColumnBuilder(null, valueNum / partialNum);
+      for (int i = partial; i < valueNum; i += partialNum) {
+        timeColumnBuilder.writeLong(i);
+        valueColumnBuilder.writeInt(i);
+      }
+      partialAccumulator.addInput(
+          new Column[] {timeColumnBuilder.build(), valueColumnBuilder.build()}, null);
+      intermediateResult[0] = new BinaryColumnBuilder(null, 1);
+      partialAccumulator.outputIntermediate(intermediateResult);
+      approxPercentileAccumulator.addIntermediate(new Column[] {intermediateResult[0].build()});
+    }
+    finalResult = new DoubleColumnBuilder(null, 1);
+    approxPercentileAccumulator.outputFinal(finalResult);
+    Assert.assertEquals(valueNum * 0.9, finalResult.build().getDouble(0), valueNum * 0.02);
+  }
 }
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.load;
+
+import org.apache.iotdb.commons.consensus.index.impl.MinimumProgressIndex;
+import org.apache.iotdb.commons.utils.FileUtils;
+import org.apache.iotdb.commons.utils.TimePartitionUtils;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNodeType;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.load.LoadTsFilePieceNode;
+import org.apache.iotdb.db.storageengine.dataregion.DataRegion;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.write.TsFileWriter;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.LongDataPoint;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LoadTsFileManagerTest {
+
+  private static final IoTDBConfig CONFIG = IoTDBDescriptor.getInstance().getConfig();
+
+  private static final String TEST_DIR = "target" + File.separator + "LoadTsFileManagerTest";
+
+  private static final int REGION_NUM = 4;
+  private static final int POINT_NUM = 10;
+
+  private String originLoadTsFileDir;
+
+  @Before
+  public void setUp() {
+    originLoadTsFileDir = CONFIG.getLoadTsFileDir();
+    CONFIG.setLoadTsFileDir(TEST_DIR + File.separator + "load");
+    FileUtils.deleteDirectory(new File(TEST_DIR));
+  }
+
+  @After
+  public void tearDown() {
+    CONFIG.setLoadTsFileDir(originLoadTsFileDir);
+    FileUtils.deleteDirectory(new File(TEST_DIR));
+  }
+
+  @Test
+  public void testConcurrentWriters() throws Exception {
+    // the pieces of device d{i} are sent to region i, one piece for each time partition
+    Map<String, List<LoadTsFilePieceNode>> device2Pieces = splitTsFile(createTsFile());
+
+    // the device and the number of points of each TsFile loaded into each region
+    Map<Integer, List<String>> region2LoadedData = new ConcurrentHashMap<>();
+    List<DataRegion> dataRegions = new ArrayList<>();
+    for (int i = 0; i < REGION_NUM; i++) {
+      dataRegions.add(mockDataRegion(i, region2LoadedData));
+    }
+
+    LoadTsFileManager manager = new LoadTsFileManager();
+    String uuid = "test";
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(REGION_NUM);
+    List<Future<?>> futures = new ArrayList<>();
+    try {
+      for (int i = 0; i < REGION_NUM; i++) {
+        DataRegion dataRegion = dataRegions.get(i);
+        List<LoadTsFilePieceNode> pieces = device2Pieces.get("root.sg.d" + i);
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  for (LoadTsFilePieceNode piece : pieces) {
+                    manager.writeToDataRegion(dataRegion, piece, uuid);
+                  }
+                  return null;
+                }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    Assert.assertTrue(manager.loadAll(uuid, false, MinimumProgressIndex.INSTANCE));
+    for (int i = 0; i < REGION_NUM; i++) {
+      Assert.assertEquals(
+          Collections.nCopies(2, "root.sg.d" + i + ":" + POINT_NUM), region2LoadedData.get(i));
+    }
+    // the task has been cleaned after loading
+    Assert.assertFalse(manager.loadAll(uuid, false, MinimumProgressIndex.INSTANCE));
+  }
+
+  private static DataRegion mockDataRegion(int id, Map<Integer, List<String>> region2LoadedData)
+      throws Exception {
+    DataRegion dataRegion = mock(DataRegion.class);
+    when(dataRegion.getDatabaseName()).thenReturn("root.sg");
+    when(dataRegion.getDataRegionId()).thenReturn(Integer.toString(id));
+    when(dataRegion.getNonSystemDatabaseName()).thenReturn(Optional.empty());
+    doAnswer(
+            invocation -> {
+              TsFileResource resource = invocation.getArgument(0);
+              try (TsFileSequenceReader reader =
+                  new TsFileSequenceReader(resource.getTsFilePath())) {
+                for (String device : reader.getAllDevices()) {
+                  region2LoadedData
+                      .computeIfAbsent(id, o -> Collections.synchronizedList(new ArrayList<>()))
+                      .add(
+                          device
+                              + ":"
+                              + reader
+                                  .readTimeseriesMetadata(device, "s1", false)
+                                  .getStatistics()
+                                  .getCount());
+                }
+              }
+              return null;
+            })
+        .when(dataRegion)
+        .loadNewTsFile(any(TsFileResource.class), anyBoolean(), anyBoolean());
+    return dataRegion;
+  }
+
+  private static Map<String, List<LoadTsFilePieceNode>> splitTsFile(File tsFile) throws Exception {
+    Map<String, List<LoadTsFilePieceNode>> device2Pieces = new ConcurrentHashMap<>();
+    new TsFileSplitter(
+            tsFile,
+            tsFileData -> {
+              ChunkData chunkData = (ChunkData) tsFileData;
+              List<LoadTsFilePieceNode> pieces =
+                  device2Pieces.computeIfAbsent(chunkData.getDevice(), o -> new ArrayList<>());
+              LoadTsFilePieceNode piece = new LoadTsFilePieceNode(new PlanNodeId("load"), tsFile);
+              piece.addTsFileData(chunkData);
+              // pieces are serialized when they are dispatched
+              pieces.add(
+                  (LoadTsFilePieceNode) PlanNodeType.deserialize(piece.serializeToByteBuffer()));
+              return true;
+            })
+        .splitTsFileByDataPartition();
+    return device2Pieces;
+  }
+
+  /** Write a TsFile whose devices root.sg.d{i} have data in two time partitions. */
+  private static File createTsFile() throws Exception {
+    File dir = new File(TEST_DIR);
+    Assert.assertTrue(dir.mkdirs());
+    File file = new File(dir, "1-1-0-0.tsfile");
+    long interval = TimePartitionUtils.getTimePartitionInterval();
+    try (TsFileWriter writer = new TsFileWriter(file)) {
+      for (int i = 0; i < REGION_NUM; i++) {
+        String device = "root.sg.d" + i;
+        writer.registerTimeseries(
+            new Path(device), new MeasurementSchema("s1", TSDataType.INT64, TSEncoding.PLAIN));
+        for (long time : new long[] {0, interval}) {
+          for (long t = time; t < time + POINT_NUM; t++) {
+            TSRecord record = new TSRecord(t, device);
+            record.addTuple(new LongDataPoint("s1", t));
+            writer.write(record);
+          }
+        }
+      }
+    }
+    return file;
+  }
+}
@@ -303,4 +303,32 @@ public class MemoryPoolTest {
     Assert.assertTrue(f.isDone());
     Assert.assertFalse(f.isCancelled());
   }
+
+  @Test
+  public void testReserveOverQueryLimit() {
+    MemoryPool queryLimitedPool = new MemoryPool("test", 1024L, 512L, 512L);
+    queryLimitedPool.registerPlanNodeIdToQueryMemoryMap(QUERY_ID, FRAGMENT_INSTANCE_ID, "p0");
+    queryLimitedPool.registerPlanNodeIdToQueryMemoryMap(QUERY_ID, "f1", "p1");
+    queryLimitedPool.registerPlanNodeIdToQueryMemoryMap("q1", "f2", "p2");
+
+    Assert.assertTrue(
+        queryLimitedPool.reserve(QUERY_ID, FRAGMENT_INSTANCE_ID, "p0", 384L, Long.MAX_VALUE).right);
+    // the pool still has 640 bytes, but q0 can only reserve 128 bytes more
+    ListenableFuture<Void> blocked =
+        queryLimitedPool.reserve(QUERY_ID, "f1", "p1", 256L, Long.MAX_VALUE).left;
+    Assert.assertFalse(blocked.isDone());
+    Assert.assertEquals(384L, queryLimitedPool.getQueryMemoryReservedBytes(QUERY_ID));
+    Assert.assertEquals(1L, queryLimitedPool.getBlockedReservationCount());
+    Assert.assertEquals(1L, queryLimitedPool.getQueryLimitedReservationCount());
+
+    // other queries are not affected
+    Assert.assertTrue(queryLimitedPool.reserve("q1", "f2", "p2", 512L, Long.MAX_VALUE).right);
+    Assert.assertEquals(512L, queryLimitedPool.getQueryMemoryReservedBytes("q1"));
+
+    // the blocked reservation is satisfied once q0 frees its own memory
+    queryLimitedPool.free(QUERY_ID, FRAGMENT_INSTANCE_ID, "p0", 384L);
+    Assert.assertTrue(blocked.isDone());
+    Assert.assertEquals(256L, queryLimitedPool.getQueryMemoryReservedBytes(QUERY_ID));
+    Assert.assertEquals(768L, queryLimitedPool.getReservedBytes());
+  }
 }
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.analyze.cache.schema.dualkeycache.impl;
+
+import org.apache.iotdb.db.queryengine.plan.analyze.cache.schema.dualkeycache.impl.ClockCacheEntryManager.ClockCacheEntry;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class ClockCacheEntryManagerTest {
+
+  // the same as the number of lists in ClockCacheEntryManager
+  private static final int SLOT_NUM = 128;
+
+  @Test
+  public void testSecondChance() {
+    ClockCacheEntryManager<String, String, String> manager = new ClockCacheEntryManager<>();
+    CacheEntryGroupImpl<String, String, String, ClockCacheEntry<String, String>> group =
+        new CacheEntryGroupImpl<>("root.db.d1");
+
+    // entries are put into the lists in round-robin, so the first list holds the first and the
+    // last entry, of which the first one is the oldest
+    List<ClockCacheEntry<String, String>> entries = new ArrayList<>();
+    for (int i = 0; i <= SLOT_NUM; i++) {
+      ClockCacheEntry<String, String> entry = manager.createCacheEntry("s" + i, "v" + i, group);
+      manager.put(entry);
+      entries.add(entry);
+    }
+
+    // the referenced oldest entry survives one sweep and the other entry is evicted instead
+    manager.access(entries.get(0));
+    Assert.assertSame(entries.get(SLOT_NUM), manager.evict());
+
+    // its reference bit has been cleared, so it is evicted once no newer entry is left
+    Set<ClockCacheEntry<String, String>> evicted = new HashSet<>();
+    ClockCacheEntry<String, String> entry;
+    while ((entry = manager.evict()) != null) {
+      Assert.assertTrue(evicted.add(entry));
+    }
+    Assert.assertEquals(SLOT_NUM, evicted.size());
+    Assert.assertTrue(evicted.contains(entries.get(0)));
+  }
+
+  @Test
+  public void testInvalid() {
+    ClockCacheEntryManager<String, String, String> manager = new ClockCacheEntryManager<>();
+    CacheEntryGroupImpl<String, String, String, ClockCacheEntry<String, String>> group =
+        new CacheEntryGroupImpl<>("root.db.d1");
+    ClockCacheEntry<String, String> entry1 = manager.createCacheEntry("s1", "v1", group);
+    ClockCacheEntry<String, String> entry2 = manager.createCacheEntry("s2", "v2", group);
+    manager.put(entry1);
+    manager.put(entry2);
+
+    manager.invalid(entry1);
+    Assert.assertSame(entry2, manager.evict());
+    Assert.assertNull(manager.evict());
+
+    // invalidating an evicted entry is a no-op
+    manager.invalid(entry2);
+    manager.invalid(entry1);
+    Assert.assertNull(manager.evict());
+  }
+
+  @Test
+  public void testConcurrentInvalidAndEvict() throws Exception {
+    int threadNum = 8;
+    int entryNumPerThread = 10000;
+    ClockCacheEntryManager<String, String, String> manager = new ClockCacheEntryManager<>();
+    CacheEntryGroupImpl<String, String, String, ClockCacheEntry<String, String>> group =
+        new CacheEntryGroupImpl<>("root.db.d1");
+    List<List<ClockCacheEntry<String, String>>> entries = new ArrayList<>();
+    for (int i = 0; i < threadNum; i++) {
+      List<ClockCacheEntry<String, String>> entriesOfThread = new ArrayList<>();
+      for (int j = 0; j < entryNumPerThread; j++) {
+        ClockCacheEntry<String, String> entry =
+            manager.createCacheEntry("s" + i + "_" + j, "v", group);
+        manager.put(entry);
+        entriesOfThread.add(entry);
+      }
+      entries.add(entriesOfThread);
+    }
+
+    // half of the threads invalidate and access their entries while the others evict
+    Set<ClockCacheEntry<String, String>> evicted = ConcurrentHashMap.newKeySet();
+    Set<ClockCacheEntry<String, String>> invalidated = ConcurrentHashMap.newKeySet();
+    List<ClockCacheEntry<String, String>> duplicated =
+        Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threadNum);
+    List<Future<?>> futures = new ArrayList<>();
+    try {
+      for (int i = 0; i < threadNum; i++) {
+        List<ClockCacheEntry<String, String>> entriesOfThread = entries.get(i);
+        boolean invalidating = i % 2 == 0;
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  for (ClockCacheEntry<String, String> entry : entriesOfThread) {
+                    if (invalidating) {
+                      manager.access(entry);
+                      manager.invalid(entry);
+                      invalidated.add(entry);
+                    } else {
+                      ClockCacheEntry<String, String> evictedEntry = manager.evict();
+                      if (evictedEntry != null && !evicted.add(evictedEntry)) {
+                        duplicated.add(evictedEntry);
+                      }
+                    }
+                  }
+                  return null;
+                }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // the lists are still consistent, every entry is evicted or invalidated exactly once
+    ClockCacheEntry<String, String> entry;
+    while ((entry = manager.evict()) != null) {
+      if (!evicted.add(entry)) {
+        duplicated.add(entry);
+      }
+    }
+    Assert.assertTrue(duplicated.isEmpty());
+    for (List<ClockCacheEntry<String, String>> entriesOfThread : entries) {
+      for (ClockCacheEntry<String, String> e : entriesOfThread) {
+        Assert.assertTrue(evicted.contains(e) || invalidated.contains(e));
+      }
+    }
+    for (int i = 1; i < threadNum; i += 2) {
+      for (ClockCacheEntry<String, String> e : entries.get(i)) {
+        Assert.assertTrue(evicted.contains(e));
+      }
+    }
+  }
+}
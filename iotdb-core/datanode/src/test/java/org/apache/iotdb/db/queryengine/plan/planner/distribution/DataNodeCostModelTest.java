@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.planner.distribution;
+
+import org.apache.iotdb.common.rpc.thrift.TDataNodeLocation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class DataNodeCostModelTest {
+
+  private static final List<TDataNodeLocation> REPLICAS =
+      Arrays.asList(
+          new TDataNodeLocation().setDataNodeId(1),
+          new TDataNodeLocation().setDataNodeId(2),
+          new TDataNodeLocation().setDataNodeId(3));
+
+  @Test
+  public void testSelectReplica() {
+    DataNodeCostModel costModel = new DataNodeCostModel();
+    // nothing is known, keep the default replica
+    Assert.assertEquals(1, costModel.selectReplica(REPLICAS, 1, 0));
+
+    costModel.recordLoad(1, 4, 0);
+    costModel.recordLoad(2, 1, 0);
+    costModel.recordLoad(3, 3.8, 0);
+    Assert.assertEquals(1, costModel.selectReplica(REPLICAS, 0, 0));
+    Assert.assertEquals(1, costModel.selectReplica(REPLICAS, 1, 0));
+    Assert.assertEquals(1, costModel.selectReplica(REPLICAS, 2, 0));
+
+    // failures make the replica expensive
+    for (int i = 0; i < 3; i++) {
+      costModel.recordLoad(2, DataNodeCostModel.FAILURE_LOAD, 0);
+    }
+    Assert.assertEquals(2, costModel.selectReplica(REPLICAS, 1, 0));
+
+    // similar costs, keep the default replica
+    Assert.assertEquals(0, costModel.selectReplica(REPLICAS, 0, 0));
+  }
+
+  @Test
+  public void testIgnoreSmallDifference() {
+    DataNodeCostModel costModel = new DataNodeCostModel();
+    // lightly loaded replicas differ a lot in ratio but not in the number of waiting drivers
+    costModel.recordLoad(1, 0.3, 0);
+    costModel.recordLoad(2, 0, 0);
+    Assert.assertEquals(0, costModel.selectReplica(REPLICAS, 0, 0));
+
+    costModel.recordLoad(1, 3, 0);
+    Assert.assertEquals(1, costModel.selectReplica(REPLICAS, 0, 0));
+  }
+
+  @Test
+  public void testCostDecay() {
+    DataNodeCostModel costModel = new DataNodeCostModel();
+    costModel.recordLoad(1, DataNodeCostModel.FAILURE_LOAD, 0);
+    Assert.assertEquals(DataNodeCostModel.FAILURE_LOAD, costModel.getCost(1, 0), 0.001);
+    Assert.assertEquals(
+        DataNodeCostModel.FAILURE_LOAD / 2.0, costModel.getCost(1, 30_000_000_000L), 0.001);
+
+    // the new sample is averaged with the decayed cost
+    costModel.recordLoad(1, 0, 30_000_000_000L);
+    Assert.assertEquals(
+        DataNodeCostModel.FAILURE_LOAD * 0.4, costModel.getCost(1, 30_000_000_000L), 0.001);
+  }
+
+  @Test
+  public void testGetDegreeOfParallelism() {
+    Assert.assertEquals(8, DataNodeCostModel.getDegreeOfParallelism(8, 16, 0));
+    Assert.assertEquals(4, DataNodeCostModel.getDegreeOfParallelism(8, 16, 16));
+    Assert.assertEquals(1, DataNodeCostModel.getDegreeOfParallelism(8, 16, 1000));
+    Assert.assertEquals(1, DataNodeCostModel.getDegreeOfParallelism(1, 16, 16));
+    Assert.assertEquals(1, DataNodeCostModel.getDegreeOfParallelism(0, 16, 0));
+  }
+}
@@ -19,27 +19,82 @@
 
 package org.apache.iotdb.db.queryengine.plan.scheduler.load;
 
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.common.rpc.thrift.TDataNodeLocation;
+import org.apache.iotdb.common.rpc.thrift.TEndPoint;
+import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.common.rpc.thrift.TTimePartitionSlot;
 import org.apache.iotdb.commons.client.IClientManager;
+import org.apache.iotdb.commons.client.sync.SyncDataNodeInternalServiceClient;
+import org.apache.iotdb.commons.partition.DataPartition;
+import org.apache.iotdb.commons.utils.FileUtils;
+import org.apache.iotdb.commons.utils.TimePartitionUtils;
 import org.apache.iotdb.db.queryengine.common.MPPQueryContext;
 import org.apache.iotdb.db.queryengine.common.PlanFragmentId;
+import org.apache.iotdb.db.queryengine.common.QueryId;
+import org.apache.iotdb.db.queryengine.common.SessionInfo;
 import org.apache.iotdb.db.queryengine.execution.QueryStateMachine;
 import org.apache.iotdb.db.queryengine.plan.analyze.IPartitionFetcher;
+import org.apache.iotdb.db.queryengine.plan.analyze.QueryType;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.DistributedQueryPlan;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.FragmentInstance;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.PlanFragment;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.SubPlan;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.load.LoadSingleTsFileNode;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.mpp.rpc.thrift.TLoadCommandReq;
+import org.apache.iotdb.mpp.rpc.thrift.TLoadResp;
+import org.apache.iotdb.mpp.rpc.thrift.TTsFilePieceReq;
+import org.apache.iotdb.rpc.TSStatusCode;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.write.TsFileWriter;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.LongDataPoint;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class LoadTsFileSchedulerTest {
 
+  private static final String TEST_DIR = "target" + File.separator + "LoadTsFileSchedulerTest";
+
+  private static final int REGION_NUM = 4;
+  private static final int DATA_NODE_NUM = 3;
+  private static final int POINT_NUM = 10;
+
   @Mock DistributedQueryPlan distributedQueryPlan;
   @Mock SubPlan subPlan;
   @Mock PlanFragment planFragment;
@@ -50,6 +105,12 @@ public class LoadTsFileSchedulerTest {
     when(distributedQueryPlan.getRootSubPlan()).thenReturn(subPlan);
     when(subPlan.getPlanFragment()).thenReturn(planFragment);
     when(planFragment.getId()).thenReturn(new PlanFragmentId("test", 0));
+    FileUtils.deleteDirectory(new File(TEST_DIR));
+  }
+
+  @After
+  public void after() {
+    FileUtils.deleteDirectory(new File(TEST_DIR));
   }
 
   @Test
@@ -67,4 +128,189 @@ public class LoadTsFileSchedulerTest {
     Assert.assertNull(t.getTotalCpuTime());
     Assert.assertNull(t.getFragmentInfo());
   }
+
+  @Test
+  public void testDispatchPiecesConcurrently() throws Exception {
+    FakeDataNodes dataNodes = new FakeDataNodes(-1);
+    QueryStateMachine stateMachine = mock(QueryStateMachine.class);
+    newScheduler(stateMachine, dataNodes).start();
+
+    // the pieces of all regions are in flight at the same time
+    Assert.assertFalse(dataNodes.isDispatchedSequentially.get());
+    // every replica of every region receives its piece
+    for (int i = 0; i < REGION_NUM; i++) {
+      Assert.assertEquals(
+          new HashSet<>(getDataNodes(i)), dataNodes.region2ReceivedDataNodes.get(i));
+    }
+    Assert.assertEquals(
+        Collections.nCopies(DATA_NODE_NUM, LoadTsFileScheduler.LoadCommand.EXECUTE.ordinal()),
+        dataNodes.getLoadCommands());
+    verify(stateMachine).transitionToFinished();
+    verify(stateMachine, never()).transitionToFailed(any(TSStatus.class));
+  }
+
+  @Test
+  public void testRollbackIfOnePieceFails() throws Exception {
+    FakeDataNodes dataNodes = new FakeDataNodes(2);
+    QueryStateMachine stateMachine = mock(QueryStateMachine.class);
+    newScheduler(stateMachine, dataNodes).start();
+
+    // the load is rolled back on all DataNodes, including those which have received their pieces
+    Assert.assertEquals(
+        Collections.nCopies(DATA_NODE_NUM, LoadTsFileScheduler.LoadCommand.ROLLBACK.ordinal()),
+        dataNodes.getLoadCommands());
+    verify(stateMachine, atLeastOnce()).transitionToFailed(any(TSStatus.class));
+    verify(stateMachine, never()).transitionToFinished();
+  }
+
+  private LoadTsFileScheduler newScheduler(QueryStateMachine stateMachine, FakeDataNodes dataNodes)
+      throws Exception {
+    LoadSingleTsFileNode node =
+        new LoadSingleTsFileNode(new PlanNodeId("load"), createTsFile(), false, 0);
+    FragmentInstance instance = mock(FragmentInstance.class);
+    PlanFragment fragment = mock(PlanFragment.class);
+    when(instance.getFragment()).thenReturn(fragment);
+    when(fragment.getPlanNodeTree()).thenReturn(node);
+    when(distributedQueryPlan.getInstances()).thenReturn(Collections.singletonList(instance));
+
+    MPPQueryContext queryContext =
+        new MPPQueryContext(
+            "load", new QueryId("test"), new SessionInfo(0, "root", "UTC"), null, null);
+    queryContext.setQueryType(QueryType.WRITE);
+    queryContext.setTimeOut(60_000);
+
+    // the data of device d{i} is in region i
+    DataPartition dataPartition = mock(DataPartition.class);
+    when(dataPartition.getDataRegionReplicaSetForWriting(
+            anyString(), any(TTimePartitionSlot.class)))
+        .thenAnswer(
+            invocation ->
+                getReplicaSet(Integer.parseInt(((String) invocation.getArgument(0)).substring(9))));
+    IPartitionFetcher partitionFetcher = mock(IPartitionFetcher.class);
+    when(partitionFetcher.getOrCreateDataPartition(anyList(), anyString()))
+        .thenReturn(dataPartition);
+
+    return new LoadTsFileScheduler(
+        distributedQueryPlan,
+        queryContext,
+        stateMachine,
+        dataNodes.clientManager,
+        partitionFetcher,
+        false);
+  }
+
+  /** Write a TsFile whose devices root.sg.d{i} have data in two time partitions. */
+  private TsFileResource createTsFile() throws Exception {
+    File dir = new File(TEST_DIR);
+    Assert.assertTrue(dir.mkdirs());
+    File file = new File(dir, "1-1-0-0.tsfile");
+    TsFileResource resource = new TsFileResource(file);
+    long interval = TimePartitionUtils.getTimePartitionInterval();
+    try (TsFileWriter writer = new TsFileWriter(file)) {
+      for (int i = 0; i < REGION_NUM; i++) {
+        String device = "root.sg.d" + i;
+        writer.registerTimeseries(
+            new Path(device), new MeasurementSchema("s1", TSDataType.INT64, TSEncoding.PLAIN));
+        for (long time : new long[] {0, interval}) {
+          for (long t = time; t < time + POINT_NUM; t++) {
+            TSRecord record = new TSRecord(t, device);
+            record.addTuple(new LongDataPoint("s1", t));
+            writer.write(record);
+          }
+        }
+        resource.updateStartTime(device, 0);
+        resource.updateEndTime(device, interval + POINT_NUM - 1);
+      }
+    }
+    return resource;
+  }
+
+  private static TRegionReplicaSet getReplicaSet(int regionId) {
+    List<TDataNodeLocation> locations = new ArrayList<>();
+    for (int dataNodeId : getDataNodes(regionId)) {
+      locations.add(
+          new TDataNodeLocation()
+              .setDataNodeId(dataNodeId)
+              .setInternalEndPoint(new TEndPoint("192.0.2.1", 20000 + dataNodeId)));
+    }
+    return new TRegionReplicaSet(
+        new TConsensusGroupId(TConsensusGroupType.DataRegion, regionId), locations);
+  }
+
+  /** Each region has two replicas on different DataNodes. */
+  private static List<Integer> getDataNodes(int regionId) {
+    return Arrays.asList(regionId % DATA_NODE_NUM, (regionId + 1) % DATA_NODE_NUM);
+  }
+
+  /** DataNodes which accept all pieces except those of one region. */
+  private static class FakeDataNodes {
+
+    private final IClientManager<TEndPoint, SyncDataNodeInternalServiceClient> clientManager;
+
+    private final Map<Integer, Set<Integer>> region2ReceivedDataNodes = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> dataNode2LoadCommand = new ConcurrentHashMap<>();
+
+    // counted down when the first piece of a region arrives
+    private final CountDownLatch regionLatch = new CountDownLatch(REGION_NUM);
+    private final AtomicBoolean isDispatchedSequentially = new AtomicBoolean(false);
+
+    @SuppressWarnings("unchecked")
+    private FakeDataNodes(int failedRegionId) throws Exception {
+      clientManager = mock(IClientManager.class);
+      when(clientManager.borrowClient(any(TEndPoint.class)))
+          .thenAnswer(
+              invocation -> {
+                int dataNodeId = ((TEndPoint) invocation.getArgument(0)).getPort() - 20000;
+                SyncDataNodeInternalServiceClient client =
+                    mock(SyncDataNodeInternalServiceClient.class);
+                when(client.sendTsFilePieceNode(any(TTsFilePieceReq.class)))
+                    .thenAnswer(
+                        pieceInvocation -> {
+                          int regionId =
+                              ((TTsFilePieceReq) pieceInvocation.getArgument(0))
+                                  .getConsensusGroupId()
+                                  .getId();
+                          receivePiece(regionId, dataNodeId);
+                          if (regionId == failedRegionId) {
+                            TLoadResp resp = new TLoadResp(false);
+                            resp.setStatus(
+                                new TSStatus(TSStatusCode.LOAD_FILE_ERROR.getStatusCode()));
+                            return resp;
+                          }
+                          return new TLoadResp(true);
+                        });
+                when(client.sendLoadCommand(any(TLoadCommandReq.class)))
+                    .thenAnswer(
+                        commandInvocation -> {
+                          dataNode2LoadCommand.put(
+                              dataNodeId,
+                              ((TLoadCommandReq) commandInvocation.getArgument(0))
+                                  .getCommandType());
+                          return new TLoadResp(true);
+                        });
+                return client;
+              });
+    }
+
+    private void receivePiece(int regionId, int dataNodeId) throws InterruptedException {
+      Set<Integer> receivedDataNodes =
+          region2ReceivedDataNodes.computeIfAbsent(regionId, o -> ConcurrentHashMap.newKeySet());
+      if (receivedDataNodes.isEmpty()) {
+        regionLatch.countDown();
+      }
+      receivedDataNodes.add(dataNodeId);
+      // blocks until the pieces of all regions have been dispatched
+      if (!regionLatch.await(10, TimeUnit.SECONDS)) {
+        isDispatchedSequentially.set(true);
+      }
+    }
+
+    private List<Integer> getLoadCommands() {
+      List<Integer> loadCommands = new ArrayList<>();
+      for (int i = 0; i < DATA_NODE_NUM; i++) {
+        loadCommands.add(dataNode2LoadCommand.get(i));
+      }
+      return loadCommands;
+    }
+  }
 }
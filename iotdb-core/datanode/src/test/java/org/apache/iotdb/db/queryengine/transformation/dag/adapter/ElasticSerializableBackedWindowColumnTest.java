@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.transformation.dag.adapter;
+
+import org.apache.iotdb.db.queryengine.transformation.datastructure.row.ElasticSerializableRowRecordList;
+import org.apache.iotdb.db.queryengine.transformation.datastructure.tv.ElasticSerializableTVList;
+import org.apache.iotdb.db.service.TemporaryQueryDataFileService;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ElasticSerializableBackedWindowColumnTest {
+
+  private static final String QUERY_ID = String.valueOf(0);
+  private static final float MEMORY_USAGE_LIMIT_IN_MB = 100f;
+  private static final int CACHE_SIZE = 3;
+  private static final int ROW_COUNT = 10000;
+
+  @Before
+  public void setUp() throws Exception {
+    TemporaryQueryDataFileService.getInstance().start();
+  }
+
+  @After
+  public void tearDown() {
+    TemporaryQueryDataFileService.getInstance().stop();
+  }
+
+  @Test
+  public void testSingleColumnWindow() throws Exception {
+    ElasticSerializableTVList tvList =
+        ElasticSerializableTVList.newElasticSerializableTVList(
+            TSDataType.DOUBLE, QUERY_ID, MEMORY_USAGE_LIMIT_IN_MB, CACHE_SIZE);
+    for (int i = 0; i < ROW_COUNT; i++) {
+      tvList.putDouble(i, i);
+    }
+
+    ElasticSerializableTVListBackedSingleColumnWindow window =
+        new ElasticSerializableTVListBackedSingleColumnWindow(tvList);
+    window.seek(100, 300, 100, 299);
+
+    Column timeColumn = window.getTimeColumn();
+    Column valueColumn = window.getColumn(0);
+    assertEquals(TSDataType.DOUBLE, valueColumn.getDataType());
+    assertEquals(200, timeColumn.getPositionCount());
+    assertEquals(200, valueColumn.getPositionCount());
+    for (int i = 0; i < 200; i++) {
+      assertEquals(window.getRow(i).getTime(), timeColumn.getLong(i));
+      assertEquals(window.getRow(i).getDouble(0), valueColumn.getDouble(i), 0);
+    }
+    // columns are reused until the window moves
+    assertSame(valueColumn, window.getColumn(0));
+
+    window.seek(ROW_COUNT - 10, ROW_COUNT, ROW_COUNT - 10, ROW_COUNT - 1);
+    assertEquals(10, window.getColumn(0).getPositionCount());
+    assertEquals(ROW_COUNT - 1, window.getTimeColumn().getLong(9));
+
+    window.setEmptyWindow(ROW_COUNT, ROW_COUNT + 10);
+    assertEquals(0, window.getColumn(0).getPositionCount());
+    assertEquals(0, window.getTimeColumn().getPositionCount());
+  }
+
+  @Test
+  public void testMultiColumnWindow() throws Exception {
+    ElasticSerializableRowRecordList rowRecordList =
+        new ElasticSerializableRowRecordList(
+            new TSDataType[] {TSDataType.INT32, TSDataType.INT64},
+            QUERY_ID,
+            MEMORY_USAGE_LIMIT_IN_MB,
+            CACHE_SIZE);
+    for (int i = 0; i < ROW_COUNT; i++) {
+      // the second column is null at every odd row
+      rowRecordList.put(new Object[] {i, i % 2 == 0 ? (long) i : null, (long) i});
+    }
+
+    ElasticSerializableRowRecordListBackedMultiColumnWindow window =
+        new ElasticSerializableRowRecordListBackedMultiColumnWindow(rowRecordList);
+    window.seek(5000, 6000, 5000, 5999);
+
+    Column timeColumn = window.getTimeColumn();
+    Column intColumn = window.getColumn(0);
+    Column longColumn = window.getColumn(1);
+    assertEquals(TSDataType.INT32, intColumn.getDataType());
+    assertEquals(TSDataType.INT64, longColumn.getDataType());
+    for (int i = 0; i < 1000; i++) {
+      int expected = 5000 + i;
+      assertEquals(expected, timeColumn.getLong(i));
+      assertEquals(expected, intColumn.getInt(i));
+      if (expected % 2 == 0) {
+        assertFalse(longColumn.isNull(i));
+        assertEquals(expected, longColumn.getLong(i));
+      } else {
+        assertTrue(longColumn.isNull(i));
+      }
+    }
+  }
+}
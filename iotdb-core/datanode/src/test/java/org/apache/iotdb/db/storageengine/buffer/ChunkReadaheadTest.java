@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.buffer;
+
+import org.apache.iotdb.tsfile.file.metadata.AlignedChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.IChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ChunkReadaheadTest {
+
+  @Test
+  public void testGetOffsetsToPrefetch() {
+    List<IChunkMetadata> chunkMetadataList =
+        Arrays.asList(chunkMetadata(100), chunkMetadata(300), chunkMetadata(700));
+    Assert.assertEquals(
+        Arrays.asList(100L, 300L), ChunkReadahead.getOffsetsToPrefetch(chunkMetadataList, 500));
+    Assert.assertEquals(
+        Arrays.asList(100L, 300L, 700L),
+        ChunkReadahead.getOffsetsToPrefetch(chunkMetadataList, 600));
+    Assert.assertEquals(
+        Collections.singletonList(100L), ChunkReadahead.getOffsetsToPrefetch(chunkMetadataList, 0));
+    Assert.assertTrue(ChunkReadahead.getOffsetsToPrefetch(Collections.emptyList(), 500).isEmpty());
+  }
+
+  @Test
+  public void testGetOffsetsToPrefetchOfAlignedChunks() {
+    List<IChunkMetadata> chunkMetadataList =
+        Arrays.asList(
+            new AlignedChunkMetadata(
+                chunkMetadata(100), Arrays.asList(chunkMetadata(200), null, chunkMetadata(150))),
+            new AlignedChunkMetadata(
+                chunkMetadata(400), Arrays.asList(chunkMetadata(500), chunkMetadata(2000))));
+    Assert.assertEquals(
+        Arrays.asList(100L, 150L, 200L, 400L, 500L),
+        ChunkReadahead.getOffsetsToPrefetch(chunkMetadataList, 1000));
+  }
+
+  @Test
+  public void testIsRotational() {
+    // must not fail whatever the disk or the operating system is
+    ChunkReadahead.isRotational(Paths.get(System.getProperty("java.io.tmpdir")));
+  }
+
+  private static ChunkMetadata chunkMetadata(long offset) {
+    return new ChunkMetadata(
+        "s", TSDataType.INT64, offset, Statistics.getStatsByType(TSDataType.INT64));
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.buffer;
+
+import org.apache.iotdb.commons.utils.FileUtils;
+import org.apache.iotdb.tsfile.file.metadata.TimeseriesMetadata;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.TsFileReader;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.expression.QueryExpression;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.apache.iotdb.tsfile.read.reader.TsFileInput;
+import org.apache.iotdb.tsfile.write.TsFileWriter;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.LongDataPoint;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+
+public class TsFileMetadataDiskCacheTest {
+
+  private static final String ROOT_DIR = "target" + File.separator + "TsFileMetadataDiskCacheTest";
+  private static final String DATA_DIR =
+      ROOT_DIR + File.separator + "sequence" + File.separator + "root.sg" + File.separator + "1";
+  private static final String CACHE_DIR = ROOT_DIR + File.separator + "cache";
+
+  private static final int DEVICE_NUM = 10;
+  private static final int MEASUREMENT_NUM = 10;
+  private static final int POINT_NUM = 100;
+
+  @Before
+  public void setUp() {
+    FileUtils.deleteDirectory(new File(ROOT_DIR));
+  }
+
+  @After
+  public void tearDown() {
+    FileUtils.deleteDirectory(new File(ROOT_DIR));
+  }
+
+  @Test
+  public void testReadMetadataFromCache() throws Exception {
+    File tsFile = createTsFile(0, POINT_NUM, "1-1-0-0.tsfile");
+    TsFileMetadataDiskCache cache = new TsFileMetadataDiskCache(CACHE_DIR, 1024 * 1024);
+
+    // cached asynchronously when it is read for the first time
+    Assert.assertNull(cache.getTsFileInput(tsFile.getPath()));
+    TsFileInput input = awaitCached(cache, tsFile);
+    Assert.assertTrue(cache.getUsedSize() > 0);
+
+    try (TsFileSequenceReader expectedReader = new TsFileSequenceReader(tsFile.getPath());
+        TsFileSequenceReader reader = new TsFileSequenceReader(input)) {
+      Assert.assertEquals(expectedReader.getAllDevices(), reader.getAllDevices());
+      for (int i = 0; i < DEVICE_NUM; i++) {
+        TimeseriesMetadata expected =
+            expectedReader.readTimeseriesMetadata("root.sg.d" + i, "s5", false);
+        TimeseriesMetadata actual = reader.readTimeseriesMetadata("root.sg.d" + i, "s5", false);
+        Assert.assertEquals(expected.getStatistics(), actual.getStatistics());
+        Assert.assertEquals(
+            expected.getChunkMetadataList().size(), actual.getChunkMetadataList().size());
+      }
+      Assert.assertEquals(
+          expectedReader.getAllTimeseriesMetadata(true).toString(),
+          reader.getAllTimeseriesMetadata(true).toString());
+
+      // the chunks are read from the TsFile
+      try (TsFileReader tsFileReader = new TsFileReader(reader)) {
+        QueryDataSet dataSet =
+            tsFileReader.query(
+                QueryExpression.create(
+                    Collections.singletonList(new Path("root.sg.d3", "s7", false)), null));
+        int count = 0;
+        while (dataSet.hasNext()) {
+          Assert.assertEquals(count * 7L, dataSet.next().getFields().get(0).getLongV());
+          count++;
+        }
+        Assert.assertEquals(POINT_NUM, count);
+      }
+    }
+
+    // the cache survives restarts
+    TsFileMetadataDiskCache restartedCache = new TsFileMetadataDiskCache(CACHE_DIR, 1024 * 1024);
+    Assert.assertEquals(cache.getUsedSize(), restartedCache.getUsedSize());
+    TsFileInput restartedInput = restartedCache.getTsFileInput(tsFile.getPath());
+    Assert.assertNotNull(restartedInput);
+    restartedInput.close();
+
+    // removed with the TsFile
+    restartedCache.remove(tsFile);
+    Assert.assertEquals(0, restartedCache.getUsedSize());
+    Assert.assertNull(restartedCache.getTsFileInput(tsFile.getPath()));
+  }
+
+  @Test
+  public void testInvalidCacheFile() throws Exception {
+    File tsFile = createTsFile(0, POINT_NUM, "1-1-0-0.tsfile");
+    TsFileMetadataDiskCache cache = new TsFileMetadataDiskCache(CACHE_DIR, 1024 * 1024);
+    Assert.assertNull(cache.getTsFileInput(tsFile.getPath()));
+    awaitCached(cache, tsFile).close();
+
+    // the cache file of another TsFile with the same TsFileID is not used
+    Assert.assertTrue(tsFile.delete());
+    File otherTsFile = createTsFile(1, POINT_NUM * 2, "1-1-0-0.tsfile");
+    Assert.assertNull(cache.getTsFileInput(otherTsFile.getPath()));
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(awaitCached(cache, otherTsFile))) {
+      TimeseriesMetadata timeseriesMetadata =
+          reader.readTimeseriesMetadata("root.sg.d0", "s1", false);
+      Assert.assertEquals(1L, timeseriesMetadata.getStatistics().getMinValue());
+      Assert.assertEquals(POINT_NUM * 2, timeseriesMetadata.getStatistics().getCount());
+    }
+  }
+
+  @Test
+  public void testEvictLeastRecentlyUsed() throws Exception {
+    File tsFile1 = createTsFile(0, POINT_NUM, "1-1-0-0.tsfile");
+    File tsFile2 = createTsFile(0, POINT_NUM, "2-2-0-0.tsfile");
+    TsFileMetadataDiskCache cache = new TsFileMetadataDiskCache(CACHE_DIR, 1024 * 1024);
+    Assert.assertNull(cache.getTsFileInput(tsFile1.getPath()));
+    awaitCached(cache, tsFile1).close();
+    long cacheFileSize = cache.getUsedSize();
+
+    // only one TsFile can be cached
+    cache = new TsFileMetadataDiskCache(CACHE_DIR, cacheFileSize + cacheFileSize / 2);
+    Assert.assertNull(cache.getTsFileInput(tsFile2.getPath()));
+    awaitCached(cache, tsFile2).close();
+    Assert.assertEquals(cacheFileSize, cache.getUsedSize());
+    Assert.assertArrayEquals(new String[] {"1-0-2-0.meta"}, new File(CACHE_DIR).list());
+
+    // a TsFile larger than the cache is not cached
+    cache = new TsFileMetadataDiskCache(CACHE_DIR, cacheFileSize - 1);
+    Assert.assertNull(cache.getTsFileInput(tsFile1.getPath()));
+    TimeUnit.MILLISECONDS.sleep(500);
+    Assert.assertArrayEquals(new String[] {"1-0-2-0.meta"}, new File(CACHE_DIR).list());
+  }
+
+  private static TsFileInput awaitCached(TsFileMetadataDiskCache cache, File tsFile) {
+    TsFileInput[] input = new TsFileInput[1];
+    await()
+        .atMost(10, TimeUnit.SECONDS)
+        .until(() -> (input[0] = cache.getTsFileInput(tsFile.getPath())) != null);
+    return input[0];
+  }
+
+  /** Write a TsFile of which the value of root.sg.d{i}.s{j} at time t is (t + base) * j. */
+  private static File createTsFile(long base, int pointNum, String name) throws IOException {
+    File dir = new File(DATA_DIR + File.separator + "0");
+    if (!dir.exists() && !dir.mkdirs()) {
+      throw new IOException("Can not create " + dir);
+    }
+    File file = new File(dir, name);
+    try (TsFileWriter writer = new TsFileWriter(file)) {
+      for (int i = 0; i < DEVICE_NUM; i++) {
+        for (int j = 0; j < MEASUREMENT_NUM; j++) {
+          writer.registerTimeseries(
+              new Path("root.sg.d" + i),
+              new MeasurementSchema("s" + j, TSDataType.INT64, TSEncoding.PLAIN));
+        }
+        for (long t = 0; t < pointNum; t++) {
+          TSRecord record = new TSRecord(t, "root.sg.d" + i);
+          for (int j = 0; j < MEASUREMENT_NUM; j++) {
+            record.addTuple(new LongDataPoint("s" + j, (t + base) * j));
+          }
+          writer.write(record);
+        }
+      }
+    } catch (Exception e) {
+      throw new IOException(e);
+    }
+    return file;
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion;
+
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.DeleteDataNode;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertRowNode;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertRowsNode;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.utils.Pair;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+public class EarliestWrittenTimeTrackerTest {
+
+  private EarliestWrittenTimeTracker tracker;
+
+  @Before
+  public void setUp() {
+    tracker = new EarliestWrittenTimeTracker();
+  }
+
+  @Test
+  public void testTrackInsertAndDelete() throws IllegalPathException {
+    Assert.assertNull(tracker.report());
+
+    InsertRowsNode insertRowsNode = new InsertRowsNode(new PlanNodeId("1"));
+    insertRowsNode.addOneInsertRowNode(createInsertRowNode(2000L), 0);
+    insertRowsNode.addOneInsertRowNode(createInsertRowNode(1000L), 1);
+    tracker.update(insertRowsNode);
+    tracker.update(createInsertRowNode(3000L));
+    Pair<Long, Long> report = tracker.report();
+    Assert.assertEquals(1000L, (long) report.right);
+    // reset after the report is acknowledged
+    tracker.acknowledge(report.left);
+    Assert.assertNull(tracker.report());
+
+    tracker.update(createInsertRowNode(3000L));
+    tracker.update(
+        new DeleteDataNode(
+            new PlanNodeId("2"),
+            Collections.singletonList(new PartialPath("root.sg.d1.s1")),
+            500L,
+            600L));
+    Assert.assertEquals(500L, (long) tracker.report().right);
+  }
+
+  @Test
+  public void testReportUntilAcknowledged() throws IllegalPathException {
+    tracker.update(createInsertRowNode(2000L));
+    Pair<Long, Long> lostReport = tracker.report();
+    Assert.assertEquals(2000L, (long) lostReport.right);
+
+    // the report is lost, so it is merged into the next one
+    tracker.update(createInsertRowNode(3000L));
+    Pair<Long, Long> report = tracker.report();
+    Assert.assertEquals(2000L, (long) report.right);
+    Assert.assertNotEquals(lostReport.left, report.left);
+
+    // the acknowledgement of an earlier report does not reset the later one
+    tracker.update(createInsertRowNode(1000L));
+    Pair<Long, Long> laterReport = tracker.report();
+    Assert.assertEquals(1000L, (long) laterReport.right);
+    tracker.acknowledge(report.left);
+    Assert.assertEquals(1000L, (long) tracker.report().right);
+
+    // data written after the last report is kept when it is acknowledged
+    laterReport = tracker.report();
+    tracker.update(createInsertRowNode(4000L));
+    tracker.acknowledge(laterReport.left);
+    Assert.assertEquals(4000L, (long) tracker.report().right);
+  }
+
+  private static InsertRowNode createInsertRowNode(long time) throws IllegalPathException {
+    return new InsertRowNode(
+        new PlanNodeId("1"),
+        new PartialPath("root.sg.d1"),
+        false,
+        new String[] {"s1"},
+        new TSDataType[] {TSDataType.DOUBLE},
+        time,
+        new Object[] {1.0},
+        false);
+  }
+}
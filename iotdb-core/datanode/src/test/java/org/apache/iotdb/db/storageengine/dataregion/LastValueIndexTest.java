@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion;
+
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.utils.constant.TestConstant;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.TimeValuePair;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.TsPrimitiveType;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+public class LastValueIndexTest {
+
+  private File systemDir;
+
+  @Before
+  public void setUp() {
+    systemDir = new File(TestConstant.BASE_OUTPUT_PATH.concat("last_value_index"));
+    systemDir.mkdirs();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    FileUtils.deleteDirectory(systemDir);
+  }
+
+  @Test
+  public void testUpdateAndRecover() {
+    LastValueIndex index = new LastValueIndex(systemDir, 100);
+    update(index, lastPoints("root.sg.d1", "s1", point(10, 1L)));
+    update(
+        index,
+        lastPoints(
+            "root.sg.d1",
+            "s1",
+            point(5, 2L),
+            "root.sg.d2",
+            "s1",
+            new TimeValuePair(
+                20,
+                TsPrimitiveType.getByType(
+                    TSDataType.TEXT, new Binary("v", StandardCharsets.UTF_8)))));
+    // older points do not replace indexed ones
+    Assert.assertEquals(point(10, 1L), index.get("root.sg.d1", "s1"));
+    Assert.assertNull(index.get("root.sg.d1", "s2"));
+
+    LastValueIndex recovered = new LastValueIndex(systemDir, 100);
+    Assert.assertEquals(2, recovered.getSeriesNum());
+    Assert.assertEquals(point(10, 1L), recovered.get("root.sg.d1", "s1"));
+    Assert.assertEquals(
+        "v",
+        recovered
+            .get("root.sg.d2", "s1")
+            .getValue()
+            .getBinary()
+            .getStringValue(StandardCharsets.UTF_8));
+
+    // a disabled index deletes its log
+    Assert.assertFalse(new LastValueIndex(systemDir, 0).isEnabled());
+    Assert.assertEquals(0, new LastValueIndex(systemDir, 100).getSeriesNum());
+  }
+
+  @Test
+  public void testDisabledIndexNotTouchFiles() throws Exception {
+    // the log of an index in the working directory, which was deleted by a disabled index
+    File logFile = new File(LastValueIndex.LOG_FILE_NAME);
+    Assert.assertTrue(logFile.createNewFile());
+    try {
+      LastValueIndex index = LastValueIndex.disabled();
+      Assert.assertFalse(index.isEnabled());
+      index.update(
+          Collections.singletonMap(
+              "root.sg.d1",
+              Collections.singletonMap("s1", new TimeValuePair(1, new TsPrimitiveType.TsInt(1)))),
+          new LastValueIndex.Admission(index.getRemovalVersion(), device -> Long.MIN_VALUE));
+      index.clear();
+      Assert.assertEquals(0, index.getSeriesNum());
+      Assert.assertTrue(logFile.exists());
+    } finally {
+      Assert.assertTrue(logFile.delete());
+    }
+  }
+
+  @Test
+  public void testRemove() throws IllegalPathException {
+    LastValueIndex index = new LastValueIndex(systemDir, 100);
+    update(index, lastPoints("root.sg.d1", "s1", point(10, 1L), "root.sg.d1", "s2", point(20, 2L)));
+    update(index, lastPoints("root.sg.d2", "s1", point(30, 3L)));
+
+    // the last point of s1 is not deleted
+    index.delete(new PartialPath("root.sg.d1.*"), 15, 25);
+    Assert.assertEquals(point(10, 1L), index.get("root.sg.d1", "s1"));
+    Assert.assertNull(index.get("root.sg.d1", "s2"));
+
+    index.removeDevices(Collections.singletonList("root.sg.d2"));
+    Assert.assertNull(index.get("root.sg.d2", "s1"));
+
+    LastValueIndex recovered = new LastValueIndex(systemDir, 100);
+    Assert.assertEquals(1, recovered.getSeriesNum());
+    Assert.assertEquals(point(10, 1L), recovered.get("root.sg.d1", "s1"));
+
+    Map<String, Map<String, TimeValuePair>> lastPoints =
+        lastPoints("root.sg.d1", "s1", point(10, 1L), "root.sg.d2", "s1", point(30, 3L));
+    LastValueIndex.removeDeletedPoints(lastPoints, new PartialPath("root.sg.**"), 0, 20);
+    Assert.assertEquals(Collections.singleton("root.sg.d2"), lastPoints.keySet());
+  }
+
+  @Test
+  public void testMaxSeriesNum() {
+    LastValueIndex index = new LastValueIndex(systemDir, 1);
+    update(index, lastPoints("root.sg.d1", "s1", point(10, 1L)));
+    update(index, lastPoints("root.sg.d1", "s2", point(10, 1L)));
+    update(index, lastPoints("root.sg.d1", "s1", point(20, 2L)));
+    Assert.assertEquals(1, index.getSeriesNum());
+    Assert.assertEquals(point(20, 2L), index.get("root.sg.d1", "s1"));
+    Assert.assertNull(index.get("root.sg.d1", "s2"));
+  }
+
+  @Test
+  public void testAdmitOnlyLaterPoints() throws IllegalPathException {
+    LastValueIndex index = new LastValueIndex(systemDir, 100);
+    // root.sg.d1 has data up to 1000 in the other TsFiles, e.g. TsFiles written before the index
+    // was enabled
+    Map<String, Long> maxTimeOfOtherTsFiles = new HashMap<>();
+    maxTimeOfOtherTsFiles.put("root.sg.d1", 1000L);
+    ToLongFunction<String> maxTimeOfOtherTsFilesFunction =
+        device -> maxTimeOfOtherTsFiles.getOrDefault(device, Long.MIN_VALUE);
+    index.update(
+        lastPoints("root.sg.d1", "s1", point(10, 1L), "root.sg.d2", "s1", point(10, 1L)),
+        new LastValueIndex.Admission(index.getRemovalVersion(), maxTimeOfOtherTsFilesFunction));
+    Assert.assertNull(index.get("root.sg.d1", "s1"));
+    Assert.assertEquals(point(10, 1L), index.get("root.sg.d2", "s1"));
+    index.update(
+        lastPoints("root.sg.d1", "s1", point(2000, 2L)),
+        new LastValueIndex.Admission(index.getRemovalVersion(), maxTimeOfOtherTsFilesFunction));
+    Assert.assertEquals(point(2000, 2L), index.get("root.sg.d1", "s1"));
+
+    // an unsequence flush after a TsFile of root.sg.d2 is loaded does not bring back the series
+    maxTimeOfOtherTsFiles.put("root.sg.d2", 1000L);
+    index.removeDevices(Collections.singletonList("root.sg.d2"));
+    index.update(
+        lastPoints("root.sg.d2", "s1", point(20, 3L)),
+        new LastValueIndex.Admission(index.getRemovalVersion(), maxTimeOfOtherTsFilesFunction));
+    Assert.assertNull(index.get("root.sg.d2", "s1"));
+
+    // neither does one after a deletion, as the deleted point is still in the TsFile
+    maxTimeOfOtherTsFiles.put("root.sg.d1", 2000L);
+    index.delete(new PartialPath("root.sg.d1.s1"), 1500, 2500);
+    index.update(
+        lastPoints("root.sg.d1", "s1", point(30, 4L)),
+        new LastValueIndex.Admission(index.getRemovalVersion(), maxTimeOfOtherTsFilesFunction));
+    Assert.assertNull(index.get("root.sg.d1", "s1"));
+    Assert.assertEquals(0, new LastValueIndex(systemDir, 100).getSeriesNum());
+  }
+
+  @Test
+  public void testNoAdmissionAfterRemoval() {
+    LastValueIndex index = new LastValueIndex(systemDir, 100);
+    update(index, lastPoints("root.sg.d1", "s1", point(10, 1L)));
+    LastValueIndex.Admission admission =
+        new LastValueIndex.Admission(index.getRemovalVersion(), device -> Long.MIN_VALUE);
+
+    // a TsFile is loaded after the admission collected the other TsFiles
+    index.removeDevices(Collections.singletonList("root.sg.d2"));
+    index.update(
+        lastPoints("root.sg.d1", "s1", point(20, 2L), "root.sg.d2", "s1", point(20, 2L)),
+        admission);
+    // the indexed series are still updated
+    Assert.assertEquals(point(20, 2L), index.get("root.sg.d1", "s1"));
+    Assert.assertNull(index.get("root.sg.d2", "s1"));
+  }
+
+  @Test
+  public void testIgnoreIncompleteRecord() throws IOException {
+    LastValueIndex index = new LastValueIndex(systemDir, 100);
+    update(index, lastPoints("root.sg.d1", "s1", point(10, 1L)));
+
+    // a record whose content is not completely written
+    try (FileOutputStream output =
+        new FileOutputStream(new File(systemDir, LastValueIndex.LOG_FILE_NAME), true)) {
+      output.write(new byte[] {0, 0, 0, 100, 0});
+    }
+    LastValueIndex recovered = new LastValueIndex(systemDir, 100);
+    Assert.assertEquals(point(10, 1L), recovered.get("root.sg.d1", "s1"));
+
+    // the incomplete record is dropped, so later records can be recovered
+    update(recovered, lastPoints("root.sg.d1", "s2", point(20, 2L)));
+    Assert.assertEquals(2, new LastValueIndex(systemDir, 100).getSeriesNum());
+  }
+
+  /** Update the index as if the series had no data in the other TsFiles. */
+  private static void update(
+      LastValueIndex index, Map<String, Map<String, TimeValuePair>> lastPoints) {
+    index.update(
+        lastPoints,
+        new LastValueIndex.Admission(index.getRemovalVersion(), device -> Long.MIN_VALUE));
+  }
+
+  private static TimeValuePair point(long time, long value) {
+    return new TimeValuePair(time, TsPrimitiveType.getByType(TSDataType.INT64, value));
+  }
+
+  /** @param devicesMeasurementsAndPoints repeated device, measurement and point */
+  private static Map<String, Map<String, TimeValuePair>> lastPoints(
+      Object... devicesMeasurementsAndPoints) {
+    Map<String, Map<String, TimeValuePair>> lastPoints = new HashMap<>();
+    for (int i = 0; i < devicesMeasurementsAndPoints.length; i += 3) {
+      lastPoints
+          .computeIfAbsent((String) devicesMeasurementsAndPoints[i], k -> new HashMap<>())
+          .put(
+              (String) devicesMeasurementsAndPoints[i + 1],
+              (TimeValuePair) devicesMeasurementsAndPoints[i + 2]);
+    }
+    return lastPoints;
+  }
+}
@@ -19,22 +19,35 @@
 package org.apache.iotdb.db.storageengine.dataregion.memtable;
 
 import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.db.exception.WriteProcessException;
 import org.apache.iotdb.db.storageengine.dataregion.flush.MemTableFlushTask;
 import org.apache.iotdb.db.utils.EnvironmentUtils;
 import org.apache.iotdb.db.utils.constant.TestConstant;
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.fileSystem.FSFactoryProducer;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.common.Chunk;
+import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReader;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.write.schema.IMeasurementSchema;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 import org.apache.iotdb.tsfile.write.writer.RestorableTsFileIOWriter;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
 public class MemTableFlushTaskTest {
@@ -105,6 +118,85 @@ public class MemTableFlushTaskTest {
     assertEquals(endTime - startTime + 1, chunkMetaData.getNumOfPoints());
   }
 
+  @Test
+  public void testFlushAutoEncodingMemTable() throws Exception {
+    TSDataType[] dataTypes = {
+      TSDataType.BOOLEAN,
+      TSDataType.INT32,
+      TSDataType.INT64,
+      TSDataType.FLOAT,
+      TSDataType.DOUBLE,
+      TSDataType.TEXT
+    };
+    List<IMeasurementSchema> schemas = new ArrayList<>();
+    for (TSDataType dataType : dataTypes) {
+      schemas.add(new MeasurementSchema("s_" + dataType, dataType, TSEncoding.AUTO));
+    }
+    for (long l = startTime; l <= endTime; l++) {
+      Object[] values = new Object[dataTypes.length];
+      for (int i = 0; i < dataTypes.length; i++) {
+        values[i] = getAutoEncodingValue(dataTypes[i], l);
+      }
+      memTable.write(
+          DeviceIDFactory.getInstance().getDeviceID(new PartialPath(MemTableTestUtils.deviceId0)),
+          schemas,
+          l,
+          values);
+    }
+    MemTableFlushTask memTableFlushTask =
+        new MemTableFlushTask(memTable, writer, storageGroup, dataRegionId);
+    memTableFlushTask.syncFlushMemTable();
+    writer.makeMetadataVisible();
+    List<ChunkMetadata> chunkMetadataList = new ArrayList<>();
+    for (TSDataType dataType : dataTypes) {
+      chunkMetadataList.add(
+          writer
+              .getVisibleMetadataList(MemTableTestUtils.deviceId0, "s_" + dataType, dataType)
+              .get(0));
+    }
+    writer.endFile();
+
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(filePath)) {
+      for (int i = 0; i < dataTypes.length; i++) {
+        Chunk chunk = reader.readMemChunk(chunkMetadataList.get(i));
+        assertNotEquals(TSEncoding.AUTO, chunk.getHeader().getEncodingType());
+        ChunkReader chunkReader = new ChunkReader(chunk);
+        long expectedTime = startTime;
+        while (chunkReader.hasNextSatisfiedPage()) {
+          BatchData batchData = chunkReader.nextPageData();
+          while (batchData.hasCurrent()) {
+            assertEquals(expectedTime, batchData.currentTime());
+            assertEquals(
+                getAutoEncodingValue(dataTypes[i], expectedTime), batchData.currentValue());
+            expectedTime++;
+            batchData.next();
+          }
+        }
+        assertEquals(dataTypes[i].toString(), endTime + 1, expectedTime);
+      }
+    }
+  }
+
+  /** Noisy values, with a NaN in the last row to check the encoding of the chunk is lossless. */
+  private Object getAutoEncodingValue(TSDataType dataType, long time) {
+    switch (dataType) {
+      case BOOLEAN:
+        return time % 3 == 0;
+      case INT32:
+        return (int) time * 100;
+      case INT64:
+        return time * 100;
+      case FLOAT:
+        return time == endTime ? Float.NaN : (float) (Math.sin(time) * 100);
+      case DOUBLE:
+        return time == endTime ? Double.NaN : Math.sin(time) * 100;
+      case TEXT:
+        return new Binary("v" + time % 5, TSFileConfig.STRING_CHARSET);
+      default:
+        throw new IllegalArgumentException(dataType.toString());
+    }
+  }
+
   @Test
   public void testFlushVectorMemTable()
       throws ExecutionException, InterruptedException, IllegalPathException, WriteProcessException {
@@ -267,6 +267,62 @@ public class PrimitiveMemTableTest {
     Assert.assertEquals(10, cnt);
   }
 
+  @Test
+  public void queryWithLaterWriteAndDeletionTest()
+      throws IOException, QueryProcessException, MetadataException {
+    IMemTable memTable = new PrimitiveMemTable(database, dataRegionId);
+    String deviceId = "d1";
+    String measurementId = "s0";
+    List<IMeasurementSchema> schemaList =
+        Collections.singletonList(
+            new MeasurementSchema(measurementId, TSDataType.INT64, TSEncoding.PLAIN));
+    int dataSize = 1000;
+    for (int i = 0; i < dataSize; i++) {
+      memTable.write(
+          DeviceIDFactory.getInstance().getDeviceID(new PartialPath(deviceId)),
+          schemaList,
+          i,
+          new Object[] {(long) i});
+    }
+    MeasurementPath fullPath =
+        new MeasurementPath(
+            deviceId,
+            measurementId,
+            new MeasurementSchema(
+                measurementId,
+                TSDataType.INT64,
+                TSEncoding.RLE,
+                CompressionType.UNCOMPRESSED,
+                Collections.emptyMap()));
+    ReadOnlyMemChunk memChunk = memTable.query(new QueryContext(), fullPath, Long.MIN_VALUE, null);
+
+    // the writes and deletions after the query should not be seen by it
+    for (int i = 0; i < dataSize; i++) {
+      memTable.write(
+          DeviceIDFactory.getInstance().getDeviceID(new PartialPath(deviceId)),
+          schemaList,
+          dataSize * 2 - i,
+          new Object[] {(long) -i});
+    }
+    memTable.delete(
+        new PartialPath(deviceId, measurementId), new PartialPath(deviceId), 0, dataSize / 2);
+    ReadOnlyMemChunk laterMemChunk =
+        memTable.query(new QueryContext(), fullPath, Long.MIN_VALUE, null);
+
+    IPointReader iterator = memChunk.getPointReader();
+    int cnt = 0;
+    while (iterator.hasNextTimeValuePair()) {
+      TimeValuePair timeValuePair = iterator.nextTimeValuePair();
+      Assert.assertEquals(cnt, timeValuePair.getTimestamp());
+      Assert.assertEquals((long) cnt, timeValuePair.getValue().getValue());
+      cnt++;
+    }
+    Assert.assertEquals(dataSize, cnt);
+    Assert.assertEquals(dataSize - 1, memChunk.getChunkMetaData().getEndTime());
+    Assert.assertEquals(
+        dataSize + dataSize / 2 - 1, laterMemChunk.getChunkMetaData().getStatistics().getCount());
+  }
+
   @Test
   public void queryAlignChuckWithDeletionTest()
       throws IOException, QueryProcessException, MetadataException {
@@ -323,6 +379,65 @@ public class PrimitiveMemTableTest {
     Assert.assertEquals(10, cnt);
   }
 
+  @Test
+  public void queryAlignChunkWithDifferentColumnOrderTest()
+      throws IOException, QueryProcessException, MetadataException {
+    IMemTable memTable = new PrimitiveMemTable(database, dataRegionId);
+    String deviceId = "d1";
+    IMeasurementSchema s0 = new MeasurementSchema("s0", TSDataType.INT32, TSEncoding.PLAIN);
+    IMeasurementSchema s1 = new MeasurementSchema("s1", TSDataType.INT64, TSEncoding.PLAIN);
+    IMeasurementSchema s2 = new MeasurementSchema("s2", TSDataType.INT32, TSEncoding.PLAIN);
+    int dataSize = 100;
+    for (int i = 0; i < dataSize; i++) {
+      // the same columns in the same order as the chunk
+      memTable.writeAlignedRow(
+          DeviceIDFactory.getInstance().getDeviceID(new PartialPath(deviceId)),
+          Arrays.asList(s0, s1),
+          i * 3L,
+          new Object[] {i, (long) -i});
+      // the same columns in another order
+      memTable.writeAlignedRow(
+          DeviceIDFactory.getInstance().getDeviceID(new PartialPath(deviceId)),
+          Arrays.asList(s1, s0),
+          i * 3L + 1,
+          new Object[] {(long) -i, i});
+      // a new column
+      memTable.writeAlignedRow(
+          DeviceIDFactory.getInstance().getDeviceID(new PartialPath(deviceId)),
+          Arrays.asList(s0, s1, s2),
+          i * 3L + 2,
+          new Object[] {i, (long) -i, i});
+    }
+    AlignedPath fullPath =
+        new AlignedPath(
+            deviceId,
+            Arrays.asList("s0", "s1"),
+            Arrays.asList(
+                new MeasurementSchema(
+                    "s0",
+                    TSDataType.INT32,
+                    TSEncoding.RLE,
+                    CompressionType.UNCOMPRESSED,
+                    Collections.emptyMap()),
+                new MeasurementSchema(
+                    "s1",
+                    TSDataType.INT64,
+                    TSEncoding.RLE,
+                    CompressionType.UNCOMPRESSED,
+                    Collections.emptyMap())));
+    IPointReader iterator =
+        memTable.query(new QueryContext(), fullPath, Long.MIN_VALUE, null).getPointReader();
+    int cnt = 0;
+    while (iterator.hasNextTimeValuePair()) {
+      TimeValuePair timeValuePair = iterator.nextTimeValuePair();
+      Assert.assertEquals(cnt, timeValuePair.getTimestamp());
+      Assert.assertEquals(cnt / 3, timeValuePair.getValue().getVector()[0].getInt());
+      Assert.assertEquals(-cnt / 3, timeValuePair.getValue().getVector()[1].getLong());
+      cnt++;
+    }
+    Assert.assertEquals(dataSize * 3, cnt);
+  }
+
   private void write(
       IMemTable memTable,
       String deviceId,
@@ -31,6 +31,8 @@ import org.apache.iotdb.trigger.api.TriggerAttributes;
 import org.apache.iotdb.trigger.api.enums.FailureStrategy;
 import org.apache.iotdb.trigger.api.enums.TriggerEvent;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.Pair;
 import org.apache.iotdb.tsfile.write.record.Tablet;
 import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 
@@ -38,9 +40,20 @@ import org.junit.After;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class TriggerExecuteTest {
   @After
-  public void clear() {
+  public void clear() throws Exception {
+    // also remove the triggers from the pattern tree, so that they will not be fired by other tests
+    TriggerManagementService.getInstance().dropTrigger("test1", false);
+    TriggerManagementService.getInstance().dropTrigger("test2", false);
     TriggerManagementService.getInstance().getTriggerTable().clear();
   }
 
@@ -81,6 +94,158 @@ public class TriggerExecuteTest {
     }
   }
 
+  @Test
+  public void testAsyncTriggerExecutor() throws Exception {
+    TriggerInformation triggerInformation = getAsyncTriggerInformation();
+    TestTrigger trigger = new TestTrigger();
+    TriggerExecutor executor = new TriggerExecutor(triggerInformation, trigger, false);
+    TriggerManagementService.getInstance().fakeRegister(triggerInformation, executor);
+
+    int rowCount = 100;
+    trigger.unfiredRows = new CountDownLatch(rowCount);
+    TriggerFireVisitor fireVisitor = new TriggerFireVisitor();
+    for (int i = 0; i < rowCount; i++) {
+      Assert.assertEquals(
+          TriggerFireResult.SUCCESS,
+          fireVisitor.process(getInsertRowNodeWithMeasurementSchemas(), TriggerEvent.AFTER_INSERT));
+    }
+
+    Assert.assertTrue(trigger.unfiredRows.await(10, TimeUnit.SECONDS));
+    Assert.assertEquals(rowCount, trigger.firedRowCount.get());
+    Assert.assertTrue(trigger.firedTabletCount.get() <= rowCount);
+  }
+
+  @Test
+  public void testSubmitToDroppedAsyncTrigger() throws Exception {
+    TriggerInformation triggerInformation = getAsyncTriggerInformation();
+    TriggerManagementService.getInstance()
+        .fakeRegister(
+            triggerInformation, new TriggerExecutor(triggerInformation, new TestTrigger(), false));
+    TriggerManagementService.getInstance().dropTrigger("test2", false);
+
+    // the tablet of an insertion racing with the drop is not buffered for a later trigger with
+    // the same name
+    TriggerAsyncFireExecutor asyncFireExecutor = TriggerAsyncFireExecutor.getInstance();
+    Assert.assertFalse(asyncFireExecutor.submit("test2", getTablet()));
+    Assert.assertEquals(0, asyncFireExecutor.getPendingTabletCount());
+
+    TestTrigger trigger = new TestTrigger();
+    trigger.unfiredRows = new CountDownLatch(1);
+    TriggerManagementService.getInstance()
+        .fakeRegister(triggerInformation, new TriggerExecutor(triggerInformation, trigger, false));
+    Assert.assertTrue(asyncFireExecutor.submit("test2", getTablet()));
+    Assert.assertTrue(trigger.unfiredRows.await(10, TimeUnit.SECONDS));
+    Assert.assertEquals(1, trigger.firedRowCount.get());
+  }
+
+  @Test
+  public void testMergeTablets() {
+    List<MeasurementSchema> schemas =
+        Arrays.asList(
+            new MeasurementSchema("s1", TSDataType.INT64),
+            new MeasurementSchema("s2", TSDataType.DOUBLE));
+
+    List<Tablet> tablets = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Tablet tablet = new Tablet("root.sg.d1", schemas, 2);
+      for (int row = 0; row < 2; row++) {
+        tablet.addTimestamp(row, i * 2L + row);
+        tablet.addValue("s1", row, i * 2L + row);
+        tablet.addValue("s2", row, (double) (i * 2 + row));
+        tablet.rowSize++;
+      }
+      if (i == 1) {
+        tablet.initBitMaps();
+        tablet.bitMaps[1].mark(1);
+      }
+      tablets.add(tablet);
+    }
+    Tablet otherDeviceTablet = new Tablet("root.sg.d2", schemas, 1);
+    otherDeviceTablet.addTimestamp(0, 100L);
+    otherDeviceTablet.addValue("s1", 0, 100L);
+    otherDeviceTablet.addValue("s2", 0, 100.0);
+    otherDeviceTablet.rowSize++;
+    tablets.add(1, otherDeviceTablet);
+
+    // only the consecutive tablets are merged, so that the order of the tablets is kept
+    List<Pair<Tablet, Integer>> mergedTablets = TriggerAsyncFireExecutor.mergeTablets(tablets);
+    Assert.assertEquals(3, mergedTablets.size());
+    Assert.assertSame(tablets.get(0), mergedTablets.get(0).getLeft());
+    Assert.assertEquals(1, (int) mergedTablets.get(0).getRight());
+    Assert.assertSame(otherDeviceTablet, mergedTablets.get(1).getLeft());
+    Assert.assertEquals(1, (int) mergedTablets.get(1).getRight());
+    Assert.assertEquals(2, (int) mergedTablets.get(2).getRight());
+
+    Tablet merged = mergedTablets.get(2).getLeft();
+    Assert.assertEquals("root.sg.d1", merged.deviceId);
+    Assert.assertEquals(4, merged.rowSize);
+    for (int row = 0; row < 4; row++) {
+      Assert.assertEquals(row + 2, merged.timestamps[row]);
+      Assert.assertEquals(row + 2, ((long[]) merged.values[0])[row]);
+      Assert.assertEquals(row + 2, ((double[]) merged.values[1])[row], 0);
+      Assert.assertFalse(merged.bitMaps[0].isMarked(row));
+      Assert.assertEquals(row == 1, merged.bitMaps[1].isMarked(row));
+    }
+  }
+
+  @Test
+  public void testCopyTablet() {
+    List<MeasurementSchema> schemas =
+        Arrays.asList(
+            new MeasurementSchema("s1", TSDataType.INT64),
+            new MeasurementSchema("s2", TSDataType.TEXT));
+    Tablet tablet = new Tablet("root.sg.d1", schemas, 4);
+    tablet.initBitMaps();
+    for (int row = 0; row < 2; row++) {
+      tablet.addTimestamp(row, row);
+      tablet.addValue("s1", row, (long) row);
+      tablet.addValue("s2", row, String.valueOf(row));
+      tablet.rowSize++;
+    }
+    tablet.bitMaps[1].mark(1);
+
+    Tablet copy = TriggerAsyncFireExecutor.copyTablet(tablet);
+
+    // the copy is not changed by reusing the arrays of the tablet
+    tablet.timestamps[0] = 10;
+    ((long[]) tablet.values[0])[0] = 10;
+    tablet.bitMaps[1].reset();
+    Assert.assertEquals(2, copy.rowSize);
+    Assert.assertEquals(2, copy.timestamps.length);
+    Assert.assertEquals(0, copy.timestamps[0]);
+    Assert.assertEquals(0, ((long[]) copy.values[0])[0]);
+    Assert.assertEquals(1, ((long[]) copy.values[0])[1]);
+    Assert.assertEquals("1", ((Binary[]) copy.values[1])[1].toString());
+    Assert.assertTrue(copy.bitMaps[1].isMarked(1));
+    Assert.assertFalse(copy.bitMaps[0].isMarked(1));
+  }
+
+  private TriggerInformation getAsyncTriggerInformation() throws IllegalPathException {
+    return new TriggerInformation(
+        new PartialPath("root.sg.**"),
+        "test2",
+        "org.apache.iotdb.db.trigger.service.TestTrigger",
+        false,
+        "test2.jar",
+        Collections.singletonMap(TriggerAsyncFireExecutor.ASYNC_ATTRIBUTE_KEY, "true"),
+        TriggerEvent.AFTER_INSERT,
+        TTriggerState.ACTIVE,
+        false,
+        null,
+        FailureStrategy.OPTIMISTIC,
+        "testMD5test");
+  }
+
+  private Tablet getTablet() {
+    Tablet tablet =
+        new Tablet(
+            "root.sg.d1", Collections.singletonList(new MeasurementSchema("s1", TSDataType.INT64)));
+    tablet.addTimestamp(0, 1L);
+    tablet.addValue("s1", 0, 1L);
+    tablet.rowSize++;
+    return tablet;
+  }
+
   private InsertRowNode getInsertRowNodeWithMeasurementSchemas() throws IllegalPathException {
     long time = 80L;
     TSDataType[] dataTypes =
@@ -129,6 +294,10 @@ public class TriggerExecuteTest {
 
     boolean onFired = false;
 
+    final AtomicInteger firedTabletCount = new AtomicInteger(0);
+    final AtomicInteger firedRowCount = new AtomicInteger(0);
+    volatile CountDownLatch unfiredRows = new CountDownLatch(0);
+
     @Override
     public void validate(TriggerAttributes attributes) throws Exception {
       onValidated = true;
@@ -142,6 +311,11 @@ public class TriggerExecuteTest {
     @Override
     public boolean fire(Tablet tablet) {
       onFired = true;
+      firedTabletCount.incrementAndGet();
+      firedRowCount.addAndGet(tablet.rowSize);
+      for (int i = 0; i < tablet.rowSize; i++) {
+        unfiredRows.countDown();
+      }
       return true;
     }
 
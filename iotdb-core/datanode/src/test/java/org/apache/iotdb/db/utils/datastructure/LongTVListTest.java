@@ -27,6 +27,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
 
@@ -77,6 +78,26 @@ public class LongTVListTest {
     }
   }
 
+  @Test
+  public void testSortNearlySortedTVList() {
+    Random random = new Random();
+    LongTVList tvList = LongTVList.newList();
+    List<TimeValuePair> inputs = new ArrayList<>();
+    for (long value = 0; value < 10000; value++) {
+      // a sorted run with some delayed and duplicated points
+      long time = random.nextInt(100) == 0 ? random.nextInt(10000) : value;
+      tvList.putLong(time, value);
+      inputs.add(new TimeValuePair(time, new TsLong(value)));
+    }
+    tvList.sort();
+    // the sort is stable, so that the last inserted value of the same time is kept on flush
+    inputs.sort(Comparator.comparingLong(TimeValuePair::getTimestamp));
+    for (int i = 0; i < tvList.rowCount; i++) {
+      Assert.assertEquals(inputs.get(i).getTimestamp(), tvList.getTime(i));
+      Assert.assertEquals(inputs.get(i).getValue().getLong(), tvList.getLong(i));
+    }
+  }
+
   @Test
   public void testPutLongsWithoutBitMap() {
     LongTVList tvList = LongTVList.newList();
@@ -34,6 +34,8 @@ public enum ThreadName {
   FRAGMENT_INSTANCE_MANAGEMENT("Fragment-Instance-Management"),
   FRAGMENT_INSTANCE_NOTIFICATION("Fragment-Instance-Notification"),
   DRIVER_TASK_SCHEDULER_NOTIFICATION("Driver-Task-Scheduler-Notification"),
+  CHUNK_READAHEAD("Chunk-Readahead"),
+  METADATA_DISK_CACHE("Metadata-Disk-Cache"),
   // -------------------------- MPP --------------------------
   MPP_COORDINATOR_SCHEDULED_EXECUTOR("MPP-Coordinator-Scheduled-Executor"),
   MPP_DATA_EXCHANGE_TASK_EXECUTOR("MPP-Data-Exchange-Task-Executors"),
@@ -138,8 +140,10 @@ public enum ThreadName {
   PIPE_RUNTIME_PERIODICAL_JOB_EXECUTOR("Pipe-Runtime-Periodical-Job-Executor"),
   PIPE_ASYNC_CONNECTOR_CLIENT_POOL("Pipe-Async-Connector-Client-Pool"),
   PIPE_RECEIVER_AIR_GAP_AGENT("Pipe-Receiver-Air-Gap-Agent"),
+  PIPE_RECEIVER_PARALLEL_APPLY_POOL("Pipe-Receiver-Parallel-Apply-Pool"),
   WINDOW_EVALUATION_SERVICE("WindowEvaluationTaskPoolManager"),
   STATEFUL_TRIGGER_INFORMATION_UPDATER("Stateful-Trigger-Information-Updater"),
+  TRIGGER_ASYNC_FIRE_POOL("Trigger-Async-Fire-Pool"),
   // -------------------------- JVM --------------------------
   // NOTICE: The thread name of jvm cannot be edited here!
   // We list the thread name here just for distinguishing what module the thread belongs to.
@@ -190,7 +194,9 @@ public enum ThreadName {
               TIMED_QUERY_SQL_COUNT,
               FRAGMENT_INSTANCE_MANAGEMENT,
               FRAGMENT_INSTANCE_NOTIFICATION,
-              DRIVER_TASK_SCHEDULER_NOTIFICATION));
+              DRIVER_TASK_SCHEDULER_NOTIFICATION,
+              CHUNK_READAHEAD,
+              METADATA_DISK_CACHE));
   private static final Set<ThreadName> mppThreadNames =
       new HashSet<>(
           Arrays.asList(
@@ -277,8 +283,10 @@ public enum ThreadName {
               PIPE_RUNTIME_PERIODICAL_JOB_EXECUTOR,
               PIPE_ASYNC_CONNECTOR_CLIENT_POOL,
               PIPE_RECEIVER_AIR_GAP_AGENT,
+              PIPE_RECEIVER_PARALLEL_APPLY_POOL,
               WINDOW_EVALUATION_SERVICE,
-              STATEFUL_TRIGGER_INFORMATION_UPDATER));
+              STATEFUL_TRIGGER_INFORMATION_UPDATER,
+              TRIGGER_ASYNC_FIRE_POOL));
 
   private static final Set<ThreadName> jvmThreadNames =
       new HashSet<>(
@@ -161,6 +161,7 @@ public class CommonConfig {
   private int pipeExtractorAssignerDisruptorRingBufferSize = 65536;
   private long pipeExtractorAssignerDisruptorRingBufferEntrySizeInBytes = 50; // 50B
   private int pipeExtractorMatcherCacheSize = 1024;
+  private boolean pipeTsFileChunkPassThroughEnabled = true;
 
   private long pipeConnectorHandshakeTimeoutMs = 10 * 1000L; // 10 seconds
   private long pipeConnectorTransferTimeoutMs = 15 * 60 * 1000L; // 15 minutes
@@ -184,6 +185,9 @@ public class CommonConfig {
   private boolean pipeAirGapReceiverEnabled = false;
   private int pipeAirGapReceiverPort = 9780;
 
+  private int pipeReceiverParallelApplyThreadNum =
+      Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
   private int pipeMaxAllowedPendingTsFileEpochPerDataRegion = 2;
   private int pipeMaxAllowedPinnedMemTableCount = 50;
   private long pipeMaxAllowedLinkedTsFileCount = 100;
@@ -570,6 +574,14 @@ public class CommonConfig {
     this.pipeExtractorMatcherCacheSize = pipeExtractorMatcherCacheSize;
   }
 
+  public boolean getPipeTsFileChunkPassThroughEnabled() {
+    return pipeTsFileChunkPassThroughEnabled;
+  }
+
+  public void setPipeTsFileChunkPassThroughEnabled(boolean pipeTsFileChunkPassThroughEnabled) {
+    this.pipeTsFileChunkPassThroughEnabled = pipeTsFileChunkPassThroughEnabled;
+  }
+
   public long getPipeConnectorHandshakeTimeoutMs() {
     return pipeConnectorHandshakeTimeoutMs;
   }
@@ -754,6 +766,17 @@ public class CommonConfig {
     return pipeAirGapReceiverPort;
   }
 
+  public int getPipeReceiverParallelApplyThreadNum() {
+    return pipeReceiverParallelApplyThreadNum;
+  }
+
+  public void setPipeReceiverParallelApplyThreadNum(int pipeReceiverParallelApplyThreadNum) {
+    this.pipeReceiverParallelApplyThreadNum =
+        pipeReceiverParallelApplyThreadNum > 0
+            ? pipeReceiverParallelApplyThreadNum
+            : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+  }
+
   public int getPipeMaxAllowedPendingTsFileEpochPerDataRegion() {
     return pipeMaxAllowedPendingTsFileEpochPerDataRegion;
   }
@@ -323,6 +323,11 @@ public class CommonDescriptor {
                     properties.getProperty(
                         "pipe_extractor_matcher_cache_size",
                         String.valueOf(config.getPipeExtractorMatcherCacheSize())))));
+    config.setPipeTsFileChunkPassThroughEnabled(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "pipe_tsfile_chunk_pass_through_enabled",
+                String.valueOf(config.getPipeTsFileChunkPassThroughEnabled()))));
 
     config.setPipeConnectorHandshakeTimeoutMs(
         Long.parseLong(
@@ -423,6 +428,12 @@ public class CommonDescriptor {
                 "pipe_air_gap_receiver_port",
                 Integer.toString(config.getPipeAirGapReceiverPort()))));
 
+    config.setPipeReceiverParallelApplyThreadNum(
+        Integer.parseInt(
+            properties.getProperty(
+                "pipe_receiver_parallel_apply_thread_num",
+                Integer.toString(config.getPipeReceiverParallelApplyThreadNum()))));
+
     config.setPipeMaxAllowedPendingTsFileEpochPerDataRegion(
         Integer.parseInt(
             properties.getProperty(
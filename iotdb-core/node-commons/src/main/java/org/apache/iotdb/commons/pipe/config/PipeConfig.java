@@ -93,6 +93,10 @@ public class PipeConfig {
     return COMMON_CONFIG.getPipeExtractorMatcherCacheSize();
   }
 
+  public boolean getPipeTsFileChunkPassThroughEnabled() {
+    return COMMON_CONFIG.getPipeTsFileChunkPassThroughEnabled();
+  }
+
   /////////////////////////////// Connector ///////////////////////////////
 
   public long getPipeConnectorHandshakeTimeoutMs() {
@@ -167,6 +171,12 @@ public class PipeConfig {
     return COMMON_CONFIG.getPipeAirGapReceiverPort();
   }
 
+  /////////////////////////////// Receiver ///////////////////////////////
+
+  public int getPipeReceiverParallelApplyThreadNum() {
+    return COMMON_CONFIG.getPipeReceiverParallelApplyThreadNum();
+  }
+
   /////////////////////////////// Hybrid Mode ///////////////////////////////
 
   public int getPipeMaxAllowedPendingTsFileEpochPerDataRegion() {
@@ -247,6 +257,7 @@ public class PipeConfig {
         "PipeExtractorAssignerDisruptorRingBufferEntrySizeInBytes: {}",
         getPipeExtractorAssignerDisruptorRingBufferEntrySizeInBytes());
     LOGGER.info("PipeExtractorMatcherCacheSize: {}", getPipeExtractorMatcherCacheSize());
+    LOGGER.info("PipeTsFileChunkPassThroughEnabled: {}", getPipeTsFileChunkPassThroughEnabled());
 
     LOGGER.info("PipeConnectorHandshakeTimeoutMs: {}", getPipeConnectorHandshakeTimeoutMs());
     LOGGER.info("PipeConnectorTransferTimeoutMs: {}", getPipeConnectorTransferTimeoutMs());
@@ -277,6 +288,8 @@ public class PipeConfig {
     LOGGER.info("PipeAirGapReceiverEnabled: {}", getPipeAirGapReceiverEnabled());
     LOGGER.info("PipeAirGapReceiverPort: {}", getPipeAirGapReceiverPort());
 
+    LOGGER.info("PipeReceiverParallelApplyThreadNum: {}", getPipeReceiverParallelApplyThreadNum());
+
     LOGGER.info(
         "PipeMaxAllowedPendingTsFileEpochPerDataRegion: {}",
         getPipeMaxAllowedPendingTsFileEpochPerDataRegion());
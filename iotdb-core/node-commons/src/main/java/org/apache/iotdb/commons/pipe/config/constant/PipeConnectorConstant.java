@@ -23,6 +23,10 @@ import org.apache.iotdb.commons.conf.CommonDescriptor;
 import org.apache.iotdb.commons.pipe.config.PipeConfig;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 import static org.apache.iotdb.commons.conf.IoTDBConstant.MB;
 
@@ -61,6 +65,36 @@ public class PipeConnectorConstant {
   public static final String SINK_IOTDB_BATCH_SIZE_KEY = "sink.batch.size-bytes";
   public static final long CONNECTOR_IOTDB_BATCH_SIZE_DEFAULT_VALUE = 16 * MB;
 
+  public static final String CONNECTOR_IOTDB_BATCH_ADAPTIVE_ENABLE_KEY =
+      "connector.batch.adaptive.enable";
+  public static final String SINK_IOTDB_BATCH_ADAPTIVE_ENABLE_KEY = "sink.batch.adaptive.enable";
+  public static final boolean CONNECTOR_IOTDB_BATCH_ADAPTIVE_ENABLE_DEFAULT_VALUE = true;
+
+  public static final String CONNECTOR_IOTDB_BATCH_ADAPTIVE_TARGET_ROUND_TRIP_TIME_KEY =
+      "connector.batch.adaptive.target-round-trip-time-ms";
+  public static final String SINK_IOTDB_BATCH_ADAPTIVE_TARGET_ROUND_TRIP_TIME_KEY =
+      "sink.batch.adaptive.target-round-trip-time-ms";
+  public static final long CONNECTOR_IOTDB_BATCH_ADAPTIVE_TARGET_ROUND_TRIP_TIME_DEFAULT_VALUE =
+      5000;
+
+  public static final String CONNECTOR_COMPRESSOR_KEY = "connector.compressor";
+  public static final String SINK_COMPRESSOR_KEY = "sink.compressor";
+  public static final String CONNECTOR_COMPRESSOR_DEFAULT_VALUE = "";
+  public static final String CONNECTOR_COMPRESSOR_SNAPPY = "snappy";
+  public static final String CONNECTOR_COMPRESSOR_GZIP = "gzip";
+  public static final String CONNECTOR_COMPRESSOR_LZ4 = "lz4";
+  public static final String CONNECTOR_COMPRESSOR_ZSTD = "zstd";
+  public static final String CONNECTOR_COMPRESSOR_LZMA2 = "lzma2";
+  public static final Set<String> CONNECTOR_COMPRESSOR_SET =
+      Collections.unmodifiableSet(
+          new HashSet<>(
+              Arrays.asList(
+                  CONNECTOR_COMPRESSOR_SNAPPY,
+                  CONNECTOR_COMPRESSOR_GZIP,
+                  CONNECTOR_COMPRESSOR_LZ4,
+                  CONNECTOR_COMPRESSOR_ZSTD,
+                  CONNECTOR_COMPRESSOR_LZMA2)));
+
   public static final String CONNECTOR_IOTDB_USER_KEY = "connector.user";
   public static final String SINK_IOTDB_USER_KEY = "sink.user";
   public static final String CONNECTOR_IOTDB_USER_DEFAULT_VALUE = "root";
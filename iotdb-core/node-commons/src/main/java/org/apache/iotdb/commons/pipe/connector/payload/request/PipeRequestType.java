@@ -42,6 +42,8 @@ public enum PipeRequestType {
   TRANSFER_SNAPSHOT_SEAL((short) 11),
 
   HANDSHAKE_V2((short) 12),
+
+  TRANSFER_COMPRESSED((short) 13),
   ;
 
   private final short type;
@@ -154,7 +154,11 @@ public enum Metric {
   PIPE_PROCEDURE("pipe_procedure"),
   PIPE_TASK_STATUS("pipe_task_status"),
   // load related
-  LOAD_MEM("load_mem");
+  LOAD_MEM("load_mem"),
+  // trigger related
+  TRIGGER_ASYNC_FIRE_TABLET_COUNT("trigger_async_fire_tablet_count"),
+  TRIGGER_ASYNC_FIRE_PENDING_TABLET_COUNT("trigger_async_fire_pending_tablet_count"),
+  TRIGGER_ASYNC_FIRE_COST("trigger_async_fire_cost");
 
   final String value;
 
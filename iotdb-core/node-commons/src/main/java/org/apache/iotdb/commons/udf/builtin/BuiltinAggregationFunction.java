@@ -45,7 +45,9 @@ public enum BuiltinAggregationFunction {
   VARIANCE("variance"),
   VAR_POP("var_pop"),
   VAR_SAMP("var_samp"),
-  MAX_BY("max_by");
+  MAX_BY("max_by"),
+  APPROX_COUNT_DISTINCT("approx_count_distinct"),
+  APPROX_PERCENTILE("approx_percentile");
 
   private final String functionName;
 
@@ -93,6 +95,8 @@ public enum BuiltinAggregationFunction {
       case "var_pop":
       case "var_samp":
       case "max_by":
+      case "approx_count_distinct":
+      case "approx_percentile":
         return false;
       default:
         throw new IllegalArgumentException("Invalid Aggregation function: " + name);
@@ -124,6 +128,8 @@ public enum BuiltinAggregationFunction {
       case "var_pop":
       case "var_samp":
       case "max_by":
+      case "approx_count_distinct":
+      case "approx_percentile":
         return true;
       case "count_if":
       case "count_time":
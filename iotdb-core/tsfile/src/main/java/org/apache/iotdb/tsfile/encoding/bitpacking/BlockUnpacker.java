@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.tsfile.encoding.bitpacking;
+
+import org.apache.iotdb.tsfile.utils.BytesUtils;
+
+/**
+ * Unpacks a whole block of big-endian, MSB-first bit-packed values (the layout written by {@link
+ * IntPacker}, {@link LongPacker} and {@code DeltaBinaryEncoder}) into a primitive array in one
+ * pass.
+ *
+ * <p>Instead of assembling every value bit by bit, bytes are shifted into a 64-bit window and each
+ * value is cut from the window with one shift and one mask. Byte-aligned widths copy whole bytes
+ * directly. Widths larger than 57 bits, which cannot be cut from a 64-bit window after a partial
+ * byte, fall back to {@link BytesUtils#bytesToLong(byte[], int, int)}.
+ */
+public class BlockUnpacker {
+
+  /** max width that can be extracted from a 64-bit window holding up to 7 leftover bits. */
+  private static final int MAX_WINDOW_WIDTH = 57;
+
+  private BlockUnpacker() {
+    // util class
+  }
+
+  /**
+   * Unpack {@code count} values of {@code width} bits starting at byte {@code offset} of {@code
+   * buf}.
+   *
+   * @param buf packed bytes, must hold at least {@code offset + ceil(count * width / 8)} bytes
+   * @param offset byte offset of the first value in buf
+   * @param width bit width of every value, between 0 and 64
+   * @param values destination array
+   * @param valueOffset index of the first value in the destination array
+   * @param count number of values to unpack
+   */
+  public static void unpackLongs(
+      byte[] buf, int offset, int width, long[] values, int valueOffset, int count) {
+    if (width == 0) {
+      for (int i = 0; i < count; i++) {
+        values[valueOffset + i] = 0;
+      }
+    } else if ((width & 0x07) == 0) {
+      unpackByteAlignedLongs(buf, offset, width >>> 3, values, valueOffset, count);
+    } else if (width <= MAX_WINDOW_WIDTH) {
+      long mask = (1L << width) - 1;
+      long window = 0;
+      int bitsInWindow = 0;
+      int byteIndex = offset;
+      for (int i = valueOffset, end = valueOffset + count; i < end; i++) {
+        while (bitsInWindow < width) {
+          window = (window << 8) | (buf[byteIndex++] & 0xFF);
+          bitsInWindow += 8;
+        }
+        bitsInWindow -= width;
+        values[i] = (window >>> bitsInWindow) & mask;
+      }
+    } else {
+      int bitOffset = offset << 3;
+      for (int i = 0; i < count; i++) {
+        values[valueOffset + i] = BytesUtils.bytesToLong(buf, bitOffset + i * width, width);
+      }
+    }
+  }
+
+  /**
+   * Unpack {@code count} values of {@code width} bits starting at byte {@code offset} of {@code
+   * buf}.
+   *
+   * @param buf packed bytes, must hold at least {@code offset + ceil(count * width / 8)} bytes
+   * @param offset byte offset of the first value in buf
+   * @param width bit width of every value, between 0 and 32
+   * @param values destination array
+   * @param valueOffset index of the first value in the destination array
+   * @param count number of values to unpack
+   */
+  public static void unpackInts(
+      byte[] buf, int offset, int width, int[] values, int valueOffset, int count) {
+    if (width == 0) {
+      for (int i = 0; i < count; i++) {
+        values[valueOffset + i] = 0;
+      }
+    } else if (width == 8) {
+      for (int i = 0; i < count; i++) {
+        values[valueOffset + i] = buf[offset + i] & 0xFF;
+      }
+    } else if (width == 16) {
+      for (int i = 0, j = offset; i < count; i++, j += 2) {
+        values[valueOffset + i] = ((buf[j] & 0xFF) << 8) | (buf[j + 1] & 0xFF);
+      }
+    } else if (width == 32) {
+      for (int i = 0, j = offset; i < count; i++, j += 4) {
+        values[valueOffset + i] =
+            ((buf[j] & 0xFF) << 24)
+                | ((buf[j + 1] & 0xFF) << 16)
+                | ((buf[j + 2] & 0xFF) << 8)
+                | (buf[j + 3] & 0xFF);
+      }
+    } else {
+      long mask = (1L << width) - 1;
+      long window = 0;
+      int bitsInWindow = 0;
+      int byteIndex = offset;
+      for (int i = valueOffset, end = valueOffset + count; i < end; i++) {
+        while (bitsInWindow < width) {
+          window = (window << 8) | (buf[byteIndex++] & 0xFF);
+          bitsInWindow += 8;
+        }
+        bitsInWindow -= width;
+        values[i] = (int) ((window >>> bitsInWindow) & mask);
+      }
+    }
+  }
+
+  private static void unpackByteAlignedLongs(
+      byte[] buf, int offset, int bytesPerValue, long[] values, int valueOffset, int count) {
+    int byteIndex = offset;
+    for (int i = valueOffset, end = valueOffset + count; i < end; i++) {
+      long value = 0;
+      for (int j = 0; j < bytesPerValue; j++) {
+        value = (value << 8) | (buf[byteIndex++] & 0xFF);
+      }
+      values[i] = value;
+    }
+  }
+}
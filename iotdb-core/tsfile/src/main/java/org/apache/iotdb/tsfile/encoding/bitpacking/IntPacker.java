@@ -107,32 +107,7 @@ public class IntPacker {
    * @param values - decoded result , the length of 'values' should be @{link IntPacker#NUM_OF_INTS}
    */
   public void unpack8Values(byte[] buf, int offset, int[] values) {
-    int byteIdx = offset;
-    long buffer = 0;
-    // total bits which have read from 'buf' to 'buffer'. i.e.,
-    // number of available bits to be decoded.
-    int totalBits = 0;
-    int valueIdx = 0;
-
-    while (valueIdx < NUM_OF_INTS) {
-      // If current available bits are not enough to decode one Integer,
-      // then add next byte from buf to 'buffer' until totalBits >= width
-      while (totalBits < width) {
-        buffer = (buffer << 8) | (buf[byteIdx] & 0xFF);
-        byteIdx++;
-        totalBits += 8;
-      }
-
-      // If current available bits are enough to decode one Integer,
-      // then decode one Integer one by one until left bits in 'buffer' is
-      // not enough to decode one Integer.
-      while (totalBits >= width && valueIdx < 8) {
-        values[valueIdx] = (int) (buffer >>> (totalBits - width));
-        valueIdx++;
-        totalBits -= width;
-        buffer = buffer & ((1 << totalBits) - 1);
-      }
-    }
+    BlockUnpacker.unpackInts(buf, offset, width, values, 0, NUM_OF_INTS);
   }
 
   /**
@@ -144,16 +119,12 @@ public class IntPacker {
    * @param values decoded result.
    */
   public void unpackAllValues(byte[] buf, int length, int[] values) {
-    int idx = 0;
-    int k = 0;
-    while (idx < length) {
-      int[] tv = new int[8];
-      // decode 8 values one time, current result will be saved in the array named 'tv'
-      unpack8Values(buf, idx, tv);
-      System.arraycopy(tv, 0, values, k, 8);
-      idx += width;
-      k += 8;
+    if (width == 0) {
+      return;
     }
+    // every group of NUM_OF_INTS values takes exactly 'width' bytes, so all groups are contiguous
+    int groupNum = (length + width - 1) / width;
+    BlockUnpacker.unpackInts(buf, 0, width, values, 0, groupNum * NUM_OF_INTS);
   }
 
   public void setWidth(int width) {
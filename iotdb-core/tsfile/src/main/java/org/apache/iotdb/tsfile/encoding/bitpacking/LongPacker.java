@@ -108,44 +108,7 @@ public class LongPacker {
    * @param values - decoded result , the size of values should be 8
    */
   public void unpack8Values(byte[] buf, int offset, long[] values) {
-    int byteIdx = offset;
-    int valueIdx = 0;
-    // left bit(s) available for current byte in 'buf'
-    int leftBits = 8;
-    // bits that has been read for current long value which is to be decoded
-    int totalBits = 0;
-
-    // decode long value one by one
-    while (valueIdx < 8) {
-      // set all the 64 bits in current value to '0'
-      values[valueIdx] = 0;
-      // read until 'totalBits' is equal to width
-      while (totalBits < width) {
-        // If 'leftBits' in current byte belongs to current long value
-        if (width - totalBits >= leftBits) {
-          // then put left bits in current byte to current long value
-          values[valueIdx] = values[valueIdx] << leftBits;
-          values[valueIdx] = values[valueIdx] | (((1L << leftBits) - 1) & buf[byteIdx]);
-          totalBits += leftBits;
-          // get next byte
-          byteIdx++;
-          // set 'leftBits' in next byte to 8 because the next byte has not been used
-          leftBits = 8;
-          // Else take part of bits in 'leftBits' to current value.
-        } else {
-          // numbers of bits to be take
-          int t = width - totalBits;
-          values[valueIdx] = values[valueIdx] << t;
-          values[valueIdx] =
-              values[valueIdx] | (((1L << leftBits) - 1) & buf[byteIdx]) >>> (leftBits - t);
-          leftBits -= t;
-          totalBits += t;
-        }
-      }
-      // Start to decode next long value
-      valueIdx++;
-      totalBits = 0;
-    }
+    BlockUnpacker.unpackLongs(buf, offset, width, values, 0, NUM_OF_LONGS);
   }
 
   /**
@@ -157,17 +120,12 @@ public class LongPacker {
    * @param values decoded result
    */
   public void unpackAllValues(byte[] buf, int length, long[] values) {
-    int idx = 0;
-    int k = 0;
-    while (idx < length) {
-      long[] tv = new long[8];
-      // decode 8 values one time, current result will be saved in the array named
-      // 'tv'
-      unpack8Values(buf, idx, tv);
-      System.arraycopy(tv, 0, values, k, 8);
-      idx += width;
-      k += 8;
+    if (width == 0) {
+      return;
     }
+    // every group of NUM_OF_LONGS values takes exactly 'width' bytes, so all groups are contiguous
+    int groupNum = (length + width - 1) / width;
+    BlockUnpacker.unpackLongs(buf, 0, width, values, 0, groupNum * NUM_OF_LONGS);
   }
 
   public void setWidth(int width) {
@@ -182,6 +182,22 @@ public abstract class Decoder {
     throw new TsFileDecodingException("Method readLong is not supported by Decoder");
   }
 
+  /**
+   * Read at most {@code length} long values into {@code values} starting at {@code offset}.
+   * Decoders that decode a whole block at once override this to copy values in bulk.
+   *
+   * @return number of values read, which is less than length only if the buffer is exhausted
+   */
+  public int readLongs(ByteBuffer buffer, long[] values, int offset, int length)
+      throws IOException {
+    int count = 0;
+    while (count < length && hasNext(buffer)) {
+      values[offset + count] = readLong(buffer);
+      count++;
+    }
+    return count;
+  }
+
   public float readFloat(ByteBuffer buffer) {
     throw new TsFileDecodingException("Method readFloat is not supported by Decoder");
   }
@@ -19,9 +19,9 @@
 
 package org.apache.iotdb.tsfile.encoding.decoder;
 
+import org.apache.iotdb.tsfile.encoding.bitpacking.BlockUnpacker;
 import org.apache.iotdb.tsfile.encoding.encoder.DeltaBinaryEncoder;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
-import org.apache.iotdb.tsfile.utils.BytesUtils;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 
 import java.io.IOException;
@@ -59,8 +59,6 @@ public abstract class DeltaBinaryDecoder extends Decoder {
 
   protected abstract void allocateDataArray();
 
-  protected abstract void readValue(int i);
-
   /**
    * calculate the bytes length containing v bits.
    *
@@ -131,9 +129,11 @@ public abstract class DeltaBinaryDecoder extends Decoder {
     }
 
     private void readPack() {
+      // unpack all deltas of this pack at once, then restore values by prefix sum
+      BlockUnpacker.unpackInts(deltaBuf, 0, packWidth, data, 0, packNum);
       for (int i = 0; i < packNum; i++) {
-        readValue(i);
-        previous = data[i];
+        previous = previous + minDeltaBase + data[i];
+        data[i] = previous;
       }
     }
 
@@ -148,12 +148,6 @@ public abstract class DeltaBinaryDecoder extends Decoder {
       data = new int[packNum];
     }
 
-    @Override
-    protected void readValue(int i) {
-      int v = BytesUtils.bytesToInt(deltaBuf, packWidth * i, packWidth);
-      data[i] = previous + minDeltaBase + v;
-    }
-
     @Override
     public void reset() {
       // do nothing
@@ -210,9 +204,11 @@ public abstract class DeltaBinaryDecoder extends Decoder {
     }
 
     private void readPack() {
+      // unpack all deltas of this pack at once, then restore values by prefix sum
+      BlockUnpacker.unpackLongs(deltaBuf, 0, packWidth, data, 0, packNum);
       for (int i = 0; i < packNum; i++) {
-        readValue(i);
-        previous = data[i];
+        previous = previous + minDeltaBase + data[i];
+        data[i] = previous;
       }
     }
 
@@ -222,6 +218,25 @@ public abstract class DeltaBinaryDecoder extends Decoder {
       return readT(buffer);
     }
 
+    @Override
+    public int readLongs(ByteBuffer buffer, long[] values, int offset, int length) {
+      int count = 0;
+      while (count < length) {
+        if (nextReadIndex == readIntTotalCount) {
+          if (!buffer.hasRemaining()) {
+            break;
+          }
+          values[offset + count++] = loadIntBatch(buffer);
+        } else {
+          int copyNum = Math.min(length - count, readIntTotalCount - nextReadIndex);
+          System.arraycopy(data, nextReadIndex, values, offset + count, copyNum);
+          nextReadIndex += copyNum;
+          count += copyNum;
+        }
+      }
+      return count;
+    }
+
     @Override
     protected void readHeader(ByteBuffer buffer) {
       minDeltaBase = ReadWriteIOUtils.readLong(buffer);
@@ -233,12 +248,6 @@ public abstract class DeltaBinaryDecoder extends Decoder {
       data = new long[packNum];
     }
 
-    @Override
-    protected void readValue(int i) {
-      long v = BytesUtils.bytesToLong(deltaBuf, packWidth * i, packWidth);
-      data[i] = previous + minDeltaBase + v;
-    }
-
     @Override
     public void reset() {
       // do nothing
@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.tsfile.encoding.encoder;
+
+import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.PublicBAOS;
+import org.apache.iotdb.tsfile.write.schema.IMeasurementSchema;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves {@link TSEncoding#AUTO} into a concrete encoding for one chunk. Sampled values are fed
+ * into one trial encoder per candidate encoding, and the candidate with the smallest encoded size
+ * weighted by its relative decoding cost is selected.
+ *
+ * <p>Only lossless candidates are considered: RLE and TS_2DIFF on FLOAT/DOUBLE round values to
+ * {@code max_point_number} digits, so they are never picked automatically for floating point
+ * series. SPRINTZ is never picked either, because its predictor may overflow on large values.
+ * GORILLA and CHIMP mark the end of a page with the minimum integer or NaN, so they are not picked
+ * for a chunk containing such a value. Therefore every value of the chunk should be passed to
+ * {@code sample}, while only the first ones are fed into the trial encoders.
+ */
+public class EncodingSelector {
+
+  private static final Logger logger = LoggerFactory.getLogger(EncodingSelector.class);
+
+  /** max number of values fed into the trial encoders for one chunk. */
+  public static final int DEFAULT_SAMPLE_SIZE = 1024;
+
+  private static final Map<TSDataType, List<TSEncoding>> CANDIDATES =
+      new EnumMap<>(TSDataType.class);
+
+  /** encodings which use the minimum integer or NaN to mark the end of a page. */
+  private static final Set<TSEncoding> ENDING_MARKED_ENCODINGS =
+      Collections.unmodifiableSet(EnumSet.of(TSEncoding.GORILLA, TSEncoding.CHIMP));
+
+  /** relative decoding cost per value, PLAIN is the baseline. */
+  private static final Map<TSEncoding, Double> DECODE_COST = new EnumMap<>(TSEncoding.class);
+
+  static {
+    // the first candidate of each type is used when there is nothing to sample, so it must encode
+    // every value losslessly
+    CANDIDATES.put(TSDataType.BOOLEAN, asList(TSEncoding.RLE, TSEncoding.PLAIN));
+    List<TSEncoding> integerCandidates =
+        asList(
+            TSEncoding.TS_2DIFF,
+            TSEncoding.RLE,
+            TSEncoding.GORILLA,
+            TSEncoding.CHIMP,
+            TSEncoding.RLBE,
+            TSEncoding.PLAIN);
+    CANDIDATES.put(TSDataType.INT32, integerCandidates);
+    CANDIDATES.put(TSDataType.INT64, integerCandidates);
+    List<TSEncoding> floatCandidates =
+        asList(TSEncoding.PLAIN, TSEncoding.GORILLA, TSEncoding.CHIMP);
+    CANDIDATES.put(TSDataType.FLOAT, floatCandidates);
+    CANDIDATES.put(TSDataType.DOUBLE, floatCandidates);
+    CANDIDATES.put(TSDataType.TEXT, asList(TSEncoding.PLAIN, TSEncoding.DICTIONARY));
+
+    DECODE_COST.put(TSEncoding.PLAIN, 1.0);
+    DECODE_COST.put(TSEncoding.RLE, 1.05);
+    DECODE_COST.put(TSEncoding.TS_2DIFF, 1.05);
+    DECODE_COST.put(TSEncoding.DICTIONARY, 1.05);
+    DECODE_COST.put(TSEncoding.GORILLA, 1.1);
+    DECODE_COST.put(TSEncoding.CHIMP, 1.15);
+    DECODE_COST.put(TSEncoding.RLBE, 1.2);
+  }
+
+  private final TSDataType dataType;
+  private final int sampleSize;
+  private final List<TSEncoding> candidates;
+  private final List<Encoder> encoders;
+  private final List<PublicBAOS> outputs;
+  private int sampledCount;
+  // whether a value used as the ending mark of GORILLA and CHIMP has been met
+  private boolean hasEndingMarkValue;
+
+  public EncodingSelector(TSDataType dataType) {
+    this(dataType, DEFAULT_SAMPLE_SIZE);
+  }
+
+  public EncodingSelector(TSDataType dataType, int sampleSize) {
+    this.dataType = dataType;
+    this.sampleSize = sampleSize;
+    this.candidates = getCandidates(dataType);
+    this.encoders = new ArrayList<>(candidates.size());
+    this.outputs = new ArrayList<>(candidates.size());
+    for (TSEncoding candidate : candidates) {
+      encoders.add(TSEncodingBuilder.getEncodingBuilder(candidate).getEncoder(dataType));
+      outputs.add(new PublicBAOS());
+    }
+  }
+
+  /**
+   * Get the encodings which may be chosen for the given data type.
+   *
+   * @throws UnSupportedDataTypeException if the data type cannot be encoded automatically
+   */
+  public static List<TSEncoding> getCandidates(TSDataType dataType) {
+    List<TSEncoding> candidates = CANDIDATES.get(dataType);
+    if (candidates == null) {
+      throw new UnSupportedDataTypeException(
+          "AUTO encoding doesn't support data type: " + dataType);
+    }
+    return candidates;
+  }
+
+  /** Get the encoding used for AUTO series when no value can be sampled. */
+  public static TSEncoding getFallbackEncoding(TSDataType dataType) {
+    return getCandidates(dataType).get(0);
+  }
+
+  /**
+   * Return the given schema if its encoding is concrete, otherwise a copy of it whose encoding is
+   * replaced by the given one.
+   */
+  public static IMeasurementSchema resolveSchema(IMeasurementSchema schema, TSEncoding encoding) {
+    if (schema.getEncodingType() != TSEncoding.AUTO) {
+      return schema;
+    }
+    return new MeasurementSchema(
+        schema.getMeasurementId(),
+        schema.getType(),
+        encoding,
+        schema.getCompressor(),
+        schema.getProps());
+  }
+
+  /** Resolve an AUTO schema to the fallback encoding of its data type. */
+  public static IMeasurementSchema resolveSchema(IMeasurementSchema schema) {
+    if (schema.getEncodingType() != TSEncoding.AUTO) {
+      return schema;
+    }
+    return resolveSchema(schema, getFallbackEncoding(schema.getType()));
+  }
+
+  public boolean isFull() {
+    return sampledCount >= sampleSize;
+  }
+
+  public int getSampledCount() {
+    return sampledCount;
+  }
+
+  public void sample(boolean value) {
+    if (isFull()) {
+      return;
+    }
+    for (int i = 0; i < encoders.size(); i++) {
+      encoders.get(i).encode(value, outputs.get(i));
+    }
+    sampledCount++;
+  }
+
+  public void sample(int value) {
+    hasEndingMarkValue |= value == Integer.MIN_VALUE;
+    if (isFull()) {
+      return;
+    }
+    for (int i = 0; i < encoders.size(); i++) {
+      encoders.get(i).encode(value, outputs.get(i));
+    }
+    sampledCount++;
+  }
+
+  public void sample(long value) {
+    hasEndingMarkValue |= value == Long.MIN_VALUE;
+    if (isFull()) {
+      return;
+    }
+    for (int i = 0; i < encoders.size(); i++) {
+      encoders.get(i).encode(value, outputs.get(i));
+    }
+    sampledCount++;
+  }
+
+  public void sample(float value) {
+    hasEndingMarkValue |= Float.isNaN(value);
+    if (isFull()) {
+      return;
+    }
+    for (int i = 0; i < encoders.size(); i++) {
+      encoders.get(i).encode(value, outputs.get(i));
+    }
+    sampledCount++;
+  }
+
+  public void sample(double value) {
+    hasEndingMarkValue |= Double.isNaN(value);
+    if (isFull()) {
+      return;
+    }
+    for (int i = 0; i < encoders.size(); i++) {
+      encoders.get(i).encode(value, outputs.get(i));
+    }
+    sampledCount++;
+  }
+
+  public void sample(Binary value) {
+    if (isFull()) {
+      return;
+    }
+    for (int i = 0; i < encoders.size(); i++) {
+      encoders.get(i).encode(value, outputs.get(i));
+    }
+    sampledCount++;
+  }
+
+  /**
+   * Flush all trial encoders and pick the candidate with the lowest cost. The selector should not
+   * be used after this call.
+   */
+  public TSEncoding select() {
+    if (sampledCount == 0) {
+      return getFallbackEncoding(dataType);
+    }
+    TSEncoding selected = null;
+    double minCost = Double.MAX_VALUE;
+    for (int i = 0; i < candidates.size(); i++) {
+      TSEncoding candidate = candidates.get(i);
+      if (hasEndingMarkValue && ENDING_MARKED_ENCODINGS.contains(candidate)) {
+        continue;
+      }
+      try {
+        encoders.get(i).flush(outputs.get(i));
+      } catch (IOException e) {
+        logger.warn("Failed to flush the trial encoder of {}, skip it", candidate, e);
+        continue;
+      }
+      double cost = outputs.get(i).size() * DECODE_COST.get(candidate);
+      if (cost < minCost) {
+        minCost = cost;
+        selected = candidate;
+      }
+    }
+    return selected == null ? getFallbackEncoding(dataType) : selected;
+  }
+
+  private static List<TSEncoding> asList(TSEncoding... encodings) {
+    return Collections.unmodifiableList(Arrays.asList(encodings));
+  }
+}
@@ -181,6 +181,25 @@ public class ChunkHeader {
     return new ChunkHeader(chunkType, measurementID, dataSize, dataType, type, encoding);
   }
 
+  /**
+   * deserialize from ByteBuffer, the marker has not been read.
+   *
+   * @param buffer ByteBuffer positioned at the marker of the chunk header
+   * @return CHUNK_HEADER object
+   */
+  public static ChunkHeader deserializeFrom(ByteBuffer buffer) {
+    int startPosition = buffer.position();
+    byte chunkType = buffer.get();
+    String measurementID = ReadWriteIOUtils.readVarIntString(buffer);
+    int dataSize = ReadWriteForEncodingUtils.readUnsignedVarInt(buffer);
+    TSDataType dataType = ReadWriteIOUtils.readDataType(buffer);
+    CompressionType type = ReadWriteIOUtils.readCompressionType(buffer);
+    TSEncoding encoding = ReadWriteIOUtils.readEncoding(buffer);
+    int chunkHeaderSize = buffer.position() - startPosition;
+    return new ChunkHeader(
+        chunkType, measurementID, dataSize, chunkHeaderSize, dataType, type, encoding);
+  }
+
   /**
    * deserialize from TsFileInput, the marker has not been read.
    *
@@ -34,7 +34,12 @@ public enum TSEncoding {
   FREQ((byte) 10),
   CHIMP((byte) 11),
   SPRINTZ((byte) 12),
-  RLBE((byte) 13);
+  RLBE((byte) 13),
+  /**
+   * Only valid in the schema of a series. Writers resolve it into a concrete encoding for every
+   * chunk, so it never appears in a chunk header.
+   */
+  AUTO((byte) 14);
   private final byte type;
 
   TSEncoding(byte type) {
@@ -79,6 +84,8 @@ public enum TSEncoding {
         return TSEncoding.SPRINTZ;
       case 13:
         return TSEncoding.RLBE;
+      case 14:
+        return TSEncoding.AUTO;
       default:
         throw new IllegalArgumentException("Invalid input: " + encoding);
     }
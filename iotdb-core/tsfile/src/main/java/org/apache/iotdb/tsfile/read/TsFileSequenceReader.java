@@ -1456,6 +1456,50 @@ public class TsFileSequenceReader implements AutoCloseable {
         header, buffer, chunkCacheKey.getDeleteIntervalList(), chunkCacheKey.getStatistics());
   }
 
+  /**
+   * read memory chunks with as few IOs as possible. Chunks whose headers are within maxReadSize
+   * bytes of each other are read with one IO together with the bytes between them, which is much
+   * cheaper than seeking to each of them on a rotational disk.
+   *
+   * @param offsetsOfChunkHeader offsets of the chunk headers in ascending order
+   * @param maxReadSize max size of one IO covering multiple chunks
+   * @return chunks in the same order as offsetsOfChunkHeader
+   */
+  public List<Chunk> readMemChunks(List<Long> offsetsOfChunkHeader, int maxReadSize)
+      throws IOException {
+    List<Chunk> chunks = new ArrayList<>(offsetsOfChunkHeader.size());
+    int start = 0;
+    while (start < offsetsOfChunkHeader.size()) {
+      long startOffset = offsetsOfChunkHeader.get(start);
+      // a chunk ends before the header of the next chunk, so chunks [start, end) can be read by
+      // reading [offset of start, offset of end)
+      int end = start + 1;
+      while (end < offsetsOfChunkHeader.size()
+          && offsetsOfChunkHeader.get(end) - startOffset <= maxReadSize) {
+        end++;
+      }
+      end--;
+      if (end == start) {
+        chunks.add(readMemChunk(startOffset));
+        start++;
+        continue;
+      }
+      ByteBuffer buffer = readData(startOffset, offsetsOfChunkHeader.get(end));
+      for (int i = start; i < end; i++) {
+        buffer.position((int) (offsetsOfChunkHeader.get(i) - startOffset));
+        ChunkHeader header = ChunkHeader.deserializeFrom(buffer);
+        ByteBuffer chunkData = ByteBuffer.allocate(header.getDataSize());
+        ByteBuffer slice = buffer.duplicate();
+        slice.limit(slice.position() + header.getDataSize());
+        chunkData.put(slice);
+        chunkData.flip();
+        chunks.add(new Chunk(header, chunkData));
+      }
+      start = end;
+    }
+    return chunks;
+  }
+
   /**
    * read the {@link CompressionType} and {@link TSEncoding} of a timeseries. This method will skip
    * the measurement id, and data type. This method will change the position of this reader.
@@ -41,6 +41,7 @@ import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
 import java.io.IOException;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -50,6 +51,8 @@ import static org.apache.iotdb.tsfile.utils.Preconditions.checkArgument;
 
 public class PageReader implements IPageReader {
 
+  private static final int DEFAULT_TIME_BATCH_SIZE = 1024;
+
   private final PageHeader pageHeader;
 
   private final TSDataType dataType;
@@ -124,8 +127,9 @@ public class PageReader implements IPageReader {
   public BatchData getAllSatisfiedPageData(boolean ascending) throws IOException {
     BatchData pageData = BatchDataFactory.createBatchData(dataType, ascending, false);
     boolean allSatisfy = recordFilter == null || recordFilter.allSatisfy(this);
-    while (timeDecoder.hasNext(timeBuffer)) {
-      long timestamp = timeDecoder.readLong(timeBuffer);
+    long[] timeBatch = decodeTimeColumn();
+    for (int i = 0; i < timeBatch.length; i++) {
+      long timestamp = timeBatch[i];
       switch (dataType) {
         case BOOLEAN:
           boolean aBoolean = valueDecoder.readBoolean(valueBuffer);
@@ -183,10 +187,11 @@ public class PageReader implements IPageReader {
     TimeColumnBuilder timeBuilder = builder.getTimeColumnBuilder();
     ColumnBuilder valueBuilder = builder.getColumnBuilder(0);
     boolean allSatisfy = recordFilter == null || recordFilter.allSatisfy(this);
+    long[] timeBatch = decodeTimeColumn();
     switch (dataType) {
       case BOOLEAN:
-        while (timeDecoder.hasNext(timeBuffer)) {
-          long timestamp = timeDecoder.readLong(timeBuffer);
+        for (int i = 0; i < timeBatch.length; i++) {
+          long timestamp = timeBatch[i];
           boolean aBoolean = valueDecoder.readBoolean(valueBuffer);
           if (isDeleted(timestamp) || (!allSatisfy && !recordFilter.satisfy(timestamp, aBoolean))) {
             continue;
@@ -206,8 +211,8 @@ public class PageReader implements IPageReader {
         }
         break;
       case INT32:
-        while (timeDecoder.hasNext(timeBuffer)) {
-          long timestamp = timeDecoder.readLong(timeBuffer);
+        for (int i = 0; i < timeBatch.length; i++) {
+          long timestamp = timeBatch[i];
           int anInt = valueDecoder.readInt(valueBuffer);
           if (isDeleted(timestamp) || (!allSatisfy && !recordFilter.satisfy(timestamp, anInt))) {
             continue;
@@ -227,8 +232,8 @@ public class PageReader implements IPageReader {
         }
         break;
       case INT64:
-        while (timeDecoder.hasNext(timeBuffer)) {
-          long timestamp = timeDecoder.readLong(timeBuffer);
+        for (int i = 0; i < timeBatch.length; i++) {
+          long timestamp = timeBatch[i];
           long aLong = valueDecoder.readLong(valueBuffer);
           if (isDeleted(timestamp) || (!allSatisfy && !recordFilter.satisfy(timestamp, aLong))) {
             continue;
@@ -248,8 +253,8 @@ public class PageReader implements IPageReader {
         }
         break;
       case FLOAT:
-        while (timeDecoder.hasNext(timeBuffer)) {
-          long timestamp = timeDecoder.readLong(timeBuffer);
+        for (int i = 0; i < timeBatch.length; i++) {
+          long timestamp = timeBatch[i];
           float aFloat = valueDecoder.readFloat(valueBuffer);
           if (isDeleted(timestamp) || (!allSatisfy && !recordFilter.satisfy(timestamp, aFloat))) {
             continue;
@@ -269,8 +274,8 @@ public class PageReader implements IPageReader {
         }
         break;
       case DOUBLE:
-        while (timeDecoder.hasNext(timeBuffer)) {
-          long timestamp = timeDecoder.readLong(timeBuffer);
+        for (int i = 0; i < timeBatch.length; i++) {
+          long timestamp = timeBatch[i];
           double aDouble = valueDecoder.readDouble(valueBuffer);
           if (isDeleted(timestamp) || (!allSatisfy && !recordFilter.satisfy(timestamp, aDouble))) {
             continue;
@@ -290,8 +295,8 @@ public class PageReader implements IPageReader {
         }
         break;
       case TEXT:
-        while (timeDecoder.hasNext(timeBuffer)) {
-          long timestamp = timeDecoder.readLong(timeBuffer);
+        for (int i = 0; i < timeBatch.length; i++) {
+          long timestamp = timeBatch[i];
           Binary aBinary = valueDecoder.readBinary(valueBuffer);
           if (isDeleted(timestamp) || (!allSatisfy && !recordFilter.satisfy(timestamp, aBinary))) {
             continue;
@@ -316,6 +321,24 @@ public class PageReader implements IPageReader {
     return builder.build();
   }
 
+  /**
+   * Decode the whole time column of this page in one batch, so that block decoders can copy
+   * timestamps in bulk instead of being called once per point.
+   */
+  private long[] decodeTimeColumn() throws IOException {
+    int expectedCount =
+        pageHeader == null || pageHeader.getStatistics() == null
+            ? DEFAULT_TIME_BATCH_SIZE
+            : (int) pageHeader.getStatistics().getCount();
+    long[] timeBatch = new long[Math.max(expectedCount, 1)];
+    int count = timeDecoder.readLongs(timeBuffer, timeBatch, 0, timeBatch.length);
+    while (count == timeBatch.length && timeDecoder.hasNext(timeBuffer)) {
+      timeBatch = Arrays.copyOf(timeBatch, timeBatch.length << 1);
+      count += timeDecoder.readLongs(timeBuffer, timeBatch, count, timeBatch.length - count);
+    }
+    return count == timeBatch.length ? timeBatch : Arrays.copyOf(timeBatch, count);
+  }
+
   @Override
   public Statistics<? extends Serializable> getStatistics() {
     return pageHeader.getStatistics();
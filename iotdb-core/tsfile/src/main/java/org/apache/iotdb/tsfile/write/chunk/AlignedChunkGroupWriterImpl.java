@@ -21,6 +21,7 @@ package org.apache.iotdb.tsfile.write.chunk;
 import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
 import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
 import org.apache.iotdb.tsfile.encoding.encoder.Encoder;
+import org.apache.iotdb.tsfile.encoding.encoder.EncodingSelector;
 import org.apache.iotdb.tsfile.encoding.encoder.TSEncodingBuilder;
 import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
 import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
@@ -30,6 +31,7 @@ import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.write.record.Tablet;
 import org.apache.iotdb.tsfile.write.record.datapoint.DataPoint;
+import org.apache.iotdb.tsfile.write.schema.IMeasurementSchema;
 import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 import org.apache.iotdb.tsfile.write.writer.TsFileIOWriter;
 
@@ -70,13 +72,14 @@ public class AlignedChunkGroupWriterImpl implements IChunkGroupWriter {
   @Override
   public void tryToAddSeriesWriter(MeasurementSchema measurementSchema) throws IOException {
     if (!valueChunkWriterMap.containsKey(measurementSchema.getMeasurementId())) {
+      IMeasurementSchema resolvedSchema = EncodingSelector.resolveSchema(measurementSchema);
       ValueChunkWriter valueChunkWriter =
           new ValueChunkWriter(
-              measurementSchema.getMeasurementId(),
-              measurementSchema.getCompressor(),
-              measurementSchema.getType(),
-              measurementSchema.getEncodingType(),
-              measurementSchema.getValueEncoder());
+              resolvedSchema.getMeasurementId(),
+              resolvedSchema.getCompressor(),
+              resolvedSchema.getType(),
+              resolvedSchema.getEncodingType(),
+              resolvedSchema.getValueEncoder());
       valueChunkWriterMap.put(measurementSchema.getMeasurementId(), valueChunkWriter);
       tryToAddEmptyPageAndData(valueChunkWriter);
     }
@@ -86,13 +89,14 @@ public class AlignedChunkGroupWriterImpl implements IChunkGroupWriter {
   public void tryToAddSeriesWriter(List<MeasurementSchema> measurementSchemas) throws IOException {
     for (MeasurementSchema schema : measurementSchemas) {
       if (!valueChunkWriterMap.containsKey(schema.getMeasurementId())) {
+        IMeasurementSchema resolvedSchema = EncodingSelector.resolveSchema(schema);
         ValueChunkWriter valueChunkWriter =
             new ValueChunkWriter(
-                schema.getMeasurementId(),
-                schema.getCompressor(),
-                schema.getType(),
-                schema.getEncodingType(),
-                schema.getValueEncoder());
+                resolvedSchema.getMeasurementId(),
+                resolvedSchema.getCompressor(),
+                resolvedSchema.getType(),
+                resolvedSchema.getEncodingType(),
+                resolvedSchema.getValueEncoder());
         valueChunkWriterMap.put(schema.getMeasurementId(), valueChunkWriter);
         tryToAddEmptyPageAndData(valueChunkWriter);
       }
@@ -20,6 +20,7 @@ package org.apache.iotdb.tsfile.write.chunk;
 
 import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
 import org.apache.iotdb.tsfile.encoding.encoder.Encoder;
+import org.apache.iotdb.tsfile.encoding.encoder.EncodingSelector;
 import org.apache.iotdb.tsfile.encoding.encoder.TSEncodingBuilder;
 import org.apache.iotdb.tsfile.exception.write.PageException;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
@@ -95,14 +96,8 @@ public class AlignedChunkWriterImpl implements IChunkWriter {
             timeSchema.getTimeEncoder());
 
     valueChunkWriterList = new ArrayList<>(valueSchemaList.size());
-    for (int i = 0; i < valueSchemaList.size(); i++) {
-      valueChunkWriterList.add(
-          new ValueChunkWriter(
-              valueSchemaList.get(i).getMeasurementId(),
-              valueSchemaList.get(i).getCompressor(),
-              valueSchemaList.get(i).getType(),
-              valueSchemaList.get(i).getEncodingType(),
-              valueSchemaList.get(i).getValueEncoder()));
+    for (IMeasurementSchema valueSchema : valueSchemaList) {
+      valueChunkWriterList.add(createValueChunkWriter(valueSchema));
     }
 
     this.valueIndex = 0;
@@ -129,14 +124,8 @@ public class AlignedChunkWriterImpl implements IChunkWriter {
             TSEncodingBuilder.getEncodingBuilder(timeEncoding).getEncoder(timeType));
 
     valueChunkWriterList = new ArrayList<>(schemaList.size());
-    for (int i = 0; i < schemaList.size(); i++) {
-      valueChunkWriterList.add(
-          new ValueChunkWriter(
-              schemaList.get(i).getMeasurementId(),
-              schemaList.get(i).getCompressor(),
-              schemaList.get(i).getType(),
-              schemaList.get(i).getEncodingType(),
-              schemaList.get(i).getValueEncoder()));
+    for (IMeasurementSchema valueSchema : schemaList) {
+      valueChunkWriterList.add(createValueChunkWriter(valueSchema));
     }
 
     this.valueIndex = 0;
@@ -144,6 +133,17 @@ public class AlignedChunkWriterImpl implements IChunkWriter {
     this.remainingPointsNumber = timeChunkWriter.getRemainingPointNumberForCurrentPage();
   }
 
+  /** An AUTO encoding of the value schema is resolved to the fallback encoding of its type. */
+  private static ValueChunkWriter createValueChunkWriter(IMeasurementSchema valueSchema) {
+    IMeasurementSchema resolvedSchema = EncodingSelector.resolveSchema(valueSchema);
+    return new ValueChunkWriter(
+        resolvedSchema.getMeasurementId(),
+        resolvedSchema.getCompressor(),
+        resolvedSchema.getType(),
+        resolvedSchema.getEncodingType(),
+        resolvedSchema.getValueEncoder());
+  }
+
   public void write(long time, int value, boolean isNull) {
     valueChunkWriterList.get(valueIndex++).write(time, value, isNull);
   }
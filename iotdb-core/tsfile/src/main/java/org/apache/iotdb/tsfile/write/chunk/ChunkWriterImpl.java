@@ -20,6 +20,7 @@ package org.apache.iotdb.tsfile.write.chunk;
 
 import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
 import org.apache.iotdb.tsfile.compress.ICompressor;
+import org.apache.iotdb.tsfile.encoding.encoder.EncodingSelector;
 import org.apache.iotdb.tsfile.encoding.encoder.SDTEncoder;
 import org.apache.iotdb.tsfile.exception.write.PageException;
 import org.apache.iotdb.tsfile.file.header.ChunkHeader;
@@ -92,9 +93,12 @@ public class ChunkWriterImpl implements IChunkWriter {
 
   private Statistics<?> firstPageStatistics;
 
-  /** @param schema schema of this measurement */
+  /**
+   * @param schema schema of this measurement, an AUTO encoding is resolved to the fallback encoding
+   *     of its data type
+   */
   public ChunkWriterImpl(IMeasurementSchema schema) {
-    this.measurementSchema = schema;
+    this.measurementSchema = EncodingSelector.resolveSchema(schema);
     this.compressor = ICompressor.getCompressor(schema.getCompressor());
     this.pageBuffer = new PublicBAOS();
 
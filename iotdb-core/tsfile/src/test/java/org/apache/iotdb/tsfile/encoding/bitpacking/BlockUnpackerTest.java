@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.tsfile.encoding.bitpacking;
+
+import org.apache.iotdb.tsfile.utils.BytesUtils;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class BlockUnpackerTest {
+
+  private static final int VALUE_NUM = 131;
+  private static final int BYTE_OFFSET = 3;
+
+  @Test
+  public void testUnpackLongs() {
+    Random random = new Random(7);
+    for (int width = 0; width <= 64; width++) {
+      long mask = width == 64 ? -1L : (1L << width) - 1;
+      long[] expected = new long[VALUE_NUM];
+      byte[] buf = new byte[BYTE_OFFSET + (VALUE_NUM * width + 7) / 8];
+      for (int i = 0; i < VALUE_NUM; i++) {
+        expected[i] = random.nextLong() & mask;
+        if (width > 0) {
+          BytesUtils.longToBytes(expected[i], buf, BYTE_OFFSET * 8 + i * width, width);
+        }
+      }
+      long[] actual = new long[VALUE_NUM + 1];
+      BlockUnpacker.unpackLongs(buf, BYTE_OFFSET, width, actual, 1, VALUE_NUM);
+      long[] shifted = new long[VALUE_NUM];
+      System.arraycopy(actual, 1, shifted, 0, VALUE_NUM);
+      assertArrayEquals("width " + width, expected, shifted);
+    }
+  }
+
+  @Test
+  public void testUnpackInts() {
+    Random random = new Random(7);
+    for (int width = 0; width <= 32; width++) {
+      int mask = width == 32 ? -1 : (1 << width) - 1;
+      int[] expected = new int[VALUE_NUM];
+      byte[] buf = new byte[BYTE_OFFSET + (VALUE_NUM * width + 7) / 8];
+      for (int i = 0; i < VALUE_NUM; i++) {
+        expected[i] = random.nextInt() & mask;
+        if (width > 0) {
+          BytesUtils.intToBytes(expected[i], buf, BYTE_OFFSET * 8 + i * width, width);
+        }
+      }
+      int[] actual = new int[VALUE_NUM];
+      BlockUnpacker.unpackInts(buf, BYTE_OFFSET, width, actual, 0, VALUE_NUM);
+      assertArrayEquals("width " + width, expected, actual);
+    }
+  }
+}
@@ -38,7 +38,9 @@ import java.util.List;
 import java.util.Random;
 import java.util.stream.Stream;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 public class DeltaBinaryEncoderLongTest {
 
@@ -159,6 +161,29 @@ public class DeltaBinaryEncoderLongTest {
     shouldReadAndWrite(data, ROW_NUM);
   }
 
+  @Test
+  public void testReadLongsInBatch() throws IOException {
+    reader.reset();
+    long[] data = new long[ROW_NUM];
+    for (int i = 0; i < ROW_NUM; i++) {
+      data[i] = 1_600_000_000_000L + i * 1000L + ran.nextInt(10);
+    }
+    out = new ByteArrayOutputStream();
+    writeData(data, ROW_NUM);
+    buffer = ByteBuffer.wrap(out.toByteArray());
+
+    // batch size is not aligned with the pack size on purpose
+    long[] result = new long[ROW_NUM];
+    int count = 0;
+    int readNum;
+    while ((readNum = reader.readLongs(buffer, result, count, Math.min(97, ROW_NUM - count))) > 0) {
+      count += readNum;
+    }
+    assertEquals(ROW_NUM, count);
+    assertArrayEquals(data, result);
+    assertFalse(reader.hasNext(buffer));
+  }
+
   private List<String> getBetweenDate(String start, String end) {
     List<String> list = new ArrayList<>();
     LocalDate startDate = LocalDate.parse(start);
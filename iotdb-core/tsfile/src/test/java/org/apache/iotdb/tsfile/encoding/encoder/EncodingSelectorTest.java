@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.tsfile.encoding.encoder;
+
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.encoding.decoder.Decoder;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.write.schema.IMeasurementSchema;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class EncodingSelectorTest {
+
+  @Test
+  public void testMonotonicCounter() {
+    EncodingSelector selector = new EncodingSelector(TSDataType.INT64);
+    for (long i = 0; !selector.isFull(); i++) {
+      selector.sample(1_000_000L + i * 10);
+    }
+    TSEncoding selected = selector.select();
+    assertNotEquals(TSEncoding.PLAIN, selected);
+    assertTrue(EncodingSelector.getCandidates(TSDataType.INT64).contains(selected));
+  }
+
+  @Test
+  public void testRepeatedText() {
+    EncodingSelector selector = new EncodingSelector(TSDataType.TEXT);
+    String[] states = {"running", "stopped", "maintenance"};
+    for (int i = 0; !selector.isFull(); i++) {
+      selector.sample(new Binary(states[i % states.length], TSFileConfig.STRING_CHARSET));
+    }
+    assertEquals(TSEncoding.DICTIONARY, selector.select());
+  }
+
+  @Test
+  public void testNoisyDoubleIsLossless() throws IOException {
+    Random random = new Random(42);
+    double[] values = new double[EncodingSelector.DEFAULT_SAMPLE_SIZE];
+    EncodingSelector selector = new EncodingSelector(TSDataType.DOUBLE);
+    for (int i = 0; !selector.isFull(); i++) {
+      values[i] = random.nextGaussian() * 100;
+      selector.sample(values[i]);
+    }
+    TSEncoding selected = selector.select();
+    assertNotEquals(TSEncoding.TS_2DIFF, selected);
+    assertNotEquals(TSEncoding.RLE, selected);
+    assertDoubleRoundTrip(selected, values);
+  }
+
+  @Test
+  public void testFloatingPointCandidatesAreLossless() throws IOException {
+    Random random = new Random(42);
+    double[] noisyDoubles = new double[EncodingSelector.DEFAULT_SAMPLE_SIZE];
+    float[] noisyFloats = new float[EncodingSelector.DEFAULT_SAMPLE_SIZE];
+    for (int i = 0; i < noisyDoubles.length; i++) {
+      noisyDoubles[i] = random.nextGaussian() * 100;
+      noisyFloats[i] = (float) (random.nextGaussian() * 100);
+    }
+    double[] extremeDoubles = {
+      Double.MAX_VALUE,
+      -Double.MAX_VALUE,
+      Double.MIN_VALUE,
+      Double.MIN_NORMAL,
+      0.0,
+      -0.0,
+      Double.POSITIVE_INFINITY,
+      Double.NEGATIVE_INFINITY,
+      1e300,
+      -1e-300,
+      Long.MAX_VALUE,
+      Long.MIN_VALUE
+    };
+    float[] extremeFloats = {
+      Float.MAX_VALUE,
+      -Float.MAX_VALUE,
+      Float.MIN_VALUE,
+      Float.MIN_NORMAL,
+      0.0f,
+      -0.0f,
+      Float.POSITIVE_INFINITY,
+      Float.NEGATIVE_INFINITY,
+      1e38f,
+      -1e-38f,
+      Integer.MAX_VALUE,
+      Integer.MIN_VALUE
+    };
+
+    for (TSEncoding candidate : EncodingSelector.getCandidates(TSDataType.DOUBLE)) {
+      assertDoubleRoundTrip(candidate, noisyDoubles);
+      assertDoubleRoundTrip(candidate, extremeDoubles);
+    }
+    for (TSEncoding candidate : EncodingSelector.getCandidates(TSDataType.FLOAT)) {
+      assertFloatRoundTrip(candidate, noisyFloats);
+      assertFloatRoundTrip(candidate, extremeFloats);
+    }
+  }
+
+  @Test
+  public void testIntegerCandidatesAreLossless() throws IOException {
+    Random random = new Random(42);
+    long[] noisyLongs = new long[EncodingSelector.DEFAULT_SAMPLE_SIZE];
+    int[] noisyInts = new int[EncodingSelector.DEFAULT_SAMPLE_SIZE];
+    for (int i = 0; i < noisyLongs.length; i++) {
+      noisyLongs[i] = random.nextLong();
+      noisyInts[i] = random.nextInt();
+    }
+    long[] extremeLongs = {Long.MAX_VALUE, Long.MIN_VALUE + 1, 0, -1, Long.MAX_VALUE, 1, -2};
+    int[] extremeInts = {Integer.MAX_VALUE, Integer.MIN_VALUE + 1, 0, -1, Integer.MAX_VALUE, 1, -2};
+
+    for (TSEncoding candidate : EncodingSelector.getCandidates(TSDataType.INT64)) {
+      assertLongRoundTrip(candidate, noisyLongs);
+      assertLongRoundTrip(candidate, extremeLongs);
+    }
+    for (TSEncoding candidate : EncodingSelector.getCandidates(TSDataType.INT32)) {
+      assertIntRoundTrip(candidate, noisyInts);
+      assertIntRoundTrip(candidate, extremeInts);
+    }
+  }
+
+  @Test
+  public void testEndingMarkValueAfterSamples() throws IOException {
+    // constant values favor GORILLA and CHIMP, but the ending mark met after the sampled values
+    // must exclude them
+    double[] doubles = new double[EncodingSelector.DEFAULT_SAMPLE_SIZE + 1];
+    float[] floats = new float[EncodingSelector.DEFAULT_SAMPLE_SIZE + 1];
+    long[] longs = new long[EncodingSelector.DEFAULT_SAMPLE_SIZE + 1];
+    int[] ints = new int[EncodingSelector.DEFAULT_SAMPLE_SIZE + 1];
+    Arrays.fill(doubles, 1.5);
+    Arrays.fill(floats, 1.5f);
+    Arrays.fill(longs, 7L);
+    Arrays.fill(ints, 7);
+    doubles[doubles.length - 1] = Double.NaN;
+    floats[floats.length - 1] = Float.NaN;
+    longs[longs.length - 1] = Long.MIN_VALUE;
+    ints[ints.length - 1] = Integer.MIN_VALUE;
+
+    EncodingSelector doubleSelector = new EncodingSelector(TSDataType.DOUBLE);
+    EncodingSelector floatSelector = new EncodingSelector(TSDataType.FLOAT);
+    EncodingSelector longSelector = new EncodingSelector(TSDataType.INT64);
+    EncodingSelector intSelector = new EncodingSelector(TSDataType.INT32);
+    for (int i = 0; i < doubles.length; i++) {
+      doubleSelector.sample(doubles[i]);
+      floatSelector.sample(floats[i]);
+      longSelector.sample(longs[i]);
+      intSelector.sample(ints[i]);
+    }
+    assertEquals(EncodingSelector.DEFAULT_SAMPLE_SIZE, doubleSelector.getSampledCount());
+
+    for (TSEncoding selected :
+        new TSEncoding[] {
+          doubleSelector.select(),
+          floatSelector.select(),
+          longSelector.select(),
+          intSelector.select()
+        }) {
+      assertNotEquals(TSEncoding.GORILLA, selected);
+      assertNotEquals(TSEncoding.CHIMP, selected);
+    }
+    assertDoubleRoundTrip(doubleSelector.select(), doubles);
+    assertFloatRoundTrip(floatSelector.select(), floats);
+    assertLongRoundTrip(longSelector.select(), longs);
+    assertIntRoundTrip(intSelector.select(), ints);
+  }
+
+  @Test
+  public void testNothingSampled() {
+    for (TSDataType dataType :
+        new TSDataType[] {
+          TSDataType.BOOLEAN,
+          TSDataType.INT32,
+          TSDataType.INT64,
+          TSDataType.FLOAT,
+          TSDataType.DOUBLE,
+          TSDataType.TEXT
+        }) {
+      assertEquals(
+          EncodingSelector.getFallbackEncoding(dataType), new EncodingSelector(dataType).select());
+    }
+  }
+
+  @Test
+  public void testResolveSchema() {
+    IMeasurementSchema concreteSchema =
+        new MeasurementSchema("s1", TSDataType.INT32, TSEncoding.RLE, CompressionType.LZ4);
+    assertSame(concreteSchema, EncodingSelector.resolveSchema(concreteSchema, TSEncoding.PLAIN));
+
+    IMeasurementSchema autoSchema =
+        new MeasurementSchema("s2", TSDataType.FLOAT, TSEncoding.AUTO, CompressionType.LZ4);
+    IMeasurementSchema resolvedSchema =
+        EncodingSelector.resolveSchema(autoSchema, TSEncoding.CHIMP);
+    assertEquals("s2", resolvedSchema.getMeasurementId());
+    assertEquals(TSDataType.FLOAT, resolvedSchema.getType());
+    assertEquals(TSEncoding.CHIMP, resolvedSchema.getEncodingType());
+    assertEquals(CompressionType.LZ4, resolvedSchema.getCompressor());
+    assertEquals(
+        EncodingSelector.getFallbackEncoding(TSDataType.FLOAT),
+        EncodingSelector.resolveSchema(autoSchema).getEncodingType());
+  }
+
+  private void assertDoubleRoundTrip(TSEncoding encoding, double[] values) throws IOException {
+    Encoder encoder = TSEncodingBuilder.getEncodingBuilder(encoding).getEncoder(TSDataType.DOUBLE);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (double value : values) {
+      encoder.encode(value, out);
+    }
+    encoder.flush(out);
+
+    Decoder decoder = Decoder.getDecoderByType(encoding, TSDataType.DOUBLE);
+    ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+    for (double value : values) {
+      assertTrue(encoding.toString(), decoder.hasNext(buffer));
+      assertEquals(
+          encoding.toString(),
+          Double.doubleToLongBits(value),
+          Double.doubleToLongBits(decoder.readDouble(buffer)));
+    }
+    assertFalse(encoding.toString(), decoder.hasNext(buffer));
+  }
+
+  private void assertFloatRoundTrip(TSEncoding encoding, float[] values) throws IOException {
+    Encoder encoder = TSEncodingBuilder.getEncodingBuilder(encoding).getEncoder(TSDataType.FLOAT);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (float value : values) {
+      encoder.encode(value, out);
+    }
+    encoder.flush(out);
+
+    Decoder decoder = Decoder.getDecoderByType(encoding, TSDataType.FLOAT);
+    ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+    for (float value : values) {
+      assertTrue(encoding.toString(), decoder.hasNext(buffer));
+      assertEquals(
+          encoding.toString(),
+          Float.floatToIntBits(value),
+          Float.floatToIntBits(decoder.readFloat(buffer)));
+    }
+    assertFalse(encoding.toString(), decoder.hasNext(buffer));
+  }
+
+  private void assertLongRoundTrip(TSEncoding encoding, long[] values) throws IOException {
+    Encoder encoder = TSEncodingBuilder.getEncodingBuilder(encoding).getEncoder(TSDataType.INT64);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (long value : values) {
+      encoder.encode(value, out);
+    }
+    encoder.flush(out);
+
+    Decoder decoder = Decoder.getDecoderByType(encoding, TSDataType.INT64);
+    ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+    for (long value : values) {
+      assertTrue(encoding.toString(), decoder.hasNext(buffer));
+      assertEquals(encoding.toString(), value, decoder.readLong(buffer));
+    }
+    assertFalse(encoding.toString(), decoder.hasNext(buffer));
+  }
+
+  private void assertIntRoundTrip(TSEncoding encoding, int[] values) throws IOException {
+    Encoder encoder = TSEncodingBuilder.getEncodingBuilder(encoding).getEncoder(TSDataType.INT32);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (int value : values) {
+      encoder.encode(value, out);
+    }
+    encoder.flush(out);
+
+    Decoder decoder = Decoder.getDecoderByType(encoding, TSDataType.INT32);
+    ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+    for (int value : values) {
+      assertTrue(encoding.toString(), decoder.hasNext(buffer));
+      assertEquals(encoding.toString(), value, decoder.readInt(buffer));
+    }
+    assertFalse(encoding.toString(), decoder.hasNext(buffer));
+  }
+}
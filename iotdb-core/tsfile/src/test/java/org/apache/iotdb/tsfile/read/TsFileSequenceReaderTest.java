@@ -29,6 +29,7 @@ import org.apache.iotdb.tsfile.file.header.PageHeader;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.common.Chunk;
 import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.utils.FileGenerator;
 import org.apache.iotdb.tsfile.utils.Pair;
@@ -45,6 +46,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -111,6 +113,37 @@ public class TsFileSequenceReaderTest {
     reader.close();
   }
 
+  @Test
+  public void testReadMemChunks() throws IOException {
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(FILE_PATH)) {
+      List<Long> offsets = new ArrayList<>();
+      for (String device : new String[] {"d1", "d2"}) {
+        for (List<ChunkMetadata> chunkMetadataList :
+            reader.readChunkMetadataInDevice(device).values()) {
+          for (ChunkMetadata chunkMetadata : chunkMetadataList) {
+            offsets.add(chunkMetadata.getOffsetOfChunkHeader());
+          }
+        }
+      }
+      Collections.sort(offsets);
+      Assert.assertTrue(offsets.size() > 2);
+
+      for (int maxReadSize : new int[] {0, 1024, Integer.MAX_VALUE}) {
+        List<Chunk> chunks = reader.readMemChunks(offsets, maxReadSize);
+        Assert.assertEquals(offsets.size(), chunks.size());
+        for (int i = 0; i < offsets.size(); i++) {
+          Chunk expected = reader.readMemChunk(offsets.get(i));
+          Chunk actual = chunks.get(i);
+          Assert.assertEquals(
+              expected.getHeader().getMeasurementID(), actual.getHeader().getMeasurementID());
+          Assert.assertEquals(
+              expected.getHeader().getSerializedSize(), actual.getHeader().getSerializedSize());
+          Assert.assertEquals(expected.getData(), actual.getData());
+        }
+      }
+    }
+  }
+
   @Test
   public void testReadChunkMetadataInDevice() throws IOException {
     TsFileSequenceReader reader = new TsFileSequenceReader(FILE_PATH);
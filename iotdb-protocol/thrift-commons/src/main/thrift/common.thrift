@@ -199,5 +199,7 @@ enum TAggregationType {
   VAR_POP,
   VAR_SAMP,
   MAX_BY,
-  UDAF
+  UDAF,
+  APPROX_COUNT_DISTINCT,
+  APPROX_PERCENTILE
 }
\ No newline at end of file
@@ -117,6 +117,8 @@ struct TSendFragmentInstanceResp {
   1: required bool accepted
   2: optional string message
   3: optional bool needRetry
+  // drivers waiting for a query worker thread per worker thread on the receiver
+  4: optional double queryLoad
 }
 
 struct TSendSinglePlanNodeReq {
@@ -252,6 +254,8 @@ struct TDataNodeHeartbeatReq {
   8: optional bool needPipeMetaList
   9: optional i64 deviceQuotaRemain
   10: optional TDataNodeActivation activation
+  // DataNode id -> id of the last written time report received from the DataNode
+  11: optional map<i32, i64> writtenTimeReportAcks
 }
 
 struct TDataNodeActivation {
@@ -273,6 +277,9 @@ struct TDataNodeHeartbeatResp {
   9: optional TSchemaLimitLevel schemaLimitLevel
   10: optional list<binary> pipeMetaList
   11: optional string activateStatus
+  // the earliest timestamp of the data written or deleted since the last acknowledged report
+  12: optional i64 earliestWrittenTime
+  13: optional i64 writtenTimeReportId
 }
 
 struct TPipeHeartbeatReq {
@@ -454,6 +461,8 @@ struct TExecuteCQ {
   5: required string zoneId
   6: required string cqId
   7: required string username
+  // only the windows after this time need to be re-executed, all the windows will be if unset
+  8: optional i64 incrementalStartTime
 }
 
 service IDataNodeRPCService {
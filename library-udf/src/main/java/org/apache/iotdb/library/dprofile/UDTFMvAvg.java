@@ -21,20 +21,27 @@ package org.apache.iotdb.library.dprofile;
 
 import org.apache.iotdb.library.util.DoubleCircularQueue;
 import org.apache.iotdb.library.util.Util;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
 import org.apache.iotdb.udf.api.UDTF;
-import org.apache.iotdb.udf.api.access.Row;
+import org.apache.iotdb.udf.api.access.RowWindow;
 import org.apache.iotdb.udf.api.collector.PointCollector;
 import org.apache.iotdb.udf.api.customizer.config.UDTFConfigurations;
 import org.apache.iotdb.udf.api.customizer.parameter.UDFParameterValidator;
 import org.apache.iotdb.udf.api.customizer.parameter.UDFParameters;
-import org.apache.iotdb.udf.api.customizer.strategy.RowByRowAccessStrategy;
+import org.apache.iotdb.udf.api.customizer.strategy.SlidingSizeWindowAccessStrategy;
 import org.apache.iotdb.udf.api.type.Type;
 
-/** This function calculates moving average of given window length of input series. */
+/**
+ * This function calculates moving average of given window length of input series. Each output point
+ * is the average of the latest {@code window} finite values, null and NaN values are skipped.
+ */
 public class UDTFMvAvg implements UDTF {
   int windowSize;
   Type dataType;
   DoubleCircularQueue v;
+  double windowSum;
+  // compensation of Kahan summation, bounds the rounding error of windowSum over long series
+  double windowSumCompensation;
 
   @Override
   public void validate(UDFParameterValidator validator) throws Exception {
@@ -50,29 +57,44 @@ public class UDTFMvAvg implements UDTF {
   @Override
   public void beforeStart(UDFParameters parameters, UDTFConfigurations configurations)
       throws Exception {
-    configurations.setAccessStrategy(new RowByRowAccessStrategy()).setOutputDataType(Type.DOUBLE);
+    // the input is consumed as column batches, the moving window is maintained across batches
+    configurations
+        .setAccessStrategy(new SlidingSizeWindowAccessStrategy(Util.COLUMN_BATCH_SIZE))
+        .setOutputDataType(Type.DOUBLE);
     dataType = parameters.getDataType(0);
     windowSize = parameters.getIntOrDefault("window", 10);
     v = new DoubleCircularQueue(windowSize);
+    windowSum = 0d;
+    windowSumCompensation = 0d;
   }
 
   @Override
-  public void transform(Row row, PointCollector collector) throws Exception {
-    long t = row.getTime();
-    double windowSum = 0d;
-    if (v.isFull()) {
-      windowSum -= v.pop();
-    }
-    double value = Util.getValueAsDouble(row);
-    if (Double.isFinite(value)) {
+  public void transform(RowWindow rowWindow, PointCollector collector) throws Exception {
+    double[] values = Util.getValuesAsDouble(rowWindow.getColumn(0));
+    Column times = rowWindow.getTimeColumn();
+    for (int i = 0; i < values.length; i++) {
+      double value = values[i];
+      if (!Double.isFinite(value)) {
+        continue;
+      }
+      if (v.isFull()) {
+        addToWindowSum(-v.pop());
+      }
       v.push(value);
-      windowSum += value;
+      addToWindowSum(value);
       if (v.isFull()) {
-        collector.putDouble(t, windowSum / windowSize);
+        collector.putDouble(times.getLong(i), windowSum / windowSize);
       }
     }
   }
 
+  private void addToWindowSum(double value) {
+    double compensated = value - windowSumCompensation;
+    double sum = windowSum + compensated;
+    windowSumCompensation = (sum - windowSum) - compensated;
+    windowSum = sum;
+  }
+
   @Override
   public void terminate(PointCollector collector)
       throws Exception { // default implementation ignored
@@ -20,13 +20,14 @@
 package org.apache.iotdb.library.dprofile;
 
 import org.apache.iotdb.library.util.Util;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
 import org.apache.iotdb.udf.api.UDTF;
-import org.apache.iotdb.udf.api.access.Row;
+import org.apache.iotdb.udf.api.access.RowWindow;
 import org.apache.iotdb.udf.api.collector.PointCollector;
 import org.apache.iotdb.udf.api.customizer.config.UDTFConfigurations;
 import org.apache.iotdb.udf.api.customizer.parameter.UDFParameterValidator;
 import org.apache.iotdb.udf.api.customizer.parameter.UDFParameters;
-import org.apache.iotdb.udf.api.customizer.strategy.RowByRowAccessStrategy;
+import org.apache.iotdb.udf.api.customizer.strategy.SlidingSizeWindowAccessStrategy;
 import org.apache.iotdb.udf.api.type.Type;
 
 import java.util.ArrayList;
@@ -70,7 +71,9 @@ public class UDTFZScore implements UDTF {
     timestamp.clear();
     sum = 0.0d;
     squareSum = 0.0d;
-    configurations.setAccessStrategy(new RowByRowAccessStrategy()).setOutputDataType(Type.DOUBLE);
+    configurations
+        .setAccessStrategy(new SlidingSizeWindowAccessStrategy(Util.COLUMN_BATCH_SIZE))
+        .setOutputDataType(Type.DOUBLE);
     compute = parameters.getStringOrDefault("compute", BATCH_COMPUTE);
     if (compute.equalsIgnoreCase(STREAM_COMPUTE)) {
       avg = parameters.getDouble("avg");
@@ -79,16 +82,27 @@ public class UDTFZScore implements UDTF {
   }
 
   @Override
-  public void transform(Row row, PointCollector collector) throws Exception {
+  public void transform(RowWindow rowWindow, PointCollector collector) throws Exception {
+    Column column = rowWindow.getColumn(0);
+    Column times = rowWindow.getTimeColumn();
+    double[] values = Util.getValuesAsDouble(column);
     if (compute.equalsIgnoreCase(STREAM_COMPUTE) && sd > 0) {
-      collector.putDouble(row.getTime(), (Util.getValueAsDouble(row) - avg) / sd);
+      for (int i = 0; i < values.length; i++) {
+        if (!column.isNull(i)) {
+          collector.putDouble(times.getLong(i), (values[i] - avg) / sd);
+        }
+      }
     } else if (compute.equalsIgnoreCase(BATCH_COMPUTE)) {
-      double v = Util.getValueAsDouble(row);
-      if (Double.isFinite(v)) {
-        value.add(v);
-        timestamp.add(row.getTime());
-        sum += v;
-        squareSum += v * v;
+      value.ensureCapacity(value.size() + values.length);
+      timestamp.ensureCapacity(timestamp.size() + values.length);
+      for (int i = 0; i < values.length; i++) {
+        double v = values[i];
+        if (Double.isFinite(v)) {
+          value.add(v);
+          timestamp.add(times.getLong(i));
+          sum += v;
+          squareSum += v * v;
+        }
       }
     }
   }
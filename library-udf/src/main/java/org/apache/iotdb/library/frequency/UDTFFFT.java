@@ -22,12 +22,12 @@ package org.apache.iotdb.library.frequency;
 import org.apache.iotdb.library.frequency.util.FFTUtil;
 import org.apache.iotdb.library.util.Util;
 import org.apache.iotdb.udf.api.UDTF;
-import org.apache.iotdb.udf.api.access.Row;
+import org.apache.iotdb.udf.api.access.RowWindow;
 import org.apache.iotdb.udf.api.collector.PointCollector;
 import org.apache.iotdb.udf.api.customizer.config.UDTFConfigurations;
 import org.apache.iotdb.udf.api.customizer.parameter.UDFParameterValidator;
 import org.apache.iotdb.udf.api.customizer.parameter.UDFParameters;
-import org.apache.iotdb.udf.api.customizer.strategy.RowByRowAccessStrategy;
+import org.apache.iotdb.udf.api.customizer.strategy.SlidingSizeWindowAccessStrategy;
 import org.apache.iotdb.udf.api.type.Type;
 
 import org.eclipse.collections.impl.list.mutable.primitive.DoubleArrayList;
@@ -69,7 +69,9 @@ public class UDTFFFT implements UDTF {
   @Override
   public void beforeStart(UDFParameters parameters, UDTFConfigurations configurations)
       throws Exception {
-    configurations.setAccessStrategy(new RowByRowAccessStrategy()).setOutputDataType(Type.DOUBLE);
+    configurations
+        .setAccessStrategy(new SlidingSizeWindowAccessStrategy(Util.COLUMN_BATCH_SIZE))
+        .setOutputDataType(Type.DOUBLE);
     String result = parameters.getStringOrDefault("result", "abs");
     this.compressed = parameters.hasAttribute(COMPRESS_PARAM);
     double compressRate = parameters.getDoubleOrDefault(COMPRESS_PARAM, 1);
@@ -77,10 +79,11 @@ public class UDTFFFT implements UDTF {
   }
 
   @Override
-  public void transform(Row row, PointCollector collector) throws Exception {
-    double v = Util.getValueAsDouble(row);
-    if (Double.isFinite(v)) {
-      list.add(v);
+  public void transform(RowWindow rowWindow, PointCollector collector) throws Exception {
+    for (double v : Util.getValuesAsDouble(rowWindow.getColumn(0))) {
+      if (Double.isFinite(v)) {
+        list.add(v);
+      }
     }
   }
 
@@ -19,6 +19,7 @@
 
 package org.apache.iotdb.library.util;
 
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
 import org.apache.iotdb.udf.api.access.Row;
 import org.apache.iotdb.udf.api.collector.PointCollector;
 import org.apache.iotdb.udf.api.type.Type;
@@ -32,6 +33,13 @@ import java.util.List;
 
 /** This class offers functions of getting and putting values from iotdb interface. */
 public class Util {
+
+  /**
+   * Number of rows in one window, when a function consumes its input as column batches through a
+   * sliding size window instead of row by row.
+   */
+  public static final int COLUMN_BATCH_SIZE = 10000;
+
   private Util() {
     throw new IllegalStateException("Utility class");
   }
@@ -80,6 +88,43 @@ public class Util {
     return getValueAsDouble(row, 0);
   }
 
+  /**
+   * Get all values of a numeric column, and cast them to double. Null values are converted to NaN.
+   *
+   * @param column numeric column
+   * @return values of the column
+   * @throws NoNumberException when the column is not numeric
+   */
+  public static double[] getValuesAsDouble(Column column) throws NoNumberException {
+    int n = column.getPositionCount();
+    double[] values = new double[n];
+    switch (column.getDataType()) {
+      case INT32:
+        for (int i = 0; i < n; i++) {
+          values[i] = column.isNull(i) ? Double.NaN : column.getInt(i);
+        }
+        break;
+      case INT64:
+        for (int i = 0; i < n; i++) {
+          values[i] = column.isNull(i) ? Double.NaN : column.getLong(i);
+        }
+        break;
+      case FLOAT:
+        for (int i = 0; i < n; i++) {
+          values[i] = column.isNull(i) ? Double.NaN : column.getFloat(i);
+        }
+        break;
+      case DOUBLE:
+        for (int i = 0; i < n; i++) {
+          values[i] = column.isNull(i) ? Double.NaN : column.getDouble(i);
+        }
+        break;
+      default:
+        throw new NoNumberException();
+    }
+    return values;
+  }
+
   /**
    * Get value from 0th column from Row, and cast to Object.
    *